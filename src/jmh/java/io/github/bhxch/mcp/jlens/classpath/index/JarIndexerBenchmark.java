@@ -0,0 +1,67 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares indexing a JAR through the mapped central directory with the {@link java.util.jar.JarFile}
+ * enumeration it replaced. JAR paths are resolved against the local Maven repository;
+ * pass others with {@code -p jar=...}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="JarIndexerBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JarIndexerBenchmark {
+
+    @Param({
+        "org/scala-lang/scala-library/2.13.16/scala-library-2.13.16.jar",
+        "org/codehaus/groovy/groovy-all/2.4.21/groovy-all-2.4.21.jar"
+    })
+    public String jar;
+
+    private Path path;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path candidate = Path.of(jar);
+        if (!candidate.isAbsolute()) {
+            candidate = Path.of(System.getProperty("user.home"), ".m2", "repository").resolve(jar);
+        }
+        if (!Files.isRegularFile(candidate)) {
+            throw new IOException("Benchmark JAR not found, fetch it with dependency:get or pass -p jar=...: " + candidate);
+        }
+        path = candidate;
+    }
+
+    @Benchmark
+    public ClassIndexSegment centralDirectory() throws IOException {
+        return JarIndexer.index(path, null, null, JarIndexer.CLASS_SUFFIX);
+    }
+
+    @Benchmark
+    public ClassIndexSegment jarFile() throws IOException {
+        return JarIndexer.indexWithJarFile(path, null, null, JarIndexer.CLASS_SUFFIX);
+    }
+}
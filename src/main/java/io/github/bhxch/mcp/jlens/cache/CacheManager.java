@@ -5,10 +5,22 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.github.bhxch.mcp.jlens.cache.ClassMetadataCache;
 import io.github.bhxch.mcp.jlens.classpath.ClassLoaderManager;
+import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor;
 import io.github.bhxch.mcp.jlens.config.ServerConfig;
+import io.github.bhxch.mcp.jlens.inspector.ClassInspector;
+import io.github.bhxch.mcp.jlens.inspector.InspectionEngine;
 import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
-
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -21,7 +33,14 @@ public class CacheManager {
     private final Cache<String, ClassMetadata> classMetadataCache;
     private final Cache<String, String> decompilerCache;
     private final ClassLoaderManager classLoaderManager;
+    private final ModuleWatcher moduleWatcher;
+    private final ModuleContextStore moduleContextStore;
     private final ServerConfig config;
+    /**
+     * Reactor resolutions in progress by the aggregator's module key
+     */
+    private final Map<String, CompletableFuture<Map<Path, ModuleContext>>> reactorResolutions =
+        new ConcurrentHashMap<>();
 
     public CacheManager(ServerConfig config) {
         this.config = config;
@@ -29,12 +48,18 @@ public class CacheManager {
         this.classMetadataCache = createClassMetadataCache();
         this.decompilerCache = createDecompilerCache();
         this.classLoaderManager = new ClassLoaderManager();
+        this.moduleWatcher = config.isFileWatchEnabled()
+            ? new ModuleWatcher(config.getFileWatchDebounceMillis(), this::invalidateModule)
+            : null;
+        this.moduleContextStore = config.isPersistentModuleCacheEnabled()
+            ? new ModuleContextStore(config.getModuleCacheDirectory(), config.getMavenSettings())
+            : null;
     }
 
     private Cache<String, ModuleContext> createModuleCache() {
         return Caffeine.newBuilder()
             .maximumSize(config.getCacheSize())
-            .expireAfterWrite(config.getCacheTtlSeconds(), TimeUnit.SECONDS)
+            .expireAfterWrite(config.getEffectiveCacheTtlSeconds(), TimeUnit.SECONDS)
             .recordStats()
             .build();
     }
@@ -42,7 +67,7 @@ public class CacheManager {
     private Cache<String, ClassMetadata> createClassMetadataCache() {
         return Caffeine.newBuilder()
             .maximumSize(config.getCacheSize() * 10)
-            .expireAfterWrite(config.getCacheTtlSeconds(), TimeUnit.SECONDS)
+            .expireAfterWrite(config.getEffectiveCacheTtlSeconds(), TimeUnit.SECONDS)
             .recordStats()
             .build();
     }
@@ -59,6 +84,140 @@ public class CacheManager {
         return moduleCache.get(key, k -> loader.get());
     }
 
+    /**
+     * Key of a module's context in the module cache: the POM, the scope and profiles it was
+     * resolved with, and the fingerprint of the POM and its parents, so editing any of them
+     * makes the next lookup resolve the module again
+     */
+    public static String moduleContextKey(Path pomFile, Scope scope, List<String> profiles) {
+        return modulePrefix(pomFile) + scope + "|" + String.join(",", profiles != null ? profiles : List.of())
+            + "|" + PomFingerprint.of(pomFile);
+    }
+
+    private static String modulePrefix(Path pomFile) {
+        return "pom:" + pomFile.toAbsolutePath().normalize() + "|";
+    }
+
+    /**
+     * Get a module's context, resolving it on a cache miss. Concurrent calls for the same
+     * module, scope and profiles wait for a single resolution. A context stored on disk by an
+     * earlier server is reused while the files it was resolved from are unchanged. The files
+     * of a resolved module are watched, and its cached data is invalidated when they change.
+     */
+    public ModuleContext getModuleContext(Path pomFile, Scope scope, List<String> profiles,
+                                          Supplier<ModuleContext> resolver) {
+        return moduleCache.get(moduleContextKey(pomFile, scope, profiles), k -> {
+            ModuleContext context = moduleContextStore != null
+                ? moduleContextStore.load(pomFile, scope, profiles)
+                : null;
+            if (context == null) {
+                context = resolver.get();
+                persist(pomFile, scope, profiles, context);
+            }
+            watch(context);
+            return context;
+        });
+    }
+
+    /**
+     * Get a module's context if it is cached in memory or stored on disk, without resolving it
+     */
+    public ModuleContext getModuleContextIfCached(Path pomFile, Scope scope, List<String> profiles) {
+        String key = moduleContextKey(pomFile, scope, profiles);
+        ModuleContext context = moduleCache.getIfPresent(key);
+        if (context == null && moduleContextStore != null) {
+            context = moduleContextStore.load(pomFile, scope, profiles);
+            if (context != null) {
+                moduleCache.put(key, context);
+                watch(context);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Resolve a reactor for concurrent callers once: calls for the same aggregator, scope and
+     * profiles while a resolution is running wait for it instead of starting their own. The
+     * contexts themselves are cached per module by the resolver.
+     */
+    public Map<Path, ModuleContext> resolveReactorOnce(Path aggregatorPom, Scope scope, List<String> profiles,
+                                                       Supplier<Map<Path, ModuleContext>> resolver) {
+        String key = moduleContextKey(aggregatorPom, scope, profiles);
+        CompletableFuture<Map<Path, ModuleContext>> resolution = new CompletableFuture<>();
+        CompletableFuture<Map<Path, ModuleContext>> running = reactorResolutions.putIfAbsent(key, resolution);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Map<Path, ModuleContext> contexts = resolver.get();
+            resolution.complete(contexts);
+            return contexts;
+        } catch (RuntimeException e) {
+            resolution.completeExceptionally(e);
+            throw e;
+        } finally {
+            reactorResolutions.remove(key, resolution);
+        }
+    }
+
+    /**
+     * Cache a module context resolved elsewhere, such as one module of a reactor resolved at
+     * once, as if it had been resolved through {@link #getModuleContext}
+     */
+    public void putModuleContext(Path pomFile, Scope scope, List<String> profiles, ModuleContext context) {
+        moduleCache.put(moduleContextKey(pomFile, scope, profiles), context);
+        persist(pomFile, scope, profiles, context);
+        watch(context);
+    }
+
+    private void persist(Path pomFile, Scope scope, List<String> profiles, ModuleContext context) {
+        if (moduleContextStore != null && context != null) {
+            moduleContextStore.save(pomFile, scope, profiles, PomFingerprint.chain(pomFile), context);
+        }
+    }
+
+    private void watch(ModuleContext context) {
+        if (moduleWatcher != null && context != null) {
+            moduleWatcher.watch(context);
+        }
+    }
+
+    /**
+     * Drop everything cached for a module: its contexts, its ClassLoader and the metadata of
+     * the classes inspected on its classpath
+     */
+    public void invalidateModule(Path pomFile) {
+        String prefix = modulePrefix(pomFile);
+        Set<String> coordinates = new HashSet<>();
+        moduleCache.asMap().forEach((key, context) -> {
+            if (key.startsWith(prefix)) {
+                coordinates.add(context.getCoordinates());
+            }
+        });
+        invalidateModuleContexts(pomFile);
+        if (moduleContextStore != null) {
+            moduleContextStore.remove(pomFile);
+        }
+        classLoaderManager.invalidate(pomFile);
+        for (String coords : coordinates) {
+            // Every class, JDK and engine of the module
+            String metadataPrefix = "gav:" + coords + ":";
+            classMetadataCache.asMap().keySet().removeIf(key -> key.startsWith(metadataPrefix));
+        }
+    }
+
+    /**
+     * Drop every cached context of a module, whatever scope and profiles it was resolved with
+     */
+    public void invalidateModuleContexts(Path pomFile) {
+        String prefix = modulePrefix(pomFile);
+        moduleCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
     public ModuleContext getModuleContextIfPresent(String key) {
         return moduleCache.getIfPresent(key);
     }
@@ -71,6 +230,46 @@ public class CacheManager {
         moduleCache.invalidate(key);
     }
 
+    /**
+     * Key of a class's metadata in the class metadata cache: the module's coordinates when
+     * known, since the same class name can come from different dependency versions, the
+     * JDK whose sources provided the {@code @since} information, and the engine that
+     * inspected the class, as the engines differ in the signatures, exceptions and
+     * parameter names they report
+     */
+    public static String classMetadataKey(ModuleContext context, String className, Path javaHome,
+                                          InspectionEngine engine) {
+        String key = context != null
+            ? "gav:" + context.getCoordinates() + ":" + className
+            : "cp:default:" + className;
+        if (javaHome != null) {
+            key += "@" + javaHome.toAbsolutePath().normalize();
+        }
+        return key + "#" + engine;
+    }
+
+    /**
+     * Get a class's metadata at a detail level. The cache holds one full-detail entry per
+     * class, module, JDK and engine, and lower detail levels are projected from it, so
+     * changing the level never inspects the class again.
+     *
+     * @param fullInspection inspects the class at FULL detail on a cache miss; only
+     *                       successful inspections are cached
+     */
+    public ClassMetadata getClassMetadata(ModuleContext context, String className, Path javaHome,
+                                          InspectionEngine engine, ParallelProcessor.DetailLevel level,
+                                          boolean bypassCache, Supplier<ClassMetadata> fullInspection) {
+        String key = classMetadataKey(context, className, javaHome, engine);
+        ClassMetadata metadata = bypassCache ? null : classMetadataCache.getIfPresent(key);
+        if (metadata == null) {
+            metadata = fullInspection.get();
+            if ("SUCCESS".equals(metadata.getStatus())) {
+                classMetadataCache.put(key, metadata);
+            }
+        }
+        return ClassInspector.project(metadata, level);
+    }
+
     public ClassMetadata getClassMetadata(String key, Supplier<ClassMetadata> loader) {
         return classMetadataCache.get(key, k -> loader.get());
     }
@@ -137,11 +336,27 @@ public class CacheManager {
         return classLoaderManager;
     }
 
+    /**
+     * Watcher of the resolved modules' files, or null when file watching is disabled
+     */
+    public ModuleWatcher getModuleWatcher() {
+        return moduleWatcher;
+    }
+
     public void cleanup() {
         moduleCache.cleanUp();
         classMetadataCache.cleanUp();
         decompilerCache.cleanUp();
     }
+
+    /**
+     * Stop watching module files
+     */
+    public void close() {
+        if (moduleWatcher != null) {
+            moduleWatcher.close();
+        }
+    }
 }
 
 
@@ -0,0 +1,339 @@
+package io.github.bhxch.mcp.jlens.cache;
+
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Persists resolved module contexts under a cache directory, so a restarted server serves
+ * them without resolving the modules again. Each file records the size and modification time
+ * of the inputs the context was resolved from (the POM, its local parents and settings.xml)
+ * and of every artifact it points to; a stored context is only used while all of them are
+ * unchanged, which takes a stat per file rather than reading any of them.
+ */
+public class ModuleContextStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModuleContextStore.class);
+
+    private static final int MAGIC = 0x4A4C4D43; // "JLMC"
+    static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".ctx";
+
+    /**
+     * Size recorded for a file that did not exist
+     */
+    private static final long MISSING = -1;
+
+    private static final int MAX_STRING_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final Path settingsFile;
+
+    /**
+     * @param directory directory holding the stored contexts
+     * @param settingsFile Maven settings.xml in use, or null for the user's default one
+     */
+    public ModuleContextStore(Path directory, Path settingsFile) {
+        this.directory = directory;
+        this.settingsFile = settingsFile != null
+            ? settingsFile.toAbsolutePath().normalize()
+            : Paths.get(System.getProperty("user.home"), ".m2", "settings.xml");
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Load the stored context of a module, or return null if there is none or any of the
+     * files it was resolved from or points to changed since it was stored
+     */
+    public ModuleContext load(Path pomFile, Scope scope, List<String> profiles) {
+        Path file = contextFile(pomFile, scope, profiles);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.debug("Ignoring module context with unknown format: {}", file);
+                return null;
+            }
+            if (!key(pomFile, scope, profiles).equals(readString(in))) {
+                return null;
+            }
+            int statCount = in.readInt();
+            for (int i = 0; i < statCount; i++) {
+                Path path = Paths.get(readString(in));
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                if (!sameStat(path, size, lastModified)) {
+                    logger.debug("Stored context of {} is stale: {} changed", pomFile, path);
+                    Files.deleteIfExists(file);
+                    return null;
+                }
+            }
+            return readContext(in);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to load module context {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store a resolved context. The files it depends on are listed by the caller's
+     * {@code inputs}, typically the POM chain, plus settings.xml and the context's artifacts.
+     */
+    public void save(Path pomFile, Scope scope, List<String> profiles, List<Path> inputs, ModuleContext context) {
+        Set<Path> watched = new LinkedHashSet<>();
+        for (Path input : inputs) {
+            watched.add(input.toAbsolutePath().normalize());
+        }
+        watched.add(settingsFile);
+        for (DependencyInfo dependency : context.getDependencies()) {
+            if (dependency.getJarPath() != null) {
+                watched.add(dependency.getJarPath());
+            }
+        }
+        watched.addAll(context.getClasspathJars());
+        watched.addAll(context.getSourceJars());
+
+        Path file = contextFile(pomFile, scope, profiles);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "context-", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    writeString(out, key(pomFile, scope, profiles));
+                    out.writeInt(watched.size());
+                    for (Path path : watched) {
+                        writeStat(out, path);
+                    }
+                    writeContext(out, context);
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to persist module context of {}: {}", pomFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete every stored context of a module, whatever scope and profiles it was resolved with
+     */
+    public void remove(Path pomFile) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, modulePrefix(pomFile) + "-*" + EXTENSION)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to remove stored contexts of {}: {}", pomFile, e.getMessage());
+        }
+    }
+
+    Path contextFile(Path pomFile, Scope scope, List<String> profiles) {
+        return directory.resolve(modulePrefix(pomFile) + "-" + sha256(key(pomFile, scope, profiles)).substring(0, 16)
+            + EXTENSION);
+    }
+
+    private String modulePrefix(Path pomFile) {
+        return sha256(pomFile.toAbsolutePath().normalize().toString()).substring(0, 32);
+    }
+
+    private String key(Path pomFile, Scope scope, List<String> profiles) {
+        return pomFile.toAbsolutePath().normalize() + "|" + scope + "|"
+            + String.join(",", profiles != null ? profiles : List.of()) + "|" + settingsFile;
+    }
+
+    private static void writeStat(DataOutputStream out, Path path) throws IOException {
+        writeString(out, path.toString());
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            out.writeLong(attributes.size());
+            out.writeLong(attributes.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            out.writeLong(MISSING);
+            out.writeLong(0);
+        }
+    }
+
+    /**
+     * A file that was missing must still be missing; one that existed must have the same
+     * size and modification time
+     */
+    private static boolean sameStat(Path path, long size, long lastModified) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+        } catch (IOException e) {
+            return size == MISSING;
+        }
+    }
+
+    private static void writeContext(DataOutputStream out, ModuleContext context) throws IOException {
+        writePath(out, context.getPomFile());
+        writePath(out, context.getBaseDirectory());
+        writePath(out, context.getProjectRoot());
+        writePath(out, context.getLocalRepository());
+        writeString(out, context.getScope().name());
+        writeStrings(out, context.getActiveProfiles());
+        writeString(out, context.getGroupId());
+        writeString(out, context.getArtifactId());
+        writeString(out, context.getVersion());
+        writeString(out, context.getPackaging());
+        writePath(out, context.getOutputDirectory());
+        writePath(out, context.getTestOutputDirectory());
+        writePaths(out, context.getClasspath());
+        writePaths(out, context.getClasspathJars());
+        writePaths(out, context.getSourceJars());
+
+        out.writeInt(context.getDependencies().size());
+        for (DependencyInfo dependency : context.getDependencies()) {
+            writeString(out, dependency.getGroupId());
+            writeString(out, dependency.getArtifactId());
+            writeString(out, dependency.getVersion());
+            writeString(out, dependency.getClassifier());
+            writeString(out, dependency.getType());
+            writeString(out, dependency.getScope().name());
+            writePath(out, dependency.getJarPath());
+            out.writeBoolean(dependency.isOptional());
+            writeString(out, dependency.getSystemPath());
+        }
+    }
+
+    private static ModuleContext readContext(DataInputStream in) throws IOException {
+        ModuleContext.Builder builder = ModuleContext.builder()
+            .pomFile(readPath(in))
+            .baseDirectory(readPath(in))
+            .projectRoot(readPath(in))
+            .localRepository(readPath(in))
+            .scope(Scope.valueOf(readString(in)))
+            .activeProfiles(readStrings(in))
+            .groupId(readString(in))
+            .artifactId(readString(in))
+            .version(readString(in))
+            .packaging(readString(in))
+            .outputDirectory(readPath(in))
+            .testOutputDirectory(readPath(in))
+            .classpath(readPaths(in))
+            .classpathJars(readPaths(in))
+            .sourceJars(readPaths(in));
+
+        int dependencyCount = in.readInt();
+        for (int i = 0; i < dependencyCount; i++) {
+            builder.addDependency(new DependencyInfo(readString(in), readString(in), readString(in),
+                readString(in), readString(in), Scope.valueOf(readString(in)), readPath(in),
+                in.readBoolean(), readString(in)));
+        }
+        return builder.build();
+    }
+
+    private static void writePaths(DataOutputStream out, List<Path> paths) throws IOException {
+        out.writeInt(paths.size());
+        for (Path path : paths) {
+            writePath(out, path);
+        }
+    }
+
+    private static List<Path> readPaths(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Path> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            paths.add(readPath(in));
+        }
+        return paths;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writePath(DataOutputStream out, Path path) throws IOException {
+        writeString(out, path != null ? path.toString() : null);
+    }
+
+    private static Path readPath(DataInputStream in) throws IOException {
+        String value = readString(in);
+        return value != null ? Paths.get(value) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_STRING_BYTES) {
+            throw new IOException("Corrupt module context: string of " + length + " bytes");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
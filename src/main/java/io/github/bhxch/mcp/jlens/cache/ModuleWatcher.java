@@ -0,0 +1,265 @@
+package io.github.bhxch.mcp.jlens.cache;
+
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Watches the files a resolved module depends on and reports the module as changed once
+ * they stop changing. The watched files are the module's POM and its local parents, its
+ * output and other classpath directories, and the local repository directories of its
+ * dependency JARs. Events are debounced per module, so a build that writes thousands of
+ * class files invalidates the module once, after it has finished writing.
+ */
+public class ModuleWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModuleWatcher.class);
+
+    /**
+     * Names a module watches for in a POM directory besides its POM: the build output root,
+     * which appears and disappears with {@code mvn compile} and {@code mvn clean}
+     */
+    private static final String TARGET = "target";
+
+    private final long debounceNanos;
+    private final long pollMillis;
+    private final Consumer<Path> onChange;
+
+    /**
+     * Watched directory to the modules watching it and the file names each reacts to; an
+     * empty set means any file, as for class and JAR directories
+     */
+    private final Map<Path, Map<Path, Set<String>>> watched = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Changed module to the time of its latest event
+     */
+    private final Map<Path, Long> pending = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * @param debounceMillis quiet period after the last event of a module before it is
+     *                       reported
+     * @param onChange       called with the POM of each changed module, on the watcher thread
+     */
+    public ModuleWatcher(long debounceMillis, Consumer<Path> onChange) {
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.pollMillis = Math.clamp(debounceMillis / 4, 10, 250);
+        this.onChange = onChange;
+    }
+
+    /**
+     * Start watching the files of a module. Watching a module again adds the directories
+     * of its current classpath.
+     */
+    public void watch(ModuleContext context) {
+        if (closed || context == null || context.getPomFile() == null) {
+            return;
+        }
+        Path pomFile = context.getPomFile();
+        try {
+            ensureStarted();
+            for (Path pom : PomFingerprint.chain(pomFile)) {
+                register(pom.getParent(), pomFile, Set.of(pom.getFileName().toString(), TARGET));
+            }
+            if (context.getOutputDirectory() != null) {
+                registerTree(context.getOutputDirectory(), pomFile);
+            }
+            for (Path entry : context.getClasspath()) {
+                if (Files.isDirectory(entry)) {
+                    registerTree(entry, pomFile);
+                }
+            }
+            for (Path jar : context.getClasspathJars()) {
+                if (jar.getParent() != null) {
+                    register(jar.getParent(), pomFile, Set.of());
+                }
+            }
+            logger.debug("Watching {} directories for module {}", keys.size(), pomFile);
+        } catch (IOException e) {
+            logger.warn("Failed to watch module {}: {}", pomFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Stop watching a module's files; directories no other module watches are released
+     */
+    public void unwatch(Path pomFile) {
+        for (var entry : watched.entrySet()) {
+            Map<Path, Set<String>> modules = entry.getValue();
+            modules.remove(pomFile);
+            if (modules.isEmpty() && watched.remove(entry.getKey(), modules)) {
+                WatchKey key = keys.remove(entry.getKey());
+                if (key != null) {
+                    key.cancel();
+                }
+            }
+        }
+        pending.remove(pomFile);
+    }
+
+    /**
+     * Number of watched directories, for diagnostics
+     */
+    public int getWatchedDirectoryCount() {
+        return keys.size();
+    }
+
+    private synchronized void ensureStarted() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        thread = Thread.ofPlatform().daemon().name("jlens-module-watcher").start(this::run);
+    }
+
+    private void register(Path directory, Path pomFile, Set<String> names) throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        Path dir = directory.toAbsolutePath().normalize();
+        watched.computeIfAbsent(dir, d -> new ConcurrentHashMap<>())
+            .merge(pomFile, names, (current, added) -> {
+                if (current.isEmpty() || added.isEmpty()) {
+                    return Set.of();
+                }
+                Set<String> union = new HashSet<>(current);
+                union.addAll(added);
+                return union;
+            });
+        if (!keys.containsKey(dir)) {
+            keys.put(dir, dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
+        }
+    }
+
+    /**
+     * Watch a directory and all of its subdirectories, since a watch only reports changes
+     * to a directory's direct children
+     */
+    private void registerTree(Path root, Path pomFile) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                register(dir, pomFile, Set.of());
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            if (key != null) {
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handleEvent(dir, event);
+                }
+                if (!key.reset()) {
+                    keys.remove(dir, key);
+                    watched.remove(dir);
+                }
+            }
+            flush();
+        }
+    }
+
+    private void handleEvent(Path dir, WatchEvent<?> event) {
+        Map<Path, Set<String>> modules = watched.get(dir);
+        if (modules == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            modules.keySet().forEach(pomFile -> pending.put(pomFile, now));
+            return;
+        }
+
+        Path name = (Path) event.context();
+        for (var module : modules.entrySet()) {
+            Set<String> names = module.getValue();
+            if (names.isEmpty() || names.contains(name.toString())) {
+                pending.put(module.getKey(), now);
+            }
+        }
+
+        // Class files written into a new package directory must be seen too
+        Path child = dir.resolve(name);
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+            for (var module : modules.entrySet()) {
+                if (module.getValue().isEmpty()) {
+                    try {
+                        registerTree(child, module.getKey());
+                    } catch (IOException e) {
+                        logger.debug("Failed to watch new directory {}: {}", child, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Report the modules that have been quiet for the debounce period
+     */
+    private void flush() {
+        long now = System.nanoTime();
+        for (var entry : List.copyOf(pending.entrySet())) {
+            if (now - entry.getValue() >= debounceNanos && pending.remove(entry.getKey(), entry.getValue())) {
+                Path pomFile = entry.getKey();
+                logger.info("Files of module {} changed, invalidating its caches", pomFile);
+                unwatch(pomFile);
+                try {
+                    onChange.accept(pomFile);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to invalidate module {}: {}", pomFile, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close watch service: {}", e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        keys.clear();
+        watched.clear();
+        pending.clear();
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.bhxch.mcp.jlens.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fingerprint of a pom.xml and the local parent POMs it inherits from. A module context
+ * resolved from a POM stays valid while the fingerprint is unchanged, since editing the POM
+ * or any parent it inherits dependencies, properties and profiles from changes the digest.
+ */
+public final class PomFingerprint {
+
+    private static final Pattern PARENT_PATTERN = Pattern.compile("<parent>(.*?)</parent>", Pattern.DOTALL);
+    private static final Pattern RELATIVE_PATH_PATTERN =
+        Pattern.compile("<relativePath\\s*/>|<relativePath>([^<]*)</relativePath>");
+
+    /**
+     * Parent chains longer than this are cut off
+     */
+    private static final int MAX_DEPTH = 32;
+
+    private PomFingerprint() {
+    }
+
+    /**
+     * SHA-256 digest over the contents of the POM and each parent POM found on disk through
+     * {@code <relativePath>}, which defaults to {@code ../pom.xml}
+     *
+     * @throws UncheckedIOException if the POM cannot be read
+     */
+    public static String of(Path pomFile) {
+        MessageDigest digest = sha256();
+        Set<Path> visited = new HashSet<>();
+        Path current = pomFile.toAbsolutePath().normalize();
+        try {
+            while (current != null && visited.size() < MAX_DEPTH && visited.add(current)) {
+                byte[] content = Files.readAllBytes(current);
+                digest.update(current.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(content);
+                current = parentPom(current, new String(content, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read POM file: " + current, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The POM followed by the parent POMs found on disk, the files whose changes can change
+     * the module. Parents that cannot be read end the chain.
+     */
+    public static List<Path> chain(Path pomFile) {
+        List<Path> chain = new ArrayList<>();
+        Path current = pomFile.toAbsolutePath().normalize();
+        while (current != null && chain.size() < MAX_DEPTH && !chain.contains(current)) {
+            chain.add(current);
+            try {
+                current = parentPom(current, Files.readString(current));
+            } catch (IOException e) {
+                break;
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Local parent POM of a POM, or null when it has no parent, the parent comes from a
+     * repository, or the relative path does not exist
+     */
+    static Path parentPom(Path pomFile, String pomContent) {
+        Matcher parentMatcher = PARENT_PATTERN.matcher(pomContent);
+        if (!parentMatcher.find()) {
+            return null;
+        }
+
+        String relativePath = "../pom.xml";
+        Matcher relativeMatcher = RELATIVE_PATH_PATTERN.matcher(parentMatcher.group(1));
+        if (relativeMatcher.find()) {
+            relativePath = relativeMatcher.group(1) != null ? relativeMatcher.group(1).trim() : "";
+        }
+        // An empty relativePath means the parent is only looked up in repositories
+        if (relativePath.isEmpty()) {
+            return null;
+        }
+
+        Path parent = pomFile.getParent().resolve(relativePath).normalize();
+        if (Files.isDirectory(parent)) {
+            parent = parent.resolve("pom.xml");
+        }
+        return Files.isRegularFile(parent) ? parent : null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
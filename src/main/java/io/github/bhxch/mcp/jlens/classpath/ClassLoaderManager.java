@@ -4,6 +4,7 @@ import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Path;
@@ -48,11 +49,30 @@ public class ClassLoaderManager {
     
     public void invalidate(ModuleContext context) {
         if (context != null) {
-            loaderCache.remove(context.getPomFile().toString());
+            close(loaderCache.remove(context.getPomFile().toString()));
         }
     }
     
+    /**
+     * Drop the ClassLoader of the module with the given POM, closing the JARs it opened
+     */
+    public void invalidate(Path pomFile) {
+        if (pomFile != null) {
+            close(loaderCache.remove(pomFile.toString()));
+        }
+    }
+
     public void clear() {
-        loaderCache.clear();
+        loaderCache.keySet().forEach(key -> close(loaderCache.remove(key)));
+    }
+
+    private void close(ClassLoader loader) {
+        if (loader instanceof URLClassLoader urlLoader && loader != ClassLoader.getSystemClassLoader()) {
+            try {
+                urlLoader.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close ClassLoader: {}", e.getMessage());
+            }
+        }
     }
 }
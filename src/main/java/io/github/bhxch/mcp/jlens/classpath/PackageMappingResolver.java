@@ -1,13 +1,34 @@
 package io.github.bhxch.mcp.jlens.classpath;
 
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassFileIndexer;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntry;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntryFingerprint;
+import io.github.bhxch.mcp.jlens.classpath.index.DirectoryIndexer;
+import io.github.bhxch.mcp.jlens.classpath.index.JarIndexer;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentRegistry;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeSearchPage;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -16,111 +37,323 @@ import java.util.stream.Collectors;
  * Resolves which package a class belongs to based on imports and context
  */
 public class PackageMappingResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PackageMappingResolver.class);
     
-    private final Map<String, Set<String>> classToPackages = new ConcurrentHashMap<>();
-    private final Map<String, String> packageToDependency = new ConcurrentHashMap<>();
+    private final SegmentStore segmentStore;
+    private final JdkClassIndex jdkClassIndex;
+    private final SegmentRegistry segmentRegistry = new SegmentRegistry();
+    private final ClassLocator classLocator = new ClassLocator();
+    /**
+     * Number of published snapshots using each JAR in the class locator
+     */
+    private final Map<Path, Integer> jarReferences = new ConcurrentHashMap<>();
+    private final Map<String, ClassIndexSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> moduleLocks = new ConcurrentHashMap<>();
+    private final AtomicReference<ClassIndexSnapshot> latestSnapshot =
+        new AtomicReference<>(ClassIndexSnapshot.empty());
+    private final AtomicLong snapshotVersion = new AtomicLong();
+    private final AtomicLong indexedEntryCount = new AtomicLong();
     private final Pattern importPattern = Pattern.compile(
         "^import\\s+(?:static\\s+)?([a-zA-Z_$][a-zA-Z\\d_$]*(?:\\.[a-zA-Z_$][a-zA-Z\\d_$]*)*)\\.([a-zA-Z_$][a-zA-Z\\d_$]*)(?:\\s*;)?$"
     );
+
+    public PackageMappingResolver() {
+        this(null);
+    }
+
+    /**
+     * Create a resolver that persists per-JAR index segments in the given store
+     */
+    public PackageMappingResolver(SegmentStore segmentStore) {
+        this(segmentStore, null);
+    }
+
+    /**
+     * Create a resolver that also includes the JDK's classes in every module index
+     *
+     * @param jdkClassIndex index of the JDK images, or null to index module classpaths only
+     */
+    public PackageMappingResolver(SegmentStore segmentStore, JdkClassIndex jdkClassIndex) {
+        this.segmentStore = segmentStore;
+        this.jdkClassIndex = jdkClassIndex;
+    }
     
     /**
-     * Build index of all classes in classpath with their packages
+     * Build index of all classes in classpath with their packages.
+     * Only classpath entries that were added or whose fingerprint changed since the
+     * last call for the same module are indexed; removed entries are dropped.
+     * The new index is assembled off to the side and published as an immutable
+     * snapshot, so concurrent searches keep reading the previous one until then.
+     * Segments are shared with other modules through the segment registry, so a JAR
+     * already indexed for a sibling module is reused instead of being read again.
+     *
+     * @return the module's current snapshot
+     */
+    public ClassIndexSnapshot buildClassIndex(ModuleContext context) {
+        return buildClassIndex(context, null);
+    }
+
+    /**
+     * Build the class index of a module compiled against the JDK at the given java home.
+     * The JDK's modules come first, as the boot class path takes precedence at runtime.
+     * Builds of the same module run one at a time; different modules build concurrently.
+     *
+     * @param javaHome JDK home directory, or null for the JDK running the server
+     * @return the module's current snapshot
      */
-    public void buildClassIndex(ModuleContext context) {
+    public ClassIndexSnapshot buildClassIndex(ModuleContext context, Path javaHome) {
+        String moduleKey = String.valueOf(context.getPomFile());
+        synchronized (moduleLocks.computeIfAbsent(moduleKey, key -> new Object())) {
+            return buildClassIndex(context, javaHome, moduleKey);
+        }
+    }
+
+    private ClassIndexSnapshot buildClassIndex(ModuleContext context, Path javaHome, String moduleKey) {
+        ClassIndexSnapshot previousSnapshot = snapshots.get(moduleKey);
+        Map<String, ClassIndexSegment> previous = previousSnapshot != null
+            ? previousSnapshot.getSegments()
+            : Map.of();
+        List<ClasspathEntry> entries = ClasspathEntry.forModule(context);
+        Collection<ClassIndexSegment> registered = new ConcurrentLinkedQueue<>();
+
         try {
-            List<Path> classpath = context.getClasspathJars();
-            
-            // Use virtual threads for parallel indexing
+            Map<String, ClassIndexSegment> current = new LinkedHashMap<>();
+            for (ClassIndexSegment segment : jdkSegments(javaHome)) {
+                current.put("JDK:" + segment.getLabel(), segment);
+            }
+            Map<String, java.util.concurrent.Future<ClassIndexSegment>> pending = new LinkedHashMap<>();
+
+            // Use virtual threads for parallel indexing of added or changed entries
             try (var executor = java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor()) {
-                List<java.util.concurrent.Future<Void>> futures = new ArrayList<>();
-                
-                for (Path jarPath : classpath) {
-                    futures.add(executor.submit(() -> {
-                        indexJarFile(jarPath, context);
-                        return null;
-                    }));
+                for (ClasspathEntry entry : entries) {
+                    ClassIndexSegment existing = previous.get(entry.key());
+                    pending.put(entry.key(), executor.submit(() -> refreshEntry(entry, existing, registered)));
                 }
-                
-                for (java.util.concurrent.Future<Void> future : futures) {
-                    future.get();
+
+                for (var future : pending.entrySet()) {
+                    ClassIndexSegment segment = future.getValue().get();
+                    if (segment != null) {
+                        current.put(future.getKey(), segment);
+                    }
                 }
             }
-            
-            // Also index source JARs if available
-            indexSourcePackages(context.getSourceJars(), context);
-            
+            boolean changed = previousSnapshot == null || current.size() != previous.size();
+            for (var entry : current.entrySet()) {
+                if (previous.get(entry.getKey()) != entry.getValue()) {
+                    changed = true;
+                    break;
+                }
+            }
+
+            ClassIndexSnapshot snapshot = previousSnapshot;
+            if (changed) {
+                snapshot = new ClassIndexSnapshot(moduleKey, snapshotVersion.incrementAndGet(), current);
+                segmentRegistry.acquire(current.values());
+                snapshots.put(moduleKey, snapshot);
+                segmentRegistry.release(previous.values());
+                locateJars(current, previous);
+                logger.debug("Published class index snapshot {} for {}: {} entries",
+                    snapshot.getVersion(), moduleKey, current.size());
+            }
+            latestSnapshot.set(snapshot);
+            return snapshot;
         } catch (Exception e) {
+            // Only this build's segments, as other modules may be about to acquire theirs
+            segmentRegistry.purgeUnreferenced(registered);
             throw new RuntimeException("Failed to build class index", e);
         }
     }
-    
+
     /**
-     * Index a single JAR file
+     * Add the JARs of a published snapshot to the class locator, and remove the JARs of the
+     * snapshot it replaced that no published snapshot uses any more. JARs are counted per
+     * path rather than per segment, as identical JARs share one segment.
      */
-    private void indexJarFile(Path jarPath, ModuleContext context) {
-        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
-            Enumeration<JarEntry> entries = jarFile.entries();
-            
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                if (entry.getName().endsWith(".class")) {
-                    String className = entry.getName()
-                        .replace('/', '.')
-                        .replace(".class", "");
-                    
-                    int lastDot = className.lastIndexOf('.');
-                    if (lastDot > 0) {
-                        String packageName = className.substring(0, lastDot);
-                        String simpleName = className.substring(lastDot + 1);
-                        
-                        // Store mapping
-                        classToPackages.computeIfAbsent(simpleName, k -> ConcurrentHashMap.newKeySet())
-                            .add(packageName);
-                        
-                        // Track which dependency provides this package
-                        packageToDependency.put(packageName, 
-                            getDependencyForJar(jarPath, context));
+    private void locateJars(Map<String, ClassIndexSegment> current, Map<String, ClassIndexSegment> previous) {
+        for (var entry : current.entrySet()) {
+            Path jar = jarPath(entry.getKey());
+            if (jar != null) {
+                boolean added = !previous.containsKey(entry.getKey());
+                jarReferences.compute(jar, (path, count) -> {
+                    classLocator.add(path, entry.getValue());
+                    return count == null ? 1 : added ? count + 1 : count;
+                });
+            }
+        }
+        for (String key : previous.keySet()) {
+            Path jar = jarPath(key);
+            if (jar != null && !current.containsKey(key)) {
+                jarReferences.computeIfPresent(jar, (path, count) -> {
+                    if (count > 1) {
+                        return count - 1;
                     }
-                }
+                    classLocator.remove(path);
+                    return null;
+                });
             }
+        }
+    }
+
+    /**
+     * The path of a JAR entry's segment key, or null for other entries
+     */
+    private static Path jarPath(String key) {
+        String prefix = ClasspathEntry.Kind.JAR.name() + ":";
+        return key.startsWith(prefix) ? Path.of(key.substring(prefix.length())) : null;
+    }
+
+    /**
+     * Build a snapshot of the JDK's classes alone, for searches outside of a module
+     *
+     * @param javaHome JDK home directory, or null for the JDK running the server
+     */
+    public ClassIndexSnapshot buildJdkClassIndex(Path javaHome) {
+        return ClassIndexSnapshot.of(jdkSegments(javaHome));
+    }
+
+    /**
+     * JDK module segments are owned by the JDK index for its whole lifetime, so they are
+     * not registered in the segment registry
+     */
+    private List<ClassIndexSegment> jdkSegments(Path javaHome) {
+        if (jdkClassIndex == null) {
+            return List.of();
+        }
+        try {
+            return jdkClassIndex.segments(javaHome);
         } catch (IOException e) {
-            // Log and continue with other JARs
-            System.err.println("Failed to index JAR: " + jarPath + " - " + e.getMessage());
+            logger.warn("Failed to index JDK classes of {} - {}", javaHome, e.getMessage());
+            return List.of();
         }
     }
-    
+
     /**
-     * Index source JARs
+     * Search fields and methods by name in a snapshot. The member indexes of its segments
+     * are loaded from the segment store or built from the class files on first use.
+     *
+     * @see ClassIndexSnapshot#searchMembers
      */
-    private void indexSourcePackages(List<Path> sourceJars, ModuleContext context) {
-        for (Path sourceJar : sourceJars) {
-            try (JarFile jarFile = new JarFile(sourceJar.toFile())) {
-                Enumeration<JarEntry> entries = jarFile.entries();
-                
-                while (entries.hasMoreElements()) {
-                    JarEntry entry = entries.nextElement();
-                    if (entry.getName().endsWith(".java")) {
-                        String className = entry.getName()
-                            .replace('/', '.')
-                            .replace(".java", "");
-                        
-                        int lastDot = className.lastIndexOf('.');
-                        if (lastDot > 0) {
-                            String packageName = className.substring(0, lastDot);
-                            String simpleName = className.substring(lastDot + 1);
-                            
-                            // Store mapping
-                            classToPackages.computeIfAbsent(simpleName, k -> ConcurrentHashMap.newKeySet())
-                                .add(packageName);
-                        }
-                    }
-                }
-            } catch (IOException e) {
-                // Log and continue with other JARs
-                System.err.println("Failed to index source JAR: " + sourceJar + " - " + e.getMessage());
+    public MemberSearchPage searchMembers(ClassIndexSnapshot snapshot, ClassNameQuery query, String kind,
+                                          MemberMatch after, int limit) {
+        ClassFileIndexer.loadMembers(snapshot.getSegments(), segmentStore);
+        return snapshot.searchMembers(query, kind, after, limit);
+    }
+
+    /**
+     * Find the subtypes of a type in a snapshot. The supertype indexes of its segments
+     * are loaded from the segment store or built from the class files on first use.
+     *
+     * @see ClassIndexSnapshot#findSubtypes
+     */
+    public SubtypeSearchPage findSubtypes(ClassIndexSnapshot snapshot, String typeName, boolean transitive,
+                                          SubtypeMatch after, int limit) {
+        ClassFileIndexer.loadSupertypes(snapshot.getSegments(), segmentStore);
+        return snapshot.findSubtypes(typeName, transitive, after, limit);
+    }
+
+    /**
+     * Find the classes and members carrying an annotation in a snapshot. The annotation
+     * indexes of its segments are loaded from the segment store or built from the class
+     * files on first use.
+     *
+     * @see ClassIndexSnapshot#findAnnotated
+     */
+    public AnnotationSearchPage findAnnotated(ClassIndexSnapshot snapshot, String annotationName, String target,
+                                              AnnotationMatch after, int limit) {
+        ClassFileIndexer.loadAnnotations(snapshot.getSegments(), segmentStore);
+        return snapshot.findAnnotated(annotationName, target, after, limit);
+    }
+
+    /**
+     * Get the published snapshot of a module, or null if it has not been indexed
+     */
+    public ClassIndexSnapshot getSnapshot(ModuleContext context) {
+        return snapshots.get(String.valueOf(context.getPomFile()));
+    }
+
+    /**
+     * Get the snapshot of the most recently indexed module
+     */
+    public ClassIndexSnapshot getLatestSnapshot() {
+        return latestSnapshot.get();
+    }
+
+    /**
+     * Return the existing segment if the entry is unchanged, a segment shared by another
+     * module if one matches, and otherwise index the entry again
+     *
+     * @param registered collects the segments this build added to the registry, leaving out
+     *                   those another module's build registered first
+     */
+    private ClassIndexSegment refreshEntry(ClasspathEntry entry, ClassIndexSegment existing,
+                                           Collection<ClassIndexSegment> registered) {
+        try {
+            ClasspathEntryFingerprint fingerprint = entry.fingerprint();
+            if (entry.isCurrent(existing, fingerprint)) {
+                return existing;
             }
+            ClassIndexSegment shared = segmentRegistry.lookup(fingerprint);
+            if (shared != null) {
+                return shared;
+            }
+
+            indexedEntryCount.incrementAndGet();
+            ClassIndexSegment segment = entry.getKind() == ClasspathEntry.Kind.DIRECTORY
+                ? DirectoryIndexer.index(entry.getPath(), fingerprint, entry.getLabel())
+                : loadOrIndex(entry, fingerprint);
+            ClassIndexSegment kept = segmentRegistry.register(entry.contentKey(segment), fingerprint, segment);
+            if (kept == segment) {
+                registered.add(segment);
+            }
+            return kept;
+        } catch (IOException e) {
+            // Log and continue with other entries
+            logger.warn("Failed to index classpath entry: {} - {}", entry.getPath(), e.getMessage());
+            return null;
         }
     }
+
+    /**
+     * Load the persisted segment of a JAR, or scan the JAR and persist a new segment
+     * if it has never been indexed at its current size and modification time
+     */
+    private ClassIndexSegment loadOrIndex(ClasspathEntry entry, ClasspathEntryFingerprint stat) throws IOException {
+        if (segmentStore != null) {
+            ClassIndexSegment persisted = segmentStore.load(stat);
+            if (persisted != null) {
+                return persisted;
+            }
+        }
+
+        ClasspathEntryFingerprint fingerprint = ClasspathEntryFingerprint.of(entry.getPath());
+        ClassIndexSegment segment = JarIndexer.index(entry.getPath(), fingerprint, entry.getLabel(), entry.getSuffix());
+        if (segmentStore != null) {
+            segmentStore.save(segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Registry of the segments shared by all indexed modules
+     */
+    public SegmentRegistry getSegmentRegistry() {
+        return segmentRegistry;
+    }
+
+    /**
+     * Locator of the classes of every JAR indexed for a module
+     */
+    public ClassLocator getClassLocator() {
+        return classLocator;
+    }
+
+    /**
+     * Number of classpath entries that had to be loaded or scanned, for diagnostics
+     */
+    public long getIndexedEntryCount() {
+        return indexedEntryCount.get();
+    }
     
     /**
      * Parse import statements from Java source file
@@ -154,6 +387,16 @@ public class PackageMappingResolver {
     public ClassResolutionResult resolveClassName(String simpleName, 
                                                  List<String> imports, 
                                                  String currentPackage) {
+        return resolveClassName(latestSnapshot.get(), simpleName, imports, currentPackage);
+    }
+
+    /**
+     * Resolve class name based on imports and context against the given index snapshot
+     */
+    public ClassResolutionResult resolveClassName(ClassIndexSnapshot snapshot,
+                                                 String simpleName,
+                                                 List<String> imports,
+                                                 String currentPackage) {
         
         ClassResolutionResult result = new ClassResolutionResult();
         result.setSimpleClassName(simpleName);
@@ -168,8 +411,7 @@ public class PackageMappingResolver {
         // First check: Same package classes
         if (currentPackage != null) {
             String samePackageClass = currentPackage + "." + simpleName;
-            if (classToPackages.containsKey(simpleName) && 
-                classToPackages.get(simpleName).contains(currentPackage)) {
+            if (snapshot.getPackages(simpleName).contains(currentPackage)) {
                 result.setResolvedClassName(samePackageClass);
                 result.setResolutionType(ClassResolutionResult.ResolutionType.SAME_PACKAGE);
                 result.addMatchedPackage(currentPackage);
@@ -192,8 +434,7 @@ public class PackageMappingResolver {
                 String packageName = importStmt.substring(0, importStmt.length() - 2);
                 String possibleClass = packageName + "." + simpleName;
                 
-                Set<String> packages = classToPackages.get(simpleName);
-                if (packages != null && packages.contains(packageName)) {
+                if (snapshot.getPackages(simpleName).contains(packageName)) {
                     result.setResolvedClassName(possibleClass);
                     result.setResolutionType(ClassResolutionResult.ResolutionType.WILDCARD_IMPORT);
                     result.addMatchedPackage(packageName);
@@ -203,7 +444,7 @@ public class PackageMappingResolver {
         }
         
         // Third check: Java.lang package (implicit)
-        if (isJavaLangClass(simpleName)) {
+        if (snapshot.getPackages(simpleName).contains("java.lang") || isJavaLangClass(simpleName)) {
             result.setResolvedClassName("java.lang." + simpleName);
             result.setResolutionType(ClassResolutionResult.ResolutionType.JAVA_LANG);
             result.addMatchedPackage("java.lang");
@@ -211,8 +452,8 @@ public class PackageMappingResolver {
         }
         
         // Fourth check: All possible packages
-        Set<String> packages = classToPackages.get(simpleName);
-        if (packages != null && !packages.isEmpty()) {
+        Set<String> packages = snapshot.getPackages(simpleName);
+        if (!packages.isEmpty()) {
             result.setResolutionType(ClassResolutionResult.ResolutionType.AMBIGUOUS);
             result.setPossiblePackages(new ArrayList<>(packages));
             
@@ -293,7 +534,7 @@ public class PackageMappingResolver {
     }
     
     /**
-     * Check if class is in java.lang package
+     * Check if class is in java.lang package, for indexes built without the JDK's classes
      */
     private boolean isJavaLangClass(String className) {
         // Common java.lang classes
@@ -311,36 +552,14 @@ public class PackageMappingResolver {
      * Get all possible packages for a simple class name
      */
     public List<String> getPossiblePackages(String simpleClassName) {
-        Set<String> packages = classToPackages.get(simpleClassName);
-        return packages != null ? new ArrayList<>(packages) : List.of();
+        return new ArrayList<>(latestSnapshot.get().getPackages(simpleClassName));
     }
     
     /**
      * Get dependency for a package
      */
     public String getDependencyForPackage(String packageName) {
-        return packageToDependency.get(packageName);
-    }
-    
-    /**
-     * Get dependency for a JAR file
-     */
-    private String getDependencyForJar(Path jarPath, ModuleContext context) {
-        String fileName = jarPath.getFileName().toString();
-        // Try to extract dependency coordinates from JAR name
-        if (fileName.endsWith(".jar")) {
-            String baseName = fileName.substring(0, fileName.length() - 4);
-            // Simple heuristic: groupId:artifactId-version
-            return baseName;
-        }
-        return jarPath.toString();
-    }
-    
-    /**
-     * Get class to packages mapping
-     */
-    public Map<String, Set<String>> getClassToPackages() {
-        return classToPackages;
+        return latestSnapshot.get().getDependencyForPackage(packageName);
     }
     
     /**
@@ -0,0 +1,78 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+/**
+ * A class, field, method or constructor found in the annotation indexes of a snapshot as
+ * carrying the searched annotation
+ */
+public class AnnotationMatch {
+
+    /**
+     * Member name of constructors in class files
+     */
+    public static final String CONSTRUCTOR = "<init>";
+
+    private final String packageName;
+    private final String simpleName;
+    private final String memberName;
+    private final boolean field;
+    private final String dependency;
+
+    public AnnotationMatch(String packageName, String simpleName, String memberName, boolean field,
+                           String dependency) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.memberName = memberName;
+        this.field = field;
+        this.dependency = dependency;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Annotated field or method, {@value #CONSTRUCTOR} for a constructor, null if the
+     * annotation is on the class itself
+     */
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public boolean isField() {
+        return field;
+    }
+
+    public boolean isConstructor() {
+        return CONSTRUCTOR.equals(memberName);
+    }
+
+    /**
+     * "class", "field" or "method", constructors being methods
+     */
+    public String getTarget() {
+        if (memberName == null) {
+            return "class";
+        }
+        return field ? "field" : "method";
+    }
+
+    /**
+     * Dependency label of the classpath entry providing the class, may be null
+     */
+    public String getDependency() {
+        return dependency;
+    }
+
+    public String getClassName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    @Override
+    public String toString() {
+        return memberName == null ? getClassName() : getClassName() + "#" + memberName;
+    }
+}
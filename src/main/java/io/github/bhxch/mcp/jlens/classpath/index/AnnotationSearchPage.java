@@ -0,0 +1,46 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.List;
+
+/**
+ * One page of annotation search results taken from an index snapshot
+ */
+public class AnnotationSearchPage {
+
+    private final List<AnnotationMatch> matches;
+    private final boolean hasMore;
+    private final int totalResults;
+    private final long snapshotVersion;
+
+    public AnnotationSearchPage(List<AnnotationMatch> matches, boolean hasMore, int totalResults, long snapshotVersion) {
+        this.matches = matches;
+        this.hasMore = hasMore;
+        this.totalResults = totalResults;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public List<AnnotationMatch> getMatches() {
+        return matches;
+    }
+
+    /**
+     * Whether more annotated classes and members follow the last one of this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Number of annotated classes and members found by the whole search
+     */
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    /**
+     * Version of the snapshot the page was read from
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+}
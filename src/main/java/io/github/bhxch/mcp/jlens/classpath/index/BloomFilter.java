@@ -0,0 +1,72 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+/**
+ * Fixed-size Bloom filter over strings. It answers "definitely absent" or "possibly present",
+ * using about ten bits per element for a one percent false positive rate.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedElements  number of elements the filter is sized for
+     * @param falsePositiveRate false positive rate at that number of elements
+     */
+    BloomFilter(int expectedElements, double falsePositiveRate) {
+        int n = Math.max(1, expectedElements);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.clamp(m, 64, Integer.MAX_VALUE - 63);
+        this.bits = new long[(bitCount + 63) >>> 6];
+        this.hashCount = Math.clamp(Math.round((double) bitCount / n * Math.log(2)), 1, 16);
+    }
+
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Size of the bit set in bytes
+     */
+    int sizeInBytes() {
+        return bits.length * Long.BYTES;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer so both halves
+     * are usable as independent hashes
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
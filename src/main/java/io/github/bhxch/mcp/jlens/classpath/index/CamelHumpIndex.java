@@ -0,0 +1,124 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.Arrays;
+
+/**
+ * Camel-hump index of one segment. For every simple name it keeps the hump initials
+ * ({@code ConcurrentHashMap} -> {@code CHM}) and a sorted list of all initials suffixes
+ * ({@code CHM}, {@code HM}, {@code M}), so the names whose humps can match a pattern are
+ * a contiguous range found by binary search on the pattern's initials.
+ */
+class CamelHumpIndex {
+
+    private final String[] initials;
+    // (entry id << 8) | start hump, sorted by the initials suffix starting at that hump
+    private final long[] suffixes;
+
+    private CamelHumpIndex(String[] initials, long[] suffixes) {
+        this.initials = initials;
+        this.suffixes = suffixes;
+    }
+
+    static CamelHumpIndex build(ClassIndexSegment.Data data) {
+        String[] initials = new String[data.simpleNames.length];
+        int total = 0;
+        for (int i = 0; i < initials.length; i++) {
+            String name = data.simpleNames[i];
+            initials[i] = CamelHumps.initials(name, CamelHumps.split(name), 0);
+            total += Math.min(initials[i].length(), 255);
+        }
+
+        Long[] postings = new Long[total];
+        int n = 0;
+        for (int i = 0; i < initials.length; i++) {
+            for (int hump = 0; hump < initials[i].length() && hump < 255; hump++) {
+                postings[n++] = ((long) i << 8) | hump;
+            }
+        }
+        Arrays.sort(postings, (a, b) -> compareSuffix(initials, a, b));
+
+        long[] suffixes = new long[total];
+        for (int i = 0; i < total; i++) {
+            suffixes[i] = postings[i];
+        }
+        return new CamelHumpIndex(initials, suffixes);
+    }
+
+    /**
+     * Get the sorted ids of the entries whose simple name matches the pattern's humps
+     */
+    int[] matches(String pattern, String[] simpleNames) {
+        int[] patternHumps = CamelHumps.split(pattern);
+        if (patternHumps.length == 0) {
+            return new int[0];
+        }
+        String key = CamelHumps.initials(pattern, patternHumps, 0);
+
+        int[] ids = new int[16];
+        int count = 0;
+        for (int i = lowerBound(key); i < suffixes.length && startsWith(suffixes[i], key); i++) {
+            int entry = (int) (suffixes[i] >>> 8);
+            int hump = (int) (suffixes[i] & 0xFF);
+            String name = simpleNames[entry];
+            if (CamelHumps.match(pattern, patternHumps, name, CamelHumps.split(name), hump) != CamelHumps.NO_MATCH) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = entry;
+            }
+        }
+
+        // An entry can match at several humps, keep it once
+        int[] sorted = Arrays.copyOf(ids, count);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = suffixes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareSuffix(suffixes[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean startsWith(long posting, String key) {
+        String value = initials[(int) (posting >>> 8)];
+        int from = (int) (posting & 0xFF);
+        return value.startsWith(key, from);
+    }
+
+    private int compareSuffix(long posting, String key) {
+        String value = initials[(int) (posting >>> 8)];
+        return compareRegions(value, (int) (posting & 0xFF), key, 0);
+    }
+
+    private static int compareSuffix(String[] initials, long a, long b) {
+        return compareRegions(initials[(int) (a >>> 8)], (int) (a & 0xFF), initials[(int) (b >>> 8)], (int) (b & 0xFF));
+    }
+
+    private static int compareRegions(String a, int fromA, String b, int fromB) {
+        int lengthA = a.length() - fromA;
+        int lengthB = b.length() - fromB;
+        int length = Math.min(lengthA, lengthB);
+        for (int i = 0; i < length; i++) {
+            int diff = a.charAt(fromA + i) - b.charAt(fromB + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return lengthA - lengthB;
+    }
+}
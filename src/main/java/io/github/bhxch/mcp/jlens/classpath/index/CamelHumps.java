@@ -0,0 +1,89 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.Arrays;
+
+/**
+ * Camel-hump matching of class names, as used by IDE "Go to class" dialogs.
+ * Every upper-case letter, and the first character after '$' or '_', starts a new hump:
+ * {@code ConcurrentHashMap} has the humps Concurrent, Hash, Map and matches the patterns
+ * {@code CHM}, {@code ConcHaMap} or {@code HashM}.
+ */
+final class CamelHumps {
+
+    /** Score returned for names that do not match */
+    static final int NO_MATCH = -1;
+
+    private CamelHumps() {
+    }
+
+    /**
+     * Start offsets of the humps of a name
+     */
+    static int[] split(String name) {
+        int[] starts = new int[name.length()];
+        int count = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '$' || c == '_') {
+                continue;
+            }
+            char previous = i > 0 ? name.charAt(i - 1) : '$';
+            if (i == 0 || Character.isUpperCase(c) || previous == '$' || previous == '_') {
+                starts[count++] = i;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    /**
+     * Upper-cased first letters of the humps, from the given hump on
+     */
+    static String initials(String name, int[] humps, int fromHump) {
+        char[] initials = new char[humps.length - fromHump];
+        for (int i = fromHump; i < humps.length; i++) {
+            initials[i - fromHump] = Character.toUpperCase(name.charAt(humps[i]));
+        }
+        return new String(initials);
+    }
+
+    /**
+     * Match the pattern's humps, in order and without gaps, against the name's humps starting
+     * at the given hump. Each pattern hump must be a case-insensitive prefix of its name hump.
+     *
+     * @return a score where lower is better, or {@link #NO_MATCH}
+     */
+    static int match(String pattern, int[] patternHumps, String name, int[] nameHumps, int fromHump) {
+        if (patternHumps.length == 0 || fromHump + patternHumps.length > nameHumps.length) {
+            return NO_MATCH;
+        }
+        for (int i = 0; i < patternHumps.length; i++) {
+            int patternStart = patternHumps[i];
+            int patternEnd = i + 1 < patternHumps.length ? patternHumps[i + 1] : pattern.length();
+            int nameStart = nameHumps[fromHump + i];
+            int nameEnd = fromHump + i + 1 < nameHumps.length ? nameHumps[fromHump + i + 1] : name.length();
+            int length = patternEnd - patternStart;
+            if (length > nameEnd - nameStart
+                    || !name.regionMatches(true, nameStart, pattern, patternStart, length)) {
+                return NO_MATCH;
+            }
+        }
+        // Prefer matches at the start of the name, then names with fewer unmatched humps
+        int unmatchedHumps = nameHumps.length - patternHumps.length;
+        return (fromHump == 0 ? 0 : 1_000) + unmatchedHumps;
+    }
+
+    /**
+     * Best score of the pattern against any hump of the name
+     */
+    static int bestMatch(String pattern, String name) {
+        int[] patternHumps = split(pattern);
+        int[] nameHumps = split(name);
+        for (int from = 0; from < nameHumps.length; from++) {
+            int score = match(pattern, patternHumps, name, nameHumps, from);
+            if (score != NO_MATCH) {
+                return score;
+            }
+        }
+        return NO_MATCH;
+    }
+}
@@ -0,0 +1,328 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Builds the name indexes of class index segments by reading the class files of their
+ * classpath entries: JARs, class directories and JDK modules. Name indexes are only
+ * needed by member, subtype and annotation searches, so they are built on the first such
+ * search rather than with the segment, and persisted beside it so the entry's class files
+ * are read only once per kind of index. Class files are read from the entry of the module
+ * being searched, since a segment shared by content may have been indexed from another
+ * copy of a JAR.
+ */
+public final class ClassFileIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassFileIndexer.class);
+
+    private static final String OBJECT = "java/lang/Object";
+
+    private ClassFileIndexer() {
+    }
+
+    /**
+     * Make sure every segment has its member index, loading or building the missing ones
+     * in parallel
+     *
+     * @param segments segments by the key of the classpath entry they index, as in a snapshot
+     * @param store    store to load persisted indexes from and save new ones to, may be null
+     */
+    public static void loadMembers(Map<String, ClassIndexSegment> segments, SegmentStore store) {
+        load(segments, NameIndex.Kind.MEMBERS, store);
+    }
+
+    /**
+     * Make sure every segment has its supertype index, loading or building the missing ones
+     * in parallel
+     *
+     * @param segments segments by the key of the classpath entry they index, as in a snapshot
+     * @param store    store to load persisted indexes from and save new ones to, may be null
+     */
+    public static void loadSupertypes(Map<String, ClassIndexSegment> segments, SegmentStore store) {
+        load(segments, NameIndex.Kind.SUPERTYPES, store);
+    }
+
+    /**
+     * Make sure every segment has its annotation index, loading or building the missing ones
+     * in parallel
+     *
+     * @param segments segments by the key of the classpath entry they index, as in a snapshot
+     * @param store    store to load persisted indexes from and save new ones to, may be null
+     */
+    public static void loadAnnotations(Map<String, ClassIndexSegment> segments, SegmentStore store) {
+        load(segments, NameIndex.Kind.ANNOTATIONS, store);
+    }
+
+    private static void load(Map<String, ClassIndexSegment> segments, NameIndex.Kind kind, SegmentStore store) {
+        // Use virtual threads to read the classpath entries in parallel
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<NameIndex>> pending = new ArrayList<>();
+            for (var entry : segments.entrySet()) {
+                ClassIndexSegment segment = entry.getValue();
+                if (segment.loadedNameIndex(kind) == null) {
+                    String location = location(entry.getKey(), segment);
+                    pending.add(executor.submit(
+                        () -> segment.nameIndex(kind, () -> loadOrIndex(segment, location, kind, store))));
+                }
+            }
+            for (Future<NameIndex> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + kind.name().toLowerCase() + " indexes", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load " + kind.name().toLowerCase() + " indexes", e.getCause());
+        }
+    }
+
+    /**
+     * Path of the classpath entry a segment indexes in a snapshot: the path in the entry's
+     * key, or the fingerprint's path for JDK modules, which are not classpath entries
+     */
+    private static String location(String key, ClassIndexSegment segment) {
+        for (ClasspathEntry.Kind kind : ClasspathEntry.Kind.values()) {
+            if (key.startsWith(kind.name() + ":")) {
+                return key.substring(kind.name().length() + 1);
+            }
+        }
+        return segment.getFingerprint() != null ? segment.getFingerprint().getPath() : null;
+    }
+
+    /**
+     * Load or build a name index, or return null if the entry could not be read, so the
+     * next search tries again instead of finding nothing in it for good
+     */
+    private static NameIndex loadOrIndex(ClassIndexSegment segment, String location, NameIndex.Kind kind,
+                                         SegmentStore store) {
+        ClasspathEntryFingerprint fingerprint = segment.getFingerprint();
+        if (fingerprint == null || location == null) {
+            return NameIndex.EMPTY;
+        }
+        if (store != null) {
+            NameIndex persisted = store.loadNameIndex(fingerprint, kind);
+            if (persisted != null) {
+                return persisted;
+            }
+        }
+
+        try {
+            NameIndex index = index(segment, location, kind);
+            if (store != null) {
+                store.saveNameIndex(fingerprint, kind, index);
+            }
+            return index;
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to index {} of {}: {}", kind.name().toLowerCase(), location, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read every class file of a segment's classpath entry at the given location
+     */
+    static NameIndex index(ClassIndexSegment segment, String location, NameIndex.Kind kind) throws IOException {
+        Collector collector = switch (kind) {
+            case MEMBERS -> new MemberCollector(segment);
+            case SUPERTYPES -> new SupertypeCollector(segment);
+            case ANNOTATIONS -> new AnnotationCollector(segment);
+        };
+
+        String[] module = JdkClassIndex.parseModulePath(location);
+        if (module != null) {
+            JdkClassIndex.readImage(Path.of(module[0]), modulesRoot -> {
+                readDirectory(modulesRoot.resolve(module[1]), collector);
+                return null;
+            });
+        } else if (Files.isDirectory(Path.of(location))) {
+            readDirectory(Path.of(location), collector);
+        } else {
+            try (ZipFile zip = new ZipFile(location)) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    // Versioned copies of a class declare the same members under the same name
+                    if (entry.getName().endsWith(JarIndexer.CLASS_SUFFIX) && !entry.getName().startsWith("META-INF/")) {
+                        try (InputStream in = zip.getInputStream(entry)) {
+                            collector.read(in.readAllBytes(), entry.getName());
+                        }
+                    }
+                }
+            }
+        }
+        return collector.builder.build();
+    }
+
+    private static void readDirectory(Path directory, Collector collector) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName() != null
+                    && file.getFileName().toString().endsWith(JarIndexer.CLASS_SUFFIX))
+                .forEach(file -> {
+                    try {
+                        collector.read(Files.readAllBytes(file), file.toString());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        }
+    }
+
+    /**
+     * Reads class files and adds their names under the segment's entry ids
+     */
+    private abstract static class Collector {
+        final ClassIndexSegment segment;
+        final NameIndex.Builder builder = new NameIndex.Builder();
+
+        Collector(ClassIndexSegment segment) {
+            this.segment = segment;
+        }
+
+        void read(byte[] classFile, String source) {
+            try {
+                collect(classFile);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Skipping unreadable class file {}: {}", source, e.getMessage());
+            }
+        }
+
+        abstract void collect(byte[] classFile);
+
+        /**
+         * Entry id of a class given its internal name, or -1 if the segment does not list it
+         */
+        int entry(String className) {
+            int lastSlash = className.lastIndexOf('/');
+            if (lastSlash <= 0) {
+                return -1;
+            }
+            return segment.indexOf(className.substring(0, lastSlash).replace('/', '.'),
+                className.substring(lastSlash + 1));
+        }
+    }
+
+    private static class MemberCollector extends Collector implements ClassFileReader.MemberVisitor {
+        private final List<String> names = new ArrayList<>();
+        private final List<Boolean> fields = new ArrayList<>();
+
+        MemberCollector(ClassIndexSegment segment) {
+            super(segment);
+        }
+
+        @Override
+        public void member(String name, boolean field) {
+            names.add(name);
+            fields.add(field);
+        }
+
+        @Override
+        void collect(byte[] classFile) {
+            names.clear();
+            fields.clear();
+            int entry = entry(ClassFileReader.readMembers(classFile, this));
+            if (entry < 0) {
+                return;
+            }
+            for (int i = 0; i < names.size(); i++) {
+                builder.add(names.get(i), entry, fields.get(i));
+            }
+        }
+    }
+
+    /**
+     * Adds every class under its superclass and interfaces. Object is left out since every
+     * class extends it, and so are local and anonymous classes.
+     */
+    private static class SupertypeCollector extends Collector implements ClassFileReader.SupertypeVisitor {
+
+        SupertypeCollector(ClassIndexSegment segment) {
+            super(segment);
+        }
+
+        @Override
+        void collect(byte[] classFile) {
+            ClassFileReader.readSupertypes(classFile, this);
+        }
+
+        @Override
+        public void type(String className, boolean isInterface, String superName, String[] interfaces) {
+            if (isLocalOrAnonymous(className)) {
+                return;
+            }
+            int entry = entry(className);
+            if (entry < 0) {
+                return;
+            }
+            if (superName != null && !superName.equals(OBJECT)) {
+                builder.add(superName.replace('/', '.'), entry, isInterface);
+            }
+            for (String name : interfaces) {
+                builder.add(name.replace('/', '.'), entry, isInterface);
+            }
+        }
+
+        private static boolean isLocalOrAnonymous(String className) {
+            int dollar = className.lastIndexOf('$');
+            return dollar >= 0 && dollar + 1 < className.length()
+                && Character.isDigit(className.charAt(dollar + 1));
+        }
+    }
+
+    /**
+     * Adds every class under the annotations on it, and under the annotations on its fields
+     * and methods followed by the member name
+     */
+    private static class AnnotationCollector extends Collector implements ClassFileReader.AnnotationVisitor {
+        private final List<String> names = new ArrayList<>();
+        private final List<Boolean> fields = new ArrayList<>();
+
+        AnnotationCollector(ClassIndexSegment segment) {
+            super(segment);
+        }
+
+        @Override
+        public void annotation(String descriptor, String memberName, boolean field) {
+            // Descriptors of annotation types are always L<internal name>;
+            if (descriptor.length() < 3 || descriptor.charAt(0) != 'L') {
+                return;
+            }
+            String annotation = descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+            names.add(memberName == null ? annotation : annotation + NameIndex.MEMBER_SEPARATOR + memberName);
+            fields.add(field);
+        }
+
+        @Override
+        void collect(byte[] classFile) {
+            names.clear();
+            fields.clear();
+            String className = ClassFileReader.readAnnotations(classFile, this);
+            if (names.isEmpty()) {
+                return;
+            }
+            int entry = entry(className);
+            if (entry < 0) {
+                return;
+            }
+            for (int i = 0; i < names.size(); i++) {
+                builder.add(names.get(i), entry, fields.get(i));
+            }
+        }
+    }
+}
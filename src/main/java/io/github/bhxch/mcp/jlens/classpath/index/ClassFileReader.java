@@ -0,0 +1,347 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal class-file reader that extracts the class name, its supertypes, the names of its
+ * fields and methods and the annotations on the class and its members from the constant
+ * pool, class header, member tables and attributes, without loading the class. Only the
+ * offsets of the pool's entries are recorded; names are decoded when the header or a member
+ * refers to them. Synthetic members and initializers are skipped, and so are private and
+ * bridge members when reading member names.
+ */
+final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_BRIDGE = 0x0040;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String RUNTIME_INVISIBLE_ANNOTATIONS = "RuntimeInvisibleAnnotations";
+
+    /**
+     * Receives the members of a class
+     */
+    interface MemberVisitor {
+        void member(String name, boolean field);
+    }
+
+    /**
+     * Receives the header of a class. Names are internal names, e.g. {@code java/util/Map$Entry}.
+     */
+    interface SupertypeVisitor {
+        /**
+         * @param superName the superclass, null for {@code java/lang/Object} and module-info
+         */
+        void type(String className, boolean isInterface, String superName, String[] interfaces);
+    }
+
+    /**
+     * Receives the annotations of a class and its members, both those retained at run time
+     * and those only recorded in the class file
+     */
+    interface AnnotationVisitor {
+        /**
+         * @param descriptor annotation type descriptor, e.g. {@code Ljava/lang/Deprecated;}
+         * @param memberName annotated field or method, null for an annotation on the class
+         * @param field      whether the annotated member is a field
+         */
+        void annotation(String descriptor, String memberName, boolean field);
+    }
+
+    private final byte[] bytes;
+    private int position;
+    private int[] offsets;
+    private int[] tags;
+
+    private ClassFileReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Read a class file, reporting its members to the visitor
+     *
+     * @return the class's internal name, e.g. {@code java/util/Map$Entry}
+     * @throws IllegalArgumentException if the bytes are not a well-formed class file
+     */
+    static String readMembers(byte[] classFile, MemberVisitor visitor) {
+        try {
+            ClassFileReader reader = new ClassFileReader(classFile);
+            reader.readConstantPool();
+            reader.position += 2; // access flags
+            String className = reader.className(reader.u2());
+            reader.position += 2; // super class
+            int interfaces = reader.u2();
+            reader.position += 2 * interfaces;
+
+            reader.readMembers(visitor, true);
+            reader.readMembers(visitor, false);
+            return className;
+        } catch (ArrayIndexOutOfBoundsException | IOException e) {
+            throw new IllegalArgumentException("Malformed class file", e);
+        }
+    }
+
+    /**
+     * Read the header of a class file up to its interfaces, reporting it to the visitor
+     *
+     * @throws IllegalArgumentException if the bytes are not a well-formed class file
+     */
+    static void readSupertypes(byte[] classFile, SupertypeVisitor visitor) {
+        try {
+            ClassFileReader reader = new ClassFileReader(classFile);
+            reader.readConstantPool();
+            int access = reader.u2();
+            String className = reader.className(reader.u2());
+            int superClass = reader.u2();
+            String[] interfaces = new String[reader.u2()];
+            for (int i = 0; i < interfaces.length; i++) {
+                interfaces[i] = reader.className(reader.u2());
+            }
+            visitor.type(className, (access & ACC_INTERFACE) != 0,
+                superClass != 0 ? reader.className(superClass) : null, interfaces);
+        } catch (ArrayIndexOutOfBoundsException | IOException e) {
+            throw new IllegalArgumentException("Malformed class file", e);
+        }
+    }
+
+    /**
+     * Read a class file, reporting the annotations of the class and of its fields and methods
+     * to the visitor. Annotations on parameters and type uses are not reported.
+     *
+     * @return the class's internal name
+     * @throws IllegalArgumentException if the bytes are not a well-formed class file
+     */
+    static String readAnnotations(byte[] classFile, AnnotationVisitor visitor) {
+        try {
+            ClassFileReader reader = new ClassFileReader(classFile);
+            reader.readConstantPool();
+            reader.position += 2; // access flags
+            String className = reader.className(reader.u2());
+            // Classes whose pool has no annotation attribute names have no annotations
+            int visible = reader.findUtf8(RUNTIME_VISIBLE_ANNOTATIONS);
+            int invisible = reader.findUtf8(RUNTIME_INVISIBLE_ANNOTATIONS);
+            if (visible < 0 && invisible < 0) {
+                return className;
+            }
+            reader.position += 2; // super class
+            int interfaces = reader.u2();
+            reader.position += 2 * interfaces;
+
+            for (boolean field : new boolean[]{true, false}) {
+                int count = reader.u2();
+                for (int i = 0; i < count; i++) {
+                    int access = reader.u2();
+                    int nameIndex = reader.u2();
+                    reader.position += 2; // descriptor
+                    reader.readAnnotationAttributes(visible, invisible, visitor,
+                        (access & ACC_SYNTHETIC) == 0 ? nameIndex : -1, field);
+                }
+            }
+            reader.readAnnotationAttributes(visible, invisible, visitor, 0, false);
+            return className;
+        } catch (ArrayIndexOutOfBoundsException | IOException e) {
+            throw new IllegalArgumentException("Malformed class file", e);
+        }
+    }
+
+    /**
+     * Record the offset and tag of every constant, leaving the position at the access flags
+     */
+    private void readConstantPool() {
+        if (u4() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        position += 4; // minor and major version
+
+        int poolSize = u2();
+        offsets = new int[poolSize];
+        tags = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = u1();
+            tags[i] = tag;
+            offsets[i] = position;
+            switch (tag) {
+                case CONSTANT_UTF8 -> position += 2 + u2At(position);
+                case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE ->
+                    position += 2;
+                case CONSTANT_METHOD_HANDLE -> position += 3;
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> position += 4;
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    position += 8;
+                    i++; // Takes two pool slots
+                }
+                default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    /**
+     * Name of the class constant at the given pool index
+     */
+    private String className(int index) throws IOException {
+        if (tags[index] != CONSTANT_CLASS) {
+            throw new IllegalArgumentException("Constant " + index + " is not a class");
+        }
+        return utf8(u2At(offsets[index]));
+    }
+
+    /**
+     * Pool index of the UTF-8 constant with the given ASCII value, or -1 if there is none
+     */
+    private int findUtf8(String value) {
+        for (int i = 1; i < tags.length; i++) {
+            if (tags[i] == CONSTANT_UTF8 && u2At(offsets[i]) == value.length()) {
+                int start = offsets[i] + 2;
+                int j = 0;
+                while (j < value.length() && bytes[start + j] == value.charAt(j)) {
+                    j++;
+                }
+                if (j == value.length()) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read an attribute table, reporting the annotations of its annotation attributes
+     *
+     * @param memberNameIndex pool index of the name of the field or method owning the table,
+     *                        0 for the class's own table, -1 to skip the annotations
+     */
+    private void readAnnotationAttributes(int visible, int invisible, AnnotationVisitor visitor,
+                                          int memberNameIndex, boolean field) throws IOException {
+        int attributes = u2();
+        for (int a = 0; a < attributes; a++) {
+            int nameIndex = u2();
+            int length = u4();
+            int end = position + length;
+            if ((nameIndex == visible || nameIndex == invisible) && memberNameIndex >= 0) {
+                String memberName = memberNameIndex > 0 ? utf8(memberNameIndex) : null;
+                // Constructors keep their <init> name; static initializers cannot be annotated
+                if (memberName == null || !memberName.equals("<clinit>")) {
+                    int annotations = u2();
+                    for (int i = 0; i < annotations; i++) {
+                        visitor.annotation(utf8(u2()), memberName, field);
+                        skipElementValuePairs();
+                    }
+                }
+            }
+            position = end;
+        }
+    }
+
+    private void skipElementValuePairs() {
+        int pairs = u2();
+        for (int i = 0; i < pairs; i++) {
+            position += 2; // element name
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        int tag = u1();
+        switch (tag) {
+            case 'e' -> position += 4;
+            case '@' -> {
+                position += 2; // type
+                skipElementValuePairs();
+            }
+            case '[' -> {
+                int values = u2();
+                for (int i = 0; i < values; i++) {
+                    skipElementValue();
+                }
+            }
+            default -> position += 2;
+        }
+    }
+
+    private void readMembers(MemberVisitor visitor, boolean field) throws IOException {
+        int count = u2();
+        for (int i = 0; i < count; i++) {
+            int access = u2();
+            int nameIndex = u2();
+            position += 2; // descriptor
+            int attributes = u2();
+            for (int a = 0; a < attributes; a++) {
+                position += 2; // attribute name
+                int length = u4();
+                position += length;
+            }
+
+            if ((access & (ACC_PRIVATE | ACC_SYNTHETIC)) != 0 || (!field && (access & ACC_BRIDGE) != 0)) {
+                continue;
+            }
+            String name = utf8(nameIndex);
+            if (!name.isEmpty() && name.charAt(0) != '<') {
+                visitor.member(name, field);
+            }
+        }
+    }
+
+    /**
+     * Decode a UTF-8 constant, with a fast path for the usual all-ASCII names
+     */
+    private String utf8(int index) throws IOException {
+        int offset = offsets[index];
+        int length = u2At(offset);
+        int start = offset + 2;
+        for (int i = start; i < start + length; i++) {
+            if (bytes[i] <= 0) {
+                // Modified UTF-8, as read by DataInput
+                return new DataInputStream(new ByteArrayInputStream(bytes, offset, length + 2)).readUTF();
+            }
+        }
+        return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private int u1() {
+        return bytes[position++] & 0xFF;
+    }
+
+    private int u2() {
+        int value = u2At(position);
+        position += 2;
+        return value;
+    }
+
+    private int u2At(int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private int u4() {
+        int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+            | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+}
@@ -0,0 +1,503 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Immutable class index for a single classpath entry (JAR file or class directory).
+ * Segments loaded from disk decode their class table lazily on first access.
+ */
+public class ClassIndexSegment {
+
+    private final ClasspathEntryFingerprint fingerprint;
+    private final String label;
+    private final int classCount;
+    private Supplier<Data> loader;
+    private volatile Data data;
+    private volatile TrigramIndex trigramIndex;
+    private volatile CamelHumpIndex camelHumpIndex;
+    private volatile FuzzyNameIndex fuzzyNameIndex;
+    private volatile int[] qualifiedOrder;
+    private int[] qualifiedRank;
+    private final AtomicReferenceArray<NameIndex> nameIndexes =
+        new AtomicReferenceArray<>(NameIndex.Kind.values().length);
+    private final Object nameIndexLock = new Object();
+
+    ClassIndexSegment(ClasspathEntryFingerprint fingerprint, String label, int classCount, Supplier<Data> loader) {
+        this.fingerprint = fingerprint;
+        this.label = label;
+        this.classCount = classCount;
+        this.loader = loader;
+    }
+
+    private ClassIndexSegment(ClasspathEntryFingerprint fingerprint, String label, Data data) {
+        this.fingerprint = fingerprint;
+        this.label = label;
+        this.classCount = data.simpleNames.length;
+        this.loader = null;
+        this.data = data;
+    }
+
+    public ClasspathEntryFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Dependency label reported for classes of this segment, may be null
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public int size() {
+        return classCount;
+    }
+
+    /**
+     * Whether the class table has been decoded into memory
+     */
+    public boolean isLoaded() {
+        return data != null;
+    }
+
+    /**
+     * Visit every (packageName, simpleName) pair in index order
+     */
+    public void forEachClass(BiConsumer<String, String> consumer) {
+        Data d = data();
+        for (int i = 0; i < d.simpleNames.length; i++) {
+            consumer.accept(d.packages[d.packageIds[i]], d.simpleNames[i]);
+        }
+    }
+
+    /**
+     * Visit the package of every class with the given simple name, in package order
+     */
+    public void forEachPackageOf(String simpleName, Consumer<String> consumer) {
+        Data d = data();
+        int index = lowerBound(d.simpleNames, simpleName);
+        while (index < d.simpleNames.length && d.simpleNames[index].equals(simpleName)) {
+            consumer.accept(d.packages[d.packageIds[index]]);
+            index++;
+        }
+    }
+
+    /**
+     * Visit every (packageName, simpleName) pair matching the query, in the query's result order
+     */
+    public void search(ClassNameQuery query, BiConsumer<String, String> consumer) {
+        Cursor cursor = cursor(query);
+        while (cursor.advance()) {
+            consumer.accept(cursor.packageName(), cursor.simpleName());
+        }
+    }
+
+    /**
+     * Open a cursor over the entries matching the query. Entries come back sorted by simple
+     * name then package, or by fully-qualified name for qualified queries. Anchored patterns
+     * are answered by a binary search over the sorted names, camel-case patterns by the
+     * camel-hump index, fuzzy patterns by the BK-tree of simple names and other patterns by
+     * verifying the candidates of the trigram index. These indexes are built on first use.
+     */
+    Cursor cursor(ClassNameQuery query) {
+        Data d = data();
+        String prefix = query.getLiteralPrefix();
+
+        if (query.isCamelCase()) {
+            return new Cursor(d, null, camelHumpIndex().matches(query.getPattern(), d.simpleNames));
+        }
+        if (query.isFuzzy()) {
+            return new Cursor(d, null,
+                fuzzyNameIndex().matches(query.getPattern(), query.getMaxDistance(), d.simpleNames));
+        }
+
+        if (query.isQualified()) {
+            int[] order = qualifiedOrder();
+            if (prefix != null) {
+                int from = lowerBoundQualified(d, order, prefix);
+                int to = from;
+                while (to < order.length && qualifiedName(d, order[to]).startsWith(prefix)) {
+                    to++;
+                }
+                return new Cursor(d, query, Arrays.copyOfRange(order, from, to));
+            }
+            int[] candidates = trigramIndex().candidates(query.getLiterals(), true);
+            return new Cursor(d, query, candidates != null ? inQualifiedOrder(candidates) : order);
+        }
+
+        if (prefix != null) {
+            boolean exact = "exact".equals(query.getSearchType());
+            int from = lowerBound(d.simpleNames, prefix);
+            int to = from;
+            while (to < d.simpleNames.length
+                    && (exact ? d.simpleNames[to].equals(prefix) : d.simpleNames[to].startsWith(prefix))) {
+                to++;
+            }
+            // Prefix and exact ranges hold only matches and need no verification
+            return new Cursor(d, query.isPrecise() ? null : query, from, to);
+        }
+        int[] candidates = trigramIndex().candidates(query.getLiterals(), false);
+        return candidates != null
+            ? new Cursor(d, query, candidates)
+            : new Cursor(d, query, 0, d.simpleNames.length);
+    }
+
+    /**
+     * Entry ids sorted by fully-qualified name, built on first use
+     */
+    private int[] qualifiedOrder() {
+        int[] order = qualifiedOrder;
+        if (order == null) {
+            synchronized (this) {
+                order = qualifiedOrder;
+                if (order == null) {
+                    Data d = data();
+                    String[] names = new String[d.simpleNames.length];
+                    Integer[] ids = new Integer[names.length];
+                    for (int i = 0; i < names.length; i++) {
+                        names[i] = qualifiedName(d, i);
+                        ids[i] = i;
+                    }
+                    Arrays.sort(ids, Comparator.comparing(i -> names[i]));
+
+                    order = new int[ids.length];
+                    int[] rank = new int[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        order[i] = ids[i];
+                        rank[ids[i]] = i;
+                    }
+                    qualifiedRank = rank;
+                    qualifiedOrder = order;
+                }
+            }
+        }
+        return order;
+    }
+
+    private int[] inQualifiedOrder(int[] ids) {
+        int[] order = qualifiedOrder();
+        int[] ranks = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ranks[i] = qualifiedRank[ids[i]];
+        }
+        Arrays.sort(ranks);
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = order[ranks[i]];
+        }
+        return ranks;
+    }
+
+    private static int lowerBoundQualified(Data d, int[] order, String key) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (qualifiedName(d, order[mid]).compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String qualifiedName(Data d, int index) {
+        return d.packages[d.packageIds[index]] + "." + d.simpleNames[index];
+    }
+
+    private CamelHumpIndex camelHumpIndex() {
+        CamelHumpIndex index = camelHumpIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = camelHumpIndex;
+                if (index == null) {
+                    index = CamelHumpIndex.build(data());
+                    camelHumpIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private FuzzyNameIndex fuzzyNameIndex() {
+        FuzzyNameIndex index = fuzzyNameIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = fuzzyNameIndex;
+                if (index == null) {
+                    index = FuzzyNameIndex.build(data());
+                    fuzzyNameIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private TrigramIndex trigramIndex() {
+        TrigramIndex index = trigramIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = trigramIndex;
+                if (index == null) {
+                    index = TrigramIndex.build(data());
+                    trigramIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Whether any class of this segment is declared in the given package
+     */
+    public boolean containsPackage(String packageName) {
+        return Arrays.binarySearch(data().packages, packageName) >= 0;
+    }
+
+    /**
+     * Entry id of a class, or -1 if the segment does not contain it
+     */
+    int indexOf(String packageName, String simpleName) {
+        Data d = data();
+        for (int i = lowerBound(d.simpleNames, simpleName);
+             i < d.simpleNames.length && d.simpleNames[i].equals(simpleName); i++) {
+            if (d.packages[d.packageIds[i]].equals(packageName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a name index, loading it on first use. Building one reads every class file of
+     * the entry, so they have their own lock and do not hold up searches by class name.
+     * A loader returning null leaves the index unloaded, to be loaded again on next use.
+     */
+    NameIndex nameIndex(NameIndex.Kind kind, Supplier<NameIndex> loader) {
+        NameIndex index = nameIndexes.get(kind.ordinal());
+        if (index == null) {
+            synchronized (nameIndexLock) {
+                index = nameIndexes.get(kind.ordinal());
+                if (index == null) {
+                    index = loader.get();
+                    if (index != null) {
+                        nameIndexes.set(kind.ordinal(), index);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The name index of the given kind if it has been loaded, otherwise null
+     */
+    NameIndex loadedNameIndex(NameIndex.Kind kind) {
+        return nameIndexes.get(kind.ordinal());
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    Data data() {
+        Data d = data;
+        if (d == null) {
+            synchronized (this) {
+                d = data;
+                if (d == null) {
+                    d = loader.get();
+                    data = d;
+                    // Drop the loader so the mapped file can be released
+                    loader = null;
+                }
+            }
+        }
+        return d;
+    }
+
+    public static Builder builder(ClasspathEntryFingerprint fingerprint, String label) {
+        return new Builder(fingerprint, label);
+    }
+
+    /**
+     * Decoded class table. Entries are sorted by simple name, then package name.
+     */
+    static class Data {
+        final String[] packages;
+        final String[] simpleNames;
+        final int[] packageIds;
+
+        Data(String[] packages, String[] simpleNames, int[] packageIds) {
+            this.packages = packages;
+            this.simpleNames = simpleNames;
+            this.packageIds = packageIds;
+        }
+    }
+
+    /**
+     * Lazily verifying iterator over the matches of a query within one segment.
+     * A cursor without a query returns its candidates unverified.
+     */
+    static class Cursor {
+        private final Data data;
+        private final ClassNameQuery query;
+        private final int[] ids;
+        private final int start;
+        private final int end;
+        private int position;
+        private int current = -1;
+
+        private Cursor(Data data, ClassNameQuery query, int[] ids) {
+            this(data, query, ids, 0, ids.length);
+        }
+
+        private Cursor(Data data, ClassNameQuery query, int from, int to) {
+            this(data, query, null, from, to);
+        }
+
+        private Cursor(Data data, ClassNameQuery query, int[] ids, int from, int to) {
+            this.data = data;
+            this.query = query;
+            this.ids = ids;
+            this.start = from;
+            this.end = to;
+            this.position = from;
+        }
+
+        /**
+         * Number of candidates of this cursor, an upper bound of its matches
+         */
+        int candidateCount() {
+            return end - start;
+        }
+
+        /**
+         * Skip every candidate ordered at or before the given class, by binary search.
+         * Candidates are in the query's result order, which ranked queries do not use.
+         */
+        void seekAfter(ClassNameQuery order, String packageName, String simpleName) {
+            int low = position;
+            int high = end;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int id = ids != null ? ids[mid] : mid;
+                if (order.compare(data.packages[data.packageIds[id]], data.simpleNames[id],
+                        packageName, simpleName) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            position = low;
+        }
+
+        /**
+         * Move to the next matching entry
+         *
+         * @return false when the cursor is exhausted
+         */
+        boolean advance() {
+            while (position < end) {
+                int id = ids != null ? ids[position] : position;
+                position++;
+                if (query == null || query.matches(data.packages[data.packageIds[id]], data.simpleNames[id])) {
+                    current = id;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String packageName() {
+            return data.packages[data.packageIds[current]];
+        }
+
+        String simpleName() {
+            return data.simpleNames[current];
+        }
+    }
+
+    public static class Builder {
+        private final ClasspathEntryFingerprint fingerprint;
+        private final String label;
+        private final Map<String, Integer> packageIds = new HashMap<>();
+        private final List<String> packages = new ArrayList<>();
+        private final List<String> simpleNames = new ArrayList<>();
+        private final List<Integer> entryPackages = new ArrayList<>();
+
+        private Builder(ClasspathEntryFingerprint fingerprint, String label) {
+            this.fingerprint = fingerprint;
+            this.label = label;
+        }
+
+        public Builder addClass(String packageName, String simpleName) {
+            Integer packageId = packageIds.get(packageName);
+            if (packageId == null) {
+                packageId = packages.size();
+                packages.add(packageName);
+                packageIds.put(packageName, packageId);
+            }
+            simpleNames.add(simpleName);
+            entryPackages.add(packageId);
+            return this;
+        }
+
+        public ClassIndexSegment build() {
+            // Renumber packages in sorted order so package ids compare like package names
+            String[] sortedPackages = packages.toArray(new String[0]);
+            Arrays.sort(sortedPackages);
+            Map<String, Integer> sortedIds = new HashMap<>();
+            for (int i = 0; i < sortedPackages.length; i++) {
+                sortedIds.put(sortedPackages[i], i);
+            }
+
+            Integer[] order = new Integer[simpleNames.size()];
+            int[] remapped = new int[simpleNames.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+                remapped[i] = sortedIds.get(packages.get(entryPackages.get(i)));
+            }
+            Arrays.sort(order, Comparator.<Integer, String>comparing(simpleNames::get)
+                .thenComparingInt(i -> remapped[i]));
+
+            List<String> names = new ArrayList<>(order.length);
+            List<Integer> ids = new ArrayList<>(order.length);
+            for (int i = 0; i < order.length; i++) {
+                String name = simpleNames.get(order[i]);
+                int packageId = remapped[order[i]];
+                int last = names.size() - 1;
+                if (last >= 0 && names.get(last).equals(name) && ids.get(last) == packageId) {
+                    continue;
+                }
+                names.add(name);
+                ids.add(packageId);
+            }
+
+            int[] idArray = new int[ids.size()];
+            for (int i = 0; i < idArray.length; i++) {
+                idArray[i] = ids.get(i);
+            }
+            return new ClassIndexSegment(fingerprint, label,
+                new Data(sortedPackages, names.toArray(new String[0]), idArray));
+        }
+    }
+}
@@ -0,0 +1,618 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable, versioned class index of one module. A snapshot is built completely
+ * before it is published, so readers never observe a partially indexed classpath.
+ * Readers keep using the snapshot they obtained even if a newer one is published;
+ * the old snapshot becomes garbage once the last reader drops its reference.
+ */
+public class ClassIndexSnapshot {
+
+    private static final ClassIndexSnapshot EMPTY = new ClassIndexSnapshot(null, 0, Map.of());
+
+    private final String moduleKey;
+    private final long version;
+    private final Map<String, ClassIndexSegment> segments;
+    /**
+     * Whether a package occurs in several segments, computed on first use
+     */
+    private volatile Boolean packagesShared;
+
+    public ClassIndexSnapshot(String moduleKey, long version, Map<String, ClassIndexSegment> segments) {
+        this.moduleKey = moduleKey;
+        this.version = version;
+        this.segments = Collections.unmodifiableMap(new LinkedHashMap<>(segments));
+    }
+
+    public static ClassIndexSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create an unversioned snapshot over the given segments, keyed by position
+     */
+    public static ClassIndexSnapshot of(List<ClassIndexSegment> segments) {
+        Map<String, ClassIndexSegment> keyed = new LinkedHashMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            keyed.put(String.valueOf(i), segments.get(i));
+        }
+        return new ClassIndexSnapshot(null, 0, keyed);
+    }
+
+    /**
+     * Key of the module this snapshot indexes, null for ad-hoc snapshots
+     */
+    public String getModuleKey() {
+        return moduleKey;
+    }
+
+    /**
+     * Version of this snapshot, increasing with every publication
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Segments of this snapshot keyed by classpath entry, in classpath order
+     */
+    public Map<String, ClassIndexSegment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Get the packages declaring a class with the given simple name, sorted
+     */
+    public Set<String> getPackages(String simpleName) {
+        Set<String> packages = new TreeSet<>();
+        for (ClassIndexSegment segment : segments.values()) {
+            segment.forEachPackageOf(simpleName, packages::add);
+        }
+        return packages;
+    }
+
+    /**
+     * Get the dependency label of the first classpath entry declaring the package
+     */
+    public String getDependencyForPackage(String packageName) {
+        for (ClassIndexSegment segment : segments.values()) {
+            if (segment.getLabel() != null && segment.containsPackage(packageName)) {
+                return segment.getLabel();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visit every indexed class together with the dependency label of its segment
+     */
+    public void forEachClass(ClassVisitor visitor) {
+        for (ClassIndexSegment segment : segments.values()) {
+            String label = segment.getLabel();
+            segment.forEachClass((packageName, simpleName) -> visitor.visit(packageName, simpleName, label));
+        }
+    }
+
+    /**
+     * Visit every indexed class matching the query together with the dependency label of its segment
+     */
+    public void search(ClassNameQuery query, ClassVisitor visitor) {
+        Iterator<ClassMatch> matches = search(query);
+        while (matches.hasNext()) {
+            ClassMatch match = matches.next();
+            visitor.visit(match.getPackageName(), match.getSimpleName(), match.getDependency());
+        }
+    }
+
+    /**
+     * Lazily iterate the classes matching the query. Each segment yields its matches
+     * already sorted, so the segments are merged rather than sorted: by simple name then
+     * package for simple name queries, by fully-qualified name for qualified queries.
+     * A class provided by several classpath entries is returned once, with the dependency
+     * of the first entry in classpath order. Ranked queries are sorted by match quality,
+     * keeping name order between equally good matches.
+     */
+    public Iterator<ClassMatch> search(ClassNameQuery query) {
+        if (query.isRanked()) {
+            return search(query, null, Integer.MAX_VALUE - 1).getMatches().iterator();
+        }
+        return merge(query, null);
+    }
+
+    /**
+     * Read one page of matches following the given position. Each page only costs the page:
+     * name-ordered queries seek every segment cursor past the position by binary search and
+     * stream the next matches from the merge; ranked queries keep the best matches after the
+     * position in a heap bounded by the page size.
+     *
+     * @param after last match of the previous page, or null for the first page
+     * @param limit maximum number of matches on the page
+     */
+    public ClassSearchPage search(ClassNameQuery query, ClassMatch after, int limit) {
+        return query.isRanked() ? rankedPage(query, after, limit) : orderedPage(query, after, limit);
+    }
+
+    private ClassSearchPage orderedPage(ClassNameQuery query, ClassMatch after, int limit) {
+        List<ClassIndexSegment.Cursor> cursors = new ArrayList<>();
+        int candidates = 0;
+        for (ClassIndexSegment segment : segments.values()) {
+            ClassIndexSegment.Cursor cursor = segment.cursor(query);
+            candidates += cursor.candidateCount();
+            cursors.add(cursor);
+        }
+
+        Iterator<ClassMatch> merged = merge(query, after, cursors);
+        List<ClassMatch> matches = new ArrayList<>(Math.min(limit, 256));
+        while (matches.size() < limit && merged.hasNext()) {
+            matches.add(merged.next());
+        }
+
+        // A first page holding every match counts them. Otherwise counting would mean reading
+        // them all, and the candidate count is exact when every candidate matches and no class
+        // can occur in several segments, which needs a package to occur in several segments
+        boolean hasMore = merged.hasNext();
+        if (after == null && !hasMore) {
+            return new ClassSearchPage(matches, false, matches.size(), false, version);
+        }
+        boolean estimated = !query.isPrecise() || packagesShared();
+        return new ClassSearchPage(matches, hasMore, candidates, estimated, version);
+    }
+
+    /**
+     * Whether some package has classes in several segments, so that one class name may be
+     * provided by several of them
+     */
+    private boolean packagesShared() {
+        Boolean shared = packagesShared;
+        if (shared == null) {
+            // Each segment lists its packages once
+            Set<String> seen = new HashSet<>();
+            shared = segments.values().stream()
+                .flatMap(segment -> Arrays.stream(segment.data().packages))
+                .anyMatch(packageName -> !seen.add(packageName));
+            packagesShared = shared;
+        }
+        return shared;
+    }
+
+    private ClassSearchPage rankedPage(ClassNameQuery query, ClassMatch after, int limit) {
+        // Max-heap of the best limit + 1 matches, the worst on top
+        PriorityQueue<ClassMatch> best = new PriorityQueue<>((a, b) -> query.compare(b, a));
+        int total = 0;
+
+        Iterator<ClassMatch> merged = merge(query, null);
+        while (merged.hasNext()) {
+            ClassMatch candidate = merged.next();
+            ClassMatch match = new ClassMatch(candidate.getPackageName(), candidate.getSimpleName(),
+                candidate.getDependency(), query.score(candidate));
+            total++;
+            if (after != null && query.compare(match, after) <= 0) {
+                continue;
+            }
+            best.add(match);
+            if (best.size() > limit + 1) {
+                best.poll();
+            }
+        }
+
+        List<ClassMatch> matches = new ArrayList<>(best);
+        matches.sort(query::compare);
+        boolean hasMore = matches.size() > limit;
+        if (hasMore) {
+            matches = matches.subList(0, limit);
+        }
+        return new ClassSearchPage(matches, hasMore, total, false, version);
+    }
+
+    /**
+     * Read one page of the fields and methods whose name matches the query, using the member
+     * indexes of the segments; segments whose member index is not loaded are skipped, see
+     * {@link ClassFileIndexer#loadMembers}. Matches are ordered by member name, then declaring class,
+     * methods before fields; ranked queries order by score first. Like class searches, a class
+     * present in several segments is reported from the first one only.
+     *
+     * @param kind  "method" or "field" to search only one kind of member, null for both
+     * @param after last match of the previous page, or null for the first page
+     * @param limit maximum number of matches on the page
+     */
+    public MemberSearchPage searchMembers(ClassNameQuery query, String kind, MemberMatch after, int limit) {
+        // Max-heap of the first limit + 1 matches after the position, the last on top
+        PriorityQueue<MemberMatch> best = new PriorityQueue<>((a, b) -> compareMembers(query, b, a));
+        int total = 0;
+        List<ClassIndexSegment> list = new ArrayList<>(segments.values());
+        Map<String, int[]> segmentsByPackage = new HashMap<>();
+
+        for (int s = 0; s < list.size(); s++) {
+            ClassIndexSegment segment = list.get(s);
+            NameIndex index = segment.loadedNameIndex(NameIndex.Kind.MEMBERS);
+            // Member names never contain a dot, so qualified patterns cannot match
+            if (index == null || query.isQualified()) {
+                continue;
+            }
+            ClassIndexSegment.Data d = segment.data();
+
+            int from = 0;
+            int to = index.names.length;
+            boolean verify = true;
+            String prefix = query.getLiteralPrefix();
+            if (prefix != null) {
+                boolean exact = "exact".equals(query.getSearchType());
+                from = index.lowerBound(prefix);
+                to = from;
+                while (to < index.names.length
+                        && (exact ? index.names[to].equals(prefix) : index.names[to].startsWith(prefix))) {
+                    to++;
+                }
+                verify = !query.isPrecise();
+            }
+
+            for (int n = from; n < to; n++) {
+                String name = index.names[n];
+                if (verify && !query.matches("", name)) {
+                    continue;
+                }
+                int score = query.score(name, segment.getLabel());
+                for (int p = index.starts[n]; p < index.starts[n + 1]; p++) {
+                    int posting = index.postings[p];
+                    boolean field = NameIndex.flag(posting);
+                    if (kind != null && field != "field".equals(kind)) {
+                        continue;
+                    }
+                    int entry = NameIndex.entry(posting);
+                    String packageName = d.packages[d.packageIds[entry]];
+                    String simpleName = d.simpleNames[entry];
+                    if (isShadowed(list, segmentsByPackage, s, packageName, simpleName)) {
+                        continue;
+                    }
+
+                    MemberMatch match = new MemberMatch(name, field, packageName, simpleName,
+                        segment.getLabel(), score);
+                    total++;
+                    if (after != null && compareMembers(query, match, after) <= 0) {
+                        continue;
+                    }
+                    best.add(match);
+                    if (best.size() > limit + 1) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        List<MemberMatch> matches = new ArrayList<>(best);
+        matches.sort((a, b) -> compareMembers(query, a, b));
+        boolean hasMore = matches.size() > limit;
+        if (hasMore) {
+            matches = matches.subList(0, limit);
+        }
+        return new MemberSearchPage(matches, hasMore, total, version);
+    }
+
+    /**
+     * Read one page of the classes and interfaces extending or implementing a type, using the
+     * supertype indexes of the segments; segments whose supertype index is not loaded are
+     * skipped, see {@link ClassFileIndexer#loadSupertypes}. Transitive searches walk the
+     * hierarchy breadth first, so matches are ordered by depth, then by class name.
+     *
+     * @param typeName   fully-qualified name of the type, nested types written with '$'
+     * @param transitive whether to include indirect subtypes
+     * @param after      last match of the previous page, or null for the first page
+     * @param limit      maximum number of matches on the page
+     */
+    public SubtypeSearchPage findSubtypes(String typeName, boolean transitive, SubtypeMatch after, int limit) {
+        List<ClassIndexSegment> list = new ArrayList<>(segments.values());
+        Map<String, int[]> segmentsByPackage = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(typeName);
+        List<SubtypeMatch> found = new ArrayList<>();
+
+        List<String> level = List.of(typeName);
+        for (int depth = 1; !level.isEmpty() && (depth == 1 || transitive); depth++) {
+            List<SubtypeMatch> next = new ArrayList<>();
+            for (String supertype : level) {
+                for (int s = 0; s < list.size(); s++) {
+                    ClassIndexSegment segment = list.get(s);
+                    NameIndex index = segment.loadedNameIndex(NameIndex.Kind.SUPERTYPES);
+                    int n = index != null ? index.indexOf(supertype) : -1;
+                    if (n < 0) {
+                        continue;
+                    }
+                    ClassIndexSegment.Data d = segment.data();
+                    for (int p = index.starts[n]; p < index.starts[n + 1]; p++) {
+                        int entry = NameIndex.entry(index.postings[p]);
+                        String packageName = d.packages[d.packageIds[entry]];
+                        String simpleName = d.simpleNames[entry];
+                        SubtypeMatch match = new SubtypeMatch(packageName, simpleName, segment.getLabel(),
+                            NameIndex.flag(index.postings[p]), depth, supertype);
+                        if (!seen.contains(match.getClassName())
+                                && !isShadowed(list, segmentsByPackage, s, packageName, simpleName)) {
+                            seen.add(match.getClassName());
+                            next.add(match);
+                        }
+                    }
+                }
+            }
+            next.sort(Comparator.comparing(SubtypeMatch::getClassName));
+            found.addAll(next);
+            level = next.stream().map(SubtypeMatch::getClassName).toList();
+        }
+
+        int from = 0;
+        if (after != null) {
+            while (from < found.size() && compareSubtypes(found.get(from), after) <= 0) {
+                from++;
+            }
+        }
+        int to = Math.min(found.size(), from + limit);
+        return new SubtypeSearchPage(new ArrayList<>(found.subList(from, to)), to < found.size(),
+            found.size(), version);
+    }
+
+    private static int compareSubtypes(SubtypeMatch a, SubtypeMatch b) {
+        int result = Integer.compare(a.getDepth(), b.getDepth());
+        return result != 0 ? result : a.getClassName().compareTo(b.getClassName());
+    }
+
+    /**
+     * Read one page of the classes, fields and methods carrying an annotation, using the
+     * annotation indexes of the segments; segments whose annotation index is not loaded are
+     * skipped, see {@link ClassFileIndexer#loadAnnotations}. Matches are ordered by class
+     * name, the class itself before its members, then by member name.
+     *
+     * @param annotationName fully-qualified name of the annotation type
+     * @param target         "class", "field" or "method" to search only one kind of target,
+     *                       null for all
+     * @param after          last match of the previous page, or null for the first page
+     * @param limit          maximum number of matches on the page
+     */
+    public AnnotationSearchPage findAnnotated(String annotationName, String target, AnnotationMatch after,
+                                              int limit) {
+        List<ClassIndexSegment> list = new ArrayList<>(segments.values());
+        Map<String, int[]> segmentsByPackage = new HashMap<>();
+        String memberPrefix = annotationName + NameIndex.MEMBER_SEPARATOR;
+        List<AnnotationMatch> found = new ArrayList<>();
+
+        for (int s = 0; s < list.size(); s++) {
+            ClassIndexSegment segment = list.get(s);
+            NameIndex index = segment.loadedNameIndex(NameIndex.Kind.ANNOTATIONS);
+            if (index == null) {
+                continue;
+            }
+            ClassIndexSegment.Data d = segment.data();
+            // The class annotations are keyed by the name itself, which sorts before the members
+            for (int n = index.lowerBound(annotationName); n < index.names.length
+                    && (index.names[n].equals(annotationName) || index.names[n].startsWith(memberPrefix)); n++) {
+                String memberName = index.names[n].length() > annotationName.length()
+                    ? index.names[n].substring(memberPrefix.length())
+                    : null;
+                for (int p = index.starts[n]; p < index.starts[n + 1]; p++) {
+                    int entry = NameIndex.entry(index.postings[p]);
+                    String packageName = d.packages[d.packageIds[entry]];
+                    String simpleName = d.simpleNames[entry];
+                    AnnotationMatch match = new AnnotationMatch(packageName, simpleName, memberName,
+                        NameIndex.flag(index.postings[p]), segment.getLabel());
+                    if ((target == null || target.equals(match.getTarget()))
+                            && !isShadowed(list, segmentsByPackage, s, packageName, simpleName)) {
+                        found.add(match);
+                    }
+                }
+            }
+        }
+
+        found.sort(ClassIndexSnapshot::compareAnnotated);
+        int from = 0;
+        if (after != null) {
+            while (from < found.size() && compareAnnotated(found.get(from), after) <= 0) {
+                from++;
+            }
+        }
+        int to = Math.min(found.size(), from + limit);
+        return new AnnotationSearchPage(new ArrayList<>(found.subList(from, to)), to < found.size(),
+            found.size(), version);
+    }
+
+    private static int compareAnnotated(AnnotationMatch a, AnnotationMatch b) {
+        int result = a.getClassName().compareTo(b.getClassName());
+        if (result != 0) {
+            return result;
+        }
+        if (a.getMemberName() == null || b.getMemberName() == null) {
+            return Boolean.compare(a.getMemberName() != null, b.getMemberName() != null);
+        }
+        result = a.getMemberName().compareTo(b.getMemberName());
+        return result != 0 ? result : Boolean.compare(a.isField(), b.isField());
+    }
+
+    /**
+     * Resolve a type name given by a user to the binary names of the classes it may denote.
+     * A simple name gives every class of the snapshot with that name; a qualified name gives
+     * its binary name, with nested types written with '$' (java.util.Map$Entry for
+     * java.util.Map.Entry), or the name as given if the snapshot has no such class.
+     */
+    public List<String> resolveTypeName(String typeName) {
+        if (typeName.indexOf('.') < 0) {
+            List<String> candidates = new ArrayList<>();
+            for (String packageName : getPackages(typeName)) {
+                candidates.add(packageName.isEmpty() ? typeName : packageName + "." + typeName);
+            }
+            return candidates;
+        }
+        for (int dot = typeName.lastIndexOf('.'); dot > 0; dot = typeName.lastIndexOf('.', dot - 1)) {
+            String simpleName = typeName.substring(dot + 1).replace('.', '$');
+            if (getPackages(simpleName).contains(typeName.substring(0, dot))) {
+                return List.of(typeName.substring(0, dot) + "." + simpleName);
+            }
+        }
+        return List.of(typeName);
+    }
+
+    /**
+     * Whether a segment earlier in classpath order provides the same class. The segments
+     * declaring a package are looked up once per search, so each match only probes those.
+     */
+    private static boolean isShadowed(List<ClassIndexSegment> segments, Map<String, int[]> segmentsByPackage,
+                                      int segmentIndex, String packageName, String simpleName) {
+        int[] declaring = segmentsByPackage.computeIfAbsent(packageName, pkg -> {
+            int[] ids = new int[segments.size()];
+            int count = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                if (segments.get(i).containsPackage(pkg)) {
+                    ids[count++] = i;
+                }
+            }
+            return Arrays.copyOf(ids, count);
+        });
+        for (int i : declaring) {
+            if (i >= segmentIndex) {
+                return false;
+            }
+            if (segments.get(i).indexOf(packageName, simpleName) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int compareMembers(ClassNameQuery query, MemberMatch a, MemberMatch b) {
+        if (query.isRanked() && a.getScore() != b.getScore()) {
+            return Integer.compare(a.getScore(), b.getScore());
+        }
+        int result = a.getMemberName().compareTo(b.getMemberName());
+        if (result == 0) {
+            result = a.getPackageName().compareTo(b.getPackageName());
+        }
+        if (result == 0) {
+            result = a.getSimpleName().compareTo(b.getSimpleName());
+        }
+        return result != 0 ? result : Boolean.compare(a.isField(), b.isField());
+    }
+
+    private Iterator<ClassMatch> merge(ClassNameQuery query, ClassMatch after) {
+        List<ClassIndexSegment.Cursor> cursors = new ArrayList<>();
+        for (ClassIndexSegment segment : segments.values()) {
+            cursors.add(segment.cursor(query));
+        }
+        return merge(query, after, cursors);
+    }
+
+    private Iterator<ClassMatch> merge(ClassNameQuery query, ClassMatch after,
+                                       List<ClassIndexSegment.Cursor> cursors) {
+        PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> {
+            int result = query.compare(a.packageName, a.simpleName, b.packageName, b.simpleName);
+            return result != 0 ? result : Integer.compare(a.segmentIndex, b.segmentIndex);
+        });
+
+        int segmentIndex = 0;
+        for (ClassIndexSegment segment : segments.values()) {
+            ClassIndexSegment.Cursor cursor = cursors.get(segmentIndex);
+            if (after != null) {
+                cursor.seekAfter(query, after.getPackageName(), after.getSimpleName());
+            }
+            Head head = new Head(cursor, segment.getLabel(), segmentIndex++);
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+
+        return new Iterator<>() {
+            private ClassMatch next = fetch();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ClassMatch next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ClassMatch result = next;
+                next = fetch();
+                return result;
+            }
+
+            private ClassMatch fetch() {
+                if (heads.isEmpty()) {
+                    return null;
+                }
+                Head head = heads.poll();
+                ClassMatch match = new ClassMatch(head.packageName, head.simpleName, head.dependency);
+                requeue(head);
+
+                // Skip the same class provided by later classpath entries
+                while (!heads.isEmpty() && isSame(heads.peek(), match)) {
+                    requeue(heads.poll());
+                }
+                return match;
+            }
+
+            private void requeue(Head head) {
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            }
+        };
+    }
+
+    private static boolean isSame(Head head, ClassMatch match) {
+        return head.simpleName.equals(match.getSimpleName()) && head.packageName.equals(match.getPackageName());
+    }
+
+    /**
+     * Total number of index entries, counting classes present in several segments once per segment
+     */
+    public int size() {
+        int size = 0;
+        for (ClassIndexSegment segment : segments.values()) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Current position of one segment's cursor in the merge
+     */
+    private static class Head {
+        final ClassIndexSegment.Cursor cursor;
+        final String dependency;
+        final int segmentIndex;
+        String packageName;
+        String simpleName;
+
+        Head(ClassIndexSegment.Cursor cursor, String dependency, int segmentIndex) {
+            this.cursor = cursor;
+            this.dependency = dependency;
+            this.segmentIndex = segmentIndex;
+        }
+
+        boolean advance() {
+            if (!cursor.advance()) {
+                return false;
+            }
+            packageName = cursor.packageName();
+            simpleName = cursor.simpleName();
+            return true;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ClassVisitor {
+        void visit(String packageName, String simpleName, String dependency);
+    }
+}
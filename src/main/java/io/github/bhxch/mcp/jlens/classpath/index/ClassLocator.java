@@ -0,0 +1,263 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarFile;
+
+/**
+ * Answers which JARs provide a class, without opening them for classes they do not contain.
+ * JARs are added with the segments indexing them and removed once no indexed module uses
+ * them any more, so the locator covers the JARs of the modules indexed now.
+ * Their classes go into one exact map from class name to JARs until it holds a configured
+ * number of classes. Later JARs each get a compact Bloom filter instead. A filter hit is
+ * confirmed by opening the JAR once, so a negative answer takes no archive I/O and a
+ * positive one at most one open. A JAR found changed or deleted on lookup is dropped.
+ */
+public class ClassLocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassLocator.class);
+
+    /**
+     * Classes kept in the exact map by default, around 25 MB of names and paths
+     */
+    public static final int DEFAULT_EXACT_CLASS_LIMIT = 250_000;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final Path[] NO_JARS = new Path[0];
+
+    /**
+     * A located JAR: the segment it was added with, the size and modification time of the
+     * JAR that segment describes, and its Bloom filter or null when its classes are in the
+     * exact map
+     */
+    private record Located(ClassIndexSegment segment, ClasspathEntryFingerprint stat, BloomFilter filter) {
+    }
+
+    private final int exactClassLimit;
+    private final Map<Path, Located> located = new ConcurrentHashMap<>();
+    private final Map<String, Path[]> exact = new ConcurrentHashMap<>();
+    private final Map<Path, ClassIndexSegment> pending = new LinkedHashMap<>();
+    private final AtomicLong archiveOpenCount = new AtomicLong();
+    private int exactClassCount;
+
+    public ClassLocator() {
+        this(DEFAULT_EXACT_CLASS_LIMIT);
+    }
+
+    /**
+     * @param exactClassLimit classes kept in the exact map before JARs fall back to Bloom
+     *                        filters; 0 uses filters only
+     */
+    public ClassLocator(int exactClassLimit) {
+        this.exactClassLimit = exactClassLimit;
+    }
+
+    /**
+     * Add a JAR with the segment indexing its classes. The segment is read on the next
+     * lookup, so adding the JARs of a module index does not load segments that are not
+     * loaded yet. Adding a JAR again with the same segment does nothing.
+     */
+    public synchronized void add(Path jar, ClassIndexSegment segment) {
+        Path key = jar.toAbsolutePath().normalize();
+        Located current = located.get(key);
+        if (current != null && current.segment() == segment) {
+            pending.remove(key);
+            return;
+        }
+        pending.put(key, segment);
+    }
+
+    /**
+     * Remove a JAR and its classes
+     */
+    public synchronized void remove(Path jar) {
+        Path key = jar.toAbsolutePath().normalize();
+        pending.remove(key);
+        Located entry = located.get(key);
+        if (entry != null) {
+            drop(key, entry);
+        }
+    }
+
+    /**
+     * JARs providing a class, among those added
+     *
+     * @param className binary name of the class, such as {@code com.example.Outer$Inner}
+     */
+    public List<Path> locate(String className) {
+        drainPending();
+        List<Path> jars = new ArrayList<>();
+        for (Path jar : exact.getOrDefault(className, NO_JARS)) {
+            if (current(jar) != null) {
+                jars.add(jar);
+            }
+        }
+        for (var entry : located.entrySet()) {
+            BloomFilter filter = entry.getValue().filter();
+            if (filter != null && filter.mightContain(className) && current(entry.getKey()) != null
+                    && containsEntry(entry.getKey(), className)) {
+                jars.add(entry.getKey());
+            }
+        }
+        return jars;
+    }
+
+    /**
+     * Whether a JAR provides a class. A JAR that was not added, or changed since, is
+     * opened to answer and not added.
+     */
+    public boolean contains(Path jar, String className) {
+        drainPending();
+        Path key = jar.toAbsolutePath().normalize();
+        Located entry = current(key);
+        if (entry == null) {
+            return containsEntry(key, className);
+        }
+        if (entry.filter() == null) {
+            return Arrays.asList(exact.getOrDefault(className, NO_JARS)).contains(key);
+        }
+        return entry.filter().mightContain(className) && containsEntry(key, className);
+    }
+
+    /**
+     * Number of located JARs
+     */
+    public int getJarCount() {
+        drainPending();
+        return located.size();
+    }
+
+    /**
+     * Number of classes in the exact map, counting a class once per JAR providing it
+     */
+    public synchronized int getExactClassCount() {
+        return exactClassCount;
+    }
+
+    /**
+     * Number of JARs opened to confirm a Bloom filter hit or answer for an unknown JAR,
+     * for diagnostics
+     */
+    public long getArchiveOpenCount() {
+        return archiveOpenCount.get();
+    }
+
+    /**
+     * The located JAR if it still has the size and modification time it was indexed at;
+     * a changed or deleted JAR is dropped
+     */
+    private Located current(Path jar) {
+        Located entry = located.get(jar);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            if (entry.stat().sameStat(ClasspathEntryFingerprint.stat(jar))) {
+                return entry;
+            }
+        } catch (IOException e) {
+            // Deleted
+        }
+        logger.debug("Dropping {} from class lookups, it changed since it was indexed", jar);
+        drop(jar, entry);
+        return null;
+    }
+
+    /**
+     * Locate the JARs added since the last lookup, in the order they were added
+     */
+    private synchronized void drainPending() {
+        pending.forEach(this::put);
+        pending.clear();
+    }
+
+    /**
+     * Locate the classes of a JAR, replacing what was recorded for an earlier version of it
+     */
+    private void put(Path jar, ClassIndexSegment segment) {
+        Located previous = located.get(jar);
+        if (previous != null) {
+            drop(jar, previous);
+        }
+        ClasspathEntryFingerprint stat = stat(jar, segment);
+        if (stat == null) {
+            return;
+        }
+
+        Located entry;
+        if (exactClassCount + segment.size() <= exactClassLimit) {
+            segment.forEachClass((packageName, simpleName) -> exact.merge(packageName + "." + simpleName,
+                new Path[]{jar}, ClassLocator::with));
+            exactClassCount += segment.size();
+            entry = new Located(segment, stat, null);
+        } else {
+            BloomFilter filter = new BloomFilter(segment.size(), FALSE_POSITIVE_RATE);
+            segment.forEachClass((packageName, simpleName) -> filter.add(packageName + "." + simpleName));
+            entry = new Located(segment, stat, filter);
+        }
+        located.put(jar, entry);
+    }
+
+    /**
+     * Forget a located JAR and its classes, unless it was replaced meanwhile
+     */
+    private synchronized void drop(Path jar, Located entry) {
+        if (!located.remove(jar, entry) || entry.filter() != null) {
+            return;
+        }
+        entry.segment().forEachClass((packageName, simpleName) -> exact.computeIfPresent(
+            packageName + "." + simpleName, (className, jars) -> without(jars, jar)));
+        exactClassCount -= entry.segment().size();
+    }
+
+    /**
+     * Size and modification time of the JAR a segment was added for. A segment shared by
+     * identical JARs describes the first of them, so the others are read from disk.
+     */
+    private static ClasspathEntryFingerprint stat(Path jar, ClassIndexSegment segment) {
+        ClasspathEntryFingerprint fingerprint = segment.getFingerprint();
+        if (fingerprint != null && jar.toString().equals(fingerprint.getPath())) {
+            return fingerprint;
+        }
+        try {
+            return ClasspathEntryFingerprint.stat(jar);
+        } catch (IOException e) {
+            logger.debug("Failed to read {} for class lookups: {}", jar, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean containsEntry(Path jar, String className) {
+        archiveOpenCount.incrementAndGet();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getJarEntry(className.replace('.', '/') + JarIndexer.CLASS_SUFFIX) != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path[] with(Path[] jars, Path[] added) {
+        Path[] merged = Arrays.copyOf(jars, jars.length + 1);
+        merged[jars.length] = added[0];
+        return merged;
+    }
+
+    /**
+     * The JARs without one, or null if none is left so the class is removed from the map
+     */
+    private static Path[] without(Path[] jars, Path jar) {
+        Path[] remaining = Arrays.stream(jars).filter(path -> !path.equals(jar)).toArray(Path[]::new);
+        return remaining.length > 0 ? remaining : null;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+/**
+ * A class found in an index snapshot
+ */
+public class ClassMatch {
+
+    private final String packageName;
+    private final String simpleName;
+    private final String dependency;
+    private final int score;
+
+    public ClassMatch(String packageName, String simpleName, String dependency) {
+        this(packageName, simpleName, dependency, 0);
+    }
+
+    public ClassMatch(String packageName, String simpleName, String dependency, int score) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.dependency = dependency;
+        this.score = score;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Dependency label of the classpath entry providing the class, may be null
+     */
+    public String getDependency() {
+        return dependency;
+    }
+
+    /**
+     * Match quality for ranked queries, lower is better; 0 for other queries
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public String getClassName() {
+        return packageName + "." + simpleName;
+    }
+
+    @Override
+    public String toString() {
+        return getClassName();
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled class name search. Patterns containing a dot are matched against the
+ * fully-qualified class name, all others against the simple name. Camel-case and fuzzy
+ * patterns are always matched against the simple name and their results are ranked.
+ */
+public class ClassNameQuery {
+
+    /** Default maximum edit distance of fuzzy searches */
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+
+    /** Largest supported maximum edit distance of fuzzy searches */
+    public static final int MAX_DISTANCE_LIMIT = 3;
+
+    private final String pattern;
+    private final String searchType;
+    private final Pattern regex;
+    private final List<String> literals;
+    private final String literalPrefix;
+    private final boolean qualified;
+    private int maxDistance = DEFAULT_MAX_DISTANCE;
+    private Set<String> preferredDependencies = Set.of();
+
+    private ClassNameQuery(String pattern, String searchType, Pattern regex, List<String> literals,
+                           String literalPrefix) {
+        this.pattern = pattern;
+        this.searchType = searchType;
+        this.regex = regex;
+        this.literals = literals;
+        this.literalPrefix = literalPrefix;
+        this.qualified = regex != null && pattern.indexOf('.') >= 0;
+    }
+
+    /**
+     * Compile a pattern for one of the search types exact, prefix, suffix, contains, wildcard,
+     * camelcase or fuzzy. Unknown search types are treated as wildcard.
+     */
+    public static ClassNameQuery of(String pattern, String searchType) {
+        String type = searchType.toLowerCase();
+        switch (type) {
+            case "exact":
+                return new ClassNameQuery(pattern, type, Pattern.compile(Pattern.quote(pattern)),
+                    List.of(pattern), pattern);
+            case "prefix":
+                return new ClassNameQuery(pattern, type, Pattern.compile(Pattern.quote(pattern) + ".*"),
+                    List.of(pattern), pattern);
+            case "suffix":
+                return new ClassNameQuery(pattern, type, Pattern.compile(".*" + Pattern.quote(pattern)),
+                    List.of(pattern), null);
+            case "contains":
+                return new ClassNameQuery(pattern, type, Pattern.compile(".*" + Pattern.quote(pattern) + ".*"),
+                    List.of(pattern), null);
+            case "camelcase":
+            case "fuzzy":
+                return new ClassNameQuery(pattern, type, null, List.of(), null);
+            case "wildcard":
+            default:
+                return wildcard(pattern);
+        }
+    }
+
+    /**
+     * Convert * and ? to regex, quoting everything else, and keep the literal runs in between
+     */
+    private static ClassNameQuery wildcard(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    literals.add(literal.toString());
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            literals.add(literal.toString());
+            regex.append(Pattern.quote(literal.toString()));
+        }
+
+        boolean anchored = !pattern.isEmpty() && pattern.charAt(0) != '*' && pattern.charAt(0) != '?';
+        return new ClassNameQuery(pattern, "wildcard", Pattern.compile(regex.toString()), literals,
+            anchored ? literals.get(0) : null);
+    }
+
+    /**
+     * Set the maximum edit distance of a fuzzy search, clamped to 0..{@link #MAX_DISTANCE_LIMIT}
+     */
+    public ClassNameQuery withMaxDistance(int maxDistance) {
+        this.maxDistance = Math.max(0, Math.min(maxDistance, MAX_DISTANCE_LIMIT));
+        return this;
+    }
+
+    /**
+     * Set the dependency labels whose classes rank first among equally good fuzzy matches,
+     * typically the module itself and its declared dependencies
+     */
+    public ClassNameQuery withPreferredDependencies(Set<String> preferredDependencies) {
+        this.preferredDependencies = preferredDependencies;
+        return this;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String getSearchType() {
+        return searchType;
+    }
+
+    /**
+     * Literal substrings every matching name must contain
+     */
+    public List<String> getLiterals() {
+        return literals;
+    }
+
+    /**
+     * Literal every matching name starts with, or null if the pattern is not anchored at the start
+     */
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
+    /**
+     * Whether the query matches fully-qualified names rather than simple names
+     */
+    public boolean isQualified() {
+        return qualified;
+    }
+
+    /**
+     * Whether the query matches camel humps of simple names
+     */
+    public boolean isCamelCase() {
+        return "camelcase".equals(searchType);
+    }
+
+    /**
+     * Whether the query matches simple names within an edit distance
+     */
+    public boolean isFuzzy() {
+        return "fuzzy".equals(searchType);
+    }
+
+    /**
+     * Whether results are ordered by match quality rather than by name
+     */
+    public boolean isRanked() {
+        return regex == null;
+    }
+
+    /**
+     * Match quality of a class, lower is better. Fuzzy matches rank by edit distance,
+     * then classes of preferred dependencies before others.
+     */
+    public int score(ClassMatch match) {
+        return score(match.getSimpleName(), match.getDependency());
+    }
+
+    /**
+     * Match quality of a simple or member name found in the given dependency, lower is better
+     */
+    public int score(String name, String dependency) {
+        if (isCamelCase()) {
+            return CamelHumps.bestMatch(pattern, name);
+        }
+        if (isFuzzy()) {
+            int distance = FuzzyNameIndex.distance(pattern.toLowerCase(Locale.ROOT),
+                name.toLowerCase(Locale.ROOT));
+            return distance * 2 + (preferredDependencies.contains(dependency) ? 0 : 1);
+        }
+        return 0;
+    }
+
+    /**
+     * Compare two classes in the query's result order: by fully-qualified name for
+     * qualified queries, otherwise by simple name then package
+     */
+    public int compare(String packageA, String simpleA, String packageB, String simpleB) {
+        if (qualified) {
+            return (packageA + "." + simpleA).compareTo(packageB + "." + simpleB);
+        }
+        int result = simpleA.compareTo(simpleB);
+        return result != 0 ? result : packageA.compareTo(packageB);
+    }
+
+    /**
+     * Compare two matches in the query's result order, by score first for ranked queries
+     */
+    public int compare(ClassMatch a, ClassMatch b) {
+        if (isRanked() && a.getScore() != b.getScore()) {
+            return Integer.compare(a.getScore(), b.getScore());
+        }
+        return compare(a.getPackageName(), a.getSimpleName(), b.getPackageName(), b.getSimpleName());
+    }
+
+    /**
+     * Whether the segment cursors of this query return only entries that match, so their
+     * candidate counts are exact
+     */
+    boolean isPrecise() {
+        return isRanked() || (!qualified && ("prefix".equals(searchType) || "exact".equals(searchType)));
+    }
+
+    /**
+     * Verify a candidate class against the query
+     */
+    public boolean matches(String packageName, String simpleName) {
+        if (isCamelCase()) {
+            return CamelHumps.bestMatch(pattern, simpleName) != CamelHumps.NO_MATCH;
+        }
+        if (isFuzzy()) {
+            return FuzzyNameIndex.distance(pattern.toLowerCase(Locale.ROOT),
+                simpleName.toLowerCase(Locale.ROOT)) <= maxDistance;
+        }
+        String name = qualified ? packageName + "." + simpleName : simpleName;
+        return regex.matcher(name).matches();
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.List;
+
+/**
+ * One page of class search results taken from an index snapshot
+ */
+public class ClassSearchPage {
+
+    private final List<ClassMatch> matches;
+    private final boolean hasMore;
+    private final int totalResults;
+    private final boolean totalEstimated;
+    private final long snapshotVersion;
+
+    public ClassSearchPage(List<ClassMatch> matches, boolean hasMore, int totalResults,
+                           boolean totalEstimated, long snapshotVersion) {
+        this.matches = matches;
+        this.hasMore = hasMore;
+        this.totalResults = totalResults;
+        this.totalEstimated = totalEstimated;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public List<ClassMatch> getMatches() {
+        return matches;
+    }
+
+    /**
+     * Whether more matches follow the last one of this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Number of matches of the whole search, an upper bound if {@link #isTotalEstimated()}
+     */
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+
+    /**
+     * Version of the snapshot the page was read from
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A single indexable element of a module classpath
+ */
+public class ClasspathEntry {
+
+    public enum Kind {
+        JAR,
+        DIRECTORY,
+        SOURCES
+    }
+
+    private final Path path;
+    private final Kind kind;
+    private final String label;
+
+    public ClasspathEntry(Path path, Kind kind, String label) {
+        this.path = path;
+        this.kind = kind;
+        this.label = label;
+    }
+
+    /**
+     * List the entries to index for a module: its output directory, classpath JARs and source JARs
+     */
+    public static List<ClasspathEntry> forModule(ModuleContext context) {
+        List<ClasspathEntry> entries = new ArrayList<>();
+
+        Path outputDirectory = context.getOutputDirectory();
+        if (outputDirectory != null && Files.isDirectory(outputDirectory)) {
+            String label = context.getArtifactId() != null
+                ? context.getArtifactId()
+                : String.valueOf(outputDirectory.getFileName());
+            entries.add(new ClasspathEntry(outputDirectory, Kind.DIRECTORY, label));
+        }
+        for (Path jar : context.getClasspathJars()) {
+            entries.add(new ClasspathEntry(jar, Kind.JAR, labelForJar(jar)));
+        }
+        for (Path sourceJar : context.getSourceJars()) {
+            entries.add(new ClasspathEntry(sourceJar, Kind.SOURCES, null));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Labels of the module's own classes and of its declared dependencies, as reported
+     * by the segments indexing them
+     */
+    public static Set<String> declaredLabels(ModuleContext context) {
+        Set<String> labels = new HashSet<>();
+        for (ClasspathEntry entry : forModule(context)) {
+            if (entry.kind == Kind.DIRECTORY) {
+                labels.add(entry.label);
+            }
+        }
+        for (DependencyInfo dependency : context.getDependencies()) {
+            if (dependency.getJarPath() != null) {
+                labels.add(labelForJar(dependency.getJarPath()));
+            } else {
+                String classifier = dependency.getClassifier();
+                labels.add(dependency.getArtifactId() + "-" + dependency.getVersion()
+                    + (classifier != null && !classifier.isEmpty() ? "-" + classifier : ""));
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Derive a dependency label from a JAR file name
+     */
+    public static String labelForJar(Path jarPath) {
+        String fileName = jarPath.getFileName().toString();
+        // Try to extract dependency coordinates from JAR name
+        if (fileName.endsWith(".jar")) {
+            // Simple heuristic: artifactId-version
+            return fileName.substring(0, fileName.length() - 4);
+        }
+        return jarPath.toString();
+    }
+
+    /**
+     * Key identifying this entry within a module index
+     */
+    public String key() {
+        return kind.name() + ":" + path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Compute the entry's current fingerprint. JARs are only stat-ed; directories are
+     * walked because their own modification time does not reflect nested changes.
+     */
+    public ClasspathEntryFingerprint fingerprint() throws IOException {
+        return kind == Kind.DIRECTORY
+            ? ClasspathEntryFingerprint.ofDirectory(path)
+            : ClasspathEntryFingerprint.stat(path);
+    }
+
+    /**
+     * Check whether a segment built earlier still matches the entry's current fingerprint
+     */
+    public boolean isCurrent(ClassIndexSegment segment, ClasspathEntryFingerprint current) {
+        if (segment == null || !segment.getFingerprint().sameStat(current)) {
+            return false;
+        }
+        return kind != Kind.DIRECTORY
+            || current.getContentHash().equals(segment.getFingerprint().getContentHash());
+    }
+
+    /**
+     * Key under which the entry's segment is shared across modules. JARs are addressed by
+     * content hash so identical JARs at different paths share one segment; output
+     * directories belong to a single module and are addressed by path and listing hash.
+     */
+    public String contentKey(ClassIndexSegment segment) {
+        String contentHash = segment.getFingerprint().getContentHash();
+        if (kind == Kind.DIRECTORY || contentHash == null) {
+            return key() + "#" + (contentHash != null ? contentHash : segment.getFingerprint().statKey());
+        }
+        return kind.name() + ":" + contentHash;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * File name suffix of the entries this classpath element contributes
+     */
+    public String getSuffix() {
+        return kind == Kind.SOURCES ? JarIndexer.SOURCE_SUFFIX : JarIndexer.CLASS_SUFFIX;
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Identity of a classpath entry: its path, size, modification time and content hash
+ */
+public class ClasspathEntryFingerprint {
+
+    private final String path;
+    private final long size;
+    private final long lastModified;
+    private final String contentHash;
+
+    public ClasspathEntryFingerprint(String path, long size, long lastModified, String contentHash) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Read size and modification time of a file without hashing its content
+     */
+    public static ClasspathEntryFingerprint stat(Path file) throws IOException {
+        Path normalized = file.toAbsolutePath().normalize();
+        return new ClasspathEntryFingerprint(
+            normalized.toString(),
+            Files.size(normalized),
+            Files.getLastModifiedTime(normalized).toMillis(),
+            null
+        );
+    }
+
+    /**
+     * Read size, modification time and SHA-256 content hash of a file
+     */
+    public static ClasspathEntryFingerprint of(Path file) throws IOException {
+        ClasspathEntryFingerprint stat = stat(file);
+        return stat.withContentHash(sha256(Path.of(stat.path)));
+    }
+
+    /**
+     * Fingerprint a class output directory from the relative path, size and modification
+     * time of every file below it. Size is the total byte count and the modification time
+     * is the newest file's, so any added, removed or rewritten class changes the result.
+     */
+    public static ClasspathEntryFingerprint ofDirectory(Path directory) throws IOException {
+        Path normalized = directory.toAbsolutePath().normalize();
+        List<String> lines = new ArrayList<>();
+        long[] totals = new long[2];
+
+        try (Stream<Path> files = Files.walk(normalized)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    long modified = attrs.lastModifiedTime().toMillis();
+                    totals[0] += attrs.size();
+                    totals[1] = Math.max(totals[1], modified);
+                    lines.add(normalized.relativize(file) + "|" + attrs.size() + "|" + modified);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Collections.sort(lines);
+        return new ClasspathEntryFingerprint(normalized.toString(), totals[0], totals[1],
+            sha256(String.join("\n", lines)));
+    }
+
+    public ClasspathEntryFingerprint withContentHash(String contentHash) {
+        return new ClasspathEntryFingerprint(path, size, lastModified, contentHash);
+    }
+
+    /**
+     * Key derived from path, size and modification time only, used to find a
+     * persisted segment without re-hashing the file
+     */
+    public String statKey() {
+        return sha256(path + "|" + size + "|" + lastModified).substring(0, 32);
+    }
+
+    /**
+     * Check whether another fingerprint describes the same file state, ignoring the content hash
+     */
+    public boolean sameStat(ClasspathEntryFingerprint other) {
+        return other != null
+            && path.equals(other.path)
+            && size == other.size
+            && lastModified == other.lastModified;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    static String sha256(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClasspathEntryFingerprint that = (ClasspathEntryFingerprint) o;
+        return size == that.size &&
+               lastModified == that.lastModified &&
+               Objects.equals(path, that.path) &&
+               Objects.equals(contentHash, that.contentHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, size, lastModified, contentHash);
+    }
+
+    @Override
+    public String toString() {
+        return "ClasspathEntryFingerprint{" +
+               "path='" + path + '\'' +
+               ", size=" + size +
+               ", lastModified=" + lastModified +
+               ", contentHash='" + contentHash + '\'' +
+               '}';
+    }
+}
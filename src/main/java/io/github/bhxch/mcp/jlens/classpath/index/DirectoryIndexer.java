@@ -0,0 +1,40 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Builds class index segments from class output directories such as target/classes
+ */
+public final class DirectoryIndexer {
+
+    private DirectoryIndexer() {
+    }
+
+    /**
+     * Index every .class file below the directory
+     */
+    public static ClassIndexSegment index(Path directory, ClasspathEntryFingerprint fingerprint,
+                                          String label) throws IOException {
+        ClassIndexSegment.Builder builder = ClassIndexSegment.builder(fingerprint, label);
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(JarIndexer.CLASS_SUFFIX))
+                .forEach(file -> {
+                    String relative = directory.relativize(file).toString().replace('\\', '/');
+                    String className = relative
+                        .substring(0, relative.length() - JarIndexer.CLASS_SUFFIX.length())
+                        .replace('/', '.');
+
+                    int lastDot = className.lastIndexOf('.');
+                    if (lastDot > 0) {
+                        builder.addClass(className.substring(0, lastDot), className.substring(lastDot + 1));
+                    }
+                });
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * BK-tree over the distinct simple names of one segment, compared case-insensitively by
+ * Levenshtein distance. The triangle inequality lets a search within distance k skip every
+ * subtree whose edge distance differs from the current node's distance by more than k,
+ * so only a small part of the names is compared.
+ */
+class FuzzyNameIndex {
+
+    private static final int NONE = -1;
+
+    private final String[] keys;
+    // First entry id of the name run each node stands for
+    private final int[] runStart;
+    // Nodes whose key equals this node's key, differing only in case
+    private final int[] sameNext;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edgeDistance;
+
+    private FuzzyNameIndex(String[] keys, int[] runStart, int[] sameNext,
+                           int[] firstChild, int[] nextSibling, int[] edgeDistance) {
+        this.keys = keys;
+        this.runStart = runStart;
+        this.sameNext = sameNext;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.edgeDistance = edgeDistance;
+    }
+
+    static FuzzyNameIndex build(ClassIndexSegment.Data data) {
+        String[] names = data.simpleNames;
+        int runs = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (i == 0 || !names[i].equals(names[i - 1])) {
+                runs++;
+            }
+        }
+
+        String[] keys = new String[runs];
+        int[] runStart = new int[runs];
+        int[] sameNext = new int[runs];
+        int[] firstChild = new int[runs];
+        int[] nextSibling = new int[runs];
+        int[] edgeDistance = new int[runs];
+        Arrays.fill(sameNext, NONE);
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+
+        int node = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0 && names[i].equals(names[i - 1])) {
+                continue;
+            }
+            keys[node] = names[i].toLowerCase(Locale.ROOT);
+            runStart[node] = i;
+            if (node > 0) {
+                insert(keys, sameNext, firstChild, nextSibling, edgeDistance, node);
+            }
+            node++;
+        }
+        return new FuzzyNameIndex(keys, runStart, sameNext, firstChild, nextSibling, edgeDistance);
+    }
+
+    private static void insert(String[] keys, int[] sameNext, int[] firstChild, int[] nextSibling,
+                               int[] edgeDistance, int node) {
+        int current = 0;
+        while (true) {
+            int distance = distance(keys[node], keys[current]);
+            if (distance == 0) {
+                sameNext[node] = sameNext[current];
+                sameNext[current] = node;
+                return;
+            }
+            int child = firstChild[current];
+            while (child != NONE && edgeDistance[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                edgeDistance[node] = distance;
+                nextSibling[node] = firstChild[current];
+                firstChild[current] = node;
+                return;
+            }
+            current = child;
+        }
+    }
+
+    /**
+     * Get the sorted ids of the entries whose simple name is within the edit distance of the pattern
+     */
+    int[] matches(String pattern, int maxDistance, String[] simpleNames) {
+        if (keys.length == 0) {
+            return new int[0];
+        }
+        String key = pattern.toLowerCase(Locale.ROOT);
+        int[] ids = new int[16];
+        int count = 0;
+
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(key, keys[node]);
+            if (distance <= maxDistance) {
+                for (int same = node; same != NONE; same = sameNext[same]) {
+                    for (int i = runStart[same]; i < simpleNames.length
+                            && simpleNames[i].equals(simpleNames[runStart[same]]); i++) {
+                        if (count == ids.length) {
+                            ids = Arrays.copyOf(ids, count * 2);
+                        }
+                        ids[count++] = i;
+                    }
+                }
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(edgeDistance[child] - distance) <= maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        int[] result = Arrays.copyOf(ids, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Levenshtein distance between two strings
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Builds class index segments from JAR files
+ */
+public final class JarIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JarIndexer.class);
+
+    public static final String CLASS_SUFFIX = ".class";
+    public static final String SOURCE_SUFFIX = ".java";
+
+    private JarIndexer() {
+    }
+
+    /**
+     * Index every entry of the JAR ending with the given suffix. Entry names are decoded
+     * straight from the mapped central directory; archives it cannot read are indexed
+     * through {@link JarFile} instead.
+     */
+    public static ClassIndexSegment index(Path jarPath, ClasspathEntryFingerprint fingerprint,
+                                          String label, String suffix) throws IOException {
+        ClassIndexSegment.Builder builder = ClassIndexSegment.builder(fingerprint, label);
+        try {
+            ZipCentralDirectory.forEachName(jarPath, new NameDecoder(builder, suffix));
+            return builder.build();
+        } catch (IOException e) {
+            logger.debug("Falling back to JarFile for {}: {}", jarPath, e.getMessage());
+            return indexWithJarFile(jarPath, fingerprint, label, suffix);
+        }
+    }
+
+    /**
+     * Index the JAR by enumerating its entries with {@link JarFile}, for archives the mapped
+     * central directory cannot be read from
+     */
+    public static ClassIndexSegment indexWithJarFile(Path jarPath, ClasspathEntryFingerprint fingerprint,
+                                              String label, String suffix) throws IOException {
+        ClassIndexSegment.Builder builder = ClassIndexSegment.builder(fingerprint, label);
+
+        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (name.endsWith(suffix)) {
+                    String className = name.substring(0, name.length() - suffix.length()).replace('/', '.');
+
+                    int lastDot = className.lastIndexOf('.');
+                    if (lastDot > 0) {
+                        builder.addClass(className.substring(0, lastDot), className.substring(lastDot + 1));
+                    }
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Turns entry names into package and simple names without intermediate strings.
+     * Entries of one package are stored together in practically every JAR, so the last
+     * package is kept and reused while the directory bytes stay the same.
+     */
+    private static class NameDecoder implements ZipCentralDirectory.NameVisitor {
+
+        private final ClassIndexSegment.Builder builder;
+        private final byte[] suffix;
+        private byte[] scratch = new byte[256];
+        private byte[] packageBytes = new byte[256];
+        private int packageLength = -1;
+        private String packageName;
+
+        NameDecoder(ClassIndexSegment.Builder builder, String suffix) {
+            this.builder = builder;
+            this.suffix = suffix.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void visit(MappedByteBuffer archive, int offset, int length) {
+            int nameLength = length - suffix.length;
+            if (nameLength <= 0) {
+                return;
+            }
+            for (int i = 0; i < suffix.length; i++) {
+                if (archive.get(offset + nameLength + i) != suffix[i]) {
+                    return;
+                }
+            }
+
+            int lastSlash = nameLength - 1;
+            while (lastSlash >= 0 && archive.get(offset + lastSlash) != '/') {
+                lastSlash--;
+            }
+            // Classes in the default package are not indexed
+            if (lastSlash <= 0 || lastSlash == nameLength - 1) {
+                return;
+            }
+
+            if (scratch.length < nameLength) {
+                scratch = new byte[Math.max(nameLength, scratch.length * 2)];
+            }
+            archive.get(offset, scratch, 0, nameLength);
+            if (lastSlash != packageLength
+                    || !Arrays.equals(scratch, 0, lastSlash, packageBytes, 0, lastSlash)) {
+                if (packageBytes.length < lastSlash) {
+                    packageBytes = new byte[scratch.length];
+                }
+                System.arraycopy(scratch, 0, packageBytes, 0, lastSlash);
+                packageLength = lastSlash;
+                for (int i = 0; i < lastSlash; i++) {
+                    if (scratch[i] == '/') {
+                        scratch[i] = '.';
+                    }
+                }
+                packageName = new String(scratch, 0, lastSlash, StandardCharsets.UTF_8);
+            }
+            builder.addClass(packageName,
+                new String(scratch, lastSlash + 1, nameLength - lastSlash - 1, StandardCharsets.UTF_8));
+        }
+    }
+}
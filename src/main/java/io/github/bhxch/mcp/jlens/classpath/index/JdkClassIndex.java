@@ -0,0 +1,313 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Class index of a JDK, read from the {@code jrt:/} module file system of its java home.
+ * Every module becomes one segment labelled with the module name, so search results
+ * report e.g. {@code java.base} as the dependency of {@code java.lang.String}.
+ * A JDK build is identified by its {@code release} file and {@code lib/modules} image and
+ * is indexed only once: the segments are kept in memory and persisted in the segment
+ * store, so later sessions map them from disk instead of walking the image again.
+ */
+public class JdkClassIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkClassIndex.class);
+
+    private static final URI JRT_URI = URI.create("jrt:/");
+    private static final String JRT_PREFIX = "jrt:";
+
+    /**
+     * jrt:/ file systems of JDKs other than the running one by home, opened once and kept
+     * open, since opening one loads the JDK's module image
+     */
+    private static final Map<Path, FileSystem> JRT_FILE_SYSTEMS = new ConcurrentHashMap<>();
+
+    private final SegmentStore segmentStore;
+    private final Map<String, JdkImage> imagesByHome = new HashMap<>();
+    private final Map<String, JdkImage> imagesByBuild = new HashMap<>();
+    private final AtomicLong indexedImageCount = new AtomicLong();
+
+    public JdkClassIndex() {
+        this(null);
+    }
+
+    /**
+     * Create a JDK index that persists its module segments in the given store
+     */
+    public JdkClassIndex(SegmentStore segmentStore) {
+        this.segmentStore = segmentStore;
+    }
+
+    /**
+     * Get one segment per module of the JDK at the given java home, indexing the JDK
+     * if this build has not been seen before.
+     *
+     * @param javaHome JDK home directory, or null for the JDK running the server
+     * @return the module segments sorted by module name, empty if the home has no module image
+     */
+    public synchronized List<ClassIndexSegment> segments(Path javaHome) throws IOException {
+        Path home = (javaHome != null ? javaHome : Path.of(System.getProperty("java.home")))
+            .toAbsolutePath().normalize();
+        Path image = home.resolve("lib").resolve("modules");
+        if (!Files.isRegularFile(image)) {
+            logger.debug("No module image in {}, skipping JDK classes", home);
+            return List.of();
+        }
+
+        ClasspathEntryFingerprint stat = ClasspathEntryFingerprint.stat(image);
+        JdkImage cached = imagesByHome.get(home.toString());
+        if (cached != null && cached.stat.sameStat(stat)) {
+            return cached.segments;
+        }
+
+        Path releaseFile = home.resolve("release");
+        String release = Files.isRegularFile(releaseFile)
+            ? Files.readString(releaseFile, StandardCharsets.UTF_8)
+            : "";
+        String buildId = ClasspathEntryFingerprint.sha256(release + "|" + stat.getSize());
+
+        JdkImage jdk = imagesByBuild.get(buildId);
+        if (jdk == null) {
+            List<ClassIndexSegment> segments = load(home, stat, buildId, releaseValue(release, "MODULES"));
+            if (segments == null) {
+                segments = index(home, stat, buildId);
+            }
+            jdk = new JdkImage(stat, List.copyOf(segments));
+            imagesByBuild.put(buildId, jdk);
+            logger.info("Indexed JDK {} at {}: {} modules",
+                releaseValue(release, "JAVA_VERSION"), home, segments.size());
+        }
+        imagesByHome.put(home.toString(), new JdkImage(stat, jdk.segments));
+        return jdk.segments;
+    }
+
+    /**
+     * Number of JDK images that had to be walked, for diagnostics
+     */
+    public long getIndexedImageCount() {
+        return indexedImageCount.get();
+    }
+
+    /**
+     * Load the persisted segments of every module listed in the release file, or return
+     * null if any of them is missing
+     */
+    private List<ClassIndexSegment> load(Path home, ClasspathEntryFingerprint stat, String buildId,
+                                         String modules) {
+        if (segmentStore == null || modules == null || modules.isBlank()) {
+            return null;
+        }
+        List<ClassIndexSegment> segments = new ArrayList<>();
+        for (String module : modules.trim().split("\\s+")) {
+            ClassIndexSegment segment = segmentStore.load(moduleFingerprint(home, module, stat, buildId));
+            if (segment == null || !buildId.equals(segment.getFingerprint().getContentHash())) {
+                return null;
+            }
+            segments.add(segment);
+        }
+        segments.sort(Comparator.comparing(ClassIndexSegment::getLabel));
+        return segments;
+    }
+
+    /**
+     * Walk every module of the image and persist the resulting segments
+     */
+    private List<ClassIndexSegment> index(Path home, ClasspathEntryFingerprint stat, String buildId)
+            throws IOException {
+        indexedImageCount.incrementAndGet();
+        List<ClassIndexSegment> segments = readImage(home, modulesRoot -> {
+            List<Path> moduleDirectories = new ArrayList<>();
+            try (DirectoryStream<Path> modules = Files.newDirectoryStream(modulesRoot)) {
+                modules.forEach(moduleDirectories::add);
+            }
+
+            List<ClassIndexSegment> indexed = new ArrayList<>();
+            // Use virtual threads to walk the modules in parallel
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<ClassIndexSegment>> pending = new ArrayList<>();
+                for (Path moduleDirectory : moduleDirectories) {
+                    String module = moduleDirectory.getFileName().toString();
+                    pending.add(executor.submit(() -> indexModule(moduleDirectory,
+                        moduleFingerprint(home, module, stat, buildId), module)));
+                }
+                for (Future<ClassIndexSegment> future : pending) {
+                    indexed.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while indexing JDK " + home, e);
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to index JDK " + home, e.getCause());
+            }
+            return indexed;
+        });
+
+        segments.sort(Comparator.comparing(ClassIndexSegment::getLabel));
+        if (segmentStore != null) {
+            segments.forEach(segmentStore::save);
+        }
+        return segments;
+    }
+
+    /**
+     * Read the class file of a JDK class, finding its module through the {@code /packages}
+     * tree of the image
+     *
+     * @param javaHome JDK home directory, or null for the JDK running the server
+     * @param className binary class name, e.g. {@code java.util.Map$Entry}
+     * @return the class file bytes, or null if no module of the JDK contains the class
+     */
+    public static byte[] readClassFile(Path javaHome, String className) throws IOException {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot <= 0) {
+            return null;
+        }
+        Path home = (javaHome != null ? javaHome : Path.of(System.getProperty("java.home")))
+            .toAbsolutePath().normalize();
+        if (!Files.isRegularFile(home.resolve("lib").resolve("modules"))) {
+            return null;
+        }
+        String entry = className.replace('.', '/') + JarIndexer.CLASS_SUFFIX;
+        return readImage(home, modulesRoot -> {
+            Path packageDirectory = modulesRoot.getFileSystem().getPath("/packages", className.substring(0, lastDot));
+            if (!Files.isDirectory(packageDirectory)) {
+                return null;
+            }
+            try (DirectoryStream<Path> modules = Files.newDirectoryStream(packageDirectory)) {
+                for (Path module : modules) {
+                    Path classFile = modulesRoot.resolve(module.getFileName().toString()).resolve(entry);
+                    if (Files.isRegularFile(classFile)) {
+                        return Files.readAllBytes(classFile);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    interface ImageReader<T> {
+        T read(Path modulesRoot) throws IOException;
+    }
+
+    /**
+     * Read the {@code /modules} tree of a JDK's jrt:/ file system. The running JDK's file
+     * system is shared; that of another JDK is opened on first use and then reused.
+     */
+    static <T> T readImage(Path home, ImageReader<T> reader) throws IOException {
+        boolean running = home.equals(Path.of(System.getProperty("java.home")).toAbsolutePath().normalize());
+        if (running) {
+            return reader.read(FileSystems.getFileSystem(JRT_URI).getPath("/modules"));
+        }
+        return reader.read(jrtFileSystem(home).getPath("/modules"));
+    }
+
+    private static FileSystem jrtFileSystem(Path home) throws IOException {
+        FileSystem jrt = JRT_FILE_SYSTEMS.get(home);
+        if (jrt != null && jrt.isOpen()) {
+            return jrt;
+        }
+        synchronized (JRT_FILE_SYSTEMS) {
+            jrt = JRT_FILE_SYSTEMS.get(home);
+            if (jrt == null || !jrt.isOpen()) {
+                jrt = FileSystems.newFileSystem(JRT_URI, Map.of("java.home", home.toString()));
+                JRT_FILE_SYSTEMS.put(home, jrt);
+            }
+            return jrt;
+        }
+    }
+
+    /**
+     * Split a module fingerprint path back into java home and module name
+     *
+     * @return the home and the module, or null if the path is not a JDK module's
+     */
+    static String[] parseModulePath(String path) {
+        int separator = path.lastIndexOf("!/");
+        if (!path.startsWith(JRT_PREFIX) || separator < 0) {
+            return null;
+        }
+        return new String[]{path.substring(JRT_PREFIX.length(), separator), path.substring(separator + 2)};
+    }
+
+    private static ClassIndexSegment indexModule(Path moduleDirectory, ClasspathEntryFingerprint fingerprint,
+                                                 String module) throws IOException {
+        ClassIndexSegment.Builder builder = ClassIndexSegment.builder(fingerprint, module);
+
+        try (Stream<Path> files = Files.walk(moduleDirectory)) {
+            files.filter(file -> file.getFileName() != null
+                    && file.getFileName().toString().endsWith(JarIndexer.CLASS_SUFFIX))
+                .forEach(file -> {
+                    String relative = moduleDirectory.relativize(file).toString();
+                    String className = relative
+                        .substring(0, relative.length() - JarIndexer.CLASS_SUFFIX.length())
+                        .replace('/', '.');
+
+                    // Skips module-info, which has no package
+                    int lastDot = className.lastIndexOf('.');
+                    if (lastDot > 0) {
+                        builder.addClass(className.substring(0, lastDot), className.substring(lastDot + 1));
+                    }
+                });
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Fingerprint of one module: the module image's stat under a per-module path, with the
+     * build id as content hash
+     */
+    private static ClasspathEntryFingerprint moduleFingerprint(Path home, String module,
+                                                               ClasspathEntryFingerprint stat, String buildId) {
+        return new ClasspathEntryFingerprint(JRT_PREFIX + home + "!/" + module,
+            stat.getSize(), stat.getLastModified(), buildId);
+    }
+
+    /**
+     * Read an unquoted value from the release file, e.g. {@code JAVA_VERSION="21.0.1"}
+     */
+    static String releaseValue(String release, String key) {
+        for (String line : release.split("\\R")) {
+            if (line.startsWith(key + "=")) {
+                String value = line.substring(key.length() + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static class JdkImage {
+        final ClasspathEntryFingerprint stat;
+        final List<ClassIndexSegment> segments;
+
+        JdkImage(ClasspathEntryFingerprint stat, List<ClassIndexSegment> segments) {
+            this.stat = stat;
+            this.segments = segments;
+        }
+    }
+}
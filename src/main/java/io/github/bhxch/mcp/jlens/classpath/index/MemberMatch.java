@@ -0,0 +1,79 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+/**
+ * A field or method found in the member indexes of a snapshot, with its declaring class
+ */
+public class MemberMatch {
+
+    private final String memberName;
+    private final boolean field;
+    private final String packageName;
+    private final String simpleName;
+    private final String dependency;
+    private final int score;
+
+    public MemberMatch(String memberName, boolean field, String packageName, String simpleName,
+                       String dependency, int score) {
+        this.memberName = memberName;
+        this.field = field;
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.dependency = dependency;
+        this.score = score;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public boolean isField() {
+        return field;
+    }
+
+    /**
+     * "field" or "method"
+     */
+    public String getKind() {
+        return field ? "field" : "method";
+    }
+
+    /**
+     * Package of the declaring class
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Simple name of the declaring class
+     */
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Dependency label of the classpath entry providing the class, may be null
+     */
+    public String getDependency() {
+        return dependency;
+    }
+
+    /**
+     * Match quality for ranked queries, lower is better; 0 for other queries
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Fully-qualified name of the declaring class
+     */
+    public String getClassName() {
+        return packageName + "." + simpleName;
+    }
+
+    @Override
+    public String toString() {
+        return getClassName() + "#" + memberName;
+    }
+}
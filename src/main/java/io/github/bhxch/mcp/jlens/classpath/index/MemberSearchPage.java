@@ -0,0 +1,46 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.List;
+
+/**
+ * One page of member search results taken from an index snapshot
+ */
+public class MemberSearchPage {
+
+    private final List<MemberMatch> matches;
+    private final boolean hasMore;
+    private final int totalResults;
+    private final long snapshotVersion;
+
+    public MemberSearchPage(List<MemberMatch> matches, boolean hasMore, int totalResults, long snapshotVersion) {
+        this.matches = matches;
+        this.hasMore = hasMore;
+        this.totalResults = totalResults;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public List<MemberMatch> getMatches() {
+        return matches;
+    }
+
+    /**
+     * Whether more matches follow the last one of this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Number of matches of the whole search
+     */
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    /**
+     * Version of the snapshot the page was read from
+     */
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inverted index from names read out of class files to the classes of one segment they
+ * belong to: member names to the classes declaring them, supertype names to their direct
+ * subtypes, or annotation names to the classes they annotate. Names are sorted so exact
+ * and prefix lookups are a binary search; each name owns a run of postings
+ * {@code (entry id << 1) | flag}, where entry ids refer to the segment's class table and
+ * the flag depends on the kind of index.
+ */
+class NameIndex {
+
+    /**
+     * Kinds of name indexes a segment can have, each persisted in its own file
+     */
+    enum Kind {
+        /** Field and method names; the flag is set for fields */
+        MEMBERS(0x4A4C4D58, 1, ".members"), // "JLMX"
+        /** Superclass and interface names; the flag is set when the subtype is an interface */
+        SUPERTYPES(0x4A4C5458, 1, ".supertypes"), // "JLTX"
+        /**
+         * Annotation names, alone for annotations on the class and followed by
+         * {@link #MEMBER_SEPARATOR} and the member name for annotations on a member, so the
+         * annotated classes and members of one annotation are a single name range; the flag
+         * is set for fields. Constructors are named {@code <init>}, from version 2 on.
+         */
+        ANNOTATIONS(0x4A4C4158, 2, ".annotations"); // "JLAX"
+
+        final int magic;
+        /** Format version of persisted indexes of this kind */
+        final int version;
+        final String extension;
+
+        Kind(int magic, int version, String extension) {
+            this.magic = magic;
+            this.version = version;
+            this.extension = extension;
+        }
+    }
+
+    static final char MEMBER_SEPARATOR = '#';
+
+    static final NameIndex EMPTY = new NameIndex(new String[0], new int[]{0}, new int[0]);
+
+    final String[] names;
+    // Postings of names[i] are postings[starts[i]] until postings[starts[i + 1]]
+    final int[] starts;
+    final int[] postings;
+
+    NameIndex(String[] names, int[] starts, int[] postings) {
+        this.names = names;
+        this.starts = starts;
+        this.postings = postings;
+    }
+
+    static int posting(int entry, boolean flag) {
+        return (entry << 1) | (flag ? 1 : 0);
+    }
+
+    static int entry(int posting) {
+        return posting >>> 1;
+    }
+
+    static boolean flag(int posting) {
+        return (posting & 1) != 0;
+    }
+
+    /**
+     * Index of the first name not less than the key
+     */
+    int lowerBound(String key) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (names[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the name, or -1 if the index does not contain it
+     */
+    int indexOf(String name) {
+        int i = lowerBound(name);
+        return i < names.length && names[i].equals(name) ? i : -1;
+    }
+
+    int postingCount() {
+        return postings.length;
+    }
+
+    /**
+     * Collects postings while the classes of a segment are read
+     */
+    static class Builder {
+        private final Map<String, Postings> postingsByName = new HashMap<>();
+        private int total;
+
+        Builder add(String name, int entry, boolean flag) {
+            postingsByName.computeIfAbsent(name, key -> new Postings()).add(posting(entry, flag));
+            total++;
+            return this;
+        }
+
+        NameIndex build() {
+            String[] names = postingsByName.keySet().toArray(new String[0]);
+            Arrays.sort(names);
+            int[] starts = new int[names.length + 1];
+            int[] postings = new int[total];
+            int count = 0;
+            for (int i = 0; i < names.length; i++) {
+                starts[i] = count;
+                Postings list = postingsByName.get(names[i]);
+                Arrays.sort(list.values, 0, list.size);
+                // Overloads of a method add the same posting more than once
+                for (int j = 0; j < list.size; j++) {
+                    if (j == 0 || list.values[j] != list.values[j - 1]) {
+                        postings[count++] = list.values[j];
+                    }
+                }
+            }
+            starts[names.length] = count;
+            return new NameIndex(names, starts, Arrays.copyOf(postings, count));
+        }
+    }
+
+    private static class Postings {
+        int[] values = new int[2];
+        int size;
+
+        void add(int posting) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = posting;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed, reference-counted registry of index segments shared by all modules.
+ * Each distinct classpath entry is indexed and held in memory once, no matter how many
+ * module snapshots reference it. A segment is evicted when the last snapshot using it
+ * is replaced; readers still holding that snapshot keep the segment alive until they finish.
+ */
+public class SegmentRegistry {
+
+    private final Map<String, Shared> byContent = new HashMap<>();
+    private final Map<String, Shared> byStat = new HashMap<>();
+    private final Map<ClassIndexSegment, Shared> bySegment = new IdentityHashMap<>();
+
+    /**
+     * Find a registered segment for an entry whose stat (and, for directories, listing hash) matches
+     */
+    public synchronized ClassIndexSegment lookup(ClasspathEntryFingerprint fingerprint) {
+        Shared shared = byStat.get(fingerprint.statKey());
+        if (shared == null) {
+            return null;
+        }
+        String expectedHash = fingerprint.getContentHash();
+        if (expectedHash != null && !expectedHash.equals(shared.segment.getFingerprint().getContentHash())) {
+            return null;
+        }
+        return shared.segment;
+    }
+
+    /**
+     * Register a freshly indexed segment under its content key. If a segment with the same
+     * content is already registered, that one is returned and the new one is discarded.
+     *
+     * @param contentKey key identifying the entry's content, e.g. its SHA-256 hash
+     * @param stat       fingerprint the entry was looked up with, registered as an alias
+     */
+    public synchronized ClassIndexSegment register(String contentKey, ClasspathEntryFingerprint stat,
+                                                   ClassIndexSegment segment) {
+        Shared shared = byContent.get(contentKey);
+        if (shared == null) {
+            shared = new Shared(contentKey, segment);
+            byContent.put(contentKey, shared);
+            bySegment.put(segment, shared);
+        }
+        String statKey = stat.statKey();
+        if (byStat.putIfAbsent(statKey, shared) == null) {
+            shared.statKeys.add(statKey);
+        }
+        return shared.segment;
+    }
+
+    /**
+     * Take a reference on every registered segment in the collection
+     */
+    public synchronized void acquire(Collection<ClassIndexSegment> segments) {
+        for (ClassIndexSegment segment : segments) {
+            Shared shared = bySegment.get(segment);
+            if (shared != null) {
+                shared.references++;
+            }
+        }
+    }
+
+    /**
+     * Drop a reference on every segment in the collection, evicting segments no longer referenced
+     */
+    public synchronized void release(Collection<ClassIndexSegment> segments) {
+        for (ClassIndexSegment segment : segments) {
+            Shared shared = bySegment.get(segment);
+            if (shared != null && --shared.references <= 0) {
+                evict(shared);
+            }
+        }
+    }
+
+    /**
+     * Evict registered segments that were never acquired, e.g. after a failed build
+     */
+    public synchronized void purgeUnreferenced() {
+        for (Shared shared : new ArrayList<>(bySegment.values())) {
+            if (shared.references <= 0) {
+                evict(shared);
+            }
+        }
+    }
+
+    /**
+     * Evict the segments in the collection that were never acquired, leaving segments other
+     * builds registered meanwhile
+     */
+    public synchronized void purgeUnreferenced(Collection<ClassIndexSegment> segments) {
+        for (ClassIndexSegment segment : segments) {
+            Shared shared = bySegment.get(segment);
+            if (shared != null && shared.references <= 0) {
+                evict(shared);
+            }
+        }
+    }
+
+    /**
+     * Number of distinct segments held
+     */
+    public synchronized int size() {
+        return bySegment.size();
+    }
+
+    /**
+     * Number of snapshots referencing the segment, 0 if it is not registered
+     */
+    public synchronized int referenceCount(ClassIndexSegment segment) {
+        Shared shared = bySegment.get(segment);
+        return shared != null ? shared.references : 0;
+    }
+
+    private void evict(Shared shared) {
+        byContent.remove(shared.contentKey);
+        bySegment.remove(shared.segment);
+        for (String statKey : shared.statKeys) {
+            byStat.remove(statKey, shared);
+        }
+    }
+
+    private static class Shared {
+        final String contentKey;
+        final ClassIndexSegment segment;
+        final List<String> statKeys = new ArrayList<>();
+        int references;
+
+        Shared(String contentKey, ClassIndexSegment segment) {
+            this.contentKey = contentKey;
+            this.segment = segment;
+        }
+    }
+}
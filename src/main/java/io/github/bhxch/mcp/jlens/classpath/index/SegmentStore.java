@@ -0,0 +1,399 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists class index segments under a cache directory, one file per classpath entry.
+ * Segment files are named after the entry's path, size and modification time, and are
+ * memory-mapped on load; the class table is only decoded when a search first touches it.
+ * Name indexes of members and supertypes are built on the first search that needs them
+ * and kept in further files beside the segment. Writing the files of an entry deletes
+ * those written for earlier states of it, and the first write sweeps the directory of
+ * files of unknown formats and of entries that no longer exist.
+ */
+public class SegmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentStore.class);
+
+    private static final int MAGIC = 0x4A4C4958; // "JLIX"
+    static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".seg";
+    private static final int MAX_PATH_LENGTH = 64 * 1024;
+
+    private final Path directory;
+
+    /**
+     * Stat keys of the files in the directory by the path of the entry they were written
+     * for, null until the first write sweeps the directory
+     */
+    private Map<String, Set<String>> statKeysByPath;
+
+    public SegmentStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Load the persisted segment for a classpath entry, or return null if there is no
+     * segment for the entry's current size and modification time
+     */
+    public ClassIndexSegment load(ClasspathEntryFingerprint stat) {
+        Path file = segmentFile(stat);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                logger.debug("Ignoring segment with unknown format: {}", file);
+                return null;
+            }
+
+            ClasspathEntryFingerprint stored = new ClasspathEntryFingerprint(
+                readString(buffer), buffer.getLong(), buffer.getLong(), readString(buffer));
+            if (!stored.sameStat(stat)) {
+                return null;
+            }
+            String label = readString(buffer);
+            int packageCount = buffer.getInt();
+            int classCount = buffer.getInt();
+
+            ByteBuffer body = buffer.slice();
+            return new ClassIndexSegment(stored, label, classCount,
+                () -> decode(body.duplicate(), packageCount, classCount, file));
+        } catch (IOException | BufferUnderflowException e) {
+            logger.warn("Failed to load index segment {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a segment to the cache directory, replacing any previous file for the same entry
+     */
+    public void save(ClassIndexSegment segment) {
+        try {
+            writeAtomically(segmentFile(segment.getFingerprint()), out -> write(segment, out));
+            prune(segment.getFingerprint());
+        } catch (IOException e) {
+            logger.warn("Failed to persist index segment for {}: {}",
+                segment.getFingerprint().getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Load a persisted name index of a classpath entry, or return null if there is none
+     * for the entry's current state
+     */
+    NameIndex loadNameIndex(ClasspathEntryFingerprint fingerprint, NameIndex.Kind kind) {
+        Path file = nameIndexFile(fingerprint, kind);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != kind.magic || buffer.getInt() != kind.version) {
+                logger.debug("Ignoring name index with unknown format: {}", file);
+                return null;
+            }
+
+            ClasspathEntryFingerprint stored = new ClasspathEntryFingerprint(
+                readString(buffer), buffer.getLong(), buffer.getLong(), readString(buffer));
+            if (!stored.equals(fingerprint)) {
+                return null;
+            }
+            String[] names = new String[buffer.getInt()];
+            int[] starts = new int[names.length + 1];
+            int[] postings = new int[buffer.getInt()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(buffer);
+                starts[i] = buffer.getInt();
+            }
+            starts[names.length] = postings.length;
+            for (int i = 0; i < postings.length; i++) {
+                postings[i] = buffer.getInt();
+            }
+            return new NameIndex(names, starts, postings);
+        } catch (IOException | BufferUnderflowException e) {
+            logger.warn("Failed to load name index {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a name index of a classpath entry next to its segment
+     */
+    void saveNameIndex(ClasspathEntryFingerprint fingerprint, NameIndex.Kind kind, NameIndex index) {
+        try {
+            writeAtomically(nameIndexFile(fingerprint, kind), out -> {
+                out.writeInt(kind.magic);
+                out.writeInt(kind.version);
+                writeString(out, fingerprint.getPath());
+                out.writeLong(fingerprint.getSize());
+                out.writeLong(fingerprint.getLastModified());
+                writeString(out, fingerprint.getContentHash());
+                out.writeInt(index.names.length);
+                out.writeInt(index.postings.length);
+                for (int i = 0; i < index.names.length; i++) {
+                    writeString(out, index.names[i]);
+                    out.writeInt(index.starts[i]);
+                }
+                for (int posting : index.postings) {
+                    out.writeInt(posting);
+                }
+            });
+            prune(fingerprint);
+        } catch (IOException e) {
+            logger.warn("Failed to persist {} index for {}: {}", kind.name().toLowerCase(),
+                fingerprint.getPath(), e.getMessage());
+        }
+    }
+
+    Path segmentFile(ClasspathEntryFingerprint fingerprint) {
+        return directory.resolve(fingerprint.statKey() + EXTENSION);
+    }
+
+    Path nameIndexFile(ClasspathEntryFingerprint fingerprint, NameIndex.Kind kind) {
+        return directory.resolve(fingerprint.statKey() + kind.extension);
+    }
+
+    /**
+     * Delete the files written for earlier states of an entry
+     */
+    private synchronized void prune(ClasspathEntryFingerprint fingerprint) {
+        if (statKeysByPath == null) {
+            statKeysByPath = sweep();
+        }
+        String statKey = fingerprint.statKey();
+        Set<String> statKeys = statKeysByPath.computeIfAbsent(fingerprint.getPath(), path -> new HashSet<>());
+        for (String superseded : statKeys) {
+            if (!superseded.equals(statKey)) {
+                delete(superseded);
+            }
+        }
+        statKeys.clear();
+        statKeys.add(statKey);
+    }
+
+    /**
+     * Delete files of unknown formats, and the files of entries that no longer exist. Of the
+     * states of an entry, only the one written last is kept.
+     *
+     * @return stat keys of the remaining files by entry path
+     */
+    private Map<String, Set<String>> sweep() {
+        Map<String, Map<String, Long>> written = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (dot < 0 || !isStoreExtension(name.substring(dot))) {
+                    continue;
+                }
+                String path = readEntryPath(file, name.substring(dot));
+                if (path == null) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                written.computeIfAbsent(path, key -> new HashMap<>())
+                    .merge(name.substring(0, dot), Files.getLastModifiedTime(file).toMillis(), Math::max);
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to sweep index directory {}: {}", directory, e.getMessage());
+        }
+
+        Map<String, Set<String>> statKeys = new HashMap<>();
+        int deleted = 0;
+        for (var entry : written.entrySet()) {
+            String kept = entryExists(entry.getKey())
+                ? Collections.max(entry.getValue().entrySet(), Map.Entry.comparingByValue()).getKey()
+                : null;
+            for (String statKey : entry.getValue().keySet()) {
+                if (!statKey.equals(kept)) {
+                    delete(statKey);
+                    deleted++;
+                }
+            }
+            if (kept != null) {
+                statKeys.computeIfAbsent(entry.getKey(), key -> new HashSet<>()).add(kept);
+            }
+        }
+        if (deleted > 0) {
+            logger.debug("Deleted the index files of {} superseded entry states from {}", deleted, directory);
+        }
+        return statKeys;
+    }
+
+    /**
+     * The entry path in the header of a segment or name index file, or null if the file
+     * has an unknown format
+     */
+    private static String readEntryPath(Path file, String extension) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            boolean known = extension.equals(EXTENSION)
+                ? magic == MAGIC && version == FORMAT_VERSION
+                : Arrays.stream(NameIndex.Kind.values())
+                    .anyMatch(kind -> kind.extension.equals(extension) && kind.magic == magic && kind.version == version);
+            if (!known) {
+                return null;
+            }
+            int length = in.readInt();
+            if (length < 0 || length > MAX_PATH_LENGTH) {
+                return null;
+            }
+            byte[] path = new byte[length];
+            in.readFully(path);
+            return new String(path, StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isStoreExtension(String extension) {
+        return extension.equals(EXTENSION)
+            || Arrays.stream(NameIndex.Kind.values()).anyMatch(kind -> kind.extension.equals(extension));
+    }
+
+    /**
+     * Whether the classpath entry or JDK a file was written for still exists
+     */
+    private static boolean entryExists(String path) {
+        String[] module = JdkClassIndex.parseModulePath(path);
+        try {
+            return Files.exists(Path.of(module != null ? module[0] : path));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Delete the segment and name index files of an entry state
+     */
+    private void delete(String statKey) {
+        try {
+            Files.deleteIfExists(directory.resolve(statKey + EXTENSION));
+            for (NameIndex.Kind kind : NameIndex.Kind.values()) {
+                Files.deleteIfExists(directory.resolve(statKey + kind.extension));
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to delete index files {} from {}: {}", statKey, directory, e.getMessage());
+        }
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Write to a temporary file and move it into place, so readers never see a partial file
+     */
+    private void writeAtomically(Path file, Writer writer) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "segment-", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                writer.write(out);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void write(ClassIndexSegment segment, DataOutputStream out) throws IOException {
+        ClasspathEntryFingerprint fingerprint = segment.getFingerprint();
+        ClassIndexSegment.Data data = segment.data();
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, fingerprint.getPath());
+        out.writeLong(fingerprint.getSize());
+        out.writeLong(fingerprint.getLastModified());
+        writeString(out, fingerprint.getContentHash());
+        writeString(out, segment.getLabel());
+        out.writeInt(data.packages.length);
+        out.writeInt(data.simpleNames.length);
+
+        for (String packageName : data.packages) {
+            writeString(out, packageName);
+        }
+        for (int i = 0; i < data.simpleNames.length; i++) {
+            writeString(out, data.simpleNames[i]);
+            out.writeInt(data.packageIds[i]);
+        }
+    }
+
+    private ClassIndexSegment.Data decode(ByteBuffer body, int packageCount, int classCount, Path file) {
+        try {
+            String[] packages = new String[packageCount];
+            for (int i = 0; i < packageCount; i++) {
+                packages[i] = readString(body);
+            }
+            String[] simpleNames = new String[classCount];
+            int[] packageIds = new int[classCount];
+            for (int i = 0; i < classCount; i++) {
+                simpleNames[i] = readString(body);
+                packageIds[i] = body.getInt();
+            }
+            return new ClassIndexSegment.Data(packages, simpleNames, packageIds);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Corrupt index segment: " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
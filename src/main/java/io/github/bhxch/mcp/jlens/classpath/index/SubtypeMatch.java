@@ -0,0 +1,74 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+/**
+ * A class or interface found in the supertype indexes of a snapshot as a subtype of the
+ * searched type
+ */
+public class SubtypeMatch {
+
+    private final String packageName;
+    private final String simpleName;
+    private final String dependency;
+    private final boolean isInterface;
+    private final int depth;
+    private final String supertype;
+
+    public SubtypeMatch(String packageName, String simpleName, String dependency, boolean isInterface,
+                        int depth, String supertype) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.dependency = dependency;
+        this.isInterface = isInterface;
+        this.depth = depth;
+        this.supertype = supertype;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Dependency label of the classpath entry providing the class, may be null
+     */
+    public String getDependency() {
+        return dependency;
+    }
+
+    public boolean isInterface() {
+        return isInterface;
+    }
+
+    /**
+     * "interface" or "class"
+     */
+    public String getKind() {
+        return isInterface ? "interface" : "class";
+    }
+
+    /**
+     * Number of extends or implements steps from the searched type, 1 for direct subtypes
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Fully-qualified name of the direct supertype through which the class was reached
+     */
+    public String getSupertype() {
+        return supertype;
+    }
+
+    public String getClassName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    @Override
+    public String toString() {
+        return getClassName();
+    }
+}
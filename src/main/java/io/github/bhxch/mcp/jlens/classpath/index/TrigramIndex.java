@@ -0,0 +1,171 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trigram posting lists over the simple names and package names of one segment.
+ * A query's literal substrings are split into trigrams whose posting lists are
+ * intersected, so only a small candidate set has to be verified against the pattern.
+ */
+class TrigramIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<Long, int[]> simpleNamePostings;
+    private final Map<Long, int[]> packagePostings;
+    private final int[][] entriesByPackage;
+
+    private TrigramIndex(Map<Long, int[]> simpleNamePostings, Map<Long, int[]> packagePostings,
+                         int[][] entriesByPackage) {
+        this.simpleNamePostings = simpleNamePostings;
+        this.packagePostings = packagePostings;
+        this.entriesByPackage = entriesByPackage;
+    }
+
+    static TrigramIndex build(ClassIndexSegment.Data data) {
+        Map<Long, IntList> simple = new HashMap<>();
+        for (int i = 0; i < data.simpleNames.length; i++) {
+            addTrigrams(simple, data.simpleNames[i], i);
+        }
+
+        Map<Long, IntList> packages = new HashMap<>();
+        IntList[] byPackage = new IntList[data.packages.length];
+        for (int p = 0; p < data.packages.length; p++) {
+            addTrigrams(packages, data.packages[p], p);
+            byPackage[p] = new IntList();
+        }
+        for (int i = 0; i < data.packageIds.length; i++) {
+            byPackage[data.packageIds[i]].add(i);
+        }
+
+        int[][] entriesByPackage = new int[byPackage.length][];
+        for (int p = 0; p < byPackage.length; p++) {
+            entriesByPackage[p] = byPackage[p].toArray();
+        }
+        return new TrigramIndex(toArrays(simple), toArrays(packages), entriesByPackage);
+    }
+
+    /**
+     * Get the sorted ids of the entries that may match, or null if none of the literals
+     * is long enough to narrow the search and every entry has to be verified
+     */
+    int[] candidates(List<String> literals, boolean qualified) {
+        int[] result = null;
+        for (String literal : literals) {
+            for (int i = 0; i + 3 <= literal.length(); i++) {
+                char c0 = literal.charAt(i);
+                char c1 = literal.charAt(i + 1);
+                char c2 = literal.charAt(i + 2);
+                if (c0 == '.' || c1 == '.' || c2 == '.') {
+                    // Spans a package separator, may cross the package/simple name boundary
+                    continue;
+                }
+                long key = key(c0, c1, c2);
+
+                int[] postings = simpleNamePostings.getOrDefault(key, NONE);
+                if (qualified) {
+                    int[] packageIds = packagePostings.get(key);
+                    if (packageIds != null) {
+                        for (int packageId : packageIds) {
+                            postings = union(postings, entriesByPackage[packageId]);
+                        }
+                    }
+                }
+
+                result = result == null ? postings : intersect(result, postings);
+                if (result.length == 0) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void addTrigrams(Map<Long, IntList> postings, String name, int id) {
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            IntList list = postings.computeIfAbsent(key(name.charAt(i), name.charAt(i + 1), name.charAt(i + 2)),
+                k -> new IntList());
+            // Ids are added in ascending order, skip repeated trigrams of the same name
+            if (list.size == 0 || list.values[list.size - 1] != id) {
+                list.add(id);
+            }
+        }
+    }
+
+    private static long key(char c0, char c1, char c2) {
+        return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+    }
+
+    private static Map<Long, int[]> toArrays(Map<Long, IntList> lists) {
+        Map<Long, int[]> arrays = new HashMap<>(lists.size() * 2);
+        for (var entry : lists.entrySet()) {
+            arrays.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return arrays;
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] out = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i];
+                i++;
+                j++;
+            }
+            out[n++] = next;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
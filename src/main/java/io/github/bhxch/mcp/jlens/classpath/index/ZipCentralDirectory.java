@@ -0,0 +1,115 @@
+package io.github.bhxch.mcp.jlens.classpath.index;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the entry names of a ZIP archive straight from its memory-mapped central directory.
+ * Unlike {@link java.util.jar.JarFile} it allocates nothing per entry and skips manifest
+ * and signature processing: each name is handed to the visitor as a byte range of the
+ * mapped file, and the visitor decides what, if anything, to decode.
+ */
+final class ZipCentralDirectory {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int HEADER_SIGNATURE = 0x02014b50;
+    private static final int HEADER_SIZE = 46;
+    private static final int MAX_COMMENT = 0xFFFF;
+
+    /**
+     * Receives the byte range of one entry name, encoded in UTF-8 or the ZIP default code page
+     */
+    interface NameVisitor {
+        void visit(MappedByteBuffer archive, int offset, int length);
+    }
+
+    private ZipCentralDirectory() {
+    }
+
+    /**
+     * Visit the name of every entry in the archive's central directory, in directory order
+     *
+     * @throws IOException if the file cannot be mapped or is not a well-formed ZIP archive
+     */
+    static void forEachName(Path zip, NameVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(zip, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Archive too large to map: " + zip);
+            }
+            MappedByteBuffer archive = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            archive.order(ByteOrder.LITTLE_ENDIAN);
+
+            int end = findEnd(archive);
+            if (end < 0) {
+                throw new IOException("No end of central directory record: " + zip);
+            }
+            long entryCount = Short.toUnsignedInt(archive.getShort(end + 10));
+            long directorySize = Integer.toUnsignedLong(archive.getInt(end + 12));
+            long directoryOffset = Integer.toUnsignedLong(archive.getInt(end + 16));
+
+            // The directory ends where the end record, or the ZIP64 end record, starts
+            long directoryEnd = end;
+            int locator = end - ZIP64_LOCATOR_SIZE;
+            if (locator >= 0 && archive.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+                long zip64End = archive.getLong(locator + 8);
+                if (zip64End >= 0 && zip64End <= locator - 56
+                        && archive.getInt((int) zip64End) == ZIP64_END_SIGNATURE) {
+                    entryCount = archive.getLong((int) zip64End + 32);
+                    directorySize = archive.getLong((int) zip64End + 40);
+                    directoryOffset = archive.getLong((int) zip64End + 48);
+                    directoryEnd = zip64End;
+                }
+            }
+
+            // Archives with a prefix, such as self-extracting ones, record offsets relative
+            // to the start of the ZIP data rather than of the file
+            if (directoryOffset + directorySize != directoryEnd) {
+                directoryOffset = directoryEnd - directorySize;
+            }
+            if (directoryOffset < 0 || directorySize < 0 || directoryOffset + directorySize > size) {
+                throw new IOException("Corrupt central directory: " + zip);
+            }
+
+            int position = (int) directoryOffset;
+            int limit = (int) (directoryOffset + directorySize);
+            for (long i = 0; i < entryCount && position < limit; i++) {
+                if (position + HEADER_SIZE > limit || archive.getInt(position) != HEADER_SIGNATURE) {
+                    throw new IOException("Corrupt central directory entry at " + position + ": " + zip);
+                }
+                int nameLength = Short.toUnsignedInt(archive.getShort(position + 28));
+                int extraLength = Short.toUnsignedInt(archive.getShort(position + 30));
+                int commentLength = Short.toUnsignedInt(archive.getShort(position + 32));
+                int nameOffset = position + HEADER_SIZE;
+                if (nameOffset + nameLength > limit) {
+                    throw new IOException("Corrupt central directory entry at " + position + ": " + zip);
+                }
+                visitor.visit(archive, nameOffset, nameLength);
+                position = nameOffset + nameLength + extraLength + commentLength;
+            }
+        }
+    }
+
+    /**
+     * Scan backwards over the maximum comment length for the end of central directory record
+     */
+    private static int findEnd(MappedByteBuffer archive) {
+        int last = archive.capacity() - END_SIZE;
+        int first = Math.max(0, last - MAX_COMMENT);
+        for (int position = last; position >= first; position--) {
+            if (archive.getInt(position) == END_SIGNATURE
+                    && position + END_SIZE + Short.toUnsignedInt(archive.getShort(position + 20)) <= archive.capacity()) {
+                return position;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.bhxch.mcp.jlens.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool of persistent Maven workers. Each worker is a Maven daemon (mvnd) with a
+ * registry of its own, so the JVM, the loaded plugins and the repository session stay warm
+ * between the tasks the worker runs, and only one task runs on a worker at a time. A worker
+ * is recycled, its daemon stopped and started afresh by its next task, after a number of
+ * tasks or when a task had to be killed.
+ */
+public class MavenWorkerPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenWorkerPool.class);
+
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Handles the process of one task, from reading its output to waiting for its exit
+     */
+    @FunctionalInterface
+    public interface ProcessHandler<T> {
+        T handle(Process process) throws IOException, InterruptedException;
+    }
+
+    private static final class Worker {
+        private final int id;
+        private final Path storage;
+        private int tasks;
+        private boolean started;
+
+        private Worker(int id, Path storage) {
+            this.id = id;
+            this.storage = storage;
+        }
+    }
+
+    private final Path daemonExecutable;
+    private final int maxTasksPerWorker;
+    private final String maxHeapSize;
+    private final List<Worker> workers = new ArrayList<>();
+    private final BlockingQueue<Worker> idle;
+    private volatile boolean closed;
+
+    /**
+     * @param daemonExecutable  mvnd executable
+     * @param storageDirectory  directory holding one daemon registry per worker
+     * @param size              maximum number of workers, and so of concurrent Maven tasks
+     * @param maxTasksPerWorker tasks after which a worker's daemon is replaced
+     * @param maxHeapSize       maximum heap of a worker's daemon, such as {@code 1g}, or null
+     *                          for the mvnd default
+     */
+    public MavenWorkerPool(Path daemonExecutable, Path storageDirectory, int size, int maxTasksPerWorker,
+                           String maxHeapSize) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Worker pool size must be positive: " + size);
+        }
+        this.daemonExecutable = daemonExecutable;
+        this.maxTasksPerWorker = maxTasksPerWorker;
+        this.maxHeapSize = maxHeapSize;
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            Worker worker = new Worker(i, storageDirectory.resolve("worker-" + i));
+            workers.add(worker);
+            idle.add(worker);
+        }
+    }
+
+    /**
+     * Find mvnd on the PATH
+     *
+     * @return the mvnd executable, or null if it is not installed
+     */
+    public static Path findDaemon() {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String directory : path.split(File.pathSeparator)) {
+            for (String name : List.of("mvnd", "mvnd.cmd", "mvnd.sh")) {
+                Path candidate = Path.of(directory, name);
+                if (Files.isExecutable(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    public Path getDaemonExecutable() {
+        return daemonExecutable;
+    }
+
+    public int getSize() {
+        return workers.size();
+    }
+
+    /**
+     * Run Maven with the given arguments on the next idle worker, waiting for one when all
+     * are busy
+     *
+     * @param arguments        Maven arguments, without the executable
+     * @param workingDirectory directory Maven runs in
+     * @param handler          consumes the Maven client process
+     */
+    public <T> T run(List<String> arguments, Path workingDirectory, ProcessHandler<T> handler)
+            throws IOException, InterruptedException {
+        Worker worker;
+        do {
+            if (closed) {
+                throw new IllegalStateException("Maven worker pool is closed");
+            }
+            worker = idle.poll(1, TimeUnit.SECONDS);
+        } while (worker == null);
+        boolean healthy = false;
+        Process process = null;
+        try {
+            Files.createDirectories(worker.storage);
+            worker.started = true;
+            process = startProcess(command(worker, arguments), workingDirectory);
+            T result = handler.handle(process);
+            healthy = !process.isAlive() && process.exitValue() < 128;
+            return result;
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            worker.tasks++;
+            if (!healthy || worker.tasks >= maxTasksPerWorker) {
+                logger.debug("Recycling Maven worker {} after {} tasks{}", worker.id, worker.tasks,
+                    healthy ? "" : " and a killed task");
+                stop(worker);
+            }
+            idle.add(worker);
+            if (closed) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Command running the arguments on a worker's daemon, in batch mode so the output is
+     * plain log lines
+     */
+    private List<String> command(Worker worker, List<String> arguments) {
+        List<String> command = new ArrayList<>();
+        command.add(daemonExecutable.toString());
+        command.add("-B");
+        command.add("-Dmvnd.daemonStorage=" + worker.storage);
+        if (maxHeapSize != null) {
+            command.add("-Dmvnd.maxHeapSize=" + maxHeapSize);
+        }
+        command.addAll(arguments);
+        return command;
+    }
+
+    /**
+     * Start a process. Extracted for testing.
+     */
+    protected Process startProcess(List<String> command, Path workingDirectory) throws IOException {
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.directory(workingDirectory.toFile());
+        processBuilder.redirectErrorStream(true);
+        return processBuilder.start();
+    }
+
+    /**
+     * Stop the daemon of a worker; its next task starts a new one
+     */
+    private void stop(Worker worker) {
+        worker.tasks = 0;
+        if (!worker.started) {
+            return;
+        }
+        worker.started = false;
+        try {
+            Process process = startProcess(List.of(daemonExecutable.toString(), "--stop",
+                "-Dmvnd.daemonStorage=" + worker.storage), worker.storage);
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to stop Maven worker {}: {}", worker.id, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the daemons of the idle workers; busy workers stop theirs when their task ends
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Worker worker = idle.poll(); worker != null; worker = idle.poll()) {
+            stop(worker);
+        }
+    }
+}
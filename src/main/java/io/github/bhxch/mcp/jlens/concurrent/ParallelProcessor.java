@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +30,11 @@ public class ParallelProcessor {
     private ParallelProcessor() {
     }
 
+    /**
+     * Default number of classes inspected at the same time
+     */
+    public static final int DEFAULT_INSPECTION_CONCURRENCY = Math.max(4, Runtime.getRuntime().availableProcessors());
+
     /**
      * Process multiple class inspections in parallel
      */
@@ -38,22 +44,48 @@ public class ParallelProcessor {
         ClassInspector inspector,
         DetailLevel level
     ) {
+        return inspectClassesInParallel(classNames, DEFAULT_INSPECTION_CONCURRENCY,
+            className -> inspector.inspect(className, context, level, null));
+    }
+
+    /**
+     * Process multiple class inspections in parallel, running at most maxConcurrency of them
+     * at a time. Results are in the order of the class names; a class whose inspection
+     * throws gets an ERROR entry carrying the failure message instead of failing the batch.
+     */
+    public static List<ClassMetadata> inspectClassesInParallel(
+        List<String> classNames,
+        int maxConcurrency,
+        Function<String, ClassMetadata> inspection
+    ) {
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
         try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
             List<Callable<ClassMetadata>> tasks = classNames.stream()
-                .map(className -> (Callable<ClassMetadata>) () ->
-                    inspector.inspect(className, context, level, null))
-                .collect(Collectors.toList());
-
-            return executor.invokeAll(tasks).stream()
-                .map(future -> {
+                .map(className -> (Callable<ClassMetadata>) () -> {
+                    permits.acquire();
                     try {
-                        return future.get();
-                    } catch (Exception e) {
-                        return null;
+                        return inspection.apply(className);
+                    } finally {
+                        permits.release();
                     }
                 })
-                .filter(result -> result != null)
                 .collect(Collectors.toList());
+
+            List<Future<ClassMetadata>> futures = executor.invokeAll(tasks);
+            List<ClassMetadata> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    results.add(ClassMetadata.builder()
+                        .className(classNames.get(i))
+                        .status("ERROR")
+                        .suggestion(cause.getClass().getSimpleName() + ": " + cause.getMessage())
+                        .build());
+                }
+            }
+            return results;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Parallel inspection interrupted", e);
@@ -67,13 +99,25 @@ public class ParallelProcessor {
         List<Path> pomFiles,
         MavenResolver resolver,
         Scope scope
+    ) {
+        return resolveModulesInParallel(pomFiles, resolver, scope, List.of());
+    }
+
+    /**
+     * Parallel dependency resolution for multiple modules with the given profiles
+     */
+    public static Map<Path, ModuleContext> resolveModulesInParallel(
+        List<Path> pomFiles,
+        MavenResolver resolver,
+        Scope scope,
+        List<String> activeProfiles
     ) {
         try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
             Map<Path, Future<ModuleContext>> futures = new ConcurrentHashMap<>();
 
             for (Path pomFile : pomFiles) {
                 Future<ModuleContext> future = executor.submit(() ->
-                    resolver.resolveModule(pomFile, scope, List.of()));
+                    resolver.resolveModule(pomFile, scope, activeProfiles));
                 futures.put(pomFile, future);
             }
 
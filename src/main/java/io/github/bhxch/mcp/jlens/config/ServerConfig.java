@@ -1,5 +1,8 @@
 package io.github.bhxch.mcp.jlens.config;
 
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
+import io.github.bhxch.mcp.jlens.inspector.InspectionEngine;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -21,13 +24,27 @@ public class ServerConfig {
     private Path mavenExecutable;
     private Path mavenSettings;
     private Path mavenLocalRepository;
+    private Path mavenDaemon;
+    private int mavenWorkerCount = 2;
+    private int mavenWorkerMaxTasks = 100;
+    private String mavenWorkerMaxHeap = "1g";
 
     // Decompiler configuration
     private DecompilerConfig decompilerConfig = new DecompilerConfig();
 
+    // Class inspection configuration
+    private InspectionEngine inspectionEngine = InspectionEngine.BYTECODE;
+
     // Cache configuration
     private int cacheSize = 1000;
     private long cacheTtlSeconds = 3600;
+    private Path cacheDirectory = Paths.get(System.getProperty("user.home"), ".jlens", "cache");
+    private boolean persistentModuleCacheEnabled = true;
+
+    // File watching configuration
+    private boolean fileWatchEnabled = true;
+    private long fileWatchDebounceMillis = 2000;
+    private long watchedCacheTtlSeconds = 86400;
 
     // Test coverage requirements
     private int minTestCoverage = 80;
@@ -119,6 +136,49 @@ public class ServerConfig {
         this.mavenLocalRepository = Paths.get(mavenLocalRepository);
     }
 
+    /**
+     * Maven daemon (mvnd) executable running Maven tasks on persistent workers, or null to
+     * start a fresh Maven for every task
+     */
+    public Path getMavenDaemon() {
+        return mavenDaemon;
+    }
+
+    public void setMavenDaemon(Path mavenDaemon) {
+        this.mavenDaemon = mavenDaemon;
+    }
+
+    public int getMavenWorkerCount() {
+        return mavenWorkerCount;
+    }
+
+    public void setMavenWorkerCount(int mavenWorkerCount) {
+        this.mavenWorkerCount = mavenWorkerCount;
+    }
+
+    public int getMavenWorkerMaxTasks() {
+        return mavenWorkerMaxTasks;
+    }
+
+    public void setMavenWorkerMaxTasks(int mavenWorkerMaxTasks) {
+        this.mavenWorkerMaxTasks = mavenWorkerMaxTasks;
+    }
+
+    public String getMavenWorkerMaxHeap() {
+        return mavenWorkerMaxHeap;
+    }
+
+    public void setMavenWorkerMaxHeap(String mavenWorkerMaxHeap) {
+        this.mavenWorkerMaxHeap = mavenWorkerMaxHeap;
+    }
+
+    /**
+     * Directory holding the registries of the Maven workers' daemons
+     */
+    public Path getMavenWorkerDirectory() {
+        return cacheDirectory.resolve("mvnd");
+    }
+
     public DecompilerConfig getDecompilerConfig() {
         return decompilerConfig;
     }
@@ -127,6 +187,20 @@ public class ServerConfig {
         this.decompilerConfig = decompilerConfig;
     }
 
+    public InspectionEngine getInspectionEngine() {
+        return inspectionEngine;
+    }
+
+    public void setInspectionEngine(InspectionEngine inspectionEngine) {
+        this.inspectionEngine = inspectionEngine;
+    }
+
+    public void setInspectionEngine(String inspectionEngine) {
+        if (inspectionEngine != null) {
+            this.inspectionEngine = InspectionEngine.valueOf(inspectionEngine.toUpperCase());
+        }
+    }
+
     public int getCacheSize() {
         return cacheSize;
     }
@@ -143,6 +217,79 @@ public class ServerConfig {
         this.cacheTtlSeconds = cacheTtlSeconds;
     }
 
+    public boolean isFileWatchEnabled() {
+        return fileWatchEnabled;
+    }
+
+    public void setFileWatchEnabled(boolean fileWatchEnabled) {
+        this.fileWatchEnabled = fileWatchEnabled;
+    }
+
+    public long getFileWatchDebounceMillis() {
+        return fileWatchDebounceMillis;
+    }
+
+    public void setFileWatchDebounceMillis(long fileWatchDebounceMillis) {
+        this.fileWatchDebounceMillis = fileWatchDebounceMillis;
+    }
+
+    public long getWatchedCacheTtlSeconds() {
+        return watchedCacheTtlSeconds;
+    }
+
+    public void setWatchedCacheTtlSeconds(long watchedCacheTtlSeconds) {
+        this.watchedCacheTtlSeconds = watchedCacheTtlSeconds;
+    }
+
+    /**
+     * TTL of the module and class metadata caches. With file watching, changed modules are
+     * invalidated as soon as their files change, so entries can live much longer.
+     */
+    public long getEffectiveCacheTtlSeconds() {
+        return fileWatchEnabled ? Math.max(cacheTtlSeconds, watchedCacheTtlSeconds) : cacheTtlSeconds;
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = Paths.get(cacheDirectory);
+    }
+
+    /**
+     * Directory holding persisted per-JAR class index segments
+     */
+    public Path getIndexCacheDirectory() {
+        return cacheDirectory.resolve("index");
+    }
+
+    /**
+     * Directory Maven writes the dependencies of reactor modules to while a reactor is resolved
+     */
+    public Path getReactorOutputDirectory() {
+        return cacheDirectory.resolve("reactor");
+    }
+
+    public boolean isPersistentModuleCacheEnabled() {
+        return persistentModuleCacheEnabled;
+    }
+
+    public void setPersistentModuleCacheEnabled(boolean persistentModuleCacheEnabled) {
+        this.persistentModuleCacheEnabled = persistentModuleCacheEnabled;
+    }
+
+    /**
+     * Directory holding resolved module contexts that survive restarts
+     */
+    public Path getModuleCacheDirectory() {
+        return cacheDirectory.resolve("modules");
+    }
+
     public int getMinTestCoverage() {
         return minTestCoverage;
     }
@@ -216,12 +363,54 @@ public class ServerConfig {
                         config.setMavenLocalRepository(args[++i]);
                     }
                     break;
+                case "--maven-daemon":
+                case "-md":
+                    if (i + 1 < args.length) {
+                        String daemon = args[++i];
+                        config.setMavenDaemon("auto".equals(daemon) ? MavenWorkerPool.findDaemon() : Paths.get(daemon));
+                    }
+                    break;
+                case "--maven-workers":
+                case "-mw":
+                    if (i + 1 < args.length) {
+                        config.setMavenWorkerCount(Integer.parseInt(args[++i]));
+                    }
+                    break;
+                case "--maven-worker-tasks":
+                    if (i + 1 < args.length) {
+                        config.setMavenWorkerMaxTasks(Integer.parseInt(args[++i]));
+                    }
+                    break;
+                case "--cache-dir":
+                case "-cd":
+                    if (i + 1 < args.length) {
+                        config.setCacheDirectory(args[++i]);
+                    }
+                    break;
+                case "--no-module-cache":
+                    config.setPersistentModuleCacheEnabled(false);
+                    break;
                 case "--decompiler":
                 case "-d":
                     if (i + 1 < args.length) {
                         config.getDecompilerConfig().setDecompilerType(args[++i]);
                     }
                     break;
+                case "--inspection-engine":
+                case "-ie":
+                    if (i + 1 < args.length) {
+                        config.setInspectionEngine(args[++i]);
+                    }
+                    break;
+                case "--no-file-watch":
+                    config.setFileWatchEnabled(false);
+                    break;
+                case "--watch-debounce":
+                case "-wd":
+                    if (i + 1 < args.length) {
+                        config.setFileWatchDebounceMillis(Long.parseLong(args[++i]));
+                    }
+                    break;
                 case "--port":
                 case "-p":
                     if (i + 1 < args.length) {
@@ -259,7 +448,15 @@ public class ServerConfig {
         System.out.println("  -me, --maven-executable <path>    Path to Maven executable");
         System.out.println("  -ms, --maven-settings <path>       Path to Maven settings.xml");
         System.out.println("  -mr, --maven-repo <path>          Path to Maven local repository");
+        System.out.println("  -md, --maven-daemon <path|auto>    Run Maven tasks on persistent mvnd workers (auto: mvnd on PATH)");
+        System.out.println("  -mw, --maven-workers <count>      Maximum number of Maven workers (default: 2)");
+        System.out.println("      --maven-worker-tasks <count>  Tasks after which a Maven worker is restarted (default: 100)");
+        System.out.println("  -cd, --cache-dir <path>           Directory for persistent caches (default: ~/.jlens/cache)");
+        System.out.println("      --no-module-cache             Resolve modules again after a restart instead of reusing stored classpaths");
         System.out.println("  -d, --decompiler <type>           Decompiler to use: fernflower, cfr (default: fernflower)");
+        System.out.println("  -ie, --inspection-engine <engine> Class inspection engine: bytecode, reflection (default: bytecode)");
+        System.out.println("      --no-file-watch               Expire caches on a TTL only instead of watching module files");
+        System.out.println("  -wd, --watch-debounce <millis>    Quiet period before changed module files invalidate caches (default: 2000)");
         System.out.println("  -p, --port <port>                 Server port (default: 8080)");
         System.out.println("  -l, --log-level <level>           Log level: ERROR, WARN, INFO, DEBUG (default: INFO)");
         System.out.println("  -h, --help                        Show this help message");
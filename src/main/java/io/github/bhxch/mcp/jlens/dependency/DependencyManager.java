@@ -1,7 +1,10 @@
 package io.github.bhxch.mcp.jlens.dependency;
 
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
 import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.resolver.LocalRepositoryIndex;
+import io.github.bhxch.mcp.jlens.maven.resolver.LocalRepositoryResolver;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -9,6 +12,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Manages Maven dependencies, including downloading and resolving missing dependencies
@@ -16,9 +20,31 @@ import java.util.stream.Collectors;
 public class DependencyManager {
     
     private final MavenBuilder mavenBuilder;
+    private final LocalRepositoryIndex repositoryIndex;
+    private final ClassLocator classLocator;
     
     public DependencyManager(MavenBuilder mavenBuilder) {
+        this(mavenBuilder, null);
+    }
+    
+    /**
+     * @param repositoryIndex index of the local repository, answering availability checks
+     *                        for the modules using it without listing the repository again;
+     *                        null to check the repository on disk
+     */
+    public DependencyManager(MavenBuilder mavenBuilder, LocalRepositoryIndex repositoryIndex) {
+        this(mavenBuilder, repositoryIndex, null);
+    }
+    
+    /**
+     * @param classLocator locator of the classes of the indexed JARs, shared with the class
+     *                     index; null for one of this manager's own
+     */
+    public DependencyManager(MavenBuilder mavenBuilder, LocalRepositoryIndex repositoryIndex,
+                             ClassLocator classLocator) {
         this.mavenBuilder = mavenBuilder;
+        this.repositoryIndex = repositoryIndex;
+        this.classLocator = classLocator != null ? classLocator : new ClassLocator();
     }
     
     /**
@@ -41,58 +67,56 @@ public class DependencyManager {
      * Check if a dependency is available in local repository
      */
     private boolean isDependencyAvailable(DependencyInfo dependency, ModuleContext context) {
-        Path localRepo = context.getLocalRepository();
-        if (localRepo == null) {
-            localRepo = Path.of(System.getProperty("user.home"), ".m2", "repository");
-        }
-        
-        String[] parts = dependency.getGroupId().split("\\.");
-        Path depPath = localRepo;
-        for (String part : parts) {
-            depPath = depPath.resolve(part);
-        }
-        
-        depPath = depPath.resolve(dependency.getArtifactId())
-                        .resolve(dependency.getVersion())
-                        .resolve(dependency.getArtifactId() + "-" + dependency.getVersion() + ".jar");
-        
-        return Files.exists(depPath);
+        return findArtifact(dependency, context) != null;
     }
     
     /**
      * Check if source JAR is available for a dependency
      */
     public boolean isSourceAvailable(DependencyInfo dependency, ModuleContext context) {
-        Path localRepo = context.getLocalRepository();
-        if (localRepo == null) {
-            localRepo = Path.of(System.getProperty("user.home"), ".m2", "repository");
+        LocalRepositoryIndex index = indexFor(context);
+        if (index != null) {
+            return index.findSources(dependency) != null;
         }
-        
-        String[] parts = dependency.getGroupId().split("\\.");
-        Path depPath = localRepo;
-        for (String part : parts) {
-            depPath = depPath.resolve(part);
+        Path sources = artifactDirectory(dependency, context)
+            .resolve(dependency.getArtifactId() + "-" + dependency.getVersion() + "-sources.jar");
+        return Files.exists(sources);
+    }
+    
+    /**
+     * Versions of an artifact installed in the local repository of a module, oldest first
+     */
+    public List<String> findLocalVersions(String groupId, String artifactId, ModuleContext context) {
+        LocalRepositoryIndex index = indexFor(context);
+        if (index != null) {
+            return index.getVersions(groupId, artifactId).stream()
+                .map(LocalRepositoryIndex.Version::version)
+                .toList();
+        }
+        Path artifactDirectory = localRepository(context).resolve(groupId.replace('.', '/')).resolve(artifactId);
+        try (Stream<Path> versions = Files.list(artifactDirectory)) {
+            return versions
+                .filter(Files::isDirectory)
+                .map(version -> version.getFileName().toString())
+                .sorted(LocalRepositoryResolver::compareVersions)
+                .toList();
+        } catch (IOException e) {
+            return List.of();
         }
-        
-        depPath = depPath.resolve(dependency.getArtifactId())
-                        .resolve(dependency.getVersion())
-                        .resolve(dependency.getArtifactId() + "-" + dependency.getVersion() + "-sources.jar");
-        
-        return Files.exists(depPath);
     }
     
     /**
-     * Find dependencies that provide a specific class
+     * Find dependencies that provide a specific class. The class locator answers for the
+     * JARs of indexed modules without opening them, and opens the others.
      */
     public List<DependencyInfo> findDependenciesForClass(String className, ModuleContext context) {
         List<DependencyInfo> allDependencies = context.getDependencies();
         List<DependencyInfo> matchingDependencies = new ArrayList<>();
         
         for (DependencyInfo dep : allDependencies) {
-            if (isDependencyAvailable(dep, context)) {
-                if (classExistsInDependency(className, dep, context)) {
-                    matchingDependencies.add(dep);
-                }
+            Path jar = findArtifact(dep, context);
+            if (jar != null && classLocator.contains(jar, className)) {
+                matchingDependencies.add(dep);
             }
         }
         
@@ -100,31 +124,45 @@ public class DependencyManager {
     }
     
     /**
-     * Check if a class exists in a dependency
+     * The installed JAR of a dependency, or null if it is not in the local repository
+     */
+    private Path findArtifact(DependencyInfo dependency, ModuleContext context) {
+        LocalRepositoryIndex index = indexFor(context);
+        if (index != null) {
+            return index.findArtifact(dependency);
+        }
+        Path jar = artifactDirectory(dependency, context)
+            .resolve(dependency.getArtifactId() + "-" + dependency.getVersion() + ".jar");
+        return Files.exists(jar) ? jar : null;
+    }
+    
+    /**
+     * The repository index, if the module uses the indexed local repository
      */
-    private boolean classExistsInDependency(String className, DependencyInfo dependency, 
-                                           ModuleContext context) {
+    private LocalRepositoryIndex indexFor(ModuleContext context) {
+        if (repositoryIndex == null) {
+            return null;
+        }
+        Path localRepo = context.getLocalRepository();
+        return localRepo == null || localRepo.toAbsolutePath().normalize().equals(repositoryIndex.getRepository())
+            ? repositoryIndex
+            : null;
+    }
+    
+    private Path localRepository(ModuleContext context) {
         Path localRepo = context.getLocalRepository();
         if (localRepo == null) {
             localRepo = Path.of(System.getProperty("user.home"), ".m2", "repository");
         }
-        
-        String[] parts = dependency.getGroupId().split("\\.");
-        Path depPath = localRepo;
-        for (String part : parts) {
+        return localRepo;
+    }
+    
+    private Path artifactDirectory(DependencyInfo dependency, ModuleContext context) {
+        Path depPath = localRepository(context);
+        for (String part : dependency.getGroupId().split("\\.")) {
             depPath = depPath.resolve(part);
         }
-        
-        depPath = depPath.resolve(dependency.getArtifactId())
-                        .resolve(dependency.getVersion())
-                        .resolve(dependency.getArtifactId() + "-" + dependency.getVersion() + ".jar");
-        
-        try (var jarFile = new java.util.jar.JarFile(depPath.toFile())) {
-            String classEntry = className.replace('.', '/') + ".class";
-            return jarFile.getJarEntry(classEntry) != null;
-        } catch (IOException e) {
-            return false;
-        }
+        return depPath.resolve(dependency.getArtifactId()).resolve(dependency.getVersion());
     }
     
     /**
@@ -1,5 +1,6 @@
 package io.github.bhxch.mcp.jlens.dependency;
 
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 
 import java.io.BufferedReader;
@@ -8,6 +9,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -18,14 +20,31 @@ import java.util.stream.Collectors;
  */
 public class MavenBuilder {
     
+    /**
+     * Time allowed for the rest of a build's output to be read once the build has ended
+     */
+    private static final long OUTPUT_DRAIN_SECONDS = 10;
+    
     private final String mavenExecutable;
+    private final MavenWorkerPool workerPool;
     
     public MavenBuilder() {
         this.mavenExecutable = findMavenExecutable();
+        this.workerPool = null;
     }
     
     public MavenBuilder(String mavenExecutable) {
         this.mavenExecutable = mavenExecutable;
+        this.workerPool = null;
+    }
+
+    /**
+     * Create a builder running its builds on the persistent workers of a pool, or starting
+     * a fresh Maven for each build when the pool is null
+     */
+    public MavenBuilder(MavenWorkerPool workerPool) {
+        this.mavenExecutable = workerPool != null ? workerPool.getDaemonExecutable().toString() : findMavenExecutable();
+        this.workerPool = workerPool;
     }
     
     /**
@@ -65,74 +84,98 @@ public class MavenBuilder {
         long startTime = System.currentTimeMillis();
         
         try {
-            List<String> command = new ArrayList<>();
-            command.add(mavenExecutable);
+            List<String> arguments = new ArrayList<>();
             
             // Add goals
-            command.addAll(goals);
+            arguments.addAll(goals);
             
             // Add additional arguments
-            command.addAll(additionalArgs);
+            arguments.addAll(additionalArgs);
             
             // Set working directory
-            File workingDir = context.getBaseDirectory() != null ? 
-                context.getBaseDirectory().toFile() : 
-                context.getPomFile().getParent().toFile();
+            Path workingDir = context.getBaseDirectory() != null ? 
+                context.getBaseDirectory() : 
+                context.getPomFile().getParent();
             
+            if (workerPool != null) {
+                return workerPool.run(arguments, workingDir,
+                    process -> collectResult(process, result, timeoutSeconds, startTime));
+            }
+
+            List<String> command = new ArrayList<>();
+            command.add(mavenExecutable);
+            command.addAll(arguments);
+
             // Build process
             ProcessBuilder processBuilder = new ProcessBuilder(command);
-            processBuilder.directory(workingDir);
+            processBuilder.directory(workingDir.toFile());
             processBuilder.redirectErrorStream(true);
             
             // Start process
             Process process = processBuilder.start();
+            return collectResult(process, result, timeoutSeconds, startTime);
             
-            // Read output
-            StringBuilder output = new StringBuilder();
+        } catch (IOException | InterruptedException e) {
+            result.setSuccess(false);
+            result.setExitCode(-1);
+            result.setError("Build failed: " + e.getMessage());
+            result.setDurationSeconds((System.currentTimeMillis() - startTime) / 1000.0);
+        }
+        
+        return result;
+    }
+
+    /**
+     * Read a build's output, wait for it to finish and fill in the result. The output is read
+     * on its own thread, so a build that hangs without closing it still times out.
+     */
+    private BuildResult collectResult(Process process, BuildResult result, int timeoutSeconds, long startTime)
+            throws InterruptedException {
+        // Read output
+        StringBuffer output = new StringBuffer();
+        Thread outputReader = Thread.ofVirtual().name("maven-build-output").start(() -> {
             try (BufferedReader reader = new BufferedReader(
                     new InputStreamReader(process.getInputStream()))) {
                 String line;
                 while ((line = reader.readLine()) != null) {
                     output.append(line).append("\n");
                 }
+            } catch (IOException e) {
+                // The stream is closed when a timed out build is killed
             }
-            
-            // Wait for completion
-            boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-            
-            if (!finished) {
-                process.destroyForcibly();
-                result.setSuccess(false);
-                result.setExitCode(-1);
-                result.setOutput(output.toString());
-                result.setDurationSeconds((System.currentTimeMillis() - startTime) / 1000.0);
-                result.setError("Build timed out after " + timeoutSeconds + " seconds");
-                return result;
-            }
-            
-            int exitCode = process.exitValue();
-            result.setExitCode(exitCode);
-            result.setOutput(output.toString());
-            result.setDurationSeconds((System.currentTimeMillis() - startTime) / 1000.0);
-            result.setSuccess(exitCode == 0);
-            
-            if (exitCode != 0) {
-                result.setError("Build failed with exit code: " + exitCode);
-            }
-            
-            // Extract downloaded artifacts
-            result.setDownloadedArtifacts(extractDownloadedArtifacts(output.toString()));
-            
-            // Extract missing dependencies
-            result.setMissingDependencies(extractMissingDependencies(output.toString()));
-            
-        } catch (IOException | InterruptedException e) {
+        });
+        
+        // Wait for completion
+        boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
+        
+        if (!finished) {
+            process.destroyForcibly();
+            outputReader.join(Duration.ofSeconds(OUTPUT_DRAIN_SECONDS));
             result.setSuccess(false);
             result.setExitCode(-1);
-            result.setError("Build failed: " + e.getMessage());
+            result.setOutput(output.toString());
             result.setDurationSeconds((System.currentTimeMillis() - startTime) / 1000.0);
+            result.setError("Build timed out after " + timeoutSeconds + " seconds");
+            return result;
+        }
+        
+        outputReader.join(Duration.ofSeconds(OUTPUT_DRAIN_SECONDS));
+        int exitCode = process.exitValue();
+        result.setExitCode(exitCode);
+        result.setOutput(output.toString());
+        result.setDurationSeconds((System.currentTimeMillis() - startTime) / 1000.0);
+        result.setSuccess(exitCode == 0);
+        
+        if (exitCode != 0) {
+            result.setError("Build failed with exit code: " + exitCode);
         }
         
+        // Extract downloaded artifacts
+        result.setDownloadedArtifacts(extractDownloadedArtifacts(output.toString()));
+        
+        // Extract missing dependencies
+        result.setMissingDependencies(extractMissingDependencies(output.toString()));
+        
         return result;
     }
     
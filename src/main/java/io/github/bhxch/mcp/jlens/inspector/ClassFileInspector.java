@@ -0,0 +1,225 @@
+package io.github.bhxch.mcp.jlens.inspector;
+
+import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor;
+import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
+import io.github.bhxch.mcp.jlens.inspector.model.FieldInfo;
+import io.github.bhxch.mcp.jlens.inspector.model.MethodInfo;
+import io.github.bhxch.mcp.jlens.inspector.model.ParameterInfo;
+
+import java.lang.classfile.Attributes;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassModel;
+import java.lang.classfile.FieldModel;
+import java.lang.classfile.MethodModel;
+import java.lang.classfile.attribute.InnerClassInfo;
+import java.lang.classfile.attribute.MethodParameterInfo;
+import java.lang.classfile.constantpool.ClassEntry;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.reflect.AccessFlag;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds class metadata from a class file with the {@code java.lang.classfile} API. The
+ * result matches what reflection reports for the same class: binary type names, declared
+ * members in the same detail levels and the modifiers {@code Class.getModifiers()} returns.
+ * The class file also provides generic signatures, thrown exceptions and field constants,
+ * which are filled in as well.
+ */
+final class ClassFileInspector {
+
+    private static final String ENUM = "java/lang/Enum";
+
+    private ClassFileInspector() {
+    }
+
+    /**
+     * Inspect a class file
+     *
+     * @param jdkInfo {@code @since} information of a JDK class, may be null
+     * @throws IllegalArgumentException if the class file is malformed
+     */
+    static ClassMetadata inspect(byte[] classFile, ParallelProcessor.DetailLevel level, Path sourceFile,
+                                 JdkSourceService.JdkSourceInfo jdkInfo) {
+        ClassModel model = ClassFile.of().parse(classFile);
+        String internalName = model.thisClass().asInternalName();
+        String className = internalName.replace('/', '.');
+        int lastSlash = internalName.lastIndexOf('/');
+        String packageName = lastSlash >= 0 ? className.substring(0, lastSlash) : "";
+        String simpleName = className.substring(lastSlash + 1);
+
+        // A nested class takes its simple name and modifiers from its InnerClasses entry
+        int modifiers = model.flags().flagsMask() & ~AccessFlag.SUPER.mask();
+        InnerClassInfo inner = innerClassInfo(model, internalName);
+        if (inner != null) {
+            simpleName = inner.innerName().map(name -> name.stringValue()).orElse("");
+            modifiers = inner.flagsMask();
+        }
+        String superName = model.superclass().map(ClassEntry::asInternalName).orElse(null);
+        boolean isInterface = (modifiers & Modifier.INTERFACE) != 0;
+
+        ClassMetadata.Builder builder = ClassMetadata.builder();
+        builder.status("SUCCESS");
+
+        builder.className(className);
+        builder.packageName(packageName);
+        builder.simpleClassName(simpleName);
+
+        if (superName != null) {
+            builder.superClass(superName.replace('/', '.'));
+        }
+
+        for (ClassEntry iface : model.interfaces()) {
+            builder.addInterface(iface.asInternalName().replace('/', '.'));
+        }
+
+        builder.isInterface(isInterface);
+        builder.isEnum((modifiers & AccessFlag.ENUM.mask()) != 0 && ENUM.equals(superName));
+        builder.isAnnotation((modifiers & AccessFlag.ANNOTATION.mask()) != 0);
+        builder.isAbstract(Modifier.isAbstract(modifiers));
+        builder.isFinal(Modifier.isFinal(modifiers));
+        builder.isStatic(Modifier.isStatic(modifiers));
+        builder.modifiers(modifiers);
+
+        if (sourceFile != null) {
+            builder.sourceFile(sourceFile.toString());
+        }
+
+        if (jdkInfo != null && jdkInfo.getClassSince() != null) {
+            builder.since(jdkInfo.getClassSince());
+        }
+
+        if (level == ParallelProcessor.DetailLevel.SKELETON) {
+            return builder.build();
+        }
+
+        for (FieldModel field : model.fields()) {
+            int fieldModifiers = field.flags().flagsMask();
+            // If BASIC level, only include public fields
+            if (level == ParallelProcessor.DetailLevel.BASIC && !Modifier.isPublic(fieldModifiers)) {
+                continue;
+            }
+
+            String name = field.fieldName().stringValue();
+            FieldInfo.Builder fieldBuilder = FieldInfo.builder()
+                .name(name)
+                .type(typeName(field.fieldTypeSymbol()))
+                .modifiers(fieldModifiers)
+                .isStatic(Modifier.isStatic(fieldModifiers))
+                .isFinal(Modifier.isFinal(fieldModifiers))
+                .isVolatile(Modifier.isVolatile(fieldModifiers))
+                .isTransient(Modifier.isTransient(fieldModifiers));
+            field.findAttribute(Attributes.signature())
+                .ifPresent(signature -> fieldBuilder.signature(signature.signature().stringValue()));
+            field.findAttribute(Attributes.constantValue())
+                .ifPresent(constant -> fieldBuilder.constantValue(constant.constant().constantValue()));
+
+            if (jdkInfo != null && jdkInfo.getFieldSince().containsKey(name)) {
+                fieldBuilder.since(jdkInfo.getFieldSince().get(name));
+            }
+
+            builder.addField(fieldBuilder.build());
+        }
+
+        for (MethodModel method : model.methods()) {
+            String name = method.methodName().stringValue();
+            int methodModifiers = method.flags().flagsMask();
+            boolean constructor = name.equals("<init>");
+            if (name.equals("<clinit>")) {
+                continue;
+            }
+            // If BASIC level, only include public methods and constructors
+            if (level == ParallelProcessor.DetailLevel.BASIC && !Modifier.isPublic(methodModifiers)) {
+                continue;
+            }
+
+            boolean varArgs = (methodModifiers & AccessFlag.VARARGS.mask()) != 0;
+            MethodTypeDesc type = method.methodTypeSymbol();
+            MethodInfo.Builder methodBuilder = MethodInfo.builder()
+                .name(name)
+                .returnType(constructor ? "void" : typeName(type.returnType()))
+                .descriptor(method.methodType().stringValue())
+                .parameters(parameters(method, type, varArgs))
+                .modifiers(methodModifiers)
+                .isStatic(Modifier.isStatic(methodModifiers));
+            method.findAttribute(Attributes.exceptions()).ifPresent(exceptions -> {
+                for (ClassEntry exception : exceptions.exceptions()) {
+                    methodBuilder.addException(exception.asInternalName().replace('/', '.'));
+                }
+            });
+            method.findAttribute(Attributes.signature())
+                .ifPresent(signature -> methodBuilder.signature(signature.signature().stringValue()));
+
+            // Constructors are listed under the class name in the JDK sources
+            String sinceKey = constructor ? simpleName : name;
+            if (jdkInfo != null && jdkInfo.getMethodSince().containsKey(sinceKey)) {
+                methodBuilder.since(jdkInfo.getMethodSince().get(sinceKey));
+            }
+
+            if (constructor) {
+                builder.addConstructor(methodBuilder.build());
+                continue;
+            }
+
+            methodBuilder
+                .isAbstract(Modifier.isAbstract(methodModifiers))
+                .isFinal(Modifier.isFinal(methodModifiers))
+                .isSynchronized(Modifier.isSynchronized(methodModifiers))
+                .isNative(Modifier.isNative(methodModifiers))
+                // Same test as Method.isDefault(): a public instance method with a body in an interface
+                .isDefault(isInterface
+                    && (methodModifiers & (Modifier.ABSTRACT | Modifier.PUBLIC | Modifier.STATIC)) == Modifier.PUBLIC)
+                .isVarArgs(varArgs);
+            builder.addMethod(methodBuilder.build());
+        }
+
+        return builder.build();
+    }
+
+    private static InnerClassInfo innerClassInfo(ClassModel model, String internalName) {
+        return model.findAttribute(Attributes.innerClasses())
+            .flatMap(attribute -> attribute.classes().stream()
+                .filter(info -> info.innerClass().asInternalName().equals(internalName))
+                .findFirst())
+            .orElse(null);
+    }
+
+    /**
+     * Parameters named from the MethodParameters attribute when the class was compiled with
+     * {@code -parameters}, and {@code argN} otherwise, as reflection names them
+     */
+    private static List<ParameterInfo> parameters(MethodModel method, MethodTypeDesc type, boolean varArgs) {
+        List<MethodParameterInfo> declared = method.findAttribute(Attributes.methodParameters())
+            .map(attribute -> attribute.parameters())
+            .orElse(List.of());
+        List<ParameterInfo> params = new ArrayList<>();
+        for (int i = 0; i < type.parameterCount(); i++) {
+            String name = "arg" + i;
+            if (declared.size() == type.parameterCount() && declared.get(i).name().isPresent()) {
+                name = declared.get(i).name().get().stringValue();
+            }
+            params.add(ParameterInfo.builder()
+                .name(name)
+                .type(typeName(type.parameterType(i)))
+                .index(i)
+                .isVarArgs(varArgs && i == type.parameterCount() - 1)
+                .build());
+        }
+        return params;
+    }
+
+    /**
+     * Type name in the form of {@code Class.getName()}: {@code int}, {@code java.util.Map$Entry}
+     * or {@code [Ljava.lang.String;}
+     */
+    static String typeName(ClassDesc type) {
+        if (type.isPrimitive()) {
+            return type.displayName();
+        }
+        String descriptor = type.descriptorString().replace('/', '.');
+        return type.isArray() ? descriptor : descriptor.substring(1, descriptor.length() - 1);
+    }
+}
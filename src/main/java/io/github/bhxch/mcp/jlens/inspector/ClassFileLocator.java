@@ -0,0 +1,106 @@
+package io.github.bhxch.mcp.jlens.inspector;
+
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds the class file of a class without loading it, searching in the order a module's
+ * class loader would: the JDK first, then the module's output directory and its classpath.
+ * With a class locator, only the JARs it reports as providing the class are opened.
+ */
+final class ClassFileLocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassFileLocator.class);
+
+    private ClassFileLocator() {
+    }
+
+    /**
+     * Read the class file of a class
+     *
+     * @param className binary class name, e.g. {@code java.util.Map$Entry}
+     * @param context module whose classpath to search, may be null to search the JDK only
+     * @param javaHome JDK home directory, or null for the JDK running the server
+     * @param locator locator of the JARs providing a class, or null to open every JAR in turn
+     * @return the class file bytes, or null if the class was not found
+     */
+    static byte[] find(String className, ModuleContext context, Path javaHome, ClassLocator locator) {
+        String entryName = className.replace('.', '/') + ".class";
+        try {
+            byte[] classFile = JdkClassIndex.readClassFile(javaHome, className);
+            if (classFile != null) {
+                return classFile;
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to read {} from JDK {}: {}", className, javaHome, e.getMessage());
+        }
+
+        for (Path entry : classpathEntries(context)) {
+            if (locator != null && isArchive(entry) && !locator.contains(entry, className)) {
+                continue;
+            }
+            try {
+                byte[] classFile = read(entry, entryName);
+                if (classFile != null) {
+                    return classFile;
+                }
+            } catch (IOException e) {
+                logger.debug("Failed to read {} from {}: {}", className, entry, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static Set<Path> classpathEntries(ModuleContext context) {
+        Set<Path> entries = new LinkedHashSet<>();
+        if (context == null) {
+            return entries;
+        }
+        if (context.getOutputDirectory() != null) {
+            entries.add(context.getOutputDirectory());
+        }
+        if (context.getClasspath() != null) {
+            entries.addAll(context.getClasspath());
+        }
+        if (context.getClasspathJars() != null) {
+            entries.addAll(context.getClasspathJars());
+        }
+        return entries;
+    }
+
+    private static boolean isArchive(Path entry) {
+        String name = entry.getFileName() != null ? entry.getFileName().toString() : "";
+        return name.endsWith(".jar") || name.endsWith(".zip");
+    }
+
+    private static byte[] read(Path entry, String entryName) throws IOException {
+        if (Files.isDirectory(entry)) {
+            Path classFile = entry.resolve(entryName);
+            return Files.isRegularFile(classFile) ? Files.readAllBytes(classFile) : null;
+        }
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (ZipFile zip = new ZipFile(entry.toFile())) {
+            ZipEntry zipEntry = zip.getEntry(entryName);
+            if (zipEntry == null) {
+                return null;
+            }
+            try (InputStream in = zip.getInputStream(zipEntry)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.bhxch.mcp.jlens.inspector;
 
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
 import io.github.bhxch.mcp.jlens.decompiler.DecompilerAdapter;
 import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
 import io.github.bhxch.mcp.jlens.inspector.model.FieldInfo;
@@ -7,6 +8,8 @@ import io.github.bhxch.mcp.jlens.inspector.model.MethodInfo;
 import io.github.bhxch.mcp.jlens.inspector.model.ParameterInfo;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -19,19 +22,46 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Inspector for Java classes using Reflection
+ * Inspector for Java classes. Classes are read from their class files by default; loading
+ * them and using reflection is the fallback for classes whose class file cannot be found
+ * or parsed.
  */
 public class ClassInspector {
 
+    private static final Logger logger = LoggerFactory.getLogger(ClassInspector.class);
+
     private final DecompilerAdapter decompiler;
+    private final InspectionEngine defaultEngine;
+    private final ClassLocator classLocator;
     private final JdkSourceService jdkSourceService = new JdkSourceService();
 
     public ClassInspector(DecompilerAdapter decompiler) {
+        this(decompiler, InspectionEngine.BYTECODE);
+    }
+
+    public ClassInspector(DecompilerAdapter decompiler, InspectionEngine defaultEngine) {
+        this(decompiler, defaultEngine, null);
+    }
+
+    /**
+     * @param classLocator locator picking the JAR to read a class file from, or null to
+     *                     search the classpath JARs in turn
+     */
+    public ClassInspector(DecompilerAdapter decompiler, InspectionEngine defaultEngine, ClassLocator classLocator) {
         this.decompiler = decompiler;
+        this.defaultEngine = defaultEngine != null ? defaultEngine : InspectionEngine.BYTECODE;
+        this.classLocator = classLocator;
     }
 
     public ClassInspector() {
-        this.decompiler = null;
+        this(null);
+    }
+
+    /**
+     * Engine used when a request does not pick one
+     */
+    public InspectionEngine getDefaultEngine() {
+        return defaultEngine;
     }
 
     /**
@@ -48,6 +78,17 @@ public class ClassInspector {
     public ClassMetadata inspect(String className, ModuleContext context,
                                  ParallelProcessor.DetailLevel level, Path sourceFile,
                                  ClassLoader classLoader, Path javaHome) {
+        return inspect(className, context, level, sourceFile, classLoader, javaHome, null);
+    }
+
+    /**
+     * Inspect a Java class with the given engine
+     *
+     * @param engine engine to use, or null for the default engine
+     */
+    public ClassMetadata inspect(String className, ModuleContext context,
+                                 ParallelProcessor.DetailLevel level, Path sourceFile,
+                                 ClassLoader classLoader, Path javaHome, InspectionEngine engine) {
         
         // 1. Check if the class is from a local module in workspace
         if (context != null && isLocalModule(context)) {
@@ -62,6 +103,14 @@ public class ClassInspector {
             }
         }
 
+        if ((engine != null ? engine : defaultEngine) == InspectionEngine.BYTECODE) {
+            ClassMetadata metadata = inspectClassFile(className, context, level, sourceFile, javaHome);
+            if (metadata != null) {
+                return metadata;
+            }
+            logger.debug("No readable class file for {}, falling back to reflection", className);
+        }
+
         try {
             Class<?> clazz;
             if (classLoader != null) {
@@ -79,6 +128,26 @@ public class ClassInspector {
         }
     }
 
+    /**
+     * View of full-detail metadata at a lower detail level, keeping the members an inspection
+     * at that level would have returned: none for SKELETON, public ones for BASIC
+     */
+    public static ClassMetadata project(ClassMetadata metadata, ParallelProcessor.DetailLevel level) {
+        if (level == ParallelProcessor.DetailLevel.FULL) {
+            return metadata;
+        }
+        ClassMetadata.Builder builder = metadata.toBuilder();
+        if (level == ParallelProcessor.DetailLevel.SKELETON) {
+            return builder.fields(List.of()).methods(List.of()).constructors(List.of()).build();
+        }
+        return builder
+            .fields(metadata.getFields().stream().filter(field -> Modifier.isPublic(field.getModifiers())).toList())
+            .methods(metadata.getMethods().stream().filter(method -> Modifier.isPublic(method.getModifiers())).toList())
+            .constructors(metadata.getConstructors().stream()
+                .filter(constructor -> Modifier.isPublic(constructor.getModifiers())).toList())
+            .build();
+    }
+
     private boolean isLocalModule(ModuleContext context) {
         if (context == null || context.getPomFile() == null) {
             return false;
@@ -107,6 +176,35 @@ public class ClassInspector {
         return null;
     }
 
+    /**
+     * Inspect a class from its class file without loading it
+     *
+     * @return the metadata, or null if the class file was not found or could not be parsed
+     */
+    private ClassMetadata inspectClassFile(String className, ModuleContext context,
+                                           ParallelProcessor.DetailLevel level, Path sourceFile, Path javaHome) {
+        byte[] classFile = ClassFileLocator.find(className, context, javaHome, classLocator);
+        if (classFile == null) {
+            return null;
+        }
+        try {
+            return ClassFileInspector.inspect(classFile, level, sourceFile, jdkSourceInfo(className, javaHome));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Failed to parse class file of {}: {}", className, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get @since info if it's a JDK class and javaHome is provided
+     */
+    private JdkSourceService.JdkSourceInfo jdkSourceInfo(String className, Path javaHome) {
+        if (javaHome != null && (className.startsWith("java.") || className.startsWith("javax."))) {
+            return jdkSourceService.getJdkSourceInfo(className, javaHome);
+        }
+        return null;
+    }
+
     private ClassMetadata inspectClass(Class<?> clazz, ParallelProcessor.DetailLevel level, Path sourceFile, Path javaHome) {
         ClassMetadata.Builder builder = ClassMetadata.builder();
         builder.status("SUCCESS");
@@ -135,13 +233,9 @@ public class ClassInspector {
             builder.sourceFile(sourceFile.toString());
         }
 
-        // Get @since info if it's a JDK class and javaHome is provided
-        JdkSourceService.JdkSourceInfo jdkInfo = null;
-        if (javaHome != null && (clazz.getName().startsWith("java.") || clazz.getName().startsWith("javax."))) {
-            jdkInfo = jdkSourceService.getJdkSourceInfo(clazz.getName(), javaHome);
-            if (jdkInfo != null && jdkInfo.getClassSince() != null) {
-                builder.since(jdkInfo.getClassSince());
-            }
+        JdkSourceService.JdkSourceInfo jdkInfo = jdkSourceInfo(clazz.getName(), javaHome);
+        if (jdkInfo != null && jdkInfo.getClassSince() != null) {
+            builder.since(jdkInfo.getClassSince());
         }
 
         // Add members based on detail level
@@ -0,0 +1,33 @@
+package io.github.bhxch.mcp.jlens.inspector;
+
+/**
+ * How the class inspector reads a class
+ */
+public enum InspectionEngine {
+    /**
+     * Parse the class file read from the JDK image, output directory or JAR with the
+     * {@code java.lang.classfile} API. The class is never loaded, so its static
+     * initializer does not run and missing optional dependencies do not matter.
+     */
+    BYTECODE,
+    /**
+     * Load the class with {@code Class.forName} and read it through reflection
+     */
+    REFLECTION;
+
+    /**
+     * Parse an engine name case-insensitively
+     *
+     * @return the engine, or the default engine if the name is null or unknown
+     */
+    public static InspectionEngine parse(String name, InspectionEngine defaultEngine) {
+        if (name == null || name.isBlank()) {
+            return defaultEngine;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return defaultEngine;
+        }
+    }
+}
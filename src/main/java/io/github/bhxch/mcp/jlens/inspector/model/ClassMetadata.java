@@ -172,6 +172,33 @@ public class ClassMetadata {
         return new Builder();
     }
 
+    /**
+     * Builder initialized with the values of this metadata
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .className(className)
+            .packageName(packageName)
+            .simpleClassName(simpleClassName)
+            .superClass(superClass)
+            .interfaces(interfaces)
+            .fields(fields)
+            .methods(methods)
+            .constructors(constructors)
+            .isInterface(isInterface)
+            .isEnum(isEnum)
+            .isAnnotation(isAnnotation)
+            .isAbstract(isAbstract)
+            .isFinal(isFinal)
+            .isStatic(isStatic)
+            .modifiers(modifiers)
+            .sourceFile(sourceFile)
+            .decompiledSource(decompiledSource)
+            .status(status)
+            .suggestion(suggestion)
+            .since(since);
+    }
+
     public static class Builder {
         private String className;
         private String packageName;
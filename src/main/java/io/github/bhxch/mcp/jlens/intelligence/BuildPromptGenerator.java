@@ -74,6 +74,23 @@ public class BuildPromptGenerator {
         return suggestion.toString();
     }
     
+    /**
+     * Generate a suggestion for a class that is not on the module's classpath but is
+     * provided by JARs other modules use
+     *
+     * @param providers labels of the JARs providing the class
+     */
+    public String generateProviderSuggestion(String className, List<String> providers) {
+        StringBuilder suggestion = new StringBuilder();
+        suggestion.append("Class '").append(className)
+            .append("' is not on the current module's classpath, but is provided by:\n");
+        for (String provider : providers) {
+            suggestion.append("- ").append(provider).append("\n");
+        }
+        suggestion.append("\nAdd the corresponding artifact as a dependency of the module to use it.");
+        return suggestion.toString();
+    }
+    
     /**
      * Generate Maven build command based on context
      */
@@ -0,0 +1,91 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import io.github.bhxch.mcp.jlens.cache.CacheManager;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolver that serves module contexts from the shared module cache and only asks the
+ * wrapped resolver when the POM, its parents, the scope or the profiles changed
+ */
+public class CachingMavenResolver implements MavenResolver {
+
+    private final MavenResolver delegate;
+    private final CacheManager cacheManager;
+
+    public CachingMavenResolver(MavenResolver delegate, CacheManager cacheManager) {
+        this.delegate = delegate;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Serve a module from the cache, or resolve it. With a resolver that resolves a reactor
+     * at once, a module missing from the cache is resolved with the rest of its reactor, so
+     * the sibling modules asked for next are cached already.
+     */
+    @Override
+    public ModuleContext resolveModule(Path pomFile, Scope scope, List<String> activeProfiles) {
+        if (delegate.resolvesReactorAtOnce()
+                && cacheManager.getModuleContextIfCached(pomFile, scope, activeProfiles) == null) {
+            Path aggregatorPom = ReactorModules.findAggregator(pomFile, activeProfiles);
+            if (aggregatorPom != null) {
+                ModuleContext context = resolveReactor(aggregatorPom, scope, activeProfiles)
+                    .get(pomFile.toAbsolutePath().normalize());
+                if (context != null) {
+                    return context;
+                }
+            }
+        }
+        return cacheManager.getModuleContext(pomFile, scope, activeProfiles,
+            () -> delegate.resolveModule(pomFile, scope, activeProfiles));
+    }
+
+    /**
+     * Serve the reactor from the cache when every module is cached, and otherwise resolve it
+     * through the wrapped resolver and cache each module's context. Concurrent calls for the
+     * same reactor, including those resolving one of its modules, share a single resolution.
+     */
+    @Override
+    public Map<Path, ModuleContext> resolveReactor(Path aggregatorPom, Scope scope, List<String> activeProfiles) {
+        return cacheManager.resolveReactorOnce(aggregatorPom, scope, activeProfiles,
+            () -> resolveReactorIfNotCached(aggregatorPom, scope, activeProfiles));
+    }
+
+    private Map<Path, ModuleContext> resolveReactorIfNotCached(Path aggregatorPom, Scope scope,
+                                                               List<String> activeProfiles) {
+        Map<Path, ModuleContext> cached = new LinkedHashMap<>();
+        List<Path> modules = ReactorModules.discover(aggregatorPom, activeProfiles);
+        for (Path module : modules) {
+            ModuleContext context = cacheManager.getModuleContextIfCached(module, scope, activeProfiles);
+            if (context != null) {
+                cached.put(module, context);
+            }
+        }
+        if (cached.size() == modules.size()) {
+            return cached;
+        }
+
+        Map<Path, ModuleContext> resolved = delegate.resolveReactor(aggregatorPom, scope, activeProfiles);
+        resolved.forEach((module, context) -> cacheManager.putModuleContext(module, scope, activeProfiles, context));
+        return resolved;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return delegate.isAvailable();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    public MavenResolver getDelegate() {
+        return delegate;
+    }
+}
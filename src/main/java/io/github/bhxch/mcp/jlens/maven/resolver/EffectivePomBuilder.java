@@ -0,0 +1,349 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds effective POM models the way Maven does for dependency resolution: the parent chain
+ * is inherited, active profiles are applied, {@code ${...}} expressions are interpolated,
+ * import-scoped BOMs are merged into dependency management, and managed versions and scopes
+ * are applied to the declared dependencies. POMs are read from disk and from the local
+ * repository only. Parsed POMs are cached by path and effective models of repository POMs by
+ * GAV, both until the file's modification time changes.
+ */
+final class EffectivePomBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EffectivePomBuilder.class);
+
+    private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]+)}");
+    private static final int MAX_PARENTS = 32;
+    private static final int MAX_INTERPOLATION_DEPTH = 10;
+
+    private record CachedModel(FileTime modified, PomModel model) {
+    }
+
+    private final Path localRepository;
+    private final Map<Path, CachedModel> rawModels = new ConcurrentHashMap<>();
+    private final Map<String, CachedModel> repositoryModels = new ConcurrentHashMap<>();
+
+    EffectivePomBuilder(Path localRepository) {
+        this.localRepository = localRepository;
+    }
+
+    Path getLocalRepository() {
+        return localRepository;
+    }
+
+    /**
+     * Effective model of a module's POM
+     *
+     * @throws IOException if the POM cannot be read
+     */
+    PomModel build(Path pomFile, List<String> activeProfiles) throws IOException {
+        return build(pomFile.toAbsolutePath().normalize(), activeProfiles, new HashSet<>());
+    }
+
+    /**
+     * Effective model of an installed POM, or null if it is not in the local repository or
+     * cannot be read
+     */
+    PomModel repositoryModel(String groupId, String artifactId, String version) {
+        return repositoryModel(groupId, artifactId, version, new HashSet<>());
+    }
+
+    private PomModel repositoryModel(String groupId, String artifactId, String version, Set<String> building) {
+        String gav = groupId + ":" + artifactId + ":" + version;
+        Path pomFile = artifactFile(groupId, artifactId, version, null, "pom");
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(pomFile);
+        } catch (IOException e) {
+            return null;
+        }
+        CachedModel cached = repositoryModels.get(gav);
+        if (cached != null && cached.modified().equals(modified)) {
+            return cached.model();
+        }
+        if (!building.add(gav)) {
+            logger.warn("Cyclic POM import of {}", gav);
+            return null;
+        }
+        try {
+            PomModel model = build(pomFile, List.of(), building);
+            repositoryModels.put(gav, new CachedModel(modified, model));
+            return model;
+        } catch (IOException e) {
+            logger.warn("Failed to read POM {}: {}", pomFile, e.getMessage());
+            return null;
+        } finally {
+            building.remove(gav);
+        }
+    }
+
+    /**
+     * Path of an artifact in the local repository
+     */
+    Path artifactFile(String groupId, String artifactId, String version, String classifier, String extension) {
+        String fileName = artifactId + "-" + version
+            + (classifier != null && !classifier.isEmpty() ? "-" + classifier : "") + "." + extension;
+        return localRepository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version)
+            .resolve(fileName);
+    }
+
+    private PomModel build(Path pomFile, List<String> activeProfiles, Set<String> building) throws IOException {
+        PomModel raw = read(pomFile);
+
+        // The POM followed by its ancestors
+        List<PomModel> lineage = new ArrayList<>();
+        lineage.add(raw);
+        PomModel current = raw;
+        Path currentFile = pomFile;
+        while (current.hasParent() && lineage.size() < MAX_PARENTS) {
+            Path parentFile = parentPom(currentFile, current);
+            if (parentFile == null) {
+                logger.debug("Parent {}:{}:{} of {} not found", current.parentGroupId, current.parentArtifactId,
+                    current.parentVersion, currentFile);
+                break;
+            }
+            current = read(parentFile);
+            currentFile = parentFile;
+            lineage.add(current);
+        }
+
+        PomModel effective = new PomModel();
+        effective.groupId = raw.groupId != null ? raw.groupId : raw.parentGroupId;
+        effective.artifactId = raw.artifactId;
+        effective.version = raw.version != null ? raw.version : raw.parentVersion;
+        effective.packaging = raw.packaging != null ? raw.packaging : "jar";
+        effective.parentGroupId = raw.parentGroupId;
+        effective.parentArtifactId = raw.parentArtifactId;
+        effective.parentVersion = raw.parentVersion;
+
+        // Ancestors first, so that descendants override their properties
+        for (int i = lineage.size() - 1; i >= 0; i--) {
+            PomModel model = lineage.get(i);
+            effective.properties.putAll(model.properties);
+            for (PomModel.Profile profile : activeProfiles(model, activeProfiles)) {
+                effective.properties.putAll(profile.properties);
+            }
+        }
+
+        // Descendants first, so that their declarations win and come first
+        Map<String, PomModel.Dependency> dependencies = new LinkedHashMap<>();
+        Map<String, PomModel.Dependency> managed = new LinkedHashMap<>();
+        for (PomModel model : lineage) {
+            List<PomModel.Profile> profiles = activeProfiles(model, activeProfiles);
+            merge(dependencies, model.dependencies, profiles.stream().flatMap(p -> p.dependencies.stream()).toList());
+            merge(managed, model.dependencyManagement,
+                profiles.stream().flatMap(p -> p.dependencyManagement.stream()).toList());
+        }
+
+        Path baseDirectory = pomFile.getParent();
+        effective.groupId = interpolate(effective.groupId, effective, baseDirectory);
+        effective.version = interpolate(effective.version, effective, baseDirectory);
+        effective.parentVersion = interpolate(effective.parentVersion, effective, baseDirectory);
+        for (PomModel.Dependency dependency : dependencies.values()) {
+            interpolate(dependency, effective, baseDirectory);
+        }
+        for (PomModel.Dependency dependency : managed.values()) {
+            interpolate(dependency, effective, baseDirectory);
+        }
+
+        // Declared entries take precedence over imported BOMs, and earlier imports over later ones
+        Map<String, PomModel.Dependency> management = new LinkedHashMap<>();
+        List<PomModel.Dependency> imports = new ArrayList<>();
+        for (PomModel.Dependency dependency : managed.values()) {
+            if ("import".equals(dependency.scope) && "pom".equals(dependency.type())) {
+                imports.add(dependency);
+            } else {
+                management.put(dependency.managementKey(), dependency);
+            }
+        }
+        for (PomModel.Dependency bom : imports) {
+            PomModel bomModel = repositoryModel(bom.groupId, bom.artifactId, bom.version, building);
+            if (bomModel == null) {
+                logger.debug("Imported BOM {}:{}:{} not found", bom.groupId, bom.artifactId, bom.version);
+                continue;
+            }
+            for (PomModel.Dependency dependency : bomModel.dependencyManagement) {
+                management.putIfAbsent(dependency.managementKey(), dependency);
+            }
+        }
+        effective.dependencyManagement.addAll(management.values());
+
+        for (PomModel.Dependency dependency : dependencies.values()) {
+            PomModel.Dependency entry = management.get(dependency.managementKey());
+            if (entry != null) {
+                if (dependency.version == null) {
+                    dependency.version = entry.version;
+                }
+                if (dependency.scope == null) {
+                    dependency.scope = entry.scope;
+                }
+                if (dependency.optional == null) {
+                    dependency.optional = entry.optional;
+                }
+                dependency.exclusions.addAll(entry.exclusions);
+            }
+            effective.dependencies.add(dependency);
+        }
+
+        return effective;
+    }
+
+    private static void merge(Map<String, PomModel.Dependency> target, List<PomModel.Dependency> declared,
+                              List<PomModel.Dependency> fromProfiles) {
+        Map<String, PomModel.Dependency> own = new LinkedHashMap<>();
+        for (PomModel.Dependency dependency : declared) {
+            own.put(dependency.managementKey(), dependency.copy());
+        }
+        for (PomModel.Dependency dependency : fromProfiles) {
+            own.put(dependency.managementKey(), dependency.copy());
+        }
+        for (var entry : own.entrySet()) {
+            target.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Profiles of a POM activated explicitly, or by default when none of the POM's profiles
+     * was requested. {@code !id} deactivates a profile.
+     */
+    static List<PomModel.Profile> activeProfiles(PomModel model, List<String> requested) {
+        List<PomModel.Profile> active = new ArrayList<>();
+        boolean anyRequested = model.profiles.stream().anyMatch(profile -> requested.contains(profile.id));
+        for (PomModel.Profile profile : model.profiles) {
+            if (requested.contains("!" + profile.id) || requested.contains("-" + profile.id)) {
+                continue;
+            }
+            if (requested.contains(profile.id) || (profile.activeByDefault && !anyRequested)) {
+                active.add(profile);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Local parent POM through the relative path when it is the declared parent, and the
+     * installed parent POM otherwise
+     */
+    private Path parentPom(Path pomFile, PomModel model) {
+        if (!"".equals(model.parentRelativePath)) {
+            String relativePath = model.parentRelativePath != null ? model.parentRelativePath : "../pom.xml";
+            Path candidate = pomFile.getParent().resolve(relativePath).normalize();
+            if (Files.isDirectory(candidate)) {
+                candidate = candidate.resolve("pom.xml");
+            }
+            if (Files.isRegularFile(candidate)) {
+                try {
+                    PomModel parent = read(candidate);
+                    String groupId = parent.groupId != null ? parent.groupId : parent.parentGroupId;
+                    if (model.parentArtifactId.equals(parent.artifactId)
+                        && (model.parentGroupId == null || model.parentGroupId.equals(groupId))) {
+                        return candidate;
+                    }
+                } catch (IOException e) {
+                    logger.debug("Failed to read parent POM candidate {}: {}", candidate, e.getMessage());
+                }
+            }
+        }
+        if (model.parentGroupId == null || model.parentVersion == null) {
+            return null;
+        }
+        Path installed = artifactFile(model.parentGroupId, model.parentArtifactId, model.parentVersion, null, "pom");
+        return Files.isRegularFile(installed) ? installed : null;
+    }
+
+    private PomModel read(Path pomFile) throws IOException {
+        Path path = pomFile.toAbsolutePath().normalize();
+        FileTime modified = Files.getLastModifiedTime(path);
+        CachedModel cached = rawModels.get(path);
+        if (cached != null && cached.modified().equals(modified)) {
+            return cached.model();
+        }
+        PomModel model = PomReader.read(path);
+        rawModels.put(path, new CachedModel(modified, model));
+        return model;
+    }
+
+    private static void interpolate(PomModel.Dependency dependency, PomModel model, Path baseDirectory) {
+        dependency.groupId = interpolate(dependency.groupId, model, baseDirectory);
+        dependency.artifactId = interpolate(dependency.artifactId, model, baseDirectory);
+        dependency.version = interpolate(dependency.version, model, baseDirectory);
+        dependency.type = interpolate(dependency.type, model, baseDirectory);
+        dependency.classifier = interpolate(dependency.classifier, model, baseDirectory);
+        dependency.scope = interpolate(dependency.scope, model, baseDirectory);
+        dependency.optional = interpolate(dependency.optional, model, baseDirectory);
+        dependency.systemPath = interpolate(dependency.systemPath, model, baseDirectory);
+        dependency.exclusions.replaceAll(exclusion -> interpolate(exclusion, model, baseDirectory));
+    }
+
+    /**
+     * Replace {@code ${...}} expressions with model values, properties, system properties and
+     * {@code env.} variables; unknown expressions are kept
+     */
+    static String interpolate(String value, PomModel model, Path baseDirectory) {
+        return interpolate(value, model, baseDirectory, 0);
+    }
+
+    private static String interpolate(String value, PomModel model, Path baseDirectory, int depth) {
+        if (value == null || !value.contains("${") || depth > MAX_INTERPOLATION_DEPTH) {
+            return value;
+        }
+        Matcher matcher = EXPRESSION.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String resolved = lookup(matcher.group(1), model, baseDirectory);
+            resolved = resolved != null ? interpolate(resolved, model, baseDirectory, depth + 1) : matcher.group();
+            matcher.appendReplacement(result, Matcher.quoteReplacement(resolved));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String lookup(String expression, PomModel model, Path baseDirectory) {
+        String name = expression.startsWith("pom.") ? "project." + expression.substring(4) : expression;
+        switch (name) {
+            case "project.groupId", "groupId":
+                return model.groupId;
+            case "project.artifactId", "artifactId":
+                return model.artifactId;
+            case "project.version", "version":
+                return model.version;
+            case "project.packaging":
+                return model.packaging;
+            case "project.parent.groupId", "parent.groupId":
+                return model.parentGroupId;
+            case "project.parent.artifactId", "parent.artifactId":
+                return model.parentArtifactId;
+            case "project.parent.version", "parent.version":
+                return model.parentVersion;
+            case "project.basedir", "basedir":
+                return baseDirectory != null ? baseDirectory.toString() : null;
+            default:
+                break;
+        }
+        String property = model.properties.get(expression);
+        if (property != null) {
+            return property;
+        }
+        if (expression.startsWith("env.")) {
+            return System.getenv(expression.substring(4));
+        }
+        return System.getProperty(expression);
+    }
+}
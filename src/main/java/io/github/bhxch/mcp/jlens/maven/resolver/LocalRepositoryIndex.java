@@ -0,0 +1,214 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of a local Maven repository: groupId and artifactId to the installed
+ * versions and the files of each. Directories are listed the first time they are asked
+ * about, and a listing is reused for as long as the directory's modification time is
+ * unchanged. Adding or removing a file changes the modification time of its directory, so
+ * checking whether an artifact or its sources are installed takes one stat and no listing.
+ * Nothing is scanned or watched up front, whatever the size of the repository.
+ */
+public class LocalRepositoryIndex {
+
+    private static final String SNAPSHOT = "-SNAPSHOT";
+
+    /**
+     * Age a directory's modification time must have reached when it is listed for the listing
+     * to be reused; file systems with coarse timestamps may not change it for a file added in
+     * the same tick
+     */
+    private static final long SETTLE_MILLIS = 2000;
+
+    /**
+     * An installed version of an artifact and the names of the files in its directory
+     */
+    public record Version(String groupId, String artifactId, String version, Path directory, Set<String> files) {
+
+        /**
+         * The artifact file with a classifier and extension, or null if it is not installed
+         *
+         * @param classifier classifier such as {@code sources}, or null for the main artifact
+         */
+        public Path file(String classifier, String extension) {
+            String name = artifactId + "-" + version
+                + (classifier != null && !classifier.isEmpty() ? "-" + classifier : "") + "." + extension;
+            return files.contains(name) ? directory.resolve(name) : null;
+        }
+
+        public Path jar() {
+            return file(null, "jar");
+        }
+
+        public Path sources() {
+            return file("sources", "jar");
+        }
+
+        public Path pom() {
+            return file(null, "pom");
+        }
+    }
+
+    /**
+     * A directory listing and the modification time of the directory it was taken at
+     */
+    private record Listing<T>(long lastModified, boolean settled, T content) {
+
+        boolean isCurrent(long modified) {
+            return settled && lastModified == modified;
+        }
+    }
+
+    private final Path repository;
+
+    /**
+     * Version directory to its listing, null content meaning no artifact files
+     */
+    private final Map<Path, Listing<Version>> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Artifact directory to the names of its version directories
+     */
+    private final Map<Path, Listing<List<String>>> artifacts = new ConcurrentHashMap<>();
+
+    public LocalRepositoryIndex(Path repository) {
+        this.repository = repository.toAbsolutePath().normalize();
+    }
+
+    public Path getRepository() {
+        return repository;
+    }
+
+    /**
+     * Installed versions of an artifact, oldest first
+     */
+    public List<Version> getVersions(String groupId, String artifactId) {
+        Path artifactDirectory = artifactDirectory(groupId, artifactId);
+        long modified = lastModified(artifactDirectory);
+        if (modified < 0) {
+            artifacts.remove(artifactDirectory);
+            return List.of();
+        }
+        Listing<List<String>> listing = artifacts.get(artifactDirectory);
+        if (listing == null || !listing.isCurrent(modified)) {
+            listing = new Listing<>(modified, settled(modified), listDirectories(artifactDirectory));
+            artifacts.put(artifactDirectory, listing);
+        }
+
+        List<Version> installed = new ArrayList<>();
+        for (String version : listing.content()) {
+            Version found = find(groupId, artifactId, version);
+            if (found != null) {
+                installed.add(found);
+            }
+        }
+        installed.sort((left, right) -> LocalRepositoryResolver.compareVersions(left.version(), right.version()));
+        return installed;
+    }
+
+    /**
+     * An installed version of an artifact, or null if it is not installed
+     */
+    public Version find(String groupId, String artifactId, String version) {
+        if (groupId == null || artifactId == null || version == null) {
+            return null;
+        }
+        Path directory = artifactDirectory(groupId, artifactId).resolve(version);
+        long modified = lastModified(directory);
+        if (modified < 0) {
+            versions.remove(directory);
+            return null;
+        }
+        Listing<Version> listing = versions.get(directory);
+        if (listing == null || !listing.isCurrent(modified)) {
+            listing = new Listing<>(modified, settled(modified), list(groupId, artifactId, version, directory));
+            versions.put(directory, listing);
+        }
+        return listing.content();
+    }
+
+    /**
+     * The installed artifact file of a dependency, or null if it is not installed
+     */
+    public Path findArtifact(DependencyInfo dependency) {
+        Version version = find(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+        return version != null ? version.file(dependency.getClassifier(), "jar") : null;
+    }
+
+    /**
+     * The installed source JAR of a dependency, or null if it is not installed
+     */
+    public Path findSources(DependencyInfo dependency) {
+        Version version = find(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+        return version != null ? version.sources() : null;
+    }
+
+    /**
+     * Number of version directories listed so far, for diagnostics
+     */
+    public int size() {
+        return versions.size();
+    }
+
+    private Path artifactDirectory(String groupId, String artifactId) {
+        return repository.resolve(groupId.replace('.', '/')).resolve(artifactId);
+    }
+
+    /**
+     * Record a directory as a version of an artifact if it holds files named after them
+     */
+    private static Version list(String groupId, String artifactId, String version, Path directory) {
+        String prefix = artifactId + "-" + (version.endsWith(SNAPSHOT)
+            ? version.substring(0, version.length() - SNAPSHOT.length())
+            : version);
+        try (Stream<Path> children = Files.list(directory)) {
+            Set<String> files = children
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(prefix))
+                .collect(Collectors.toUnmodifiableSet());
+            return files.isEmpty() ? null : new Version(groupId, artifactId, version, directory, files);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<String> listDirectories(Path directory) {
+        try (Stream<Path> children = Files.list(directory)) {
+            return children
+                .filter(Files::isDirectory)
+                .map(path -> path.getFileName().toString())
+                .toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Modification time of a directory, or -1 if it does not exist
+     */
+    private static long lastModified(Path directory) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(directory, BasicFileAttributes.class);
+            return attributes.isDirectory() ? attributes.lastModifiedTime().toMillis() : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static boolean settled(long lastModified) {
+        return System.currentTimeMillis() - lastModified >= SETTLE_MILLIS;
+    }
+}
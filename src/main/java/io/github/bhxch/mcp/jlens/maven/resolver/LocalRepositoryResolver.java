@@ -0,0 +1,404 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resolves a module in-process from the POM files on disk and in the local Maven repository,
+ * without starting Maven and without network access. The effective model is built with
+ * parent inheritance, profiles, interpolation and imported BOMs, and transitive dependencies
+ * are mediated as Maven does: the nearest declaration of an artifact wins, and the first one
+ * among declarations at the same depth. Artifacts missing from the local repository are
+ * listed without a JAR and their dependencies are not followed.
+ */
+public class LocalRepositoryResolver implements MavenResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalRepositoryResolver.class);
+
+    private static final Pattern LOCAL_REPOSITORY_PATTERN =
+        Pattern.compile("<localRepository>([^<]+)</localRepository>");
+
+    private final EffectivePomBuilder pomBuilder;
+
+    public LocalRepositoryResolver(Path localRepository) {
+        this(new EffectivePomBuilder(localRepository));
+    }
+
+    /**
+     * Create a resolver sharing the parsed POMs cached by the given builder
+     */
+    LocalRepositoryResolver(EffectivePomBuilder pomBuilder) {
+        this.pomBuilder = pomBuilder;
+    }
+
+    @Override
+    public ModuleContext resolveModule(Path pomFile, Scope scope, List<String> activeProfiles) {
+        if (!Files.exists(pomFile)) {
+            throw new IllegalArgumentException("POM file does not exist: " + pomFile);
+        }
+        List<String> profiles = activeProfiles != null ? activeProfiles : List.of();
+
+        PomModel model;
+        try {
+            model = pomBuilder.build(pomFile, profiles);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read POM file: " + pomFile, e);
+        }
+        if (model.artifactId == null) {
+            throw new IllegalArgumentException("Invalid POM file: missing artifactId");
+        }
+
+        List<DependencyInfo> dependencies = resolveDependencies(model, scope);
+        List<Path> classpathJars = new ArrayList<>();
+        for (DependencyInfo dependency : dependencies) {
+            Path jar = dependency.getJarPath();
+            if (jar != null && jar.getFileName().toString().endsWith(".jar") && Files.isRegularFile(jar)) {
+                classpathJars.add(jar);
+            }
+        }
+
+        Path baseDirectory = pomFile.toAbsolutePath().getParent();
+        Path outputDirectory = baseDirectory.resolve("target/classes");
+        Path testOutputDirectory = baseDirectory.resolve("target/test-classes");
+        List<Path> classpath = new ArrayList<>();
+        classpath.add(outputDirectory);
+        if (scope == Scope.TEST) {
+            classpath.add(testOutputDirectory);
+        }
+        classpath.addAll(classpathJars);
+
+        logger.debug("Resolved {} with {} dependencies from {}", model.coordinates(), dependencies.size(),
+            pomBuilder.getLocalRepository());
+
+        return ModuleContext.builder()
+            .pomFile(pomFile)
+            .baseDirectory(baseDirectory)
+            .localRepository(pomBuilder.getLocalRepository())
+            .scope(scope)
+            .activeProfiles(profiles)
+            .groupId(model.groupId)
+            .artifactId(model.artifactId)
+            .version(model.version != null ? model.version : "unknown")
+            .packaging(model.packaging)
+            .dependencies(dependencies)
+            .classpath(classpath)
+            .classpathJars(classpathJars)
+            .outputDirectory(outputDirectory)
+            .testOutputDirectory(testOutputDirectory)
+            .build();
+    }
+
+    /**
+     * Walk the dependency graph breadth-first, so that the first visit of an artifact is its
+     * nearest declaration, and keep the artifacts the requested scope includes
+     */
+    private List<DependencyInfo> resolveDependencies(PomModel model, Scope scope) {
+        Map<String, PomModel.Dependency> management = new LinkedHashMap<>();
+        for (PomModel.Dependency entry : model.dependencyManagement) {
+            management.put(entry.managementKey(), entry);
+        }
+
+        Map<String, Node> resolved = new LinkedHashMap<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        for (PomModel.Dependency dependency : model.dependencies) {
+            Scope dependencyScope = Scope.fromString(dependency.scope);
+            queue.add(new Node(dependency, dependencyScope, Set.copyOf(dependency.exclusions), true));
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            String key = node.dependency.managementKey();
+            Node nearest = resolved.get(key);
+            if (nearest != null) {
+                // A farther declaration keeps the nearest version but can widen the scope of a
+                // transitive dependency, whose own dependencies are then derived again from
+                // the wider scope. A direct dependency keeps the scope it declares.
+                if (nearest.direct() || width(node.scope) <= width(nearest.scope)) {
+                    continue;
+                }
+                node = new Node(nearest.dependency, node.scope, nearest.exclusions, false);
+            } else {
+                node.dependency.version = resolveVersion(node.dependency);
+            }
+            resolved.put(key, node);
+            if (node.scope == Scope.SYSTEM || node.dependency.version == null) {
+                continue;
+            }
+
+            PomModel dependencyModel = pomBuilder.repositoryModel(node.dependency.groupId,
+                node.dependency.artifactId, node.dependency.version);
+            if (dependencyModel == null) {
+                logger.debug("POM of {}:{}:{} not found in the local repository", node.dependency.groupId,
+                    node.dependency.artifactId, node.dependency.version);
+                continue;
+            }
+            for (PomModel.Dependency declared : dependencyModel.dependencies) {
+                if (declared.isOptional() || isExcluded(declared, node.exclusions)) {
+                    continue;
+                }
+                // Test and provided dependencies of a dependency are not inherited
+                Scope childScope = Scope.fromString(declared.scope);
+                if (childScope == Scope.TEST || childScope == Scope.PROVIDED) {
+                    continue;
+                }
+                PomModel.Dependency child = declared.copy();
+                PomModel.Dependency managed = management.get(child.managementKey());
+                if (managed != null) {
+                    if (managed.version != null) {
+                        child.version = managed.version;
+                    }
+                    if (managed.scope != null) {
+                        childScope = Scope.fromString(managed.scope);
+                    }
+                    child.exclusions.addAll(managed.exclusions);
+                }
+                Scope transitiveScope = derivedScope(node.scope, childScope);
+                Set<String> exclusions = new HashSet<>(node.exclusions);
+                exclusions.addAll(child.exclusions);
+                queue.add(new Node(child, transitiveScope, exclusions, false));
+            }
+        }
+
+        List<DependencyInfo> dependencies = new ArrayList<>();
+        for (Node node : resolved.values()) {
+            if (includes(scope, node.scope)) {
+                dependencies.add(toDependencyInfo(node));
+            }
+        }
+        return dependencies;
+    }
+
+    private DependencyInfo toDependencyInfo(Node node) {
+        PomModel.Dependency dependency = node.dependency;
+        String type = dependency.type();
+        String classifier = dependency.classifier;
+        if ("test-jar".equals(type) && classifier == null) {
+            classifier = "tests";
+        }
+        Path jarPath = null;
+        if (node.scope == Scope.SYSTEM) {
+            jarPath = dependency.systemPath != null ? Paths.get(dependency.systemPath) : null;
+        } else if (dependency.version != null && !"pom".equals(type)) {
+            jarPath = pomBuilder.artifactFile(dependency.groupId, dependency.artifactId, dependency.version,
+                classifier, extension(type));
+        }
+        return DependencyInfo.builder()
+            .groupId(dependency.groupId)
+            .artifactId(dependency.artifactId)
+            .version(dependency.version)
+            .type(type)
+            .classifier(classifier)
+            .scope(node.scope)
+            .jarPath(jarPath)
+            .optional(dependency.isOptional())
+            .systemPath(dependency.systemPath)
+            .build();
+    }
+
+    /**
+     * Pick the newest installed version for a version range or a LATEST/RELEASE version;
+     * snapshots are only picked for LATEST
+     */
+    private String resolveVersion(PomModel.Dependency dependency) {
+        String version = dependency.version;
+        if (version == null) {
+            return null;
+        }
+        boolean range = version.startsWith("[") || version.startsWith("(");
+        if (!range && !version.equals("LATEST") && !version.equals("RELEASE")) {
+            return version;
+        }
+        Path artifactDirectory = pomBuilder.getLocalRepository()
+            .resolve(dependency.groupId.replace('.', '/')).resolve(dependency.artifactId);
+        try (Stream<Path> versions = Files.list(artifactDirectory)) {
+            return versions
+                .filter(Files::isDirectory)
+                .map(path -> path.getFileName().toString())
+                .filter(candidate -> !range || inRange(candidate, version))
+                .filter(candidate -> version.equals("LATEST") || !candidate.endsWith("-SNAPSHOT"))
+                .max(LocalRepositoryResolver::compareVersions)
+                .orElse(null);
+        } catch (IOException e) {
+            logger.debug("No installed versions of {}:{}", dependency.groupId, dependency.artifactId);
+            return null;
+        }
+    }
+
+    /**
+     * Whether a version lies in a range such as {@code [1.0,2.0)}, {@code [1.5,)} or
+     * {@code [1.0]}; of a union of ranges only the first is considered
+     */
+    static boolean inRange(String version, String range) {
+        int end = 1;
+        while (end < range.length() && range.charAt(end) != ']' && range.charAt(end) != ')') {
+            end++;
+        }
+        if (end == range.length()) {
+            return false;
+        }
+        boolean lowerInclusive = range.charAt(0) == '[';
+        boolean upperInclusive = range.charAt(end) == ']';
+        String[] bounds = range.substring(1, end).split(",", -1);
+        String lower = bounds[0].trim();
+        String upper = bounds.length > 1 ? bounds[1].trim() : lower;
+        if (!lower.isEmpty()) {
+            int comparison = compareVersions(version, lower);
+            if (comparison < 0 || (comparison == 0 && !lowerInclusive)) {
+                return false;
+            }
+        }
+        if (!upper.isEmpty()) {
+            int comparison = compareVersions(version, upper);
+            return comparison < 0 || (comparison == 0 && upperInclusive);
+        }
+        return true;
+    }
+
+    /**
+     * Compare versions by their numeric and textual parts; a version with a qualifier, such
+     * as {@code 1.0-SNAPSHOT}, sorts before the plain version
+     */
+    public static int compareVersions(String left, String right) {
+        String[] leftParts = left.split("[.\\-]");
+        String[] rightParts = right.split("[.\\-]");
+        for (int i = 0; i < Math.max(leftParts.length, rightParts.length); i++) {
+            String l = i < leftParts.length ? leftParts[i] : null;
+            String r = i < rightParts.length ? rightParts[i] : null;
+            if (l == null || r == null) {
+                // A trailing qualifier makes a version older, a trailing number newer
+                String extra = l != null ? l : r;
+                int sign = l != null ? 1 : -1;
+                return isNumber(extra) ? sign : -sign;
+            }
+            boolean lNumeric = isNumber(l);
+            boolean rNumeric = isNumber(r);
+            int comparison;
+            if (lNumeric && rNumeric) {
+                comparison = new BigInteger(l).compareTo(new BigInteger(r));
+            } else if (lNumeric != rNumeric) {
+                comparison = lNumeric ? 1 : -1;
+            } else {
+                comparison = l.compareToIgnoreCase(r);
+            }
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isNumber(String part) {
+        return !part.isEmpty() && part.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Scope of a dependency of a dependency with the given scope, as Maven derives it
+     */
+    static Scope derivedScope(Scope parent, Scope child) {
+        if (child == Scope.TEST || child == Scope.SYSTEM || parent == Scope.COMPILE) {
+            return child;
+        }
+        return switch (parent) {
+            case TEST, RUNTIME -> parent;
+            case PROVIDED, SYSTEM -> Scope.PROVIDED;
+            default -> Scope.RUNTIME;
+        };
+    }
+
+    /**
+     * Scopes included when resolving for a scope, as {@code dependency:list -DincludeScope}
+     * does
+     */
+    static boolean includes(Scope requested, Scope scope) {
+        return switch (requested) {
+            case COMPILE, IMPORT -> scope == Scope.COMPILE || scope == Scope.PROVIDED || scope == Scope.SYSTEM;
+            case RUNTIME -> scope == Scope.COMPILE || scope == Scope.RUNTIME;
+            case TEST -> true;
+            case PROVIDED -> scope == Scope.PROVIDED;
+            case SYSTEM -> scope == Scope.SYSTEM;
+        };
+    }
+
+    private static int width(Scope scope) {
+        return switch (scope) {
+            case COMPILE, SYSTEM -> 3;
+            case PROVIDED, RUNTIME -> 2;
+            case TEST -> 1;
+            default -> 0;
+        };
+    }
+
+    private static boolean isExcluded(PomModel.Dependency dependency, Set<String> exclusions) {
+        return exclusions.contains(dependency.groupId + ":" + dependency.artifactId)
+            || exclusions.contains(dependency.groupId + ":*")
+            || exclusions.contains("*:" + dependency.artifactId)
+            || exclusions.contains("*:*");
+    }
+
+    private static String extension(String type) {
+        return switch (type) {
+            case "jar", "test-jar", "maven-plugin", "ejb", "ejb-client", "bundle", "java-source", "javadoc" -> "jar";
+            default -> type;
+        };
+    }
+
+    /**
+     * Local repository configured in settings.xml, or {@code ~/.m2/repository}
+     *
+     * @param settingsFile settings.xml to read, or null for {@code ~/.m2/settings.xml}
+     */
+    public static Path defaultLocalRepository(Path settingsFile) {
+        String configured = System.getProperty("maven.repo.local");
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        Path m2 = Paths.get(System.getProperty("user.home"), ".m2");
+        Path settings = settingsFile != null ? settingsFile : m2.resolve("settings.xml");
+        if (Files.isRegularFile(settings)) {
+            try {
+                Matcher matcher = LOCAL_REPOSITORY_PATTERN.matcher(Files.readString(settings));
+                if (matcher.find()) {
+                    String path = matcher.group(1).trim()
+                        .replace("${user.home}", System.getProperty("user.home"));
+                    return Paths.get(path);
+                }
+            } catch (IOException e) {
+                logger.debug("Failed to read {}: {}", settings, e.getMessage());
+            }
+        }
+        return m2.resolve("repository");
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return Files.isDirectory(pomBuilder.getLocalRepository());
+    }
+
+    @Override
+    public String getName() {
+        return "LocalRepositoryResolver";
+    }
+
+    private record Node(PomModel.Dependency dependency, Scope scope, Set<String> exclusions, boolean direct) {
+    }
+}
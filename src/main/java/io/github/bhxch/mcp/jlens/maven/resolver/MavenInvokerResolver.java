@@ -1,31 +1,67 @@
 package io.github.bhxch.mcp.jlens.maven.resolver;
 
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
 import io.github.bhxch.mcp.jlens.config.MavenConfig;
 import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Maven resolver using Maven Invoker to execute Maven commands
  */
 public class MavenInvokerResolver implements MavenResolver {
 
+    private static final Logger logger = LoggerFactory.getLogger(MavenInvokerResolver.class);
+
     private final MavenConfig config;
-    private static final Pattern DEPENDENCY_PATTERN = Pattern.compile("\\[INFO\\]\\s+(.*):(.*):(.*):(.*):\\s*(.*)");
+    private final MavenWorkerPool workerPool;
+    private final Path reactorOutputDirectory;
+    private static final String INFO = "[INFO]";
+
+    /**
+     * File each reactor module's resolved dependencies are written to, relative to the
+     * directory of the run; Maven interpolates the coordinates per module
+     */
+    private static final String REACTOR_OUTPUT_FILE = "${project.groupId}/${project.artifactId}.txt";
+    private static final Set<String> SCOPES = Set.of("compile", "provided", "runtime", "test", "system", "import");
 
     public MavenInvokerResolver(MavenConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Create a resolver running Maven on the persistent workers of a pool, or starting a
+     * fresh Maven for each resolution when the pool is null
+     */
+    public MavenInvokerResolver(MavenConfig config, MavenWorkerPool workerPool) {
+        this(config, workerPool, Path.of(System.getProperty("java.io.tmpdir"), "jlens", "reactor"));
+    }
+
+    /**
+     * @param reactorOutputDirectory directory the dependencies of reactor modules are written
+     *                               to while a reactor is resolved, instead of the modules' trees
+     */
+    public MavenInvokerResolver(MavenConfig config, MavenWorkerPool workerPool, Path reactorOutputDirectory) {
         this.config = config;
+        this.workerPool = workerPool;
+        this.reactorOutputDirectory = reactorOutputDirectory;
     }
 
     @Override
@@ -35,30 +71,42 @@ public class MavenInvokerResolver implements MavenResolver {
         }
 
         try {
-            List<String> command = buildMavenCommand(pomFile, scope, activeProfiles);
-
-            Process process = startProcess(pomFile, command);
-
-            List<String> outputLines = new ArrayList<>();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    outputLines.add(line);
-                }
-            }
-
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
-                throw new RuntimeException("Maven command failed with exit code: " + exitCode);
+            MavenRun run = runMaven(pomFile, buildMavenCommand(pomFile, scope, activeProfiles));
+            if (run.exitCode() != 0) {
+                throw new RuntimeException("Maven command failed with exit code: " + run.exitCode());
             }
 
-            return parseModuleContext(pomFile, outputLines, scope);
+            return moduleContext(pomFile, run.output(), scope, activeProfiles);
 
         } catch (IOException | InterruptedException e) {
             throw new RuntimeException("Failed to resolve Maven module: " + pomFile, e);
         }
     }
 
+    private record MavenRun(int exitCode, List<String> output) {
+    }
+
+    /**
+     * Run a Maven command, the executable first, on a pooled worker when there is a pool
+     */
+    private MavenRun runMaven(Path pomFile, List<String> command) throws IOException, InterruptedException {
+        if (workerPool != null) {
+            return workerPool.run(command.subList(1, command.size()), pomFile.getParent(), this::collect);
+        }
+        return collect(startProcess(pomFile, command));
+    }
+
+    private MavenRun collect(Process process) throws IOException, InterruptedException {
+        List<String> outputLines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                outputLines.add(line);
+            }
+        }
+        return new MavenRun(process.waitFor(), outputLines);
+    }
+
     /**
      * Start the Maven process. Extracted for testing.
      */
@@ -80,7 +128,43 @@ public class MavenInvokerResolver implements MavenResolver {
 
         command.add("dependency:list");
         command.add("-DincludeScope=" + scope.name().toLowerCase());
-        
+        command.add("-DoutputAbsoluteArtifactFilename=true");
+        command.add("-DoutputScope=true");
+        addCommonOptions(command, activeProfiles);
+
+        if (config.isFailFast()) {
+            command.add("-ff");
+        }
+
+        return command;
+    }
+
+    /**
+     * One run over the whole reactor, writing each module's dependencies with their files to
+     * the module's own output file under the run directory
+     */
+    private List<String> buildReactorCommand(Path aggregatorPom, Path runDirectory, Scope scope,
+                                             List<String> activeProfiles) {
+        List<String> command = new ArrayList<>();
+        command.add(config.getExecutable() != null ? config.getExecutable().toString() : "mvn");
+        command.add("-f");
+        command.add(aggregatorPom.toString());
+        command.add("dependency:list");
+        command.add("-DincludeScope=" + scope.name().toLowerCase());
+        command.add("-DoutputFile=" + runDirectory + File.separator + REACTOR_OUTPUT_FILE);
+        command.add("-DappendOutput=false");
+        command.add("-DoutputAbsoluteArtifactFilename=true");
+        command.add("-DoutputScope=true");
+        addCommonOptions(command, activeProfiles);
+        // Fail at end even when fail-fast is configured, so one broken module does not stop the others
+        command.add("-fae");
+        return command;
+    }
+
+    private void addCommonOptions(List<String> command, List<String> activeProfiles) {
+        // Batch mode keeps the output free of colors and progress
+        command.add("-B");
+
         // Pass active profiles
         if (activeProfiles != null && !activeProfiles.isEmpty()) {
             command.add("-P" + String.join(",", activeProfiles));
@@ -94,93 +178,169 @@ public class MavenInvokerResolver implements MavenResolver {
         if (config.isOfflineMode()) {
             command.add("-o");
         }
+    }
 
-        if (config.isFailFast()) {
-            command.add("-ff");
+    /**
+     * Resolve all modules of the reactor with a single Maven run instead of one per module
+     */
+    @Override
+    public Map<Path, ModuleContext> resolveReactor(Path aggregatorPom, Scope scope, List<String> activeProfiles) {
+        if (!Files.exists(aggregatorPom)) {
+            throw new IllegalArgumentException("POM file does not exist: " + aggregatorPom);
         }
+        List<Path> modules = ReactorModules.discover(aggregatorPom, activeProfiles);
 
-        return command;
+        Path runDirectory = null;
+        try {
+            Files.createDirectories(reactorOutputDirectory);
+            runDirectory = Files.createTempDirectory(reactorOutputDirectory, "run-");
+            int exitCode = runMaven(aggregatorPom.toAbsolutePath(),
+                buildReactorCommand(aggregatorPom.toAbsolutePath(), runDirectory, scope, activeProfiles)).exitCode();
+
+            Map<Path, ModuleContext> contexts = new LinkedHashMap<>();
+            for (Path module : modules) {
+                Path outputFile = reactorOutputFile(runDirectory, module);
+                if (outputFile != null && Files.isRegularFile(outputFile)) {
+                    contexts.put(module, moduleContext(module, Files.readAllLines(outputFile), scope,
+                        activeProfiles));
+                } else {
+                    logger.warn("Maven did not resolve reactor module {}", module);
+                }
+            }
+            if (exitCode != 0 && contexts.isEmpty()) {
+                throw new RuntimeException("Maven command failed with exit code: " + exitCode);
+            }
+            logger.debug("Resolved {} of {} reactor modules of {} in one Maven run", contexts.size(), modules.size(),
+                aggregatorPom);
+            return contexts;
+
+        } catch (IOException | InterruptedException e) {
+            throw new RuntimeException("Failed to resolve Maven reactor: " + aggregatorPom, e);
+        } finally {
+            if (runDirectory != null) {
+                deleteRecursively(runDirectory);
+            }
+        }
     }
 
-    private ModuleContext parseModuleContext(Path pomFile, List<String> outputLines, Scope scope) {
-        List<DependencyInfo> dependencies = new ArrayList<>();
-        String projectGroupId = "unknown";
-        String projectArtifactId = "unknown";
-        String projectVersion = "unknown";
-
-        // Regex for project GAV in dependency:list output
-        // Usually looks like: [INFO] io.github.bhxch.mcp:jlens-mcp-server:jar:1.1.1
-        Pattern projectGavPattern = Pattern.compile("\\[INFO\\]\\s+([^:]+):([^:]+):[^:]+:([^\\s]+)");
-
-        for (String line : outputLines) {
-            Matcher matcher = DEPENDENCY_PATTERN.matcher(line);
-            if (matcher.find()) {
-                String groupId = matcher.group(1);
-                String artifactId = matcher.group(2);
-                String type = matcher.group(3);
-                String version = matcher.group(4);
-                String scopeStr = matcher.group(5);
-
-                DependencyInfo dep = DependencyInfo.builder()
-                    .groupId(groupId)
-                    .artifactId(artifactId)
-                    .version(version)
-                    .type(type)
-                    .scope(scopeStr != null ? Scope.fromString(scopeStr) : scope)
-                    .build();
-
-                dependencies.add(dep);
-            } else {
-                // Try to find project GAV
-                if (line.contains("--- dependency:") && line.contains(" @ ")) {
-                    // Extract from "[INFO] --- dependency:3.6.1:list (default-cli) @ jlens-mcp-server ---"
-                    int start = line.indexOf("@ ") + 2;
-                    int end = line.lastIndexOf(" ---");
-                    if (start > 1 && end > start) {
-                        projectArtifactId = line.substring(start, end).trim();
-                    }
+    /**
+     * Output file of a reactor module in a run directory, or null if its POM cannot be read
+     */
+    private static Path reactorOutputFile(Path runDirectory, Path module) throws IOException {
+        PomModel model = PomReader.read(module);
+        String groupId = model.groupId != null ? model.groupId : model.parentGroupId;
+        if (groupId == null || model.artifactId == null) {
+            return null;
+        }
+        return runDirectory.resolve(groupId).resolve(model.artifactId + ".txt");
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.debug("Failed to delete {}: {}", path, e.getMessage());
                 }
-            }
+            });
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}: {}", directory, e.getMessage());
         }
+    }
 
-        // If still unknown, try a quick scan of the pom file for the project's own GAV
-        if ("unknown".equals(projectGroupId) || "unknown".equals(projectVersion)) {
-            try {
-                String content = Files.readString(pomFile);
-                projectGroupId = extractDirectValue(content, Pattern.compile("<groupId>([^<]+)</groupId>"), true);
-                if (projectArtifactId.equals("unknown")) {
-                    projectArtifactId = extractDirectValue(content, Pattern.compile("<artifactId>([^<]+)</artifactId>"), true);
+    /**
+     * Module context from {@code dependency:list} output, either a module's output file or the
+     * console output of a run, whose dependency lines look like
+     * {@code g:a:type[:classifier]:version:scope:/path/to/file [-- module name]}, prefixed
+     * with {@code [INFO]} on the console
+     */
+    private ModuleContext moduleContext(Path pomFile, List<String> lines, Scope scope,
+                                        List<String> activeProfiles) throws IOException {
+        List<DependencyInfo> dependencies = new ArrayList<>();
+        List<Path> artifacts = new ArrayList<>();
+        for (String line : lines) {
+            String entry = line.trim();
+            if (entry.startsWith(INFO)) {
+                entry = entry.substring(INFO.length()).trim();
+            }
+            int moduleInfo = entry.indexOf(" -- ");
+            if (moduleInfo >= 0) {
+                entry = entry.substring(0, moduleInfo);
+            }
+            boolean optional = entry.endsWith(" (optional)");
+            if (optional) {
+                entry = entry.substring(0, entry.length() - " (optional)".length());
+            }
+            String[] parts = entry.split(":");
+            int scopeIndex = -1;
+            for (int i = 4; i < parts.length && i <= 5; i++) {
+                if (SCOPES.contains(parts[i])) {
+                    scopeIndex = i;
+                    break;
                 }
-                projectVersion = extractDirectValue(content, Pattern.compile("<version>([^<]+)</version>"), true);
-            } catch (IOException ignored) {}
+            }
+            if (scopeIndex < 0) {
+                continue;
+            }
+            String file = String.join(":", Arrays.copyOfRange(parts, scopeIndex + 1, parts.length));
+            Path artifact = file.isEmpty() ? null : Path.of(file);
+            dependencies.add(DependencyInfo.builder()
+                .groupId(parts[0])
+                .artifactId(parts[1])
+                .type(parts[2])
+                .classifier(scopeIndex == 5 ? parts[3] : null)
+                .version(parts[scopeIndex - 1])
+                .scope(Scope.fromString(parts[scopeIndex]))
+                .jarPath(artifact)
+                .optional(optional)
+                .build());
+            if (artifact != null) {
+                artifacts.add(artifact);
+            }
         }
 
+        PomModel model = PomReader.read(pomFile);
         Path baseDirectory = pomFile.getParent();
         Path outputDirectory = baseDirectory.resolve("target/classes");
         Path testOutputDirectory = baseDirectory.resolve("target/test-classes");
+        List<Path> classpath = new ArrayList<>();
+        classpath.add(outputDirectory);
+        if (scope == Scope.TEST) {
+            classpath.add(testOutputDirectory);
+        }
+        // Sibling modules resolve to their output directories when they were not packaged
+        classpath.addAll(artifacts);
 
         return ModuleContext.builder()
             .pomFile(pomFile)
             .baseDirectory(baseDirectory)
-            .groupId(projectGroupId)
-            .artifactId(projectArtifactId)
-            .version(projectVersion)
+            .scope(scope)
+            .activeProfiles(activeProfiles != null ? activeProfiles : List.of())
+            .groupId(model.groupId != null ? model.groupId : model.parentGroupId)
+            .artifactId(model.artifactId)
+            .version(model.version != null ? model.version : model.parentVersion)
+            .packaging(model.packaging != null ? model.packaging : "jar")
             .dependencies(dependencies)
+            .classpath(classpath)
+            .classpathJars(artifacts.stream()
+                .filter(artifact -> artifact.getFileName().toString().endsWith(".jar"))
+                .toList())
             .outputDirectory(outputDirectory)
             .testOutputDirectory(testOutputDirectory)
             .build();
     }
 
-    private String extractDirectValue(String content, Pattern pattern, boolean firstOnly) {
-        Matcher matcher = pattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-        return "unknown";
+    @Override
+    public boolean resolvesReactorAtOnce() {
+        return true;
     }
 
     @Override
     public boolean isAvailable() {
+        if (workerPool != null) {
+            return Files.exists(workerPool.getDaemonExecutable());
+        }
         if (config.getExecutable() != null) {
             return Files.exists(config.getExecutable());
         }
@@ -1,10 +1,12 @@
 package io.github.bhxch.mcp.jlens.maven.resolver;
 
+import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import io.github.bhxch.mcp.jlens.maven.model.Scope;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for Maven dependency resolution
@@ -16,6 +18,26 @@ public interface MavenResolver {
      */
     ModuleContext resolveModule(Path pomFile, Scope scope, List<String> activeProfiles);
 
+    /**
+     * Resolve every module of a reactor: the aggregator POM and the modules it lists,
+     * recursively. By default each module is resolved on its own, in parallel; resolvers
+     * with a per-call startup cost resolve the whole reactor at once.
+     *
+     * @return the resolved modules by POM file; modules that failed to resolve are missing
+     */
+    default Map<Path, ModuleContext> resolveReactor(Path aggregatorPom, Scope scope, List<String> activeProfiles) {
+        return ParallelProcessor.resolveModulesInParallel(ReactorModules.discover(aggregatorPom, activeProfiles),
+            this, scope, activeProfiles);
+    }
+
+    /**
+     * Whether resolving a whole reactor costs about as much as resolving one of its modules,
+     * so the first module asked for is worth resolving together with its siblings
+     */
+    default boolean resolvesReactorAtOnce() {
+        return false;
+    }
+
     /**
      * Check if this resolver is available
      */
@@ -1,38 +1,88 @@
 package io.github.bhxch.mcp.jlens.maven.resolver;
 
+import io.github.bhxch.mcp.jlens.cache.CacheManager;
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
+import io.github.bhxch.mcp.jlens.config.MavenConfig;
 import io.github.bhxch.mcp.jlens.config.ServerConfig;
 
+import java.nio.file.Path;
+
 /**
  * Factory for creating Maven resolvers
  */
 public class MavenResolverFactory {
 
     private final ServerConfig config;
+    private final CacheManager cacheManager;
+    private final EffectivePomBuilder pomBuilder;
+    private final MavenWorkerPool workerPool;
 
     public MavenResolverFactory(ServerConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * @param cacheManager cache shared by the created resolvers, so every handler reuses the
+     *                     module contexts resolved by the others; null disables caching
+     */
+    public MavenResolverFactory(ServerConfig config, CacheManager cacheManager) {
+        this(config, cacheManager, null);
+    }
+
+    /**
+     * @param workerPool persistent Maven workers the created resolvers run Maven on, or null
+     *                   to resolve in-process unless a Maven executable is configured
+     */
+    public MavenResolverFactory(ServerConfig config, CacheManager cacheManager, MavenWorkerPool workerPool) {
         this.config = config;
+        this.cacheManager = cacheManager;
+        this.workerPool = workerPool;
+        MavenConfig mavenConfig = config.getMavenConfig();
+        this.pomBuilder = new EffectivePomBuilder(mavenConfig.getLocalRepository() != null
+            ? mavenConfig.getLocalRepository()
+            : LocalRepositoryResolver.defaultLocalRepository(mavenConfig.getSettingsFile()));
     }
 
     /**
-     * Create a Maven resolver based on configuration
+     * Create a Maven resolver based on configuration: Maven itself when persistent workers
+     * or an executable are configured, and otherwise the in-process resolver reading the local
+     * repository. The in-process resolvers share one cache of parsed POMs.
      */
     public MavenResolver createResolver() {
-        MavenResolver resolver = new MavenDirectResolver();
+        MavenResolver resolver = new LocalRepositoryResolver(pomBuilder);
 
-        if (config.getMavenConfig().getExecutable() != null) {
-            resolver = new MavenInvokerResolver(config.getMavenConfig());
+        if (workerPool != null || config.getMavenConfig().getExecutable() != null) {
+            resolver = new MavenInvokerResolver(config.getMavenConfig(), workerPool, config.getReactorOutputDirectory());
+        }
+
+        if (cacheManager != null) {
+            resolver = new CachingMavenResolver(resolver, cacheManager);
         }
 
         return resolver;
     }
 
+    /**
+     * Local repository the in-process resolvers read: the configured one, the one of
+     * settings.xml, or {@code ~/.m2/repository}
+     */
+    public Path getLocalRepository() {
+        return pomBuilder.getLocalRepository();
+    }
+
     /**
      * Create a direct resolver (always available)
      */
     public MavenResolver createDirectResolver() {
         return new MavenDirectResolver();
     }
-}
-
-
 
+    /**
+     * Forget the cached contexts of a module, e.g. after a build changed its dependencies
+     */
+    public void invalidateModule(Path pomFile) {
+        if (cacheManager != null) {
+            cacheManager.invalidateModule(pomFile);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a POM needed to resolve a module's dependencies, either as read from the file
+ * or, once built by {@link EffectivePomBuilder}, with inheritance, profiles, interpolation and
+ * dependency management applied
+ */
+final class PomModel {
+
+    String groupId;
+    String artifactId;
+    String version;
+    String packaging;
+
+    String parentGroupId;
+    String parentArtifactId;
+    String parentVersion;
+    /**
+     * Relative path of the parent POM: null for the default {@code ../pom.xml}, empty to look
+     * the parent up in the repository only
+     */
+    String parentRelativePath;
+
+    final Map<String, String> properties = new LinkedHashMap<>();
+    final List<Dependency> dependencies = new ArrayList<>();
+    final List<Dependency> dependencyManagement = new ArrayList<>();
+    final List<Profile> profiles = new ArrayList<>();
+    /**
+     * Paths of the modules an aggregator POM lists, relative to its directory
+     */
+    final List<String> modules = new ArrayList<>();
+
+    boolean hasParent() {
+        return parentArtifactId != null;
+    }
+
+    String coordinates() {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    /**
+     * A dependency or a dependency management entry
+     */
+    static final class Dependency {
+        String groupId;
+        String artifactId;
+        String version;
+        String type;
+        String classifier;
+        String scope;
+        String optional;
+        String systemPath;
+        final List<String> exclusions = new ArrayList<>();
+
+        Dependency copy() {
+            Dependency copy = new Dependency();
+            copy.groupId = groupId;
+            copy.artifactId = artifactId;
+            copy.version = version;
+            copy.type = type;
+            copy.classifier = classifier;
+            copy.scope = scope;
+            copy.optional = optional;
+            copy.systemPath = systemPath;
+            copy.exclusions.addAll(exclusions);
+            return copy;
+        }
+
+        String type() {
+            return type == null || type.isEmpty() ? "jar" : type;
+        }
+
+        /**
+         * Identity of the dependency regardless of version, as used by dependency management
+         * and version mediation
+         */
+        String managementKey() {
+            return groupId + ":" + artifactId + ":" + type() + (classifier != null && !classifier.isEmpty()
+                ? ":" + classifier : "");
+        }
+
+        boolean isOptional() {
+            return "true".equalsIgnoreCase(optional);
+        }
+    }
+
+    /**
+     * A profile's additions to the model
+     */
+    static final class Profile {
+        String id;
+        boolean activeByDefault;
+        final Map<String, String> properties = new LinkedHashMap<>();
+        final List<Dependency> dependencies = new ArrayList<>();
+        final List<Dependency> dependencyManagement = new ArrayList<>();
+        final List<String> modules = new ArrayList<>();
+    }
+}
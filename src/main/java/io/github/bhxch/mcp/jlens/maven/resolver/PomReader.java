@@ -0,0 +1,171 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the elements of a pom.xml that dependency resolution needs into a {@link PomModel}
+ */
+final class PomReader {
+
+    private static final DocumentBuilderFactory FACTORY = createFactory();
+
+    private PomReader() {
+    }
+
+    /**
+     * Read a POM file
+     *
+     * @throws IOException if the file cannot be read or is not well-formed XML
+     */
+    static PomModel read(Path pomFile) throws IOException {
+        Document document;
+        try (InputStream in = Files.newInputStream(pomFile)) {
+            DocumentBuilder builder = FACTORY.newDocumentBuilder();
+            document = builder.parse(in);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Invalid POM file: " + pomFile + ": " + e.getMessage(), e);
+        }
+
+        Element project = document.getDocumentElement();
+        PomModel model = new PomModel();
+        model.groupId = text(project, "groupId");
+        model.artifactId = text(project, "artifactId");
+        model.version = text(project, "version");
+        model.packaging = text(project, "packaging");
+
+        Element parent = child(project, "parent");
+        if (parent != null) {
+            model.parentGroupId = text(parent, "groupId");
+            model.parentArtifactId = text(parent, "artifactId");
+            model.parentVersion = text(parent, "version");
+            Element relativePath = child(parent, "relativePath");
+            if (relativePath != null) {
+                model.parentRelativePath = relativePath.getTextContent().trim();
+            }
+        }
+
+        readProperties(child(project, "properties"), model.properties);
+        model.dependencies.addAll(dependencies(child(project, "dependencies")));
+        model.dependencyManagement.addAll(dependencies(child(child(project, "dependencyManagement"), "dependencies")));
+        model.modules.addAll(modules(child(project, "modules")));
+
+        for (Element profileElement : children(child(project, "profiles"), "profile")) {
+            PomModel.Profile profile = new PomModel.Profile();
+            profile.id = text(profileElement, "id");
+            profile.activeByDefault = "true".equals(text(child(profileElement, "activation"), "activeByDefault"));
+            readProperties(child(profileElement, "properties"), profile.properties);
+            profile.dependencies.addAll(dependencies(child(profileElement, "dependencies")));
+            profile.dependencyManagement.addAll(
+                dependencies(child(child(profileElement, "dependencyManagement"), "dependencies")));
+            profile.modules.addAll(modules(child(profileElement, "modules")));
+            model.profiles.add(profile);
+        }
+
+        return model;
+    }
+
+    private static List<PomModel.Dependency> dependencies(Element dependencies) {
+        List<PomModel.Dependency> result = new ArrayList<>();
+        for (Element element : children(dependencies, "dependency")) {
+            PomModel.Dependency dependency = new PomModel.Dependency();
+            dependency.groupId = text(element, "groupId");
+            dependency.artifactId = text(element, "artifactId");
+            dependency.version = text(element, "version");
+            dependency.type = text(element, "type");
+            dependency.classifier = text(element, "classifier");
+            dependency.scope = text(element, "scope");
+            dependency.optional = text(element, "optional");
+            dependency.systemPath = text(element, "systemPath");
+            for (Element exclusion : children(child(element, "exclusions"), "exclusion")) {
+                dependency.exclusions.add(text(exclusion, "groupId") + ":" + text(exclusion, "artifactId"));
+            }
+            result.add(dependency);
+        }
+        return result;
+    }
+
+    private static List<String> modules(Element modules) {
+        List<String> result = new ArrayList<>();
+        for (Element module : children(modules, "module")) {
+            String path = module.getTextContent().trim();
+            if (!path.isEmpty()) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
+
+    private static void readProperties(Element properties, Map<String, String> target) {
+        if (properties == null) {
+            return;
+        }
+        for (Node node = properties.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element) {
+                target.put(element.getTagName(), element.getTextContent().trim());
+            }
+        }
+    }
+
+    private static Element child(Element parent, String name) {
+        if (parent == null) {
+            return null;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && element.getTagName().equals(name)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        List<Element> result = new ArrayList<>();
+        if (parent == null) {
+            return result;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && element.getTagName().equals(name)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    private static String text(Element parent, String name) {
+        Element element = child(parent, name);
+        if (element == null) {
+            return null;
+        }
+        String text = element.getTextContent().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static DocumentBuilderFactory createFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(false);
+        factory.setExpandEntityReferences(false);
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser does not support secure processing", e);
+        }
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return factory;
+    }
+}
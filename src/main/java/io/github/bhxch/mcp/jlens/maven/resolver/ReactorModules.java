@@ -0,0 +1,119 @@
+package io.github.bhxch.mcp.jlens.maven.resolver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lists the modules of a Maven reactor by following the {@code <modules>} of an aggregator
+ * POM and of its active profiles, recursively
+ */
+final class ReactorModules {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactorModules.class);
+
+    private ReactorModules() {
+    }
+
+    /**
+     * POM files of the reactor, the aggregator first and the modules in declaration order.
+     * Modules whose POM cannot be found or read are skipped.
+     */
+    static List<Path> discover(Path aggregatorPom, List<String> activeProfiles) {
+        List<String> profiles = activeProfiles != null ? activeProfiles : List.of();
+        Set<Path> modules = new LinkedHashSet<>();
+        Deque<Path> queue = new ArrayDeque<>();
+        queue.add(aggregatorPom.toAbsolutePath().normalize());
+
+        while (!queue.isEmpty()) {
+            Path pomFile = queue.poll();
+            if (!modules.add(pomFile)) {
+                continue;
+            }
+            try {
+                queue.addAll(declaredModules(pomFile, profiles));
+            } catch (IOException e) {
+                logger.warn("Skipping reactor module {}: {}", pomFile, e.getMessage());
+                modules.remove(pomFile);
+            }
+        }
+        return new ArrayList<>(modules);
+    }
+
+    /**
+     * POM file of the outermost aggregator whose reactor includes a module, following
+     * aggregators in the parent directories. An aggregator no other one lists is its own
+     * outermost aggregator. Null for a module outside of any reactor.
+     */
+    static Path findAggregator(Path pomFile, List<String> activeProfiles) {
+        List<String> profiles = activeProfiles != null ? activeProfiles : List.of();
+        Path module = pomFile.toAbsolutePath().normalize();
+        Path aggregator = null;
+        for (Path candidate = pomAbove(module); candidate != null; candidate = pomAbove(candidate)) {
+            try {
+                if (!declaredModules(candidate, profiles).contains(module)) {
+                    break;
+                }
+            } catch (IOException e) {
+                break;
+            }
+            aggregator = candidate;
+            module = candidate;
+        }
+        if (aggregator == null) {
+            try {
+                if (!declaredModules(module, profiles).isEmpty()) {
+                    aggregator = module;
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return aggregator;
+    }
+
+    /**
+     * The pom.xml of the directory above a module's directory, or null if there is none
+     */
+    private static Path pomAbove(Path pomFile) {
+        Path directory = pomFile.getParent() != null ? pomFile.getParent().getParent() : null;
+        if (directory == null) {
+            return null;
+        }
+        Path pom = directory.resolve("pom.xml");
+        return Files.isRegularFile(pom) ? pom : null;
+    }
+
+    /**
+     * POM files of the modules a POM and its active profiles declare
+     */
+    private static List<Path> declaredModules(Path pomFile, List<String> profiles) throws IOException {
+        PomModel model = PomReader.read(pomFile);
+        List<String> declared = new ArrayList<>(model.modules);
+        for (PomModel.Profile profile : EffectivePomBuilder.activeProfiles(model, profiles)) {
+            declared.addAll(profile.modules);
+        }
+        List<Path> modules = new ArrayList<>();
+        for (String module : declared) {
+            Path modulePom = pomFile.getParent().resolve(module).normalize();
+            if (Files.isDirectory(modulePom)) {
+                modulePom = modulePom.resolve("pom.xml");
+            }
+            if (Files.isRegularFile(modulePom)) {
+                modules.add(modulePom);
+            } else {
+                logger.warn("Module {} of {} not found", module, pomFile);
+            }
+        }
+        return modules;
+    }
+}
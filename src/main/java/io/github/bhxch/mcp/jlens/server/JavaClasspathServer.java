@@ -2,17 +2,25 @@ package io.github.bhxch.mcp.jlens.server;
 
 import io.github.bhxch.mcp.jlens.cache.CacheManager;
 import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
 import io.github.bhxch.mcp.jlens.config.ServerConfig;
 import io.github.bhxch.mcp.jlens.decompiler.DecompilerFactory;
 import io.github.bhxch.mcp.jlens.dependency.DependencyManager;
 import io.github.bhxch.mcp.jlens.dependency.MavenBuilder;
 import io.github.bhxch.mcp.jlens.inspector.ClassInspector;
+import io.github.bhxch.mcp.jlens.maven.resolver.LocalRepositoryIndex;
 import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
 import io.github.bhxch.mcp.jlens.server.handlers.BuildModuleHandler;
+import io.github.bhxch.mcp.jlens.server.handlers.FindAnnotatedHandler;
+import io.github.bhxch.mcp.jlens.server.handlers.FindSubtypesHandler;
 import io.github.bhxch.mcp.jlens.server.handlers.InspectJavaClassHandler;
+import io.github.bhxch.mcp.jlens.server.handlers.InspectJavaClassesHandler;
 import io.github.bhxch.mcp.jlens.server.handlers.ListClassFieldsHandler;
 import io.github.bhxch.mcp.jlens.server.handlers.ListModuleDependenciesHandler;
 import io.github.bhxch.mcp.jlens.server.handlers.SearchJavaClassHandler;
+import io.github.bhxch.mcp.jlens.server.handlers.SearchJavaMemberHandler;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.McpSyncServer;
@@ -34,6 +42,9 @@ public class JavaClasspathServer {
 
     private final McpSyncServer mcpServer;
     private final ServerConfig config;
+    private final CacheManager cacheManager;
+    private final MavenWorkerPool mavenWorkerPool;
+    private final LocalRepositoryIndex repositoryIndex;
 
     public JavaClasspathServer(ServerConfig config) {
         this.config = config;
@@ -42,20 +53,35 @@ public class JavaClasspathServer {
         StdioServerTransportProvider transportProvider = new StdioServerTransportProvider(McpJsonMapper.getDefault());
 
         // Initialize components
-        CacheManager cacheManager = new CacheManager(config);
+        this.cacheManager = new CacheManager(config);
+        this.mavenWorkerPool = config.getMavenDaemon() != null
+            ? new MavenWorkerPool(config.getMavenDaemon(), config.getMavenWorkerDirectory(),
+                config.getMavenWorkerCount(), config.getMavenWorkerMaxTasks(), config.getMavenWorkerMaxHeap())
+            : null;
+        MavenResolverFactory resolverFactory = new MavenResolverFactory(config, cacheManager, mavenWorkerPool);
+        MavenBuilder mavenBuilder = new MavenBuilder(mavenWorkerPool);
+        this.repositoryIndex = new LocalRepositoryIndex(resolverFactory.getLocalRepository());
+        SegmentStore segmentStore = new SegmentStore(config.getIndexCacheDirectory());
+        PackageMappingResolver packageResolver = new PackageMappingResolver(
+            segmentStore, new JdkClassIndex(segmentStore)
+        );
+        DependencyManager dependencyManager = new DependencyManager(mavenBuilder, repositoryIndex,
+            packageResolver.getClassLocator());
         ClassInspector inspector = new ClassInspector(
-            DecompilerFactory.createDecompiler(config.getDecompilerConfig())
+            DecompilerFactory.createDecompiler(config.getDecompilerConfig()),
+            config.getInspectionEngine(),
+            packageResolver.getClassLocator()
         );
-        MavenResolverFactory resolverFactory = new MavenResolverFactory(config);
-        MavenBuilder mavenBuilder = new MavenBuilder();
-        DependencyManager dependencyManager = new DependencyManager(mavenBuilder);
-        PackageMappingResolver packageResolver = new PackageMappingResolver();
 
         // Build the server
         InspectJavaClassHandler inspectHandler = new InspectJavaClassHandler(inspector, resolverFactory, cacheManager);
+        InspectJavaClassesHandler inspectBatchHandler = new InspectJavaClassesHandler(inspector, resolverFactory, cacheManager);
         ListClassFieldsHandler listFieldsHandler = new ListClassFieldsHandler(inspector, resolverFactory);
         ListModuleDependenciesHandler listDepsHandler = new ListModuleDependenciesHandler(resolverFactory);
         SearchJavaClassHandler searchClassHandler = new SearchJavaClassHandler(packageResolver, dependencyManager, resolverFactory);
+        SearchJavaMemberHandler searchMemberHandler = new SearchJavaMemberHandler(packageResolver, resolverFactory);
+        FindSubtypesHandler findSubtypesHandler = new FindSubtypesHandler(packageResolver, resolverFactory);
+        FindAnnotatedHandler findAnnotatedHandler = new FindAnnotatedHandler(packageResolver, resolverFactory);
         BuildModuleHandler buildModuleHandler = new BuildModuleHandler(mavenBuilder, dependencyManager, resolverFactory);
         
         this.mcpServer = McpServer.sync(transportProvider)
@@ -63,11 +89,15 @@ public class JavaClasspathServer {
             .capabilities(McpSchema.ServerCapabilities.builder()
                 .tools(true)
                 .build())
-            .instructions("This server provides tools for inspecting Java classes, listing class fields, listing Maven module dependencies, searching for classes, and building Maven modules. Use 'inspect_java_class' to inspect a Java class, 'list_class_fields' to list variables in a class with visibility filtering, 'list_module_dependencies' to list Maven dependencies, 'search_java_class' to search for classes across packages, and 'build_module' to build a Maven module. For JDK classes, please provide 'javaHome' if possible to get accurate @since information.")
+            .instructions("This server provides tools for inspecting Java classes, listing class fields, listing Maven module dependencies, searching for classes, and building Maven modules. Use 'inspect_java_class' to inspect a Java class, 'inspect_java_classes' to inspect several classes of one module in a single call, 'list_class_fields' to list variables in a class with visibility filtering, 'list_module_dependencies' to list Maven dependencies, 'search_java_class' to search for classes across packages, 'search_java_member' to find the classes declaring a method or field by name, 'find_subtypes' to list the classes extending or implementing a type, 'find_annotated' to list the classes and members carrying an annotation, and 'build_module' to build a Maven module. For JDK classes, please provide 'javaHome' if possible to get accurate @since information.")
             .toolCall(createInspectJavaClassTool(), (exchange, request) -> inspectHandler.handle(exchange, request))
+            .toolCall(createInspectJavaClassesTool(), (exchange, request) -> inspectBatchHandler.handle(exchange, request))
             .toolCall(createListClassFieldsTool(), (exchange, request) -> listFieldsHandler.handle(exchange, request))
             .toolCall(createListModuleDependenciesTool(), (exchange, request) -> listDepsHandler.handle(exchange, request))
             .toolCall(createSearchJavaClassTool(), (exchange, request) -> searchClassHandler.handle(exchange, request))
+            .toolCall(createSearchJavaMemberTool(), (exchange, request) -> searchMemberHandler.handle(exchange, request))
+            .toolCall(createFindSubtypesTool(), (exchange, request) -> findSubtypesHandler.handle(exchange, request))
+            .toolCall(createFindAnnotatedTool(), (exchange, request) -> findAnnotatedHandler.handle(exchange, request))
             .toolCall(createBuildModuleTool(), (exchange, request) -> buildModuleHandler.handle(exchange, request))
             .build();
 
@@ -110,6 +140,11 @@ public class JavaClasspathServer {
             "description", "Whether to bypass cache and re-inspect",
             "default", false
         ));
+        properties.put("engine", Map.of(
+            "type", "string",
+            "description", "How to read the class (optional, defaults to the server setting). 'bytecode' parses the class file without loading the class; 'reflection' loads it. Bytecode inspection falls back to reflection when the class file cannot be found.",
+            "enum", List.of("bytecode", "reflection")
+        ));
         
         return McpSchema.Tool.builder()
             .name("inspect_java_class")
@@ -125,6 +160,59 @@ public class JavaClasspathServer {
             .build();
     }
 
+    /**
+     * Create the inspect_java_classes tool definition
+     */
+    private McpSchema.Tool createInspectJavaClassesTool() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("classNames", Map.of(
+            "type", "array",
+            "description", "Fully qualified class names, at most 100",
+            "items", Map.of("type", "string")
+        ));
+        properties.put("pomFilePath", Map.of(
+            "type", "string",
+            "description", "Path to pom.xml file"
+        ));
+        properties.put("profiles", Map.of(
+            "type", "array",
+            "description", "Active Maven profiles",
+            "items", Map.of("type", "string")
+        ));
+        properties.put("javaHome", Map.of(
+            "type", "string",
+            "description", "Path to JDK home (optional). Used to extract @since info for JDK classes from src.zip."
+        ));
+        properties.put("detailLevel", Map.of(
+            "type", "string",
+            "description", "Level of detail",
+            "enum", List.of("skeleton", "basic", "full")
+        ));
+        properties.put("bypassCache", Map.of(
+            "type", "boolean",
+            "description", "Whether to bypass cache and re-inspect",
+            "default", false
+        ));
+        properties.put("engine", Map.of(
+            "type", "string",
+            "description", "How to read the classes (optional, defaults to the server setting): 'bytecode' or 'reflection'",
+            "enum", List.of("bytecode", "reflection")
+        ));
+
+        return McpSchema.Tool.builder()
+            .name("inspect_java_classes")
+            .description("Inspect several Java classes of one module in a single call. The module is resolved once and the classes are inspected in parallel; each result carries the class metadata, or an error for classes that were not found.")
+            .inputSchema(new McpSchema.JsonSchema(
+                "object",
+                properties,
+                List.of("classNames", "pomFilePath"),
+                false,
+                null,
+                null
+            ))
+            .build();
+    }
+
     /**
      * Create the list_class_fields tool definition
      */
@@ -208,6 +296,181 @@ public class JavaClasspathServer {
             .build();
     }
 
+    /**
+     * Create the search_java_member tool definition
+     */
+    private McpSchema.Tool createSearchJavaMemberTool() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("memberNamePattern", Map.of(
+            "type", "string",
+            "description", "Method or field name pattern (supports wildcards: *, ?)"
+        ));
+        properties.put("pomFilePath", Map.of(
+            "type", "string",
+            "description", "Path to pom.xml file"
+        ));
+        properties.put("profiles", Map.of(
+            "type", "array",
+            "description", "Active Maven profiles",
+            "items", Map.of("type", "string")
+        ));
+        properties.put("javaHome", Map.of(
+            "type", "string",
+            "description", "Path to JDK home (optional). JDK members are searched from its module image; defaults to the server's JDK."
+        ));
+        properties.put("memberKind", Map.of(
+            "type", "string",
+            "description", "Kind of member to search",
+            "enum", List.of("method", "field", "any"),
+            "default", "any"
+        ));
+        properties.put("searchType", Map.of(
+            "type", "string",
+            "description", "Search type: exact, prefix, suffix, contains, wildcard, "
+                + "camelcase (hump abbreviations such as nVTPTE, ranked by match quality), "
+                + "fuzzy (typo-tolerant, ranked by edit distance)",
+            "enum", List.of("exact", "prefix", "suffix", "contains", "wildcard", "camelcase", "fuzzy"),
+            "default", "wildcard"
+        ));
+        properties.put("limit", Map.of(
+            "type", "integer",
+            "description", "Maximum number of results to return per page",
+            "default", 50
+        ));
+        properties.put("maxDistance", Map.of(
+            "type", "integer",
+            "description", "Maximum edit distance for fuzzy search (0-3)",
+            "default", 2
+        ));
+        properties.put("cursor", Map.of(
+            "type", "string",
+            "description", "Pagination cursor from previous request"
+        ));
+
+        return McpSchema.Tool.builder()
+            .name("search_java_member")
+            .description("Find the classes declaring a method or field with a given name, across the module's "
+                + "classes, its dependencies and the JDK, with pagination. Non-private members only. Requires pomFilePath.")
+            .inputSchema(new McpSchema.JsonSchema(
+                "object",
+                properties,
+                List.of("memberNamePattern", "pomFilePath"),
+                false,
+                null,
+                null
+            ))
+            .build();
+    }
+
+    /**
+     * Create the find_subtypes tool definition
+     */
+    private McpSchema.Tool createFindSubtypesTool() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("typeName", Map.of(
+            "type", "string",
+            "description", "Class or interface whose subtypes to find: a fully-qualified name, "
+                + "or a simple name if it is unique on the classpath"
+        ));
+        properties.put("pomFilePath", Map.of(
+            "type", "string",
+            "description", "Path to pom.xml file"
+        ));
+        properties.put("profiles", Map.of(
+            "type", "array",
+            "description", "Active Maven profiles",
+            "items", Map.of("type", "string")
+        ));
+        properties.put("javaHome", Map.of(
+            "type", "string",
+            "description", "Path to JDK home (optional). JDK classes are read from its module image; defaults to the server's JDK."
+        ));
+        properties.put("transitive", Map.of(
+            "type", "boolean",
+            "description", "Include indirect subtypes, not only the classes directly extending or implementing the type",
+            "default", false
+        ));
+        properties.put("limit", Map.of(
+            "type", "integer",
+            "description", "Maximum number of results to return per page",
+            "default", 100
+        ));
+        properties.put("cursor", Map.of(
+            "type", "string",
+            "description", "Pagination cursor from previous request"
+        ));
+
+        return McpSchema.Tool.builder()
+            .name("find_subtypes")
+            .description("Find the classes and interfaces extending or implementing a type across the module's "
+                + "classes, its dependencies and the JDK, directly or transitively. Local and anonymous classes "
+                + "are not listed. Requires pomFilePath.")
+            .inputSchema(new McpSchema.JsonSchema(
+                "object",
+                properties,
+                List.of("typeName", "pomFilePath"),
+                false,
+                null,
+                null
+            ))
+            .build();
+    }
+
+    /**
+     * Create the find_annotated tool definition
+     */
+    private McpSchema.Tool createFindAnnotatedTool() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("annotationName", Map.of(
+            "type", "string",
+            "description", "Annotation type to look for: a fully-qualified name, "
+                + "or a simple name if it is unique on the classpath"
+        ));
+        properties.put("pomFilePath", Map.of(
+            "type", "string",
+            "description", "Path to pom.xml file"
+        ));
+        properties.put("profiles", Map.of(
+            "type", "array",
+            "description", "Active Maven profiles",
+            "items", Map.of("type", "string")
+        ));
+        properties.put("javaHome", Map.of(
+            "type", "string",
+            "description", "Path to JDK home (optional). JDK classes are read from its module image; defaults to the server's JDK."
+        ));
+        properties.put("target", Map.of(
+            "type", "string",
+            "description", "Kind of annotated element to return; constructors are methods named <init>",
+            "enum", List.of("class", "method", "field", "any"),
+            "default", "any"
+        ));
+        properties.put("limit", Map.of(
+            "type", "integer",
+            "description", "Maximum number of results to return per page",
+            "default", 100
+        ));
+        properties.put("cursor", Map.of(
+            "type", "string",
+            "description", "Pagination cursor from previous request"
+        ));
+
+        return McpSchema.Tool.builder()
+            .name("find_annotated")
+            .description("Find the classes, methods and fields carrying an annotation across the module's classes, "
+                + "its dependencies and the JDK, with pagination. Reads annotations from bytecode without loading "
+                + "classes; annotations with SOURCE retention are not recorded there. Requires pomFilePath.")
+            .inputSchema(new McpSchema.JsonSchema(
+                "object",
+                properties,
+                List.of("annotationName", "pomFilePath"),
+                false,
+                null,
+                null
+            ))
+            .build();
+    }
+
     /**
      * Create the search_java_class tool definition
      */
@@ -215,7 +478,7 @@ public class JavaClasspathServer {
         Map<String, Object> properties = new HashMap<>();
         properties.put("classNamePattern", Map.of(
             "type", "string",
-            "description", "Class name pattern (supports wildcards: *, ?)"
+            "description", "Class name pattern (supports wildcards: *, ?). Patterns containing a dot match fully-qualified names"
         ));
         properties.put("pomFilePath", Map.of(
             "type", "string",
@@ -230,10 +493,16 @@ public class JavaClasspathServer {
             "type", "string",
             "description", "Source file path for context (optional)"
         ));
+        properties.put("javaHome", Map.of(
+            "type", "string",
+            "description", "Path to JDK home (optional). JDK classes are searched from its module image; defaults to the server's JDK."
+        ));
         properties.put("searchType", Map.of(
             "type", "string",
-            "description", "Search type: exact, prefix, suffix, contains, wildcard",
-            "enum", List.of("exact", "prefix", "suffix", "contains", "wildcard"),
+            "description", "Search type: exact, prefix, suffix, contains, wildcard, "
+                + "camelcase (hump abbreviations such as CHM or ConcHaMap, ranked by match quality), "
+                + "fuzzy (typo-tolerant, ranked by edit distance)",
+            "enum", List.of("exact", "prefix", "suffix", "contains", "wildcard", "camelcase", "fuzzy"),
             "default", "wildcard"
         ));
         properties.put("limit", Map.of(
@@ -241,6 +510,11 @@ public class JavaClasspathServer {
             "description", "Maximum number of results to return per page",
             "default", 50
         ));
+        properties.put("maxDistance", Map.of(
+            "type", "integer",
+            "description", "Maximum edit distance for fuzzy search (0-3)",
+            "default", 2
+        ));
         properties.put("cursor", Map.of(
             "type", "string",
             "description", "Pagination cursor from previous request"
@@ -320,6 +594,10 @@ public class JavaClasspathServer {
         Thread shutdownHook = new Thread(() -> {
             logger.info("Shutting down MCP Server...");
             mcpServer.close();
+            cacheManager.close();
+            if (mavenWorkerPool != null) {
+                mavenWorkerPool.close();
+            }
         });
         Runtime.getRuntime().addShutdownHook(shutdownHook);
     }
@@ -132,6 +132,11 @@ public class BuildModuleHandler {
             // Execute build
             MavenBuilder.BuildResult result = mavenBuilder.buildModule(context, finalGoals, List.of(), timeoutSeconds);
 
+            // A build can download dependencies and change the module's classpath
+            if (result.isSuccess()) {
+                resolverFactory.invalidateModule(pomFile);
+            }
+
             // Build response
             return buildBuildResponse(result, context);
 
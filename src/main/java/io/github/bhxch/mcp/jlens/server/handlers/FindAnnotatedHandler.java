@@ -0,0 +1,226 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Handler for find_annotated tool
+ */
+public class FindAnnotatedHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FindAnnotatedHandler.class);
+
+    private static final List<String> TARGETS = List.of("class", "method", "field");
+
+    private final PackageMappingResolver packageResolver;
+    private final MavenResolverFactory resolverFactory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FindAnnotatedHandler(PackageMappingResolver packageResolver,
+                                MavenResolverFactory resolverFactory) {
+        this.packageResolver = packageResolver;
+        this.resolverFactory = resolverFactory;
+    }
+
+    /**
+     * Handle the find_annotated tool call
+     */
+    public CallToolResult handle(McpSyncServerExchange exchange, CallToolRequest request) {
+        try {
+            // Extract parameters
+            String annotationName = null;
+            String pomFilePath = null;
+            List<String> profiles = List.of();
+            String javaHomePath = null;
+            String target = null;
+            int limit = 100;
+            String cursor = null;
+
+            if (request.arguments() != null) {
+                var args = request.arguments();
+                if (args.get("annotationName") != null) {
+                    annotationName = args.get("annotationName").toString().trim();
+                    if (annotationName.startsWith("@")) {
+                        annotationName = annotationName.substring(1);
+                    }
+                }
+                if (args.get("pomFilePath") != null) {
+                    pomFilePath = args.get("pomFilePath").toString();
+                }
+                Object profilesValue = args.get("profiles");
+                if (profilesValue instanceof List) {
+                    profiles = (List<String>) profilesValue;
+                } else if (profilesValue != null) {
+                    profiles = List.of(profilesValue.toString());
+                }
+                if (args.get("javaHome") != null) {
+                    javaHomePath = args.get("javaHome").toString();
+                }
+                if (args.get("target") != null) {
+                    target = args.get("target").toString();
+                }
+                if (args.get("limit") != null) {
+                    try {
+                        limit = Integer.parseInt(args.get("limit").toString());
+                    } catch (NumberFormatException e) {
+                        // Use default
+                    }
+                }
+                if (args.get("cursor") != null) {
+                    cursor = args.get("cursor").toString();
+                }
+            }
+
+            // Validate required parameters
+            if (annotationName == null || annotationName.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: annotationName is required");
+            }
+            if (pomFilePath == null || pomFilePath.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: pomFilePath is required");
+            }
+            if ("any".equals(target)) {
+                target = null;
+            }
+            if (target != null && !TARGETS.contains(target)) {
+                return errorResult("INVALID_ARGUMENTS", "Error: target must be class, method, field or any");
+            }
+
+            // Resolve module context
+            Path pomFile = Paths.get(pomFilePath);
+            if (!Files.exists(pomFile)) {
+                return errorResult("NOT_FOUND", "Error: pom.xml not found at " + pomFilePath);
+            }
+            MavenResolver resolver = resolverFactory.createResolver();
+            ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, profiles);
+
+            Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
+            ClassIndexSnapshot snapshot = packageResolver.buildClassIndex(context, javaHome);
+
+            List<String> candidates = snapshot.resolveTypeName(annotationName);
+            if (candidates.isEmpty()) {
+                return errorResult("CLASS_NOT_FOUND", "Error: no annotation named " + annotationName + " on the classpath");
+            }
+            if (candidates.size() > 1) {
+                return errorResult("INVALID_ARGUMENTS", "Error: " + annotationName
+                    + " is ambiguous, use one of: " + String.join(", ", candidates));
+            }
+
+            return findAnnotated(snapshot, candidates.get(0), target, limit, cursor);
+
+        } catch (Exception e) {
+            logger.error("Error finding annotated elements", e);
+            return errorResult("INTERNAL_ERROR", "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Find one page of annotated classes and members; the cursor records the last returned
+     * element and the snapshot version
+     */
+    private CallToolResult findAnnotated(ClassIndexSnapshot snapshot, String annotationName, String target,
+                                         int limit, String cursor) {
+        AnnotationMatch after = null;
+        boolean snapshotChanged = false;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                JsonNode cursorNode = objectMapper.readTree(new String(Base64.getDecoder().decode(cursor)));
+                if (annotationName.equals(cursorNode.path("annotationName").asText())
+                        && String.valueOf(target).equals(cursorNode.path("target").asText())) {
+                    JsonNode memberName = cursorNode.get("memberName");
+                    after = new AnnotationMatch(cursorNode.get("package").asText(),
+                        cursorNode.get("simpleName").asText(),
+                        memberName != null && !memberName.isNull() ? memberName.asText() : null,
+                        cursorNode.path("field").asBoolean(), null);
+                    snapshotChanged = cursorNode.path("snapshotVersion").asLong() != snapshot.getVersion();
+                } else {
+                    logger.warn("Cursor belongs to another search, starting from the first page");
+                }
+            } catch (Exception e) {
+                logger.warn("Invalid cursor: {}", cursor);
+            }
+        }
+
+        AnnotationSearchPage page = packageResolver.findAnnotated(snapshot, annotationName, target, after, limit);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("annotationName", annotationName);
+        ArrayNode resultsArray = objectMapper.createArrayNode();
+        for (AnnotationMatch match : page.getMatches()) {
+            ObjectNode resultNode = objectMapper.createObjectNode();
+            resultNode.put("target", match.getTarget());
+            resultNode.put("className", match.getClassName());
+            if (match.getMemberName() != null) {
+                resultNode.put("memberName", match.getMemberName());
+            }
+            if (match.isConstructor()) {
+                resultNode.put("constructor", true);
+            }
+            resultNode.put("package", match.getPackageName());
+            resultNode.put("dependency", match.getDependency());
+            resultsArray.add(resultNode);
+        }
+        response.set("results", resultsArray);
+        response.put("totalResults", page.getTotalResults());
+        if (snapshotChanged) {
+            // The index changed since the previous page; paging continues after the last element seen
+            response.put("snapshotChanged", true);
+        }
+
+        if (page.hasMore() && !page.getMatches().isEmpty()) {
+            AnnotationMatch last = page.getMatches().get(page.getMatches().size() - 1);
+            ObjectNode nextCursorNode = objectMapper.createObjectNode();
+            nextCursorNode.put("annotationName", annotationName);
+            nextCursorNode.put("target", String.valueOf(target));
+            nextCursorNode.put("package", last.getPackageName());
+            nextCursorNode.put("simpleName", last.getSimpleName());
+            nextCursorNode.put("memberName", last.getMemberName());
+            nextCursorNode.put("field", last.isField());
+            nextCursorNode.put("snapshotVersion", page.getSnapshotVersion());
+            response.put("nextCursor", Base64.getEncoder().encodeToString(nextCursorNode.toString().getBytes()));
+            response.put("hasMore", true);
+        } else {
+            response.put("hasMore", false);
+        }
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(response.toPrettyString())))
+            .isError(false)
+            .build();
+    }
+
+    /**
+     * Helper to create an error result
+     */
+    private CallToolResult errorResult(String code, String message) {
+        ObjectNode errorNode = objectMapper.createObjectNode();
+        errorNode.put("code", code);
+        errorNode.put("message", message);
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(errorNode.toPrettyString())))
+            .isError(true)
+            .build();
+    }
+}
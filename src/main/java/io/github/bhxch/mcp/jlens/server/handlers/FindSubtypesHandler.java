@@ -0,0 +1,212 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeSearchPage;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Handler for find_subtypes tool
+ */
+public class FindSubtypesHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FindSubtypesHandler.class);
+
+    private final PackageMappingResolver packageResolver;
+    private final MavenResolverFactory resolverFactory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FindSubtypesHandler(PackageMappingResolver packageResolver,
+                               MavenResolverFactory resolverFactory) {
+        this.packageResolver = packageResolver;
+        this.resolverFactory = resolverFactory;
+    }
+
+    /**
+     * Handle the find_subtypes tool call
+     */
+    public CallToolResult handle(McpSyncServerExchange exchange, CallToolRequest request) {
+        try {
+            // Extract parameters
+            String typeName = null;
+            String pomFilePath = null;
+            List<String> profiles = List.of();
+            String javaHomePath = null;
+            boolean transitive = false;
+            int limit = 100;
+            String cursor = null;
+
+            if (request.arguments() != null) {
+                var args = request.arguments();
+                if (args.get("typeName") != null) {
+                    typeName = args.get("typeName").toString().trim();
+                }
+                if (args.get("pomFilePath") != null) {
+                    pomFilePath = args.get("pomFilePath").toString();
+                }
+                Object profilesValue = args.get("profiles");
+                if (profilesValue instanceof List) {
+                    profiles = (List<String>) profilesValue;
+                } else if (profilesValue != null) {
+                    profiles = List.of(profilesValue.toString());
+                }
+                if (args.get("javaHome") != null) {
+                    javaHomePath = args.get("javaHome").toString();
+                }
+                if (args.get("transitive") != null) {
+                    transitive = Boolean.parseBoolean(args.get("transitive").toString());
+                }
+                if (args.get("limit") != null) {
+                    try {
+                        limit = Integer.parseInt(args.get("limit").toString());
+                    } catch (NumberFormatException e) {
+                        // Use default
+                    }
+                }
+                if (args.get("cursor") != null) {
+                    cursor = args.get("cursor").toString();
+                }
+            }
+
+            // Validate required parameters
+            if (typeName == null || typeName.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: typeName is required");
+            }
+            if (pomFilePath == null || pomFilePath.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: pomFilePath is required");
+            }
+            if (typeName.equals("java.lang.Object") || typeName.equals("Object")) {
+                return errorResult("INVALID_ARGUMENTS", "Error: every class extends java.lang.Object");
+            }
+
+            // Resolve module context
+            Path pomFile = Paths.get(pomFilePath);
+            if (!Files.exists(pomFile)) {
+                return errorResult("NOT_FOUND", "Error: pom.xml not found at " + pomFilePath);
+            }
+            MavenResolver resolver = resolverFactory.createResolver();
+            ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, profiles);
+
+            Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
+            ClassIndexSnapshot snapshot = packageResolver.buildClassIndex(context, javaHome);
+
+            List<String> candidates = snapshot.resolveTypeName(typeName);
+            if (candidates.isEmpty()) {
+                return errorResult("CLASS_NOT_FOUND", "Error: no class named " + typeName + " on the classpath");
+            }
+            if (candidates.size() > 1) {
+                return errorResult("INVALID_ARGUMENTS", "Error: " + typeName
+                    + " is ambiguous, use one of: " + String.join(", ", candidates));
+            }
+
+            return findSubtypes(snapshot, candidates.get(0), transitive, limit, cursor);
+
+        } catch (Exception e) {
+            logger.error("Error finding subtypes", e);
+            return errorResult("INTERNAL_ERROR", "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Find one page of subtypes; the cursor records the last returned subtype and the
+     * snapshot version
+     */
+    private CallToolResult findSubtypes(ClassIndexSnapshot snapshot, String typeName, boolean transitive,
+                                        int limit, String cursor) {
+        SubtypeMatch after = null;
+        boolean snapshotChanged = false;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                JsonNode cursorNode = objectMapper.readTree(new String(Base64.getDecoder().decode(cursor)));
+                if (typeName.equals(cursorNode.path("typeName").asText())
+                        && transitive == cursorNode.path("transitive").asBoolean()) {
+                    after = new SubtypeMatch(cursorNode.get("package").asText(),
+                        cursorNode.get("simpleName").asText(), null, false,
+                        cursorNode.get("depth").asInt(), null);
+                    snapshotChanged = cursorNode.path("snapshotVersion").asLong() != snapshot.getVersion();
+                } else {
+                    logger.warn("Cursor belongs to another search, starting from the first page");
+                }
+            } catch (Exception e) {
+                logger.warn("Invalid cursor: {}", cursor);
+            }
+        }
+
+        SubtypeSearchPage page = packageResolver.findSubtypes(snapshot, typeName, transitive, after, limit);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("typeName", typeName);
+        ArrayNode resultsArray = objectMapper.createArrayNode();
+        for (SubtypeMatch match : page.getMatches()) {
+            ObjectNode resultNode = objectMapper.createObjectNode();
+            resultNode.put("className", match.getClassName());
+            resultNode.put("simpleName", match.getSimpleName());
+            resultNode.put("package", match.getPackageName());
+            resultNode.put("kind", match.getKind());
+            resultNode.put("dependency", match.getDependency());
+            resultNode.put("depth", match.getDepth());
+            resultNode.put("supertype", match.getSupertype());
+            resultsArray.add(resultNode);
+        }
+        response.set("results", resultsArray);
+        response.put("totalResults", page.getTotalResults());
+        if (snapshotChanged) {
+            // The index changed since the previous page; paging continues after the last subtype seen
+            response.put("snapshotChanged", true);
+        }
+
+        if (page.hasMore() && !page.getMatches().isEmpty()) {
+            SubtypeMatch last = page.getMatches().get(page.getMatches().size() - 1);
+            ObjectNode nextCursorNode = objectMapper.createObjectNode();
+            nextCursorNode.put("typeName", typeName);
+            nextCursorNode.put("transitive", transitive);
+            nextCursorNode.put("package", last.getPackageName());
+            nextCursorNode.put("simpleName", last.getSimpleName());
+            nextCursorNode.put("depth", last.getDepth());
+            nextCursorNode.put("snapshotVersion", page.getSnapshotVersion());
+            response.put("nextCursor", Base64.getEncoder().encodeToString(nextCursorNode.toString().getBytes()));
+            response.put("hasMore", true);
+        } else {
+            response.put("hasMore", false);
+        }
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(response.toPrettyString())))
+            .isError(false)
+            .build();
+    }
+
+    /**
+     * Helper to create an error result
+     */
+    private CallToolResult errorResult(String code, String message) {
+        ObjectNode errorNode = objectMapper.createObjectNode();
+        errorNode.put("code", code);
+        errorNode.put("message", message);
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(errorNode.toPrettyString())))
+            .isError(true)
+            .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.bhxch.mcp.jlens.cache.CacheManager;
 import io.github.bhxch.mcp.jlens.inspector.ClassInspector;
+import io.github.bhxch.mcp.jlens.inspector.InspectionEngine;
 import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import io.github.bhxch.mcp.jlens.maven.model.Scope;
@@ -56,6 +57,7 @@ public class InspectJavaClassHandler {
             String pomFilePath = null;
             List<String> profiles = List.of();
             boolean bypassCache = false;
+            String engineStr = null;
             
             if (request.arguments() != null) {
                 var args = request.arguments();
@@ -111,6 +113,13 @@ public class InspectJavaClassHandler {
                         bypassCache = Boolean.parseBoolean(value.toString());
                     }
                 }
+
+                if (args.containsKey("engine")) {
+                    Object value = args.get("engine");
+                    if (value != null) {
+                        engineStr = value.toString();
+                    }
+                }
             }
 
             // Validate required parameters
@@ -123,6 +132,7 @@ public class InspectJavaClassHandler {
 
             // Parse detail level
             ParallelProcessor.DetailLevel detailLevel = parseDetailLevel(detailLevelStr);
+            InspectionEngine engine = InspectionEngine.parse(engineStr, inspector.getDefaultEngine());
 
             // Resolve module context
             ModuleContext context = null;
@@ -134,35 +144,18 @@ public class InspectJavaClassHandler {
                 return errorResult("NOT_FOUND", "Error: pom.xml not found at " + pomFilePath);
             }
 
-            // Check Cache
-            ClassMetadata metadata = null;
-            if (!bypassCache) {
-                if (context != null) {
-                    metadata = cacheManager.getClassMetadataIfPresent("gav:" + context.getCoordinates() + ":" + className);
-                } else {
-                    metadata = cacheManager.getClassMetadataIfPresent("cp:default:" + className);
-                }
-            }
-
-            if (metadata == null) {
-                // Get ClassLoader
-                ClassLoader classLoader = cacheManager.getClassLoaderManager().getClassLoader(context);
-                
-                // Prepare javaHome path
-                Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
-
-                // Inspect the class
-                metadata = inspector.inspect(className, context, detailLevel, null, classLoader, javaHome);
-                
-                // Put in cache if successful
-                if ("SUCCESS".equals(metadata.getStatus())) {
-                    if (context != null) {
-                        cacheManager.putClassMetadata("gav:" + context.getCoordinates() + ":" + className, metadata);
-                    } else {
-                        cacheManager.putClassMetadata("cp:default:" + className, metadata);
-                    }
-                }
-            }
+            // Prepare javaHome path
+            Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
+
+            // Inspect at full detail once per class, serving every detail level from the cache
+            ModuleContext module = context;
+            String name = className;
+            ClassMetadata metadata = cacheManager.getClassMetadata(context, className, javaHome, engine, detailLevel,
+                bypassCache, () -> {
+                    ClassLoader classLoader = cacheManager.getClassLoaderManager().getClassLoader(module);
+                    return inspector.inspect(name, module, ParallelProcessor.DetailLevel.FULL, null,
+                        classLoader, javaHome, engine);
+                });
 
             // Return the result as JSON
             return CallToolResult.builder()
@@ -0,0 +1,230 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.bhxch.mcp.jlens.cache.CacheManager;
+import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor;
+import io.github.bhxch.mcp.jlens.inspector.ClassInspector;
+import io.github.bhxch.mcp.jlens.inspector.InspectionEngine;
+import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Handler for inspect_java_classes tool: inspects a batch of classes of one module, resolving
+ * the module once and inspecting the classes in parallel
+ */
+public class InspectJavaClassesHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InspectJavaClassesHandler.class);
+
+    /**
+     * Most classes accepted in one call
+     */
+    static final int MAX_CLASSES = 100;
+
+    private final ClassInspector inspector;
+    private final MavenResolverFactory resolverFactory;
+    private final CacheManager cacheManager;
+    private final int maxConcurrency;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public InspectJavaClassesHandler(ClassInspector inspector,
+                                     MavenResolverFactory resolverFactory,
+                                     CacheManager cacheManager) {
+        this(inspector, resolverFactory, cacheManager, ParallelProcessor.DEFAULT_INSPECTION_CONCURRENCY);
+    }
+
+    public InspectJavaClassesHandler(ClassInspector inspector,
+                                     MavenResolverFactory resolverFactory,
+                                     CacheManager cacheManager,
+                                     int maxConcurrency) {
+        this.inspector = inspector;
+        this.resolverFactory = resolverFactory;
+        this.cacheManager = cacheManager;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Handle the inspect_java_classes tool call
+     */
+    public CallToolResult handle(McpSyncServerExchange exchange, CallToolRequest request) {
+        try {
+            // Extract parameters
+            Set<String> classNames = new LinkedHashSet<>();
+            String detailLevelStr = "basic";
+            String javaHomePath = null;
+            String pomFilePath = null;
+            List<String> profiles = List.of();
+            boolean bypassCache = false;
+            String engineStr = null;
+
+            if (request.arguments() != null) {
+                var args = request.arguments();
+                Object classNamesValue = args.get("classNames");
+                if (classNamesValue instanceof List<?> list) {
+                    for (Object value : list) {
+                        if (value != null && !value.toString().isBlank()) {
+                            classNames.add(value.toString().trim());
+                        }
+                    }
+                } else if (classNamesValue != null) {
+                    for (String value : classNamesValue.toString().split(",")) {
+                        if (!value.isBlank()) {
+                            classNames.add(value.trim());
+                        }
+                    }
+                }
+                if (args.get("detailLevel") != null) {
+                    detailLevelStr = args.get("detailLevel").toString();
+                }
+                if (args.get("javaHome") != null) {
+                    javaHomePath = args.get("javaHome").toString();
+                }
+                if (args.get("pomFilePath") != null) {
+                    pomFilePath = args.get("pomFilePath").toString();
+                }
+                Object profilesValue = args.get("profiles");
+                if (profilesValue instanceof List) {
+                    profiles = (List<String>) profilesValue;
+                } else if (profilesValue != null) {
+                    profiles = List.of(profilesValue.toString());
+                }
+                Object bypassCacheValue = args.get("bypassCache");
+                if (bypassCacheValue instanceof Boolean) {
+                    bypassCache = (Boolean) bypassCacheValue;
+                } else if (bypassCacheValue != null) {
+                    bypassCache = Boolean.parseBoolean(bypassCacheValue.toString());
+                }
+                if (args.get("engine") != null) {
+                    engineStr = args.get("engine").toString();
+                }
+            }
+
+            // Validate required parameters
+            if (classNames.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: classNames is required");
+            }
+            if (classNames.size() > MAX_CLASSES) {
+                return errorResult("INVALID_ARGUMENTS",
+                    "Error: at most " + MAX_CLASSES + " classes can be inspected in one call, got " + classNames.size());
+            }
+            if (pomFilePath == null || pomFilePath.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: pomFilePath is required");
+            }
+
+            ParallelProcessor.DetailLevel detailLevel = parseDetailLevel(detailLevelStr);
+            InspectionEngine engine = InspectionEngine.parse(engineStr, inspector.getDefaultEngine());
+
+            // Resolve module context once for the whole batch
+            Path pomFile = Paths.get(pomFilePath);
+            if (!Files.exists(pomFile)) {
+                return errorResult("NOT_FOUND", "Error: pom.xml not found at " + pomFilePath);
+            }
+            MavenResolver resolver = resolverFactory.createResolver();
+            ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, profiles);
+
+            ClassLoader classLoader = cacheManager.getClassLoaderManager().getClassLoader(context);
+            Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
+            boolean bypass = bypassCache;
+
+            // Classes are inspected at full detail and cached once, then projected to the requested level
+            List<ClassMetadata> results = ParallelProcessor.inspectClassesInParallel(
+                new ArrayList<>(classNames), maxConcurrency, className ->
+                    cacheManager.getClassMetadata(context, className, javaHome, engine, detailLevel, bypass,
+                        () -> inspector.inspect(className, context, ParallelProcessor.DetailLevel.FULL, null,
+                            classLoader, javaHome, engine)));
+
+            return batchResult(results);
+
+        } catch (Exception e) {
+            logger.error("Error inspecting classes", e);
+            return errorResult("INTERNAL_ERROR", "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One response holding every class's metadata; classes that were not found or failed to
+     * be inspected carry an error instead of failing the call
+     */
+    private CallToolResult batchResult(List<ClassMetadata> results) {
+        ArrayNode resultsArray = objectMapper.createArrayNode();
+        int failed = 0;
+        for (ClassMetadata metadata : results) {
+            ObjectNode resultNode;
+            switch (metadata.getStatus()) {
+                case "NOT_FOUND" -> {
+                    resultNode = objectMapper.valueToTree(metadata);
+                    resultNode.set("error", error("CLASS_NOT_FOUND",
+                        "Class '" + metadata.getClassName() + "' not found on the module classpath"));
+                    failed++;
+                }
+                case "ERROR" -> {
+                    resultNode = objectMapper.createObjectNode();
+                    resultNode.put("className", metadata.getClassName());
+                    resultNode.put("status", "ERROR");
+                    resultNode.set("error", error("INTERNAL_ERROR", metadata.getSuggestion()));
+                    failed++;
+                }
+                default -> resultNode = objectMapper.valueToTree(metadata);
+            }
+            resultsArray.add(resultNode);
+        }
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.set("results", resultsArray);
+        response.put("totalClasses", results.size());
+        response.put("succeeded", results.size() - failed);
+        response.put("failed", failed);
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(response.toPrettyString())))
+            .isError(false)
+            .build();
+    }
+
+    private ObjectNode error(String code, String message) {
+        ObjectNode errorNode = objectMapper.createObjectNode();
+        errorNode.put("code", code);
+        errorNode.put("message", message);
+        return errorNode;
+    }
+
+    /**
+     * Parse detail level string to enum
+     */
+    private ParallelProcessor.DetailLevel parseDetailLevel(String detailLevelStr) {
+        try {
+            return ParallelProcessor.DetailLevel.valueOf(detailLevelStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ParallelProcessor.DetailLevel.BASIC;
+        }
+    }
+
+    /**
+     * Helper to create an error result
+     */
+    private CallToolResult errorResult(String code, String message) {
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(error(code, message).toPrettyString())))
+            .isError(true)
+            .build();
+    }
+}
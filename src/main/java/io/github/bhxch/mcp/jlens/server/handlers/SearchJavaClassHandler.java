@@ -5,6 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntry;
 import io.github.bhxch.mcp.jlens.dependency.DependencyManager;
 import io.github.bhxch.mcp.jlens.intelligence.BuildPromptGenerator;
 import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
@@ -24,7 +30,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Comparator;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -36,6 +41,8 @@ public class SearchJavaClassHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchJavaClassHandler.class);
 
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("[\\w$]+(\\.[\\w$]+)+");
+
     private final PackageMappingResolver packageResolver;
     private final DependencyManager dependencyManager;
     private final MavenResolverFactory resolverFactory;
@@ -59,8 +66,10 @@ public class SearchJavaClassHandler {
             String sourceFilePath = null;
             String pomFilePath = null;
             List<String> profiles = List.of();
+            String javaHomePath = null;
             String searchType = "wildcard";
             int limit = 50;
+            int maxDistance = ClassNameQuery.DEFAULT_MAX_DISTANCE;
             String cursor = null;
             
             if (request.arguments() != null) {
@@ -95,6 +104,13 @@ public class SearchJavaClassHandler {
                     }
                 }
                 
+                if (args.containsKey("javaHome")) {
+                    Object value = args.get("javaHome");
+                    if (value != null) {
+                        javaHomePath = value.toString();
+                    }
+                }
+
                 if (args.containsKey("searchType")) {
                     Object value = args.get("searchType");
                     if (value != null) {
@@ -113,6 +129,17 @@ public class SearchJavaClassHandler {
                     }
                 }
 
+                if (args.containsKey("maxDistance")) {
+                    Object value = args.get("maxDistance");
+                    if (value != null) {
+                        try {
+                            maxDistance = Integer.parseInt(value.toString());
+                        } catch (NumberFormatException e) {
+                            // Use default
+                        }
+                    }
+                }
+
                 if (args.containsKey("cursor")) {
                     Object value = args.get("cursor");
                     if (value != null) {
@@ -139,16 +166,22 @@ public class SearchJavaClassHandler {
                 return errorResult("NOT_FOUND", "Error: pom.xml not found at " + pomFilePath);
             }
 
-            // Build class index if not already built
+            // Build class index if not already built, including the target JDK's classes
+            Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
+            ClassIndexSnapshot snapshot;
             if (context != null) {
-                packageResolver.buildClassIndex(context);
+                snapshot = packageResolver.buildClassIndex(context, javaHome);
             } else {
-                // If no context provided, build index from system classpath
-                buildDefaultClassIndex();
+                // If no context provided, search the JDK alone
+                snapshot = packageResolver.buildJdkClassIndex(javaHome);
             }
 
             // Search for classes
-            SearchResultContainer searchResults = searchClasses(classNamePattern, searchType, limit, cursor);
+            ClassNameQuery query = ClassNameQuery.of(classNamePattern, searchType).withMaxDistance(maxDistance);
+            if (query.isFuzzy() && context != null) {
+                query.withPreferredDependencies(ClasspathEntry.declaredLabels(context));
+            }
+            SearchResultContainer searchResults = searchClasses(snapshot, query, limit, cursor);
 
             // Check for missing dependencies
             List<DependencyInfo> missingDeps = List.of();
@@ -156,8 +189,16 @@ public class SearchJavaClassHandler {
                 missingDeps = dependencyManager.findMissingDependencies(context);
             }
 
+            // A qualified name missing from the module may be provided by a JAR another module uses
+            List<Path> providers = List.of();
+            ClassLocator classLocator = packageResolver.getClassLocator();
+            if (searchResults.results.isEmpty() && cursor == null && classLocator != null
+                    && QUALIFIED_NAME.matcher(classNamePattern).matches()) {
+                providers = classLocator.locate(classNamePattern);
+            }
+
             // Build response
-            return buildSearchResponse(searchResults, missingDeps, context, classNamePattern);
+            return buildSearchResponse(searchResults, missingDeps, providers, context, classNamePattern);
 
         } catch (Exception e) {
             logger.error("Error searching for classes", e);
@@ -180,92 +221,66 @@ public class SearchJavaClassHandler {
     }
 
     /**
-     * Search for classes based on pattern with pagination
+     * Search for classes based on pattern with pagination. The cursor records the last
+     * returned class and the snapshot version, so the next page seeks straight to its start
+     * instead of re-reading every earlier match.
      */
-    private SearchResultContainer searchClasses(String pattern, String searchType, int limit, String cursor) {
-        Pattern regexPattern = convertToRegex(pattern, searchType);
-        List<ClassSearchResult> allMatches = new ArrayList<>();
-
-        // Search in indexed classes
-        for (var entry : packageResolver.getClassToPackages().entrySet()) {
-            String className = entry.getKey();
-            if (regexPattern.matcher(className).matches()) {
-                for (String packageName : entry.getValue()) {
-                    ClassSearchResult result = new ClassSearchResult();
-                    result.setClassName(packageName + "." + className);
-                    result.setSimpleClassName(className);
-                    result.setPackageName(packageName);
-                    result.setDependency(packageResolver.getDependencyForPackage(packageName));
-                    result.setInClasspath(true);
-                    
-                    allMatches.add(result);
-                }
-            }
-        }
-
-        // Sort results for stable pagination
-        allMatches.sort(Comparator.comparing(ClassSearchResult::getClassName));
-
-        int startIndex = 0;
+    private SearchResultContainer searchClasses(ClassIndexSnapshot snapshot, ClassNameQuery query,
+                                                int limit, String cursor) {
+        ClassMatch after = null;
+        boolean snapshotChanged = false;
         if (cursor != null && !cursor.isEmpty()) {
             try {
                 String decodedCursor = new String(Base64.getDecoder().decode(cursor));
                 JsonNode cursorNode = objectMapper.readTree(decodedCursor);
-                String lastClassName = cursorNode.get("lastClassName").asText();
-                
-                for (int i = 0; i < allMatches.size(); i++) {
-                    if (allMatches.get(i).getClassName().equals(lastClassName)) {
-                        startIndex = i + 1;
-                        break;
-                    }
+                if (cursorNode.has("lastClassName")) {
+                    // Cursor issued before seek positions were recorded
+                    String lastClassName = cursorNode.get("lastClassName").asText();
+                    int lastDot = lastClassName.lastIndexOf('.');
+                    after = new ClassMatch(lastClassName.substring(0, Math.max(lastDot, 0)),
+                        lastClassName.substring(lastDot + 1), null);
+                } else if (query.getPattern().equals(cursorNode.path("pattern").asText())
+                        && query.getSearchType().equals(cursorNode.path("searchType").asText())) {
+                    after = new ClassMatch(cursorNode.get("package").asText(),
+                        cursorNode.get("simpleName").asText(), null, cursorNode.path("score").asInt());
+                    snapshotChanged = cursorNode.path("snapshotVersion").asLong() != snapshot.getVersion();
+                } else {
+                    logger.warn("Cursor belongs to another search, starting from the first page");
                 }
             } catch (Exception e) {
                 logger.warn("Invalid cursor: {}", cursor);
             }
         }
 
-        int endIndex = Math.min(startIndex + limit, allMatches.size());
-        List<ClassSearchResult> pagedResults = allMatches.subList(startIndex, endIndex);
-        
+        // Matches come back from the module's index snapshot already ordered and deduplicated
+        ClassSearchPage page = snapshot.search(query, after, limit);
+        List<ClassSearchResult> pagedResults = new ArrayList<>(page.getMatches().size());
+        for (ClassMatch match : page.getMatches()) {
+            ClassSearchResult result = new ClassSearchResult();
+            result.setClassName(match.getClassName());
+            result.setSimpleClassName(match.getSimpleName());
+            result.setPackageName(match.getPackageName());
+            result.setDependency(match.getDependency());
+            result.setInClasspath(true);
+
+            pagedResults.add(result);
+        }
+
         String nextCursor = null;
-        if (endIndex < allMatches.size()) {
+        if (page.hasMore() && !page.getMatches().isEmpty()) {
+            ClassMatch last = page.getMatches().get(page.getMatches().size() - 1);
             ObjectNode nextCursorNode = objectMapper.createObjectNode();
-            nextCursorNode.put("lastClassName", pagedResults.get(pagedResults.size() - 1).getClassName());
+            nextCursorNode.put("pattern", query.getPattern());
+            nextCursorNode.put("searchType", query.getSearchType());
+            nextCursorNode.put("package", last.getPackageName());
+            nextCursorNode.put("simpleName", last.getSimpleName());
+            nextCursorNode.put("score", last.getScore());
+            nextCursorNode.put("snapshotVersion", page.getSnapshotVersion());
             nextCursor = Base64.getEncoder().encodeToString(nextCursorNode.toString().getBytes());
         }
 
-        return new SearchResultContainer(pagedResults, allMatches.size(), nextCursor);
-    }
-
-    /**
-     * Convert search pattern to regex
-     */
-    private Pattern convertToRegex(String pattern, String searchType) {
-        String regex;
-        
-        switch (searchType.toLowerCase()) {
-            case "exact":
-                regex = Pattern.quote(pattern);
-                break;
-            case "prefix":
-                regex = Pattern.quote(pattern) + ".*";
-                break;
-            case "suffix":
-                regex = ".*" + Pattern.quote(pattern);
-                break;
-            case "contains":
-                regex = ".*" + Pattern.quote(pattern) + ".*";
-                break;
-            case "wildcard":
-            default:
-                // Convert * and ? to regex
-                regex = pattern.replace(".", "\\.")
-                              .replace("*", ".*")
-                              .replace("?", ".");
-                break;
-        }
-        
-        return Pattern.compile(regex);
+        return new SearchResultContainer(pagedResults, page.getTotalResults(), page.isTotalEstimated(),
+            nextCursor, snapshotChanged);
     }
 
     /**
@@ -273,6 +288,7 @@ public class SearchJavaClassHandler {
      */
     private CallToolResult buildSearchResponse(SearchResultContainer container, 
                                                List<DependencyInfo> missingDeps,
+                                               List<Path> providers,
                                                ModuleContext context,
                                                String pattern) {
         ObjectNode response = objectMapper.createObjectNode();
@@ -291,6 +307,11 @@ public class SearchJavaClassHandler {
 
         response.set("results", resultsArray);
         response.put("totalResults", container.totalCount);
+        response.put("totalResultsEstimated", container.totalEstimated);
+        if (container.snapshotChanged) {
+            // The index changed since the previous page; paging continues after the last class seen
+            response.put("snapshotChanged", true);
+        }
         if (container.nextCursor != null) {
             response.put("nextCursor", container.nextCursor);
             response.put("hasMore", true);
@@ -298,14 +319,31 @@ public class SearchJavaClassHandler {
             response.put("hasMore", false);
         }
 
-        // Add suggestions if dependencies are missing
+        // Add suggestions if dependencies are missing or the class comes from a JAR the module lacks
+        BuildPromptGenerator generator = new BuildPromptGenerator();
+        List<String> providerLabels = providers.stream().map(ClasspathEntry::labelForJar).distinct().toList();
+        if (!providers.isEmpty()) {
+            ArrayNode providersArray = objectMapper.createArrayNode();
+            for (Path jar : providers) {
+                ObjectNode providerNode = objectMapper.createObjectNode();
+                providerNode.put("dependency", ClasspathEntry.labelForJar(jar));
+                providerNode.put("jarPath", jar.toString());
+                providersArray.add(providerNode);
+            }
+            response.set("providedBy", providersArray);
+            if (missingDeps.isEmpty()) {
+                response.put("suggestion", generator.generateProviderSuggestion(pattern, providerLabels));
+            }
+        }
         if (!missingDeps.isEmpty()) {
-            BuildPromptGenerator generator = new BuildPromptGenerator();
             String suggestion = generator.generateBuildSuggestion(
                 container.results.isEmpty() ? pattern : container.results.get(0).getSimpleClassName(),
                 context,
                 missingDeps
             );
+            if (!providers.isEmpty()) {
+                suggestion += "\n\n" + generator.generateProviderSuggestion(pattern, providerLabels);
+            }
 
             response.put("suggestion", suggestion);
             response.put("hasMissingDependencies", true);
@@ -331,113 +369,17 @@ public class SearchJavaClassHandler {
     private static class SearchResultContainer {
         final List<ClassSearchResult> results;
         final int totalCount;
+        final boolean totalEstimated;
         final String nextCursor;
+        final boolean snapshotChanged;
 
-        SearchResultContainer(List<ClassSearchResult> results, int totalCount, String nextCursor) {
+        SearchResultContainer(List<ClassSearchResult> results, int totalCount, boolean totalEstimated,
+                              String nextCursor, boolean snapshotChanged) {
             this.results = results;
             this.totalCount = totalCount;
+            this.totalEstimated = totalEstimated;
             this.nextCursor = nextCursor;
-        }
-    }
-
-    /**
-     * Build default class index from system classpath
-     */
-    private void buildDefaultClassIndex() {
-        try {
-            // Get system classpath
-            String classpath = System.getProperty("java.class.path");
-            String[] classpathEntries = classpath.split(System.getProperty("path.separator"));
-
-            // Performance optimization: Limit number of JARs to index
-            int maxJars = 10; // Only index first 10 JAR files
-            int jarsIndexed = 0;
-
-            // Index JAR files from classpath
-            for (String entry : classpathEntries) {
-                if (entry.endsWith(".jar")) {
-                    Path jarPath = Paths.get(entry);
-                    if (Files.exists(jarPath)) {
-                        indexJarFile(jarPath);
-                        jarsIndexed++;
-                        
-                        // Stop after indexing maxJars JARs
-                        if (jarsIndexed >= maxJars) {
-                            break;
-                        }
-                    }
-                }
-            }
-
-            // Also add common java.lang classes manually
-            addCommonJavaLangClasses();
-
-            logger.info("Built default class index from {} JAR files", jarsIndexed);
-
-        } catch (Exception e) {
-            logger.warn("Failed to build default class index", e);
-        }
-    }
-
-    /**
-     * Index a single JAR file
-     */
-    private void indexJarFile(Path jarPath) {
-        try {
-            java.util.jar.JarFile jarFile = new java.util.jar.JarFile(jarPath.toFile());
-            java.util.Enumeration<java.util.jar.JarEntry> entries = jarFile.entries();
-
-            // Performance optimization: Limit number of classes to index per JAR
-            int maxClassesPerJar = 1000; // Only index first 1000 classes per JAR
-            int classesIndexed = 0;
-
-            while (entries.hasMoreElements() && classesIndexed < maxClassesPerJar) {
-                java.util.jar.JarEntry entry = entries.nextElement();
-                if (entry.getName().endsWith(".class")) {
-                    String className = entry.getName()
-                        .replace('/', '.')
-                        .replace(".class", "");
-
-                    int lastDot = className.lastIndexOf('.');
-                    if (lastDot > 0) {
-                        String packageName = className.substring(0, lastDot);
-                        String simpleName = className.substring(lastDot + 1);
-
-                        // Store mapping
-                        packageResolver.getClassToPackages()
-                            .computeIfAbsent(simpleName, k -> java.util.concurrent.ConcurrentHashMap.newKeySet())
-                            .add(packageName);
-                        
-                        classesIndexed++;
-                    }
-                }
-            }
-            
-            logger.debug("Indexed {} classes from JAR: {}", classesIndexed, jarPath.getFileName());
-
-        } catch (Exception e) {
-            logger.warn("Failed to index JAR: " + jarPath, e);
-        }
-    }
-
-    /**
-     * Add common java.lang classes manually
-     */
-    private void addCommonJavaLangClasses() {
-        String javaLangPackage = "java.lang";
-        String[] commonClasses = {
-            "String", "Integer", "Long", "Double", "Float", "Boolean",
-            "Character", "Byte", "Short", "Void", "Object", "Class",
-            "System", "Math", "Runtime", "Thread", "Exception",
-            "Error", "Throwable", "Runnable", "Comparable", "StringBuilder",
-            "StringBuffer", "Number", "Enum", "Iterable", "Collection",
-            "List", "Map", "Set", "ArrayList", "HashMap", "HashSet"
-        };
-
-        for (String className : commonClasses) {
-            packageResolver.getClassToPackages()
-                .computeIfAbsent(className, k -> java.util.concurrent.ConcurrentHashMap.newKeySet())
-                .add(javaLangPackage);
+            this.snapshotChanged = snapshotChanged;
         }
     }
 
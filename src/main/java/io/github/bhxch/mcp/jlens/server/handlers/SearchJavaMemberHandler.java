@@ -0,0 +1,224 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntry;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberSearchPage;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Handler for search_java_member tool
+ */
+public class SearchJavaMemberHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchJavaMemberHandler.class);
+
+    private final PackageMappingResolver packageResolver;
+    private final MavenResolverFactory resolverFactory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public SearchJavaMemberHandler(PackageMappingResolver packageResolver,
+                                   MavenResolverFactory resolverFactory) {
+        this.packageResolver = packageResolver;
+        this.resolverFactory = resolverFactory;
+    }
+
+    /**
+     * Handle the search_java_member tool call
+     */
+    public CallToolResult handle(McpSyncServerExchange exchange, CallToolRequest request) {
+        try {
+            // Extract parameters
+            String memberNamePattern = null;
+            String pomFilePath = null;
+            List<String> profiles = List.of();
+            String javaHomePath = null;
+            String searchType = "wildcard";
+            String memberKind = null;
+            int limit = 50;
+            int maxDistance = ClassNameQuery.DEFAULT_MAX_DISTANCE;
+            String cursor = null;
+
+            if (request.arguments() != null) {
+                var args = request.arguments();
+                if (args.get("memberNamePattern") != null) {
+                    memberNamePattern = args.get("memberNamePattern").toString();
+                }
+                if (args.get("pomFilePath") != null) {
+                    pomFilePath = args.get("pomFilePath").toString();
+                }
+                Object profilesValue = args.get("profiles");
+                if (profilesValue instanceof List) {
+                    profiles = (List<String>) profilesValue;
+                } else if (profilesValue != null) {
+                    profiles = List.of(profilesValue.toString());
+                }
+                if (args.get("javaHome") != null) {
+                    javaHomePath = args.get("javaHome").toString();
+                }
+                if (args.get("searchType") != null) {
+                    searchType = args.get("searchType").toString();
+                }
+                if (args.get("memberKind") != null) {
+                    memberKind = args.get("memberKind").toString();
+                }
+                if (args.get("limit") != null) {
+                    try {
+                        limit = Integer.parseInt(args.get("limit").toString());
+                    } catch (NumberFormatException e) {
+                        // Use default
+                    }
+                }
+                if (args.get("maxDistance") != null) {
+                    try {
+                        maxDistance = Integer.parseInt(args.get("maxDistance").toString());
+                    } catch (NumberFormatException e) {
+                        // Use default
+                    }
+                }
+                if (args.get("cursor") != null) {
+                    cursor = args.get("cursor").toString();
+                }
+            }
+
+            // Validate required parameters
+            if (memberNamePattern == null || memberNamePattern.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: memberNamePattern is required");
+            }
+            if (pomFilePath == null || pomFilePath.isEmpty()) {
+                return errorResult("INVALID_ARGUMENTS", "Error: pomFilePath is required");
+            }
+            if ("any".equals(memberKind)) {
+                memberKind = null;
+            }
+            if (memberKind != null && !memberKind.equals("method") && !memberKind.equals("field")) {
+                return errorResult("INVALID_ARGUMENTS", "Error: memberKind must be method, field or any");
+            }
+
+            // Resolve module context
+            Path pomFile = Paths.get(pomFilePath);
+            if (!Files.exists(pomFile)) {
+                return errorResult("NOT_FOUND", "Error: pom.xml not found at " + pomFilePath);
+            }
+            MavenResolver resolver = resolverFactory.createResolver();
+            ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, profiles);
+
+            Path javaHome = javaHomePath != null ? Paths.get(javaHomePath) : null;
+            ClassIndexSnapshot snapshot = packageResolver.buildClassIndex(context, javaHome);
+
+            ClassNameQuery query = ClassNameQuery.of(memberNamePattern, searchType).withMaxDistance(maxDistance);
+            if (query.isFuzzy()) {
+                query.withPreferredDependencies(ClasspathEntry.declaredLabels(context));
+            }
+            return searchMembers(snapshot, query, memberKind, limit, cursor);
+
+        } catch (Exception e) {
+            logger.error("Error searching for members", e);
+            return errorResult("INTERNAL_ERROR", "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Search for members with the same seek pagination as search_java_class: the cursor
+     * records the last returned member and the snapshot version
+     */
+    private CallToolResult searchMembers(ClassIndexSnapshot snapshot, ClassNameQuery query, String kind,
+                                         int limit, String cursor) {
+        MemberMatch after = null;
+        boolean snapshotChanged = false;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                JsonNode cursorNode = objectMapper.readTree(new String(Base64.getDecoder().decode(cursor)));
+                if (query.getPattern().equals(cursorNode.path("pattern").asText())
+                        && query.getSearchType().equals(cursorNode.path("searchType").asText())) {
+                    after = new MemberMatch(cursorNode.get("memberName").asText(),
+                        cursorNode.path("field").asBoolean(), cursorNode.get("package").asText(),
+                        cursorNode.get("simpleName").asText(), null, cursorNode.path("score").asInt());
+                    snapshotChanged = cursorNode.path("snapshotVersion").asLong() != snapshot.getVersion();
+                } else {
+                    logger.warn("Cursor belongs to another search, starting from the first page");
+                }
+            } catch (Exception e) {
+                logger.warn("Invalid cursor: {}", cursor);
+            }
+        }
+
+        MemberSearchPage page = packageResolver.searchMembers(snapshot, query, kind, after, limit);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode resultsArray = objectMapper.createArrayNode();
+        for (MemberMatch match : page.getMatches()) {
+            ObjectNode resultNode = objectMapper.createObjectNode();
+            resultNode.put("memberName", match.getMemberName());
+            resultNode.put("kind", match.getKind());
+            resultNode.put("className", match.getClassName());
+            resultNode.put("simpleName", match.getSimpleName());
+            resultNode.put("package", match.getPackageName());
+            resultNode.put("dependency", match.getDependency());
+            resultsArray.add(resultNode);
+        }
+        response.set("results", resultsArray);
+        response.put("totalResults", page.getTotalResults());
+        if (snapshotChanged) {
+            // The index changed since the previous page; paging continues after the last member seen
+            response.put("snapshotChanged", true);
+        }
+
+        if (page.hasMore() && !page.getMatches().isEmpty()) {
+            MemberMatch last = page.getMatches().get(page.getMatches().size() - 1);
+            ObjectNode nextCursorNode = objectMapper.createObjectNode();
+            nextCursorNode.put("pattern", query.getPattern());
+            nextCursorNode.put("searchType", query.getSearchType());
+            nextCursorNode.put("memberName", last.getMemberName());
+            nextCursorNode.put("field", last.isField());
+            nextCursorNode.put("package", last.getPackageName());
+            nextCursorNode.put("simpleName", last.getSimpleName());
+            nextCursorNode.put("score", last.getScore());
+            nextCursorNode.put("snapshotVersion", page.getSnapshotVersion());
+            response.put("nextCursor", Base64.getEncoder().encodeToString(nextCursorNode.toString().getBytes()));
+            response.put("hasMore", true);
+        } else {
+            response.put("hasMore", false);
+        }
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(response.toPrettyString())))
+            .isError(false)
+            .build();
+    }
+
+    /**
+     * Helper to create an error result
+     */
+    private CallToolResult errorResult(String code, String message) {
+        ObjectNode errorNode = objectMapper.createObjectNode();
+        errorNode.put("code", code);
+        errorNode.put("message", message);
+
+        return CallToolResult.builder()
+            .content(List.of(new TextContent(errorNode.toPrettyString())))
+            .isError(true)
+            .build();
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FindAnnotatedHandlerUnitTest {
+
+    private static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+
+    @Mock
+    private PackageMappingResolver packageResolver;
+    @Mock
+    private MavenResolverFactory resolverFactory;
+    @Mock
+    private MavenResolver mavenResolver;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FindAnnotatedHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        ClassIndexSegment segment = ClassIndexSegment.builder(null, null)
+            .addClass("org.springframework.web.bind.annotation", "RestController")
+            .build();
+        lenient().when(packageResolver.buildClassIndex(any(), any()))
+            .thenReturn(ClassIndexSnapshot.of(List.of(segment)));
+        lenient().when(resolverFactory.createResolver()).thenReturn(mavenResolver);
+        lenient().when(mavenResolver.resolveModule(any(), any(), any())).thenReturn(mock(ModuleContext.class));
+
+        handler = new FindAnnotatedHandler(packageResolver, resolverFactory);
+    }
+
+    @Test
+    void testHandleInvalidTarget() {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("annotationName", "RestController");
+        arguments.put("pomFilePath", "pom.xml");
+        arguments.put("target", "parameter");
+
+        CallToolResult result = handler.handle(exchange, new CallToolRequest("find_annotated", arguments));
+
+        assertTrue(result.isError());
+        assertTrue(((TextContent) result.content().get(0)).text().contains("target must be"));
+    }
+
+    @Test
+    void testHandleUnknownAnnotation() {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+            mockPom(filesMock, pathsMock);
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("annotationName", "AutoService");
+            arguments.put("pomFilePath", "pom.xml");
+
+            CallToolResult result = handler.handle(exchange, new CallToolRequest("find_annotated", arguments));
+
+            assertTrue(result.isError());
+            assertTrue(((TextContent) result.content().get(0)).text().contains("CLASS_NOT_FOUND"));
+        }
+    }
+
+    @Test
+    void testHandleResolvesSimpleNameAndPages() throws Exception {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+            mockPom(filesMock, pathsMock);
+
+            AnnotationMatch first = new AnnotationMatch("com.example", "OrderController", null, false, "app");
+            AnnotationMatch second = new AnnotationMatch("com.example", "UserController", null, false, "app");
+            when(packageResolver.findAnnotated(any(), eq(REST_CONTROLLER), isNull(), isNull(), anyInt()))
+                .thenReturn(new AnnotationSearchPage(List.of(first), true, 2, 0));
+            when(packageResolver.findAnnotated(any(), eq(REST_CONTROLLER), isNull(), any(AnnotationMatch.class), anyInt()))
+                .thenReturn(new AnnotationSearchPage(List.of(second), false, 2, 0));
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("annotationName", "@RestController");
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("limit", 1);
+
+            JsonNode page = parse(handler.handle(exchange, new CallToolRequest("find_annotated", arguments)));
+            assertEquals(REST_CONTROLLER, page.get("annotationName").asText());
+            assertEquals("com.example.OrderController", page.get("results").get(0).get("className").asText());
+            assertEquals("class", page.get("results").get(0).get("target").asText());
+            assertFalse(page.get("results").get(0).has("memberName"));
+            assertFalse(page.get("results").get(0).has("constructor"));
+            assertTrue(page.get("hasMore").asBoolean());
+
+            arguments.put("cursor", page.get("nextCursor").asText());
+            page = parse(handler.handle(exchange, new CallToolRequest("find_annotated", arguments)));
+            assertEquals("com.example.UserController", page.get("results").get(0).get("className").asText());
+            assertFalse(page.get("hasMore").asBoolean());
+
+            ArgumentCaptor<AnnotationMatch> after = ArgumentCaptor.forClass(AnnotationMatch.class);
+            verify(packageResolver, times(2)).findAnnotated(any(), eq(REST_CONTROLLER), isNull(), after.capture(), eq(1));
+            assertEquals("OrderController", after.getAllValues().get(1).getSimpleName());
+            assertNull(after.getAllValues().get(1).getMemberName());
+        }
+    }
+
+    private void mockPom(MockedStatic<Files> filesMock, MockedStatic<Paths> pathsMock) {
+        Path mockPom = mock(Path.class);
+        pathsMock.when(() -> Paths.get("pom.xml")).thenReturn(mockPom);
+        filesMock.when(() -> Files.exists(mockPom)).thenReturn(true);
+    }
+
+    private JsonNode parse(CallToolResult result) throws Exception {
+        assertFalse(result.isError());
+        return objectMapper.readTree(((TextContent) result.content().get(0)).text());
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeSearchPage;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FindSubtypesHandlerUnitTest {
+
+    @Mock
+    private PackageMappingResolver packageResolver;
+    @Mock
+    private MavenResolverFactory resolverFactory;
+    @Mock
+    private MavenResolver mavenResolver;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FindSubtypesHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(packageResolver.buildClassIndex(any(), any())).thenReturn(snapshot());
+        lenient().when(resolverFactory.createResolver()).thenReturn(mavenResolver);
+        lenient().when(mavenResolver.resolveModule(any(), any(), any())).thenReturn(mock(ModuleContext.class));
+
+        handler = new FindSubtypesHandler(packageResolver, resolverFactory);
+    }
+
+    @Test
+    void testHandleMissingTypeName() {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("pomFilePath", "pom.xml");
+
+        CallToolResult result = handler.handle(exchange, new CallToolRequest("find_subtypes", arguments));
+
+        assertTrue(result.isError());
+        assertTrue(((TextContent) result.content().get(0)).text().contains("typeName is required"));
+    }
+
+    @Test
+    void testHandleAmbiguousSimpleName() {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+            mockPom(filesMock, pathsMock);
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("typeName", "List");
+            arguments.put("pomFilePath", "pom.xml");
+
+            CallToolResult result = handler.handle(exchange, new CallToolRequest("find_subtypes", arguments));
+
+            assertTrue(result.isError());
+            String content = ((TextContent) result.content().get(0)).text();
+            assertTrue(content.contains("java.awt.List"));
+            assertTrue(content.contains("java.util.List"));
+        }
+    }
+
+    @Test
+    void testHandleResolvesNestedTypeAndPages() throws Exception {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+            mockPom(filesMock, pathsMock);
+
+            SubtypeMatch first = new SubtypeMatch("java.util", "AbstractMap$SimpleEntry", "java.base", false, 1,
+                "java.util.Map$Entry");
+            SubtypeMatch second = new SubtypeMatch("java.util", "TreeMap$Entry", "java.base", false, 1,
+                "java.util.Map$Entry");
+            when(packageResolver.findSubtypes(any(), eq("java.util.Map$Entry"), eq(false), isNull(), anyInt()))
+                .thenReturn(new SubtypeSearchPage(List.of(first), true, 2, 0));
+            when(packageResolver.findSubtypes(any(), eq("java.util.Map$Entry"), eq(false), any(SubtypeMatch.class), anyInt()))
+                .thenReturn(new SubtypeSearchPage(List.of(second), false, 2, 0));
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("typeName", "java.util.Map.Entry");
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("limit", 1);
+
+            JsonNode page = parse(handler.handle(exchange, new CallToolRequest("find_subtypes", arguments)));
+            assertEquals("java.util.Map$Entry", page.get("typeName").asText());
+            assertEquals("java.util.AbstractMap$SimpleEntry", page.get("results").get(0).get("className").asText());
+            assertEquals(1, page.get("results").get(0).get("depth").asInt());
+            assertTrue(page.get("hasMore").asBoolean());
+
+            arguments.put("cursor", page.get("nextCursor").asText());
+            page = parse(handler.handle(exchange, new CallToolRequest("find_subtypes", arguments)));
+            assertEquals("java.util.TreeMap$Entry", page.get("results").get(0).get("className").asText());
+            assertFalse(page.get("hasMore").asBoolean());
+        }
+    }
+
+    private void mockPom(MockedStatic<Files> filesMock, MockedStatic<Paths> pathsMock) {
+        Path mockPom = mock(Path.class);
+        pathsMock.when(() -> Paths.get("pom.xml")).thenReturn(mockPom);
+        filesMock.when(() -> Files.exists(mockPom)).thenReturn(true);
+    }
+
+    private ClassIndexSnapshot snapshot() {
+        ClassIndexSegment segment = ClassIndexSegment.builder(null, null)
+            .addClass("java.util", "List")
+            .addClass("java.awt", "List")
+            .addClass("java.util", "Map")
+            .addClass("java.util", "Map$Entry")
+            .build();
+        return ClassIndexSnapshot.of(List.of(segment));
+    }
+
+    private JsonNode parse(CallToolResult result) throws Exception {
+        assertFalse(result.isError());
+        return objectMapper.readTree(((TextContent) result.content().get(0)).text());
+    }
+}
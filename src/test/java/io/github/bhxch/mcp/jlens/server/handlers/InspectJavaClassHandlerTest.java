@@ -177,6 +177,31 @@ class InspectJavaClassHandlerTest {
         assertTrue(content.contains("java.util.Map"));
     }
 
+    @Test
+    @DisplayName("Should inspect a class with either engine")
+    void testHandleEngines() {
+        for (String engine : new String[]{"bytecode", "reflection", "unknown"}) {
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("className", "java.util.HashMap");
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("engine", engine);
+            arguments.put("bypassCache", true);
+
+            McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(
+                "inspect_java_class",
+                arguments
+            );
+
+            McpSchema.CallToolResult result = handler.handle(exchange, request);
+
+            assertNotNull(result);
+            assertFalse(result.isError());
+
+            String content = ((McpSchema.TextContent) result.content().get(0)).text();
+            assertTrue(content.contains("\"superClass\" : \"java.util.AbstractMap\""), engine);
+        }
+    }
+
     @Test
     @DisplayName("Should handle class inspection with invalid detail level")
     void testHandleInvalidDetailLevel() {
@@ -0,0 +1,171 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bhxch.mcp.jlens.cache.CacheManager;
+import io.github.bhxch.mcp.jlens.config.ServerConfig;
+import io.github.bhxch.mcp.jlens.inspector.ClassInspector;
+import io.github.bhxch.mcp.jlens.inspector.InspectionEngine;
+import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InspectJavaClassesHandlerUnitTest {
+
+    @Mock
+    private ClassInspector inspector;
+    @Mock
+    private MavenResolverFactory resolverFactory;
+    @Mock
+    private MavenResolver mavenResolver;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModuleContext context = ModuleContext.builder()
+        .pomFile(Path.of("/work/app/pom.xml"))
+        .groupId("com.example")
+        .artifactId("app")
+        .version("1.0")
+        .build();
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheManager(new ServerConfig());
+        lenient().when(resolverFactory.createResolver()).thenReturn(mavenResolver);
+        lenient().when(mavenResolver.resolveModule(any(), any(), any())).thenReturn(context);
+    }
+
+    @Test
+    void testHandleMissingClassNames() {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("classNames", List.of());
+        arguments.put("pomFilePath", "pom.xml");
+
+        CallToolResult result = handler(4).handle(exchange, new CallToolRequest("inspect_java_classes", arguments));
+
+        assertTrue(result.isError());
+        assertTrue(((TextContent) result.content().get(0)).text().contains("classNames is required"));
+    }
+
+    @Test
+    void testHandleReturnsPerClassResultsAndCaches() throws Exception {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+            mockPom(filesMock, pathsMock);
+
+            when(inspector.inspect(anyString(), eq(context), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    String className = invocation.getArgument(0);
+                    return switch (className) {
+                        case "com.example.Missing" -> ClassMetadata.builder().className(className)
+                            .status("NOT_FOUND").build();
+                        case "com.example.Broken" -> throw new NoClassDefFoundError("com/example/Optional");
+                        default -> ClassMetadata.builder().className(className).superClass("java.lang.Object")
+                            .build();
+                    };
+                });
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("classNames", List.of("com.example.Order", "com.example.Missing", "com.example.Broken",
+                "com.example.Order"));
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("engine", "reflection");
+
+            JsonNode response = parse(handler(4).handle(exchange, new CallToolRequest("inspect_java_classes", arguments)));
+            assertEquals(3, response.get("totalClasses").asInt());
+            assertEquals(1, response.get("succeeded").asInt());
+            assertEquals(2, response.get("failed").asInt());
+
+            JsonNode results = response.get("results");
+            assertEquals("com.example.Order", results.get(0).get("className").asText());
+            assertEquals("java.lang.Object", results.get(0).get("superClass").asText());
+            assertFalse(results.get(0).has("error"));
+            assertEquals("CLASS_NOT_FOUND", results.get(1).get("error").get("code").asText());
+            assertEquals("ERROR", results.get(2).get("status").asText());
+            assertTrue(results.get(2).get("error").get("message").asText().contains("com/example/Optional"));
+
+            // The module is resolved once; the successful class is served from the cache next time
+            response = parse(handler(4).handle(exchange, new CallToolRequest("inspect_java_classes", arguments)));
+            assertEquals(1, response.get("succeeded").asInt());
+            verify(mavenResolver, times(2)).resolveModule(any(), any(), any());
+            verify(inspector, times(1)).inspect(eq("com.example.Order"), eq(context), any(), any(), any(), any(),
+                eq(InspectionEngine.REFLECTION));
+        }
+    }
+
+    @Test
+    void testHandleBoundsConcurrency() throws Exception {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+            mockPom(filesMock, pathsMock);
+
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            when(inspector.inspect(anyString(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return ClassMetadata.builder().className(invocation.getArgument(0)).build();
+                });
+
+            List<String> classNames = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                classNames.add("com.example.Type" + i);
+            }
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("classNames", classNames);
+            arguments.put("pomFilePath", "pom.xml");
+
+            JsonNode response = parse(handler(2).handle(exchange, new CallToolRequest("inspect_java_classes", arguments)));
+
+            assertEquals(12, response.get("succeeded").asInt());
+            assertEquals("com.example.Type11", response.get("results").get(11).get("className").asText());
+            assertTrue(maxRunning.get() <= 2, "ran " + maxRunning.get() + " inspections at once");
+        }
+    }
+
+    private InspectJavaClassesHandler handler(int maxConcurrency) {
+        return new InspectJavaClassesHandler(inspector, resolverFactory, cacheManager, maxConcurrency);
+    }
+
+    private void mockPom(MockedStatic<Files> filesMock, MockedStatic<Paths> pathsMock) {
+        Path mockPom = mock(Path.class);
+        pathsMock.when(() -> Paths.get("pom.xml")).thenReturn(mockPom);
+        filesMock.when(() -> Files.exists(mockPom)).thenReturn(true);
+    }
+
+    private JsonNode parse(CallToolResult result) throws Exception {
+        assertFalse(result.isError());
+        return objectMapper.readTree(((TextContent) result.content().get(0)).text());
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.bhxch.mcp.jlens.server.handlers;
 
 import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
 import io.github.bhxch.mcp.jlens.config.ServerConfig;
 import io.github.bhxch.mcp.jlens.dependency.DependencyManager;
 import io.github.bhxch.mcp.jlens.dependency.MavenBuilder;
@@ -25,7 +26,7 @@ class SearchJavaClassHandlerTest {
     @BeforeEach
     void setUp() {
         ServerConfig config = new ServerConfig();
-        PackageMappingResolver packageResolver = new PackageMappingResolver();
+        PackageMappingResolver packageResolver = new PackageMappingResolver(null, new JdkClassIndex());
         MavenBuilder mavenBuilder = new MavenBuilder();
         DependencyManager dependencyManager = new DependencyManager(mavenBuilder);
         MavenResolverFactory resolverFactory = new MavenResolverFactory(config);
@@ -1,6 +1,12 @@
 package io.github.bhxch.mcp.jlens.server.handlers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntryFingerprint;
 import io.github.bhxch.mcp.jlens.dependency.DependencyManager;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
@@ -19,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,8 +54,8 @@ public class SearchJavaClassHandlerUnitTest {
 
     @BeforeEach
     void setUp() {
-        // Return a map to avoid NPE in buildDefaultClassIndex if called
-        lenient().when(packageResolver.getClassToPackages()).thenReturn(new ConcurrentHashMap<>());
+        // Return an empty index to avoid NPE when searching
+        lenient().when(packageResolver.buildClassIndex(any(), any())).thenReturn(ClassIndexSnapshot.empty());
         lenient().when(resolverFactory.createResolver()).thenReturn(mavenResolver);
         
         ModuleContext mockContext = mock(ModuleContext.class);
@@ -75,7 +82,7 @@ public class SearchJavaClassHandlerUnitTest {
 
             Map<String, Set<String>> mockData = new ConcurrentHashMap<>();
             mockData.put("String", Set.of("java.lang"));
-            when(packageResolver.getClassToPackages()).thenReturn(mockData);
+            when(packageResolver.buildClassIndex(any(), any())).thenReturn(snapshotOf(mockData));
 
             CallToolResult result = handler.handle(exchange, request);
 
@@ -103,7 +110,7 @@ public class SearchJavaClassHandlerUnitTest {
             Map<String, Set<String>> mockData = new ConcurrentHashMap<>();
             mockData.put("ArrayList", Set.of("java.util"));
             mockData.put("CopyOnWriteArrayList", Set.of("java.util.concurrent"));
-            when(packageResolver.getClassToPackages()).thenReturn(mockData);
+            when(packageResolver.buildClassIndex(any(), any())).thenReturn(snapshotOf(mockData));
 
             CallToolResult result = handler.handle(exchange, request);
 
@@ -131,7 +138,7 @@ public class SearchJavaClassHandlerUnitTest {
 
             CallToolResult result = handler.handle(exchange, request);
             assertNotNull(result);
-            verify(packageResolver).buildClassIndex(any());
+            verify(packageResolver).buildClassIndex(any(), any());
         }
     }
 
@@ -171,7 +178,7 @@ public class SearchJavaClassHandlerUnitTest {
 
                 mockData.put("Test2", Set.of("com"));
 
-                lenient().when(packageResolver.getClassToPackages()).thenReturn(mockData);
+                lenient().when(packageResolver.buildClassIndex(any(), any())).thenReturn(snapshotOf(mockData));
 
     
 
@@ -191,6 +198,78 @@ public class SearchJavaClassHandlerUnitTest {
 
         }
 
+    @Test
+    void testPaginationFollowsCursor() throws Exception {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+
+            Path mockPom = mock(Path.class);
+            pathsMock.when(() -> Paths.get("pom.xml")).thenReturn(mockPom);
+            filesMock.when(() -> Files.exists(mockPom)).thenReturn(true);
+
+            Map<String, Set<String>> mockData = new ConcurrentHashMap<>();
+            mockData.put("Test1", Set.of("com"));
+            mockData.put("Test2", Set.of("com"));
+            when(packageResolver.buildClassIndex(any(), any())).thenReturn(snapshotOf(mockData));
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("classNamePattern", "Test");
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("searchType", "prefix");
+            arguments.put("limit", 1);
+            CallToolResult first = handler.handle(exchange, new CallToolRequest("search_java_class", arguments));
+            JsonNode firstPage = new ObjectMapper().readTree(((TextContent) first.content().get(0)).text());
+            assertEquals("com.Test1", firstPage.get("results").get(0).get("className").asText());
+            assertFalse(firstPage.get("totalResultsEstimated").asBoolean());
+
+            arguments.put("cursor", firstPage.get("nextCursor").asText());
+            CallToolResult second = handler.handle(exchange, new CallToolRequest("search_java_class", arguments));
+            JsonNode secondPage = new ObjectMapper().readTree(((TextContent) second.content().get(0)).text());
+            assertEquals("com.Test2", secondPage.get("results").get(0).get("className").asText());
+            assertFalse(secondPage.get("hasMore").asBoolean());
+        }
+    }
+
+    @Test
+    void testProvidedByOtherModuleJar() throws Exception {
+        Path jar = Path.of("/repo/com/acme/widget/1.0/widget-1.0.jar").toAbsolutePath();
+        ClassLocator locator = new ClassLocator();
+        locator.add(jar, ClassIndexSegment.builder(new ClasspathEntryFingerprint(jar.toString(), 1, 1, null), "widget-1.0")
+            .addClass("com.acme", "Widget")
+            .build());
+        when(packageResolver.getClassLocator()).thenReturn(locator);
+
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+
+            Path mockPom = mock(Path.class);
+            pathsMock.when(() -> Paths.get("pom.xml")).thenReturn(mockPom);
+            filesMock.when(() -> Files.exists(mockPom)).thenReturn(true);
+            filesMock.when(() -> Files.size(jar)).thenReturn(1L);
+            filesMock.when(() -> Files.getLastModifiedTime(jar)).thenReturn(FileTime.fromMillis(1));
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("classNamePattern", "com.acme.Widget");
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("searchType", "exact");
+            CallToolResult result = handler.handle(exchange, new CallToolRequest("search_java_class", arguments));
+
+            assertFalse(result.isError());
+            JsonNode response = new ObjectMapper().readTree(((TextContent) result.content().get(0)).text());
+            assertEquals(0, response.get("results").size());
+            assertEquals("widget-1.0", response.get("providedBy").get(0).get("dependency").asText());
+            assertEquals(jar.toString(), response.get("providedBy").get(0).get("jarPath").asText());
+            assertTrue(response.get("suggestion").asText().contains("widget-1.0"));
+        }
+    }
+
+    private static ClassIndexSnapshot snapshotOf(Map<String, Set<String>> classToPackages) {
+        ClassIndexSegment.Builder builder = ClassIndexSegment.builder(null, null);
+        classToPackages.forEach((simpleName, packages) ->
+            packages.forEach(packageName -> builder.addClass(packageName, simpleName)));
+        return ClassIndexSnapshot.of(List.of(builder.build()));
+    }
+
     @Test
     void testMissingPattern() {
         Map<String, Object> arguments = new HashMap<>();
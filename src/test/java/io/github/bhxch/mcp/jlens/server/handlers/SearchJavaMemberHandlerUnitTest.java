@@ -0,0 +1,131 @@
+package io.github.bhxch.mcp.jlens.server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberSearchPage;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SearchJavaMemberHandlerUnitTest {
+
+    @Mock
+    private PackageMappingResolver packageResolver;
+    @Mock
+    private MavenResolverFactory resolverFactory;
+    @Mock
+    private MavenResolver mavenResolver;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SearchJavaMemberHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(packageResolver.buildClassIndex(any(), any())).thenReturn(ClassIndexSnapshot.empty());
+        lenient().when(resolverFactory.createResolver()).thenReturn(mavenResolver);
+        lenient().when(mavenResolver.resolveModule(any(), any(), any())).thenReturn(mock(ModuleContext.class));
+
+        handler = new SearchJavaMemberHandler(packageResolver, resolverFactory);
+    }
+
+    @Test
+    void testHandleMissingPattern() {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("pomFilePath", "pom.xml");
+
+        CallToolResult result = handler.handle(exchange, new CallToolRequest("search_java_member", arguments));
+
+        assertTrue(result.isError());
+        assertTrue(((TextContent) result.content().get(0)).text().contains("memberNamePattern is required"));
+    }
+
+    @Test
+    void testHandleInvalidMemberKind() {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("memberNamePattern", "size");
+        arguments.put("pomFilePath", "pom.xml");
+        arguments.put("memberKind", "constructor");
+
+        CallToolResult result = handler.handle(exchange, new CallToolRequest("search_java_member", arguments));
+
+        assertTrue(result.isError());
+        assertTrue(((TextContent) result.content().get(0)).text().contains("memberKind"));
+    }
+
+    @Test
+    void testHandlePagesWithCursor() throws Exception {
+        try (MockedStatic<Files> filesMock = mockStatic(Files.class);
+             MockedStatic<Paths> pathsMock = mockStatic(Paths.class)) {
+
+            Path mockPom = mock(Path.class);
+            pathsMock.when(() -> Paths.get("pom.xml")).thenReturn(mockPom);
+            filesMock.when(() -> Files.exists(mockPom)).thenReturn(true);
+
+            MemberMatch first = new MemberMatch("size", false, "java.util", "ArrayList", "java.base", 0);
+            MemberMatch second = new MemberMatch("size", false, "java.util", "HashMap", "java.base", 0);
+            when(packageResolver.searchMembers(any(), any(), eq("method"), isNull(), anyInt()))
+                .thenReturn(new MemberSearchPage(List.of(first), true, 2, 0));
+            when(packageResolver.searchMembers(any(), any(), eq("method"), any(MemberMatch.class), anyInt()))
+                .thenReturn(new MemberSearchPage(List.of(second), false, 2, 0));
+
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("memberNamePattern", "size");
+            arguments.put("pomFilePath", "pom.xml");
+            arguments.put("searchType", "exact");
+            arguments.put("memberKind", "method");
+            arguments.put("limit", 1);
+
+            JsonNode page = parse(handler.handle(exchange, new CallToolRequest("search_java_member", arguments)));
+            assertEquals("java.util.ArrayList", page.get("results").get(0).get("className").asText());
+            assertEquals("method", page.get("results").get(0).get("kind").asText());
+            assertEquals(2, page.get("totalResults").asInt());
+            assertTrue(page.get("hasMore").asBoolean());
+
+            arguments.put("cursor", page.get("nextCursor").asText());
+            page = parse(handler.handle(exchange, new CallToolRequest("search_java_member", arguments)));
+            assertEquals("java.util.HashMap", page.get("results").get(0).get("className").asText());
+            assertFalse(page.get("hasMore").asBoolean());
+
+            ArgumentCaptor<MemberMatch> after = ArgumentCaptor.forClass(MemberMatch.class);
+            verify(packageResolver, times(2)).searchMembers(any(), any(), eq("method"), after.capture(), eq(1));
+            assertEquals("ArrayList", after.getAllValues().get(1).getSimpleName());
+            assertEquals("size", after.getAllValues().get(1).getMemberName());
+        }
+    }
+
+    private JsonNode parse(CallToolResult result) throws Exception {
+        assertFalse(result.isError());
+        return objectMapper.readTree(((TextContent) result.content().get(0)).text());
+    }
+}
@@ -1,16 +1,24 @@
 package io.github.bhxch.mcp.jlens.unit.cache;
 
 import io.github.bhxch.mcp.jlens.cache.CacheManager;
+import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor.DetailLevel;
 import io.github.bhxch.mcp.jlens.config.ServerConfig;
 import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
+import io.github.bhxch.mcp.jlens.inspector.model.FieldInfo;
+import io.github.bhxch.mcp.jlens.inspector.model.MethodInfo;
 import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static io.github.bhxch.mcp.jlens.inspector.InspectionEngine.BYTECODE;
+import static io.github.bhxch.mcp.jlens.inspector.InspectionEngine.REFLECTION;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("CacheManager Unit Tests")
@@ -114,6 +122,122 @@ class CacheManagerTest {
         assertEquals(expectedMetadata, result1);
     }
 
+    @Test
+    @DisplayName("Should serve every detail level from one full inspection")
+    void testClassMetadataDetailLevels() {
+        ModuleContext context = createTestModuleContext();
+        AtomicInteger inspections = new AtomicInteger();
+        ClassMetadata full = ClassMetadata.builder()
+            .className("com.test.TestClass")
+            .fields(List.of(
+                FieldInfo.builder().name("VALUE").modifiers(Modifier.PUBLIC | Modifier.STATIC).build(),
+                FieldInfo.builder().name("count").modifiers(Modifier.PRIVATE).build()))
+            .methods(List.of(
+                MethodInfo.builder().name("run").modifiers(Modifier.PUBLIC).build(),
+                MethodInfo.builder().name("helper").modifiers(Modifier.PRIVATE).build()))
+            .build();
+
+        ClassMetadata basic = cacheManager.getClassMetadata(context, "com.test.TestClass", null, BYTECODE,
+            DetailLevel.BASIC, false, () -> {
+                inspections.incrementAndGet();
+                return full;
+            });
+        ClassMetadata fullResult = cacheManager.getClassMetadata(context, "com.test.TestClass", null, BYTECODE,
+            DetailLevel.FULL, false, () -> fail("Should use cached value"));
+        ClassMetadata skeleton = cacheManager.getClassMetadata(context, "com.test.TestClass", null, BYTECODE,
+            DetailLevel.SKELETON, false, () -> fail("Should use cached value"));
+
+        assertEquals(1, inspections.get());
+        assertEquals(List.of("VALUE"), basic.getFields().stream().map(FieldInfo::getName).toList());
+        assertEquals(List.of("run"), basic.getMethods().stream().map(MethodInfo::getName).toList());
+        assertEquals(2, fullResult.getFields().size());
+        assertEquals(2, fullResult.getMethods().size());
+        assertTrue(skeleton.getFields().isEmpty());
+        assertTrue(skeleton.getMethods().isEmpty());
+        assertEquals("com.test.TestClass", skeleton.getClassName());
+    }
+
+    @Test
+    @DisplayName("Should key class metadata by JDK and not cache failed inspections")
+    void testClassMetadataKeys() {
+        ModuleContext context = createTestModuleContext();
+        AtomicInteger inspections = new AtomicInteger();
+
+        cacheManager.getClassMetadata(context, "java.util.List", null, BYTECODE, DetailLevel.FULL, false, () -> {
+            inspections.incrementAndGet();
+            return createTestClassMetadata();
+        });
+        cacheManager.getClassMetadata(context, "java.util.List", Path.of("/opt/jdk-21"), BYTECODE, DetailLevel.FULL,
+            false, () -> {
+                inspections.incrementAndGet();
+                return createTestClassMetadata();
+            });
+        assertEquals(2, inspections.get());
+        assertNotEquals(CacheManager.classMetadataKey(context, "java.util.List", null, BYTECODE),
+            CacheManager.classMetadataKey(context, "java.util.List", Path.of("/opt/jdk-21"), BYTECODE));
+
+        for (int i = 0; i < 2; i++) {
+            ClassMetadata missing = cacheManager.getClassMetadata(context, "com.test.Missing", null, BYTECODE,
+                DetailLevel.BASIC, false, () -> {
+                    inspections.incrementAndGet();
+                    return ClassMetadata.builder().className("com.test.Missing").status("NOT_FOUND").build();
+                });
+            assertEquals("NOT_FOUND", missing.getStatus());
+        }
+        assertEquals(4, inspections.get());
+    }
+
+    @Test
+    @DisplayName("Should cache the result of each inspection engine separately")
+    void testClassMetadataPerEngine() {
+        ModuleContext context = createTestModuleContext();
+        ClassMetadata bytecode = ClassMetadata.builder().className("com.test.TestClass")
+            .methods(List.of(MethodInfo.builder().name("run").signature("<T:Ljava/lang/Object;>()V").build()))
+            .build();
+        ClassMetadata reflection = ClassMetadata.builder().className("com.test.TestClass")
+            .methods(List.of(MethodInfo.builder().name("run").build()))
+            .build();
+
+        for (int i = 0; i < 2; i++) {
+            boolean first = i == 0;
+            assertEquals("<T:Ljava/lang/Object;>()V", cacheManager.getClassMetadata(context, "com.test.TestClass",
+                    null, BYTECODE, DetailLevel.FULL, false, () -> first ? bytecode : fail("Should use cached value"))
+                .getMethods().get(0).getSignature());
+            assertNull(cacheManager.getClassMetadata(context, "com.test.TestClass", null, REFLECTION,
+                    DetailLevel.FULL, false, () -> first ? reflection : fail("Should use cached value"))
+                .getMethods().get(0).getSignature());
+        }
+        assertEquals(2, cacheManager.getClassMetadataCacheSize());
+    }
+
+    @Test
+    @DisplayName("Should invalidate everything cached for a changed module")
+    void testInvalidateModule() throws Exception {
+        Path pomFile = Path.of("/work/app/pom.xml");
+        ModuleContext context = ModuleContext.builder().pomFile(pomFile).groupId("com.test").artifactId("app")
+            .version("1.0").build();
+        ModuleContext other = createTestModuleContext();
+        cacheManager.putModuleContext("pom:" + pomFile + "|COMPILE||fingerprint", context);
+        cacheManager.getClassMetadata(context, "com.test.A", null, BYTECODE, DetailLevel.FULL, false,
+            this::createTestClassMetadata);
+        cacheManager.getClassMetadata(other, "com.test.A", null, BYTECODE, DetailLevel.FULL, false,
+            this::createTestClassMetadata);
+        cacheManager.getClassMetadata(context, "com.test.A", null, REFLECTION, DetailLevel.FULL, false,
+            this::createTestClassMetadata);
+        ClassLoader loader = cacheManager.getClassLoaderManager().getClassLoader(context);
+
+        cacheManager.invalidateModule(pomFile);
+
+        assertEquals(0, cacheManager.getModuleCacheSize());
+        assertNull(cacheManager.getClassMetadataIfPresent(
+            CacheManager.classMetadataKey(context, "com.test.A", null, BYTECODE)));
+        assertNull(cacheManager.getClassMetadataIfPresent(
+            CacheManager.classMetadataKey(context, "com.test.A", null, REFLECTION)));
+        assertNotNull(cacheManager.getClassMetadataIfPresent(
+            CacheManager.classMetadataKey(other, "com.test.A", null, BYTECODE)));
+        assertNotSame(loader, cacheManager.getClassLoaderManager().getClassLoader(context));
+    }
+
     @Test
     @DisplayName("Should invalidate all caches")
     void testInvalidateAll() {
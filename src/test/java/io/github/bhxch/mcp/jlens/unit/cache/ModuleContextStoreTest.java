@@ -0,0 +1,111 @@
+package io.github.bhxch.mcp.jlens.unit.cache;
+
+import io.github.bhxch.mcp.jlens.cache.ModuleContextStore;
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModuleContextStore Unit Tests")
+class ModuleContextStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ModuleContextStore store;
+    private Path pomFile;
+    private Path jar;
+    private Path missingJar;
+    private ModuleContext context;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ModuleContextStore(tempDir.resolve("cache"), tempDir.resolve("settings.xml"));
+        pomFile = Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+        jar = Files.writeString(tempDir.resolve("lib-1.0.jar"), "jar");
+        missingJar = tempDir.resolve("missing-1.0.jar");
+        context = ModuleContext.builder()
+            .pomFile(pomFile)
+            .baseDirectory(tempDir)
+            .localRepository(tempDir)
+            .scope(Scope.TEST)
+            .activeProfiles(List.of("dev"))
+            .groupId("com.example")
+            .artifactId("app")
+            .version("1.0")
+            .outputDirectory(tempDir.resolve("target/classes"))
+            .addClasspathElement(tempDir.resolve("target/classes"))
+            .addClasspathElement(jar)
+            .addClasspathJar(jar)
+            .addDependency(new DependencyInfo("com.lib", "lib", "1.0", null, "jar", Scope.TEST, jar, true, null))
+            .addDependency(new DependencyInfo("com.lib", "missing", "1.0", "tests", "jar", Scope.COMPILE,
+                missingJar, false, null))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should load a stored context as it was saved")
+    void testRoundTrip() {
+        assertNull(store.load(pomFile, Scope.TEST, List.of("dev")));
+        store.save(pomFile, Scope.TEST, List.of("dev"), List.of(pomFile), context);
+
+        ModuleContext loaded = store.load(pomFile, Scope.TEST, List.of("dev"));
+        assertNotNull(loaded);
+        assertEquals(context.getCoordinates(), loaded.getCoordinates());
+        assertEquals(Scope.TEST, loaded.getScope());
+        assertEquals(List.of("dev"), loaded.getActiveProfiles());
+        assertEquals(context.getClasspath(), loaded.getClasspath());
+        assertEquals(context.getClasspathJars(), loaded.getClasspathJars());
+        assertEquals(context.getOutputDirectory(), loaded.getOutputDirectory());
+        assertNull(loaded.getTestOutputDirectory());
+        assertEquals(2, loaded.getDependencies().size());
+        DependencyInfo lib = loaded.getDependencies().get(0);
+        assertEquals("com.lib:lib:jar:1.0", lib.getCoordinates());
+        assertEquals(Scope.TEST, lib.getScope());
+        assertEquals(jar, lib.getJarPath());
+        assertTrue(lib.isOptional());
+        assertEquals("tests", loaded.getDependencies().get(1).getClassifier());
+
+        assertNull(store.load(pomFile, Scope.COMPILE, List.of("dev")));
+        assertNull(store.load(pomFile, Scope.TEST, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should drop a stored context when an input or artifact changes")
+    void testStale() throws IOException {
+        store.save(pomFile, Scope.TEST, List.of("dev"), List.of(pomFile), context);
+        Files.setLastModifiedTime(pomFile, FileTime.fromMillis(Files.getLastModifiedTime(pomFile).toMillis() + 5000));
+        assertNull(store.load(pomFile, Scope.TEST, List.of("dev")));
+
+        store.save(pomFile, Scope.TEST, List.of("dev"), List.of(pomFile), context);
+        Files.writeString(tempDir.resolve("settings.xml"), "<settings/>");
+        assertNull(store.load(pomFile, Scope.TEST, List.of("dev")));
+
+        store.save(pomFile, Scope.TEST, List.of("dev"), List.of(pomFile), context);
+        Files.writeString(missingJar, "downloaded");
+        assertNull(store.load(pomFile, Scope.TEST, List.of("dev")));
+    }
+
+    @Test
+    @DisplayName("Should remove every stored context of a module")
+    void testRemove() {
+        store.save(pomFile, Scope.TEST, List.of("dev"), List.of(pomFile), context);
+        store.save(pomFile, Scope.COMPILE, List.of(), List.of(pomFile), context);
+
+        store.remove(pomFile);
+
+        assertNull(store.load(pomFile, Scope.TEST, List.of("dev")));
+        assertNull(store.load(pomFile, Scope.COMPILE, List.of()));
+    }
+}
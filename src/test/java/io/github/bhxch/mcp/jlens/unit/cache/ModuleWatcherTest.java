@@ -0,0 +1,91 @@
+package io.github.bhxch.mcp.jlens.unit.cache;
+
+import io.github.bhxch.mcp.jlens.cache.ModuleWatcher;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModuleWatcher Unit Tests")
+class ModuleWatcherTest {
+
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Path> changed = new CopyOnWriteArrayList<>();
+    private ModuleWatcher watcher;
+    private Path pomFile;
+    private Path classes;
+    private Path jar;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        watcher = new ModuleWatcher(DEBOUNCE_MILLIS, changed::add);
+        pomFile = Files.writeString(Files.createDirectories(tempDir.resolve("app")).resolve("pom.xml"), "<project/>");
+        classes = Files.createDirectories(tempDir.resolve("app/target/classes/com/example"));
+        jar = Files.writeString(Files.createDirectories(tempDir.resolve("repo/lib/1.0")).resolve("lib-1.0.jar"), "");
+        watcher.watch(ModuleContext.builder()
+            .pomFile(pomFile)
+            .baseDirectory(pomFile.getParent())
+            .outputDirectory(tempDir.resolve("app/target/classes"))
+            .classpathJars(List.of(jar))
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    @DisplayName("Should report a module once after a burst of class file changes")
+    void testDebouncesBuild() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            Files.writeString(classes.resolve("Type" + i + ".class"), "class " + i);
+            Thread.sleep(10);
+        }
+
+        awaitChange();
+        Thread.sleep(DEBOUNCE_MILLIS * 2);
+        assertEquals(List.of(pomFile), changed);
+    }
+
+    @Test
+    @DisplayName("Should report changes to the POM and dependency JARs but not other files")
+    void testWatchedFiles() throws Exception {
+        Files.writeString(pomFile.getParent().resolve("README.md"), "docs");
+        Thread.sleep(DEBOUNCE_MILLIS * 3);
+        assertTrue(changed.isEmpty());
+
+        Files.writeString(jar, "installed");
+        awaitChange();
+        assertEquals(List.of(pomFile), changed);
+
+        // Reported modules are no longer watched until they are resolved and watched again
+        changed.clear();
+        Files.writeString(pomFile, "<project><artifactId>app</artifactId></project>");
+        Thread.sleep(DEBOUNCE_MILLIS * 3);
+        assertTrue(changed.isEmpty());
+        assertEquals(0, watcher.getWatchedDirectoryCount());
+    }
+
+    private void awaitChange() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (changed.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(changed.isEmpty(), "no change reported");
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.bhxch.mcp.jlens.unit.cache;
+
+import io.github.bhxch.mcp.jlens.cache.PomFingerprint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PomFingerprint Unit Tests")
+class PomFingerprintTest {
+
+    private static final String PARENT = """
+        <project>
+          <groupId>com.example</groupId>
+          <artifactId>parent</artifactId>
+          <version>1.0</version>
+          <packaging>pom</packaging>
+        </project>
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should change when the POM or its parent changes")
+    void testParentChain() throws IOException {
+        Path parent = write(tempDir.resolve("pom.xml"), PARENT);
+        Path child = write(tempDir.resolve("app/pom.xml"), child(""));
+
+        String fingerprint = PomFingerprint.of(child);
+        assertEquals(fingerprint, PomFingerprint.of(child));
+
+        write(parent, PARENT.replace("1.0", "1.1"));
+        String parentChanged = PomFingerprint.of(child);
+        assertNotEquals(fingerprint, parentChanged);
+
+        write(child, child("").replace("app", "service"));
+        assertNotEquals(parentChanged, PomFingerprint.of(child));
+    }
+
+    @Test
+    @DisplayName("Should follow relativePath and ignore repository-only parents")
+    void testRelativePath() throws IOException {
+        Path parent = write(tempDir.resolve("build/parent/pom.xml"), PARENT);
+        Path child = write(tempDir.resolve("app/pom.xml"), child("<relativePath>../build/parent</relativePath>"));
+        Path detached = write(tempDir.resolve("lib/pom.xml"), child("<relativePath/>"));
+
+        String fingerprint = PomFingerprint.of(child);
+        String detachedFingerprint = PomFingerprint.of(detached);
+
+        write(parent, PARENT.replace("1.0", "2.0"));
+        assertNotEquals(fingerprint, PomFingerprint.of(child));
+        assertEquals(detachedFingerprint, PomFingerprint.of(detached));
+    }
+
+    private String child(String relativePath) {
+        return """
+            <project>
+              <parent>
+                <groupId>com.example</groupId>
+                <artifactId>parent</artifactId>
+                <version>1.0</version>
+                %s
+              </parent>
+              <artifactId>app</artifactId>
+            </project>
+            """.formatted(relativePath);
+    }
+
+    private Path write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.AnnotationSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Annotation index Unit Tests")
+class AnnotationIndexTest {
+
+    private static final String PREFIX = AnnotationIndexTest.class.getName() + "$";
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+    }
+
+    // Class retention, recorded in RuntimeInvisibleAnnotations
+    @interface Recorded {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Tagged {
+        String value();
+
+        int[] numbers() default {};
+
+        Retention nested() default @Retention(RetentionPolicy.RUNTIME);
+
+        ElementType type() default ElementType.TYPE;
+
+        Class<?> kind() default Object.class;
+    }
+
+    @Marker
+    static class Service {
+        @Marker
+        private String name;
+
+        @Recorded
+        public void run() {
+        }
+
+        @Marker
+        void stop() {
+        }
+    }
+
+    @Tagged(value = "x", numbers = {1, 2}, nested = @Retention(RetentionPolicy.CLASS),
+        type = ElementType.FIELD, kind = String.class)
+    @Marker
+    @Recorded
+    static class Both {
+    }
+
+    static class Plain {
+        public String name;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Injected {
+    }
+
+    static class Component {
+        @Injected
+        Component(@SuppressWarnings("unused") Plain plain) {
+        }
+
+        static {
+            System.getProperty("component");
+        }
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should find the classes and members carrying an annotation")
+    void testFindsClassesAndMembers() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(annotatedJar()));
+
+        AnnotationSearchPage page = resolver.findAnnotated(snapshot, PREFIX + "Marker", null, null, 10);
+
+        assertEquals(List.of(PREFIX + "Both", PREFIX + "Service", PREFIX + "Service#name", PREFIX + "Service#stop"),
+            names(page));
+        assertEquals(List.of("class", "class", "field", "method"),
+            page.getMatches().stream().map(AnnotationMatch::getTarget).toList());
+        assertEquals("annotated-1.0", page.getMatches().get(0).getDependency());
+    }
+
+    @Test
+    @DisplayName("Should read class-retention annotations and filter by target")
+    void testClassRetentionAndTargets() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(annotatedJar()));
+
+        assertEquals(List.of(PREFIX + "Both", PREFIX + "Service#run"),
+            names(resolver.findAnnotated(snapshot, PREFIX + "Recorded", null, null, 10)));
+        assertEquals(List.of(PREFIX + "Service#run"),
+            names(resolver.findAnnotated(snapshot, PREFIX + "Recorded", "method", null, 10)));
+        assertEquals(List.of(PREFIX + "Service#name"),
+            names(resolver.findAnnotated(snapshot, PREFIX + "Marker", "field", null, 10)));
+        assertEquals(List.of(PREFIX + "Both"),
+            names(resolver.findAnnotated(snapshot, PREFIX + "Tagged", null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("Should find annotated constructors as methods")
+    void testConstructors() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(annotatedJar()));
+
+        AnnotationSearchPage page = resolver.findAnnotated(snapshot, PREFIX + "Injected", "method", null, 10);
+
+        assertEquals(List.of(PREFIX + "Component#<init>"), names(page));
+        assertTrue(page.getMatches().get(0).isConstructor());
+        assertEquals("method", page.getMatches().get(0).getTarget());
+        assertEquals(List.of(), names(resolver.findAnnotated(snapshot, PREFIX + "Injected", "field", null, 10)));
+    }
+
+    @Test
+    @DisplayName("Should page through annotated elements by seeking after the last match")
+    void testPaging() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(annotatedJar()));
+
+        List<String> paged = new ArrayList<>();
+        AnnotationMatch after = null;
+        AnnotationSearchPage page;
+        do {
+            page = resolver.findAnnotated(snapshot, PREFIX + "Marker", null, after, 3);
+            paged.addAll(names(page));
+            after = page.getMatches().get(page.getMatches().size() - 1);
+        } while (page.hasMore());
+
+        assertEquals(List.of(PREFIX + "Both", PREFIX + "Service", PREFIX + "Service#name", PREFIX + "Service#stop"),
+            paged);
+        assertEquals(4, page.getTotalResults());
+    }
+
+    @Test
+    @DisplayName("Should find annotated JDK classes and persist the annotation index")
+    void testJdkAnnotations() throws IOException {
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+        PackageMappingResolver first = new PackageMappingResolver(store, new JdkClassIndex(store));
+        AnnotationSearchPage page = first.findAnnotated(first.buildClassIndex(module(annotatedJar())),
+            "java.lang.FunctionalInterface", "class", null, 1000);
+        assertTrue(names(page).contains("java.lang.Runnable"));
+        assertTrue(names(page).contains("java.util.function.Function"));
+        try (Stream<Path> files = Files.list(store.getDirectory())) {
+            assertTrue(files.anyMatch(file -> file.toString().endsWith(".annotations")));
+        }
+
+        PackageMappingResolver second = new PackageMappingResolver(store, new JdkClassIndex(store));
+        page = second.findAnnotated(second.buildClassIndex(module(annotatedJar())),
+            "java.lang.FunctionalInterface", "class", null, 1000);
+        AnnotationMatch supplier = page.getMatches().stream()
+            .filter(match -> match.getClassName().equals("java.util.function.Supplier"))
+            .findFirst().orElseThrow();
+        assertEquals("java.base", supplier.getDependency());
+    }
+
+    private List<String> names(AnnotationSearchPage page) {
+        return page.getMatches().stream().map(AnnotationMatch::toString).toList();
+    }
+
+    private ModuleContext module(Path jar) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve("pom.xml"))
+            .classpathJars(List.of(jar))
+            .build();
+    }
+
+    /**
+     * JAR holding the class files of the nested annotations and annotated classes
+     */
+    private Path annotatedJar() throws IOException {
+        Path jar = tempDir.resolve("annotated-1.0.jar");
+        if (Files.exists(jar)) {
+            return jar;
+        }
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os)) {
+            List<Class<?>> types = List.of(Marker.class, Recorded.class, Tagged.class, Service.class, Both.class,
+                Plain.class, Injected.class, Component.class);
+            for (Class<?> type : types) {
+                String entry = type.getName().replace('.', '/') + ".class";
+                jos.putNextEntry(new JarEntry(entry));
+                try (InputStream in = type.getClassLoader().getResourceAsStream(entry)) {
+                    in.transferTo(jos);
+                }
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClassIndexSnapshot Unit Tests")
+class ClassIndexSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should keep module indexes separate")
+    void testModulesAreIsolated() throws IOException {
+        Path foo = TestJars.create(tempDir.resolve("foo-1.0.jar"), "com/example/Foo.class");
+        Path bar = TestJars.create(tempDir.resolve("bar-1.0.jar"), "org/sample/Bar.class");
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot first = resolver.buildClassIndex(module("a/pom.xml", foo));
+        ClassIndexSnapshot second = resolver.buildClassIndex(module("b/pom.xml", bar));
+
+        assertEquals(Set.of("com.example"), first.getPackages("Foo"));
+        assertTrue(first.getPackages("Bar").isEmpty());
+        assertEquals(Set.of("org.sample"), second.getPackages("Bar"));
+        assertTrue(second.getPackages("Foo").isEmpty());
+        assertSame(first, resolver.getSnapshot(module("a/pom.xml", foo)));
+    }
+
+    @Test
+    @DisplayName("Should publish a new version and leave the previous snapshot untouched")
+    void testPreviousSnapshotIsImmutable() throws IOException {
+        Path foo = TestJars.create(tempDir.resolve("foo-1.0.jar"), "com/example/Foo.class");
+        Path bar = TestJars.create(tempDir.resolve("bar-1.0.jar"), "org/sample/Bar.class");
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot before = resolver.buildClassIndex(module("pom.xml", foo));
+        ClassIndexSnapshot unchanged = resolver.buildClassIndex(module("pom.xml", foo));
+        ClassIndexSnapshot after = resolver.buildClassIndex(module("pom.xml", foo, bar));
+
+        assertSame(before, unchanged);
+        assertTrue(after.getVersion() > before.getVersion());
+        assertTrue(before.getPackages("Bar").isEmpty());
+        assertEquals(Set.of("org.sample"), after.getPackages("Bar"));
+        assertEquals("bar-1.0", after.getDependencyForPackage("org.sample"));
+        assertSame(after, resolver.getLatestSnapshot());
+    }
+
+    @Test
+    @DisplayName("Should merge segment matches in order and report each class once")
+    void testSearchMergesSegments() {
+        ClassIndexSnapshot snapshot = ClassIndexSnapshot.of(List.of(
+            ClassIndexSegment.builder(null, "first")
+                .addClass("java.util", "List")
+                .addClass("com.example", "Listener")
+                .build(),
+            ClassIndexSegment.builder(null, "second")
+                .addClass("java.awt", "List")
+                .addClass("java.util", "List")
+                .build()
+        ));
+
+        List<String> results = new ArrayList<>();
+        snapshot.search(ClassNameQuery.of("List", "prefix"),
+            (pkg, name, dependency) -> results.add(pkg + "." + name + "@" + dependency));
+
+        assertEquals(List.of("java.awt.List@second", "java.util.List@first", "com.example.Listener@first"), results);
+    }
+
+    @Test
+    @DisplayName("Should page through matches by seeking after the last match")
+    void testSeekPaging() {
+        ClassIndexSnapshot snapshot = ClassIndexSnapshot.of(List.of(
+            ClassIndexSegment.builder(null, "first")
+                .addClass("a", "Map")
+                .addClass("b", "MapEntry")
+                .addClass("c", "Mapper")
+                .build(),
+            ClassIndexSegment.builder(null, "second")
+                .addClass("a", "Map")
+                .addClass("d", "MapLike")
+                .addClass("e", "Other")
+                .build()
+        ));
+        ClassNameQuery query = ClassNameQuery.of("Map", "prefix");
+
+        List<String> names = new ArrayList<>();
+        ClassMatch after = null;
+        ClassSearchPage page;
+        do {
+            page = snapshot.search(query, after, 2);
+            page.getMatches().forEach(match -> names.add(match.getClassName()));
+            after = page.getMatches().get(page.getMatches().size() - 1);
+        } while (page.hasMore());
+
+        assertEquals(List.of("a.Map", "b.MapEntry", "d.MapLike", "c.Mapper"), names);
+        assertEquals(5, page.getTotalResults());
+        assertTrue(page.isTotalEstimated());
+    }
+
+    @Test
+    @DisplayName("Should report an exact total unless a class may be counted in several segments")
+    void testTotalEstimated() {
+        ClassIndexSegment first = ClassIndexSegment.builder(null, "first")
+            .addClass("a", "Map")
+            .addClass("b", "MapEntry")
+            .build();
+        ClassIndexSegment separate = ClassIndexSegment.builder(null, "separate")
+            .addClass("c", "Mapper")
+            .build();
+        ClassIndexSegment overlapping = ClassIndexSegment.builder(null, "overlapping")
+            .addClass("a", "Map")
+            .addClass("a", "MapLike")
+            .build();
+        ClassNameQuery query = ClassNameQuery.of("Map", "prefix");
+
+        ClassSearchPage page = ClassIndexSnapshot.of(List.of(first, separate)).search(query, null, 2);
+        assertTrue(page.hasMore());
+        assertEquals(3, page.getTotalResults());
+        assertFalse(page.isTotalEstimated());
+
+        ClassIndexSnapshot shared = ClassIndexSnapshot.of(List.of(first, overlapping));
+        page = shared.search(query, null, 2);
+        assertEquals(4, page.getTotalResults());
+        assertTrue(page.isTotalEstimated());
+
+        page = shared.search(query, null, 10);
+        assertFalse(page.hasMore());
+        assertEquals(3, page.getTotalResults());
+        assertFalse(page.isTotalEstimated());
+    }
+
+    @Test
+    @DisplayName("Should page through ranked matches with a bounded heap")
+    void testRankedPaging() {
+        ClassIndexSnapshot snapshot = ClassIndexSnapshot.of(List.of(
+            ClassIndexSegment.builder(null, null)
+                .addClass("java.util", "HashMap")
+                .addClass("java.util.concurrent", "ConcurrentHashMap")
+                .addClass("java.util", "HashSet")
+                .build()
+        ));
+        ClassNameQuery query = ClassNameQuery.of("HM", "camelcase");
+
+        ClassSearchPage first = snapshot.search(query, null, 1);
+        assertEquals(List.of("java.util.HashMap"), first.getMatches().stream().map(ClassMatch::getClassName).toList());
+        assertTrue(first.hasMore());
+        assertEquals(2, first.getTotalResults());
+        assertFalse(first.isTotalEstimated());
+
+        ClassSearchPage second = snapshot.search(query, first.getMatches().get(0), 1);
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap"),
+            second.getMatches().stream().map(ClassMatch::getClassName).toList());
+        assertFalse(second.hasMore());
+    }
+
+    private ModuleContext module(String pom, Path... jars) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve(pom))
+            .classpathJars(List.of(jars))
+            .build();
+    }
+}
@@ -5,9 +5,14 @@ import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,6 +66,30 @@ class ClassLoaderManagerTest {
         assertNotSame(loader1, loader2);
     }
 
+    @Test
+    @DisplayName("Should close the JARs of an invalidated ClassLoader")
+    void testInvalidateClosesLoader(@TempDir Path tempDir) throws IOException {
+        Path jar = tempDir.resolve("lib.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("lib.properties"));
+            out.closeEntry();
+        }
+        Path pomFile = tempDir.resolve("pom.xml");
+        ModuleContext context = ModuleContext.builder()
+            .pomFile(pomFile)
+            .artifactId("test-module")
+            .classpathJars(List.of(jar))
+            .build();
+
+        ClassLoader loader = manager.getClassLoader(context);
+        assertNotNull(loader.getResource("lib.properties"));
+
+        manager.invalidate(pomFile);
+
+        assertNull(loader.getResource("lib.properties"));
+        assertNotNull(manager.getClassLoader(context).getResource("lib.properties"));
+    }
+
     @Test
     @DisplayName("Should clear all loaders")
     void testClear() {
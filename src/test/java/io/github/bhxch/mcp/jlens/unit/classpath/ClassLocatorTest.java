@@ -0,0 +1,138 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntry;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntryFingerprint;
+import io.github.bhxch.mcp.jlens.classpath.index.JarIndexer;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClassLocator Unit Tests")
+class ClassLocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ClassIndexSegment segment(Path jar) throws IOException {
+        return JarIndexer.index(jar, ClasspathEntryFingerprint.of(jar), ClasspathEntry.labelForJar(jar),
+            JarIndexer.CLASS_SUFFIX);
+    }
+
+    @Test
+    @DisplayName("Should locate classes in the exact map without opening JARs")
+    void testExact() throws IOException {
+        Path lib = TestJars.createWithClasses(tempDir.resolve("lib-1.0.jar"), "com.example.Widget", "com.example.Widget$Part");
+        Path other = TestJars.createWithClasses(tempDir.resolve("other-2.0.jar"), "com.example.Widget", "org.acme.Tool");
+        ClassLocator locator = new ClassLocator();
+        locator.add(lib, segment(lib));
+        locator.add(other, segment(other));
+
+        assertEquals(List.of(lib, other), locator.locate("com.example.Widget"));
+        assertEquals(List.of(lib), locator.locate("com.example.Widget$Part"));
+        assertEquals(List.of(), locator.locate("com.example.Missing"));
+        assertTrue(locator.contains(other, "org.acme.Tool"));
+        assertFalse(locator.contains(lib, "org.acme.Tool"));
+        assertEquals(4, locator.getExactClassCount());
+        assertEquals(0, locator.getArchiveOpenCount());
+    }
+
+    @Test
+    @DisplayName("Should fall back to Bloom filters and open a JAR only to confirm a hit")
+    void testBloomFilter() throws IOException {
+        String[] classNames = new String[200];
+        for (int i = 0; i < classNames.length; i++) {
+            classNames[i] = "com.example.generated.Type" + i;
+        }
+        Path lib = TestJars.createWithClasses(tempDir.resolve("lib-1.0.jar"), classNames);
+        Path small = TestJars.createWithClasses(tempDir.resolve("small-1.0.jar"), "org.acme.Tool");
+        ClassLocator locator = new ClassLocator(1);
+        locator.add(small, segment(small));
+        locator.add(lib, segment(lib));
+
+        assertEquals(List.of(small), locator.locate("org.acme.Tool"));
+        assertEquals(List.of(lib), locator.locate("com.example.generated.Type42"));
+        assertEquals(1, locator.getArchiveOpenCount());
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(locator.contains(lib, "com.example.other.Missing" + i));
+        }
+        assertTrue(locator.getArchiveOpenCount() < 40, "false positives: " + locator.getArchiveOpenCount());
+    }
+
+    @Test
+    @DisplayName("Should open unknown JARs without adding them and replace a JAR's classes when it changes")
+    void testUnknownAndReplace() throws IOException {
+        Path lib = TestJars.createWithClasses(tempDir.resolve("lib-1.0.jar"), "com.example.Widget");
+        ClassLocator locator = new ClassLocator();
+
+        assertTrue(locator.contains(lib, "com.example.Widget"));
+        assertFalse(locator.contains(tempDir.resolve("absent.jar"), "com.example.Widget"));
+        assertEquals(0, locator.getJarCount());
+
+        locator.add(lib, segment(lib));
+        Files.delete(lib);
+        TestJars.createWithClasses(tempDir.resolve("lib-1.0.jar"), "com.example.Gadget");
+        locator.add(lib, segment(lib));
+
+        assertEquals(List.of(), locator.locate("com.example.Widget"));
+        assertEquals(List.of(lib), locator.locate("com.example.Gadget"));
+        assertEquals(1, locator.getExactClassCount());
+    }
+
+    @Test
+    @DisplayName("Should drop JARs deleted or changed since they were added")
+    void testStale() throws IOException {
+        Path lib = TestJars.createWithClasses(tempDir.resolve("lib-1.0.jar"), "com.example.Widget");
+        Path other = TestJars.createWithClasses(tempDir.resolve("other-1.0.jar"), "com.example.Widget");
+        ClassLocator locator = new ClassLocator();
+        locator.add(lib, segment(lib));
+        locator.add(other, segment(other));
+
+        Files.delete(lib);
+        Files.setLastModifiedTime(other, FileTime.fromMillis(0));
+
+        assertEquals(List.of(), locator.locate("com.example.Widget"));
+        assertEquals(0, locator.getJarCount());
+        assertEquals(0, locator.getExactClassCount());
+        assertTrue(locator.contains(other, "com.example.Widget"));
+    }
+
+    @Test
+    @DisplayName("Should remove the JARs of segments no module references any more")
+    void testRemoveReleased() throws IOException {
+        Path old = TestJars.createWithClasses(tempDir.resolve("lib-1.0.jar"), "com.example.Widget");
+        Path upgraded = TestJars.createWithClasses(tempDir.resolve("lib-1.1.jar"), "com.example.Widget");
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassLocator locator = resolver.getClassLocator();
+
+        resolver.buildClassIndex(module("app", old));
+        resolver.buildClassIndex(module("tool", old));
+        assertEquals(List.of(old), locator.locate("com.example.Widget"));
+
+        resolver.buildClassIndex(module("app", upgraded));
+        assertEquals(List.of(old, upgraded), locator.locate("com.example.Widget"));
+
+        resolver.buildClassIndex(module("tool", upgraded));
+        assertEquals(List.of(upgraded), locator.locate("com.example.Widget"));
+        assertEquals(1, locator.getJarCount());
+    }
+
+    private ModuleContext module(String name, Path jar) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve(name).resolve("pom.xml"))
+            .classpathJars(List.of(jar))
+            .build();
+    }
+}
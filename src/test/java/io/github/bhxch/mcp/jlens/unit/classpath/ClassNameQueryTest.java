@@ -0,0 +1,155 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClassNameQuery Unit Tests")
+class ClassNameQueryTest {
+
+    private ClassIndexSegment segment;
+
+    @BeforeEach
+    void setUp() {
+        segment = ClassIndexSegment.builder(null, null)
+            .addClass("java.util", "ArrayList")
+            .addClass("java.util", "List")
+            .addClass("java.util", "HashMap")
+            .addClass("java.util.concurrent", "CopyOnWriteArrayList")
+            .addClass("java.util.concurrent", "ConcurrentHashMap")
+            .addClass("java.awt", "List")
+            .addClass("com.example", "Outer$Inner")
+            .addClass("org.springframework.boot.web.client", "RestTemplateBuilder")
+            .addClass("org.springframework.web.client", "RestTemplate")
+            .addClass("java.net", "URLConnection")
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should find contains matches through the trigram index")
+    void testContains() {
+        assertEquals(List.of("java.util.ArrayList", "java.util.concurrent.CopyOnWriteArrayList"),
+            search("ArrayLis", "contains"));
+    }
+
+    @Test
+    @DisplayName("Should find suffix matches")
+    void testSuffix() {
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap", "java.util.HashMap"),
+            search("HashMap", "suffix"));
+    }
+
+    @Test
+    @DisplayName("Should verify candidates against wildcard patterns")
+    void testWildcard() {
+        assertEquals(List.of("java.util.concurrent.CopyOnWriteArrayList"), search("Copy*List", "wildcard"));
+        assertEquals(List.of("java.awt.List", "java.util.List"), search("Li?t", "wildcard"));
+    }
+
+    @Test
+    @DisplayName("Should match patterns with a dot against fully-qualified names")
+    void testQualifiedWildcard() {
+        assertEquals(List.of("java.util.ArrayList", "java.util.concurrent.CopyOnWriteArrayList"),
+            search("java.util.*ArrayList", "wildcard"));
+        assertEquals(List.of("java.util.ArrayList", "java.util.HashMap", "java.util.List"),
+            search("java.util.*", "wildcard").stream().filter(name -> !name.contains("concurrent")).toList());
+        assertEquals(List.of("java.awt.List"), search("java.awt.List", "exact"));
+    }
+
+    @Test
+    @DisplayName("Should answer prefix and exact searches from the sorted names")
+    void testPrefixAndExact() {
+        assertEquals(List.of("java.awt.List", "java.util.List"), search("List", "exact"));
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.CopyOnWriteArrayList"),
+            search("Co", "prefix"));
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.CopyOnWriteArrayList"),
+            search("java.util.concurrent.", "prefix"));
+        assertTrue(search("Lis", "exact").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should use the literal prefix of anchored wildcard patterns")
+    void testAnchoredWildcard() {
+        ClassNameQuery query = ClassNameQuery.of("Copy*List", "wildcard");
+        assertEquals("Copy", query.getLiteralPrefix());
+        assertNull(ClassNameQuery.of("*List", "wildcard").getLiteralPrefix());
+    }
+
+    @Test
+    @DisplayName("Should match camel-hump abbreviations")
+    void testCamelCase() {
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap"), search("CHM", "camelcase"));
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap"), search("ConcHaMap", "camelcase"));
+        assertEquals(List.of("org.springframework.boot.web.client.RestTemplateBuilder"),
+            search("RestTemplBuilder", "camelcase"));
+        assertEquals(List.of("java.net.URLConnection"), search("URLConn", "camelcase"));
+        assertTrue(search("CHX", "camelcase").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank camel-hump matches by match quality")
+    void testCamelCaseRanking() {
+        ClassIndexSnapshot snapshot = ClassIndexSnapshot.of(List.of(segment));
+        List<String> results = new ArrayList<>();
+        snapshot.search(ClassNameQuery.of("HM", "camelcase"), (pkg, name, dependency) -> results.add(name));
+        assertEquals(List.of("HashMap", "ConcurrentHashMap"), results);
+
+        results.clear();
+        snapshot.search(ClassNameQuery.of("RT", "camelcase"), (pkg, name, dependency) -> results.add(name));
+        assertEquals(List.of("RestTemplate", "RestTemplateBuilder"), results);
+    }
+
+    @Test
+    @DisplayName("Should find misspelled names within the edit distance")
+    void testFuzzy() {
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap"), search("ConcurentHashMap", "fuzzy"));
+        assertEquals(List.of("java.awt.List", "java.util.List"), search("lsit", "fuzzy"));
+        assertEquals(List.of("java.util.concurrent.ConcurrentHashMap"), search("concurentHashMapp", "fuzzy"));
+
+        List<String> results = new ArrayList<>();
+        segment.search(ClassNameQuery.of("ConcurentHshMap", "fuzzy").withMaxDistance(1),
+            (pkg, name) -> results.add(name));
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank fuzzy matches by distance, then preferred dependencies")
+    void testFuzzyRanking() {
+        ClassIndexSnapshot snapshot = ClassIndexSnapshot.of(List.of(
+            ClassIndexSegment.builder(null, "jdk")
+                .addClass("java.awt", "List")
+                .addClass("java.util", "Lists")
+                .build(),
+            ClassIndexSegment.builder(null, "guava-33.0")
+                .addClass("com.google.common.collect", "List")
+                .build()
+        ));
+
+        List<String> results = new ArrayList<>();
+        snapshot.search(ClassNameQuery.of("List", "fuzzy").withPreferredDependencies(Set.of("guava-33.0")),
+            (pkg, name, dependency) -> results.add(pkg + "." + name));
+
+        assertEquals(List.of("com.google.common.collect.List", "java.awt.List", "java.util.Lists"), results);
+    }
+
+    @Test
+    @DisplayName("Should treat regex metacharacters in patterns literally")
+    void testLiteralMetacharacters() {
+        assertEquals(List.of("com.example.Outer$Inner"), search("Outer$*", "wildcard"));
+    }
+
+    private List<String> search(String pattern, String searchType) {
+        List<String> results = new ArrayList<>();
+        segment.search(ClassNameQuery.of(pattern, searchType), (pkg, name) -> results.add(pkg + "." + name));
+        return results;
+    }
+}
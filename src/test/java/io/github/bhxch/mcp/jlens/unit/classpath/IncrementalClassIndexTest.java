@@ -0,0 +1,139 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Incremental Class Index Unit Tests")
+class IncrementalClassIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should not re-index unchanged classpath entries")
+    void testUnchangedEntriesAreReused() throws IOException {
+        Path jar = TestJars.create(tempDir.resolve("demo-1.0.jar"), "com/example/Foo.class");
+        Path classes = createClass(tempDir.resolve("target/classes"), "com/acme/App.class");
+        ModuleContext context = moduleContext(classes, List.of(jar));
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        resolver.buildClassIndex(context);
+        assertEquals(2, resolver.getIndexedEntryCount());
+        assertEquals(List.of("com.acme"), resolver.getPossiblePackages("App"));
+
+        resolver.buildClassIndex(context);
+        assertEquals(2, resolver.getIndexedEntryCount());
+    }
+
+    @Test
+    @DisplayName("Should re-index only the changed output directory")
+    void testChangedDirectoryIsReindexed() throws IOException {
+        Path jar = TestJars.create(tempDir.resolve("demo-1.0.jar"), "com/example/Foo.class");
+        Path classes = createClass(tempDir.resolve("target/classes"), "com/acme/App.class");
+        ModuleContext context = moduleContext(classes, List.of(jar));
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        resolver.buildClassIndex(context);
+
+        createClass(classes, "com/acme/service/Service.class");
+        resolver.buildClassIndex(context);
+
+        assertEquals(3, resolver.getIndexedEntryCount());
+        assertEquals(List.of("com.acme.service"), resolver.getPossiblePackages("Service"));
+        assertEquals(List.of("com.example"), resolver.getPossiblePackages("Foo"));
+    }
+
+    @Test
+    @DisplayName("Should drop classes of removed classpath entries")
+    void testRemovedEntryIsDropped() throws IOException {
+        Path foo = TestJars.create(tempDir.resolve("foo-1.0.jar"), "com/example/Foo.class");
+        Path bar = TestJars.create(tempDir.resolve("bar-1.0.jar"), "org/sample/Bar.class");
+        Path pom = tempDir.resolve("pom.xml");
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        resolver.buildClassIndex(ModuleContext.builder().pomFile(pom).classpathJars(List.of(foo, bar)).build());
+        assertEquals(List.of("org.sample"), resolver.getPossiblePackages("Bar"));
+
+        resolver.buildClassIndex(ModuleContext.builder().pomFile(pom).classpathJars(List.of(foo)).build());
+
+        assertEquals(2, resolver.getIndexedEntryCount());
+        assertTrue(resolver.getPossiblePackages("Bar").isEmpty());
+        assertNull(resolver.getDependencyForPackage("org.sample"));
+        assertEquals(List.of("com.example"), resolver.getPossiblePackages("Foo"));
+    }
+
+    @Test
+    @DisplayName("Should build different modules concurrently")
+    void testModulesBuildConcurrently() throws Exception {
+        Path foo = TestJars.create(tempDir.resolve("foo-1.0.jar"), "com/example/Foo.class");
+        Path bar = TestJars.create(tempDir.resolve("bar-1.0.jar"), "org/sample/Bar.class");
+        Path blockedHome = tempDir.resolve("jdk");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JdkClassIndex jdkClassIndex = new JdkClassIndex() {
+            @Override
+            public List<ClassIndexSegment> segments(Path javaHome) throws IOException {
+                if (blockedHome.equals(javaHome)) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                return List.of();
+            }
+        };
+        PackageMappingResolver resolver = new PackageMappingResolver(null, jdkClassIndex);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ClassIndexSnapshot> blocked = executor.submit(() -> resolver.buildClassIndex(
+                ModuleContext.builder().pomFile(tempDir.resolve("app/pom.xml")).classpathJars(List.of(foo)).build(),
+                blockedHome));
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            Future<ClassIndexSnapshot> other = executor.submit(() -> resolver.buildClassIndex(
+                ModuleContext.builder().pomFile(tempDir.resolve("lib/pom.xml")).classpathJars(List.of(bar)).build()));
+            assertEquals(Set.of("org.sample"), other.get(10, TimeUnit.SECONDS).getPackages("Bar"));
+            assertFalse(blocked.isDone());
+
+            release.countDown();
+            assertEquals(Set.of("com.example"), blocked.get(10, TimeUnit.SECONDS).getPackages("Foo"));
+        }
+    }
+
+    private ModuleContext moduleContext(Path outputDirectory, List<Path> jars) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve("pom.xml"))
+            .artifactId("demo-app")
+            .outputDirectory(outputDirectory)
+            .classpathJars(jars)
+            .build();
+    }
+
+    private Path createClass(Path outputDirectory, String entry) throws IOException {
+        Path file = outputDirectory.resolve(entry);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{(byte) 0xCA, (byte) 0xFE});
+        return outputDirectory;
+    }
+}
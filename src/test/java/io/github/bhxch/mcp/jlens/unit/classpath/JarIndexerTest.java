@@ -0,0 +1,111 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.JarIndexer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JarIndexer Unit Tests")
+class JarIndexerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should decode class names from the central directory")
+    void testIndexesClassEntries() throws IOException {
+        Path jar = TestJars.createWithComment(tempDir.resolve("lib.jar"), "archive comment",
+            "META-INF/MANIFEST.MF",
+            "com/",
+            "com/example/",
+            "com/example/Foo.class",
+            "com/example/Foo$Inner.class",
+            "com/example/util/Bar.class",
+            "com/example/Baz.class",
+            "com/example/readme.txt",
+            "Root.class");
+
+        ClassIndexSegment segment = JarIndexer.index(jar, null, "lib", JarIndexer.CLASS_SUFFIX);
+
+        assertEquals(List.of("com.example.Baz", "com.example.Foo", "com.example.Foo$Inner", "com.example.util.Bar"),
+            classes(segment));
+    }
+
+    @Test
+    @DisplayName("Should index source entries with the source suffix")
+    void testIndexesSourceEntries() throws IOException {
+        Path jar = TestJars.createWithComment(tempDir.resolve("lib-sources.jar"), "archive comment",
+            "com/example/Foo.java",
+            "com/example/Foo.class");
+
+        ClassIndexSegment segment = JarIndexer.index(jar, null, null, JarIndexer.SOURCE_SUFFIX);
+
+        assertEquals(List.of("com.example.Foo"), classes(segment));
+    }
+
+    @Test
+    @DisplayName("Should decode non-ASCII names")
+    void testNonAsciiNames() throws IOException {
+        Path jar = TestJars.createWithComment(tempDir.resolve("lib.jar"), "archive comment", "com/exämple/Ünicode.class");
+
+        ClassIndexSegment segment = JarIndexer.index(jar, null, null, JarIndexer.CLASS_SUFFIX);
+
+        assertEquals(List.of("com.exämple.Ünicode"), classes(segment));
+    }
+
+    @Test
+    @DisplayName("Should read archives with a prefix before the ZIP data")
+    void testPrefixedArchive() throws IOException {
+        Path plain = TestJars.createWithComment(tempDir.resolve("plain.jar"), "archive comment", "com/example/Foo.class");
+        Path prefixed = tempDir.resolve("prefixed.jar");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write("#!/bin/sh\nexec java -jar \"$0\" \"$@\"\n".getBytes());
+        bytes.write(Files.readAllBytes(plain));
+        Files.write(prefixed, bytes.toByteArray());
+
+        ClassIndexSegment segment = JarIndexer.index(prefixed, null, null, JarIndexer.CLASS_SUFFIX);
+
+        assertEquals(List.of("com.example.Foo"), classes(segment));
+    }
+
+    @Test
+    @DisplayName("Should strip only the trailing suffix when indexing through JarFile")
+    void testJarFileFallback() throws IOException {
+        Path jar = TestJars.createWithComment(tempDir.resolve("lib.jar"), "archive comment",
+            "com/foo/class/bar/Baz.class",
+            "com/foo/java/Qux.java",
+            "com/foo/readme.txt");
+
+        assertEquals(List.of("com.foo.class.bar.Baz"),
+            classes(JarIndexer.indexWithJarFile(jar, null, null, JarIndexer.CLASS_SUFFIX)));
+        assertEquals(List.of("com.foo.java.Qux"),
+            classes(JarIndexer.indexWithJarFile(jar, null, null, JarIndexer.SOURCE_SUFFIX)));
+        assertEquals(classes(JarIndexer.index(jar, null, null, JarIndexer.CLASS_SUFFIX)),
+            classes(JarIndexer.indexWithJarFile(jar, null, null, JarIndexer.CLASS_SUFFIX)));
+    }
+
+    @Test
+    @DisplayName("Should fail on files that are not archives")
+    void testNotAnArchive() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("broken.jar"), "not a zip file");
+
+        assertThrows(IOException.class, () -> JarIndexer.index(file, null, null, JarIndexer.CLASS_SUFFIX));
+    }
+
+    private List<String> classes(ClassIndexSegment segment) {
+        List<String> classes = new ArrayList<>();
+        segment.forEachClass((pkg, simple) -> classes.add(pkg + "." + simple));
+        classes.sort(null);
+        return classes;
+    }
+}
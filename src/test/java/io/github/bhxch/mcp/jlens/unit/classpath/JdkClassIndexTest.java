@@ -0,0 +1,80 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JdkClassIndex Unit Tests")
+class JdkClassIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should index every JDK module once and load it from the store afterwards")
+    void testIndexesJdkOncePerBuild() throws IOException {
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+        JdkClassIndex first = new JdkClassIndex(store);
+
+        List<ClassIndexSegment> segments = first.segments(null);
+        assertSame(segments, first.segments(null));
+        assertEquals(1, first.getIndexedImageCount());
+
+        ClassIndexSnapshot snapshot = ClassIndexSnapshot.of(segments);
+        assertTrue(snapshot.getPackages("String").contains("java.lang"));
+        assertTrue(snapshot.getPackages("ConcurrentHashMap").contains("java.util.concurrent"));
+        assertEquals("java.base", snapshot.getDependencyForPackage("java.lang"));
+        assertEquals("java.sql", snapshot.getDependencyForPackage("java.sql"));
+
+        JdkClassIndex second = new JdkClassIndex(store);
+        List<ClassIndexSegment> loaded = second.segments(null);
+        assertEquals(0, second.getIndexedImageCount());
+        assertEquals(segments.size(), loaded.size());
+        assertTrue(ClassIndexSnapshot.of(loaded).getPackages("String").contains("java.lang"));
+    }
+
+    @Test
+    @DisplayName("Should search JDK classes alongside module dependencies")
+    void testJdkClassesInModuleIndex() throws IOException {
+        Path jar = TestJars.create(tempDir.resolve("foo-1.0.jar"), "com/example/JlensStringUtils.class");
+        PackageMappingResolver resolver = new PackageMappingResolver(null, new JdkClassIndex());
+
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(ModuleContext.builder()
+            .pomFile(tempDir.resolve("pom.xml"))
+            .classpathJars(List.of(jar))
+            .build());
+
+        List<String> results = new ArrayList<>();
+        snapshot.search(ClassNameQuery.of("StringBu", "prefix"),
+            (pkg, name, dependency) -> results.add(pkg + "." + name + "@" + dependency));
+        assertTrue(results.contains("java.lang.StringBuilder@java.base"));
+
+        List<String> names = new ArrayList<>();
+        snapshot.search(ClassNameQuery.of("JlensStringUtils", "exact")).forEachRemaining(
+            (ClassMatch match) -> names.add(match.getClassName() + "@" + match.getDependency()));
+        assertEquals(List.of("com.example.JlensStringUtils@foo-1.0"), names);
+        assertEquals(PackageMappingResolver.ClassResolutionResult.ResolutionType.JAVA_LANG,
+            resolver.resolveClassName(snapshot, "ProcessHandle", List.of(), null).getResolutionType());
+    }
+
+    @Test
+    @DisplayName("Should skip a java home without a module image")
+    void testHomeWithoutModuleImage() throws IOException {
+        assertTrue(new JdkClassIndex().segments(tempDir).isEmpty());
+    }
+}
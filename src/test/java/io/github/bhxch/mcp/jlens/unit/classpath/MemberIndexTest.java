@@ -0,0 +1,188 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassNameQuery;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.MemberSearchPage;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Member index Unit Tests")
+class MemberIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should find the classes declaring a method from their class files")
+    void testFindsDeclaringClasses() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(indexJar()));
+
+        MemberSearchPage page = resolver.searchMembers(snapshot,
+            ClassNameQuery.of("getClassName", "exact"), null, null, 10);
+
+        assertEquals(List.of(
+            "io.github.bhxch.mcp.jlens.classpath.index.ClassMatch#getClassName",
+            "io.github.bhxch.mcp.jlens.classpath.index.MemberMatch#getClassName"), names(page));
+        assertEquals("index-1.0", page.getMatches().get(0).getDependency());
+        assertEquals("method", page.getMatches().get(0).getKind());
+        assertEquals(2, page.getTotalResults());
+    }
+
+    @Test
+    @DisplayName("Should skip private members and filter by kind")
+    void testPrivateMembersAndKinds() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(indexJar()));
+
+        assertTrue(resolver.searchMembers(snapshot, ClassNameQuery.of("simpleName", "exact"), null, null, 10)
+            .getMatches().isEmpty());
+        assertTrue(resolver.searchMembers(snapshot, ClassNameQuery.of("getScore", "exact"), "field", null, 10)
+            .getMatches().isEmpty());
+        assertEquals(2, resolver.searchMembers(snapshot, ClassNameQuery.of("getScore", "exact"), "method", null, 10)
+            .getMatches().size());
+    }
+
+    @Test
+    @DisplayName("Should page through members by seeking after the last match")
+    void testPaging() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(indexJar()));
+        ClassNameQuery query = ClassNameQuery.of("get*", "wildcard");
+
+        List<String> all = names(resolver.searchMembers(snapshot, query, null, null, 1000));
+        List<String> paged = new ArrayList<>();
+        MemberMatch after = null;
+        MemberSearchPage page;
+        do {
+            page = resolver.searchMembers(snapshot, query, null, after, 3);
+            paged.addAll(names(page));
+            after = page.getMatches().get(page.getMatches().size() - 1);
+        } while (page.hasMore());
+
+        assertEquals(all, paged);
+        assertTrue(all.size() > 3);
+    }
+
+    @Test
+    @DisplayName("Should persist member indexes beside their segments")
+    void testPersistsMemberIndex() throws IOException {
+        Path jar = indexJar();
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+
+        PackageMappingResolver first = new PackageMappingResolver(store);
+        first.searchMembers(first.buildClassIndex(module(jar)), ClassNameQuery.of("getKind", "exact"), null, null, 10);
+        try (Stream<Path> files = Files.list(store.getDirectory())) {
+            assertTrue(files.anyMatch(file -> file.toString().endsWith(".members")));
+        }
+
+        PackageMappingResolver second = new PackageMappingResolver(store);
+        MemberSearchPage page = second.searchMembers(second.buildClassIndex(module(jar)),
+            ClassNameQuery.of("getKind", "exact"), null, null, 10);
+        assertEquals(List.of("io.github.bhxch.mcp.jlens.classpath.index.MemberMatch#getKind"), names(page));
+    }
+
+    @Test
+    @DisplayName("Should find JDK members by camel humps")
+    void testJdkMembers() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver(null, new JdkClassIndex());
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(indexJar()));
+
+        MemberSearchPage page = resolver.searchMembers(snapshot,
+            ClassNameQuery.of("newVirtualThreadPerTaskExecutor", "camelcase"), "method", null, 5);
+
+        assertEquals("java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor", page.getMatches().get(0).toString());
+        assertEquals("java.base", page.getMatches().get(0).getDependency());
+    }
+
+    @Test
+    @DisplayName("Should read class files from the module's own copy of a shared JAR")
+    void testSharedSegment() throws IOException {
+        Path jar = indexJar();
+        Path first = Files.copy(jar, Files.createDirectories(tempDir.resolve("first")).resolve("index-1.0.jar"));
+        Path second = Files.copy(jar, Files.createDirectories(tempDir.resolve("second")).resolve("index-1.0.jar"));
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot firstSnapshot = resolver.buildClassIndex(module(tempDir.resolve("first"), first));
+        ClassIndexSnapshot secondSnapshot = resolver.buildClassIndex(module(tempDir.resolve("second"), second));
+        assertSame(firstSnapshot.getSegments().values().iterator().next(),
+            secondSnapshot.getSegments().values().iterator().next());
+
+        Files.delete(first);
+
+        assertEquals(List.of("io.github.bhxch.mcp.jlens.classpath.index.MemberMatch#getKind"), names(
+            resolver.searchMembers(secondSnapshot, ClassNameQuery.of("getKind", "exact"), null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("Should index a JAR again after failing to read it")
+    void testReadFailure() throws IOException {
+        Path jar = indexJar();
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(jar));
+        Path moved = Files.move(jar, tempDir.resolve("moved.jar"));
+
+        assertTrue(resolver.searchMembers(snapshot, ClassNameQuery.of("getKind", "exact"), null, null, 10)
+            .getMatches().isEmpty());
+
+        Files.move(moved, jar);
+        assertEquals(List.of("io.github.bhxch.mcp.jlens.classpath.index.MemberMatch#getKind"), names(
+            resolver.searchMembers(snapshot, ClassNameQuery.of("getKind", "exact"), null, null, 10)));
+    }
+
+    private List<String> names(MemberSearchPage page) {
+        return page.getMatches().stream().map(MemberMatch::toString).toList();
+    }
+
+    private ModuleContext module(Path jar) {
+        return module(tempDir, jar);
+    }
+
+    private ModuleContext module(Path directory, Path jar) {
+        return ModuleContext.builder()
+            .pomFile(directory.resolve("pom.xml"))
+            .classpathJars(List.of(jar))
+            .build();
+    }
+
+    /**
+     * JAR holding the real class files of two index classes
+     */
+    private Path indexJar() throws IOException {
+        Path jar = tempDir.resolve("index-1.0.jar");
+        if (Files.exists(jar)) {
+            return jar;
+        }
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os)) {
+            for (Class<?> type : List.of(ClassMatch.class, MemberMatch.class)) {
+                String entry = type.getName().replace('.', '/') + ".class";
+                jos.putNextEntry(new JarEntry(entry));
+                try (InputStream in = type.getClassLoader().getResourceAsStream(entry)) {
+                    in.transferTo(jos);
+                }
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.bhxch.mcp.jlens.unit.classpath;
 
 import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,11 +49,11 @@ class PackageMappingResolverTest {
         List<String> imports = List.of();
         String currentPackage = "com.example";
 
-        // Manually add class to index
-        resolver.getClassToPackages().put("MyClass", java.util.Set.of("com.example"));
+        // Index the class in an ad-hoc snapshot
+        ClassIndexSnapshot snapshot = snapshotOf("MyClass", "com.example");
 
         PackageMappingResolver.ClassResolutionResult result = 
-            resolver.resolveClassName(simpleName, imports, currentPackage);
+            resolver.resolveClassName(snapshot, simpleName, imports, currentPackage);
 
         assertEquals("com.example.MyClass", result.getResolvedClassName());
         assertEquals(PackageMappingResolver.ClassResolutionResult.ResolutionType.SAME_PACKAGE, 
@@ -65,11 +67,11 @@ class PackageMappingResolverTest {
         List<String> imports = List.of("java.util.List");
         String currentPackage = "com.example";
 
-        // Manually add class to index
-        resolver.getClassToPackages().put("List", java.util.Set.of("java.util"));
+        // Index the class in an ad-hoc snapshot
+        ClassIndexSnapshot snapshot = snapshotOf("List", "java.util");
 
         PackageMappingResolver.ClassResolutionResult result = 
-            resolver.resolveClassName(simpleName, imports, currentPackage);
+            resolver.resolveClassName(snapshot, simpleName, imports, currentPackage);
 
         assertEquals("java.util.List", result.getResolvedClassName());
         assertEquals(PackageMappingResolver.ClassResolutionResult.ResolutionType.EXPLICIT_IMPORT, 
@@ -83,11 +85,11 @@ class PackageMappingResolverTest {
         List<String> imports = List.of("java.util.*");
         String currentPackage = "com.example";
 
-        // Manually add class to index
-        resolver.getClassToPackages().put("ArrayList", java.util.Set.of("java.util"));
+        // Index the class in an ad-hoc snapshot
+        ClassIndexSnapshot snapshot = snapshotOf("ArrayList", "java.util");
 
         PackageMappingResolver.ClassResolutionResult result = 
-            resolver.resolveClassName(simpleName, imports, currentPackage);
+            resolver.resolveClassName(snapshot, simpleName, imports, currentPackage);
 
         assertEquals("java.util.ArrayList", result.getResolvedClassName());
         assertEquals(PackageMappingResolver.ClassResolutionResult.ResolutionType.WILDCARD_IMPORT, 
@@ -116,15 +118,15 @@ class PackageMappingResolverTest {
         List<String> imports = List.of();
         String currentPackage = "com.example";
 
-        // Manually add class to index with multiple packages
-        resolver.getClassToPackages().put("Factory", java.util.Set.of(
+        // Index the class in an ad-hoc snapshot with multiple packages
+        ClassIndexSnapshot snapshot = snapshotOf("Factory",
             "com.google.inject",
             "org.springframework.beans.factory",
             "javax.inject"
-        ));
+        );
 
         PackageMappingResolver.ClassResolutionResult result = 
-            resolver.resolveClassName(simpleName, imports, currentPackage);
+            resolver.resolveClassName(snapshot, simpleName, imports, currentPackage);
 
         assertEquals(PackageMappingResolver.ClassResolutionResult.ResolutionType.AMBIGUOUS, 
             result.getResolutionType());
@@ -184,9 +186,9 @@ class PackageMappingResolverTest {
     @Test
     @DisplayName("Should get possible packages for class name")
     void testGetPossiblePackages() {
-        resolver.getClassToPackages().put("List", java.util.Set.of("java.util", "java.awt"));
+        ClassIndexSnapshot snapshot = snapshotOf("List", "java.util", "java.awt");
 
-        List<String> packages = resolver.getPossiblePackages("List");
+        List<String> packages = List.copyOf(snapshot.getPackages("List"));
 
         assertEquals(2, packages.size());
         assertTrue(packages.contains("java.util"));
@@ -200,7 +202,12 @@ class PackageMappingResolverTest {
 
         assertTrue(packages.isEmpty());
     }
-}
-
-
 
+    private static ClassIndexSnapshot snapshotOf(String simpleName, String... packages) {
+        ClassIndexSegment.Builder builder = ClassIndexSegment.builder(null, null);
+        for (String packageName : packages) {
+            builder.addClass(packageName, simpleName);
+        }
+        return ClassIndexSnapshot.of(List.of(builder.build()));
+    }
+}
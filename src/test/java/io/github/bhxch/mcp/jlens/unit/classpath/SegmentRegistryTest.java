@@ -0,0 +1,85 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentRegistry;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SegmentRegistry Unit Tests")
+class SegmentRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should index JARs shared by sibling modules only once")
+    void testSharedJarsAreIndexedOnce() throws IOException {
+        Path shared = TestJars.create(tempDir.resolve("shared-1.0.jar"), "com/shared/Util.class");
+        Path onlyA = TestJars.create(tempDir.resolve("a-1.0.jar"), "com/a/A.class");
+        Path onlyB = TestJars.create(tempDir.resolve("b-1.0.jar"), "com/b/B.class");
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot a = resolver.buildClassIndex(module("a/pom.xml", shared, onlyA));
+        ClassIndexSnapshot b = resolver.buildClassIndex(module("b/pom.xml", shared, onlyB));
+
+        assertEquals(3, resolver.getIndexedEntryCount());
+        SegmentRegistry registry = resolver.getSegmentRegistry();
+        assertEquals(3, registry.size());
+
+        ClassIndexSegment sharedSegment = a.getSegments().values().iterator().next();
+        assertSame(sharedSegment, b.getSegments().values().iterator().next());
+        assertEquals(2, registry.referenceCount(sharedSegment));
+        assertEquals(Set.of("com.shared"), b.getPackages("Util"));
+    }
+
+    @Test
+    @DisplayName("Should share identical JARs stored at different paths")
+    void testIdenticalContentIsDeduplicated() throws IOException {
+        Path first = TestJars.create(tempDir.resolve("lib-1.0.jar"), "com/lib/Lib.class");
+        Files.createDirectories(tempDir.resolve("copy"));
+        Path copy = Files.copy(first, tempDir.resolve("copy/lib-1.0.jar"));
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot a = resolver.buildClassIndex(module("a/pom.xml", first));
+        ClassIndexSnapshot b = resolver.buildClassIndex(module("b/pom.xml", copy));
+
+        assertEquals(1, resolver.getSegmentRegistry().size());
+        assertSame(a.getSegments().values().iterator().next(), b.getSegments().values().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Should evict segments no module references anymore")
+    void testUnreferencedSegmentsAreEvicted() throws IOException {
+        Path shared = TestJars.create(tempDir.resolve("shared-1.0.jar"), "com/shared/Util.class");
+        Path onlyA = TestJars.create(tempDir.resolve("a-1.0.jar"), "com/a/A.class");
+
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        resolver.buildClassIndex(module("a/pom.xml", shared, onlyA));
+        resolver.buildClassIndex(module("b/pom.xml", shared));
+        assertEquals(2, resolver.getSegmentRegistry().size());
+
+        ClassIndexSnapshot a = resolver.buildClassIndex(module("a/pom.xml", shared));
+
+        assertEquals(1, resolver.getSegmentRegistry().size());
+        assertEquals(2, resolver.getSegmentRegistry().referenceCount(a.getSegments().values().iterator().next()));
+    }
+
+    private ModuleContext module(String pom, Path... jars) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve(pom))
+            .classpathJars(List.of(jars))
+            .build();
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSegment;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntryFingerprint;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SegmentStore Unit Tests")
+class SegmentStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should persist a segment per JAR and reload it lazily")
+    void testPersistAndReload() throws IOException {
+        Path jar = TestJars.create(tempDir.resolve("demo-1.0.jar"), "com/example/Foo.class", "com/example/util/Bar.class");
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+
+        PackageMappingResolver resolver = new PackageMappingResolver(store);
+        resolver.buildClassIndex(ModuleContext.builder().classpathJars(List.of(jar)).build());
+
+        assertEquals(List.of("com.example"), resolver.getPossiblePackages("Foo"));
+        assertEquals("demo-1.0", resolver.getDependencyForPackage("com.example.util"));
+
+        ClassIndexSegment reloaded = new SegmentStore(tempDir.resolve("index"))
+            .load(ClasspathEntryFingerprint.stat(jar));
+        assertNotNull(reloaded);
+        assertFalse(reloaded.isLoaded());
+        assertEquals(2, reloaded.size());
+        assertNotNull(reloaded.getFingerprint().getContentHash());
+
+        List<String> classes = new ArrayList<>();
+        reloaded.forEachClass((pkg, name) -> classes.add(pkg + "." + name));
+        assertTrue(reloaded.isLoaded());
+        assertEquals(List.of("com.example.util.Bar", "com.example.Foo"), classes);
+    }
+
+    @Test
+    @DisplayName("Should ignore a persisted segment once the JAR changes")
+    void testStaleSegment() throws IOException {
+        Path jar = TestJars.create(tempDir.resolve("demo-1.0.jar"), "com/example/Foo.class");
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+        new PackageMappingResolver(store)
+            .buildClassIndex(ModuleContext.builder().classpathJars(List.of(jar)).build());
+
+        TestJars.create(jar, "com/example/Foo.class", "com/example/Baz.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        assertNull(store.load(ClasspathEntryFingerprint.stat(jar)));
+
+        PackageMappingResolver resolver = new PackageMappingResolver(store);
+        resolver.buildClassIndex(ModuleContext.builder().classpathJars(List.of(jar)).build());
+        assertEquals(List.of("com.example"), resolver.getPossiblePackages("Baz"));
+    }
+
+    @Test
+    @DisplayName("Should delete the segment of a JAR's earlier state when it is indexed again")
+    void testPruneSuperseded() throws IOException {
+        Path jar = TestJars.create(tempDir.resolve("demo-1.0-SNAPSHOT.jar"), "com/example/Foo.class");
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+        new PackageMappingResolver(store)
+            .buildClassIndex(ModuleContext.builder().classpathJars(List.of(jar)).build());
+        Path first = storeFiles().get(0);
+
+        TestJars.create(jar, "com/example/Foo.class", "com/example/Baz.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        new PackageMappingResolver(store)
+            .buildClassIndex(ModuleContext.builder().classpathJars(List.of(jar)).build());
+
+        List<Path> files = storeFiles();
+        assertEquals(1, files.size());
+        assertNotEquals(first, files.get(0));
+        assertNotNull(store.load(ClasspathEntryFingerprint.stat(jar)));
+    }
+
+    @Test
+    @DisplayName("Should sweep files of deleted JARs and unknown formats on the first write")
+    void testSweep() throws IOException {
+        Path deleted = TestJars.create(tempDir.resolve("deleted-1.0.jar"), "com/example/Gone.class");
+        Path kept = TestJars.create(tempDir.resolve("kept-1.0.jar"), "com/example/Kept.class");
+        new PackageMappingResolver(new SegmentStore(tempDir.resolve("index")))
+            .buildClassIndex(ModuleContext.builder().classpathJars(List.of(deleted, kept)).build());
+        Files.delete(deleted);
+        Files.write(tempDir.resolve("index").resolve("0123456789abcdef.annotations"), new byte[]{1, 2, 3});
+        Files.writeString(tempDir.resolve("index").resolve("notes.txt"), "unrelated");
+
+        Path jar = TestJars.create(tempDir.resolve("demo-1.0.jar"), "com/example/Foo.class");
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+        new PackageMappingResolver(store)
+            .buildClassIndex(ModuleContext.builder().classpathJars(List.of(jar)).build());
+
+        assertEquals(2, storeFiles().size());
+        assertNotNull(store.load(ClasspathEntryFingerprint.stat(kept)));
+        assertNotNull(store.load(ClasspathEntryFingerprint.stat(jar)));
+        assertTrue(Files.exists(tempDir.resolve("index").resolve("notes.txt")));
+    }
+
+    private List<Path> storeFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("index"))) {
+            return files.filter(file -> !file.getFileName().toString().equals("notes.txt")).toList();
+        }
+    }
+}
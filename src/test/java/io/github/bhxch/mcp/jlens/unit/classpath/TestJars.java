@@ -0,0 +1,57 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * JAR fixtures for the class index tests. Every entry holds the two bytes of a class file's
+ * magic number, which is all the name indexes read.
+ */
+final class TestJars {
+
+    private TestJars() {
+    }
+
+    /**
+     * Write a JAR with the given entry paths, such as {@code com/example/Foo.class}
+     */
+    static Path create(Path jar, String... entries) throws IOException {
+        return write(jar, null, entries);
+    }
+
+    /**
+     * Write a JAR with the given entry paths and an archive comment after its central directory
+     */
+    static Path createWithComment(Path jar, String comment, String... entries) throws IOException {
+        return write(jar, comment, entries);
+    }
+
+    /**
+     * Write a JAR with an entry per class, given by binary name such as {@code com.example.Outer$Inner}
+     */
+    static Path createWithClasses(Path jar, String... classNames) throws IOException {
+        return create(jar, Arrays.stream(classNames)
+            .map(className -> className.replace('.', '/') + ".class")
+            .toArray(String[]::new));
+    }
+
+    private static Path write(Path jar, String comment, String... entries) throws IOException {
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os)) {
+            if (comment != null) {
+                jos.setComment(comment);
+            }
+            for (String entry : entries) {
+                jos.putNextEntry(new JarEntry(entry));
+                jos.write(new byte[]{(byte) 0xCA, (byte) 0xFE});
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.bhxch.mcp.jlens.unit.classpath;
+
+import io.github.bhxch.mcp.jlens.classpath.PackageMappingResolver;
+import io.github.bhxch.mcp.jlens.classpath.index.ClassIndexSnapshot;
+import io.github.bhxch.mcp.jlens.classpath.index.JdkClassIndex;
+import io.github.bhxch.mcp.jlens.classpath.index.SegmentStore;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeMatch;
+import io.github.bhxch.mcp.jlens.classpath.index.SubtypeSearchPage;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Type hierarchy index Unit Tests")
+class TypeHierarchyIndexTest {
+
+    private static final String PREFIX = TypeHierarchyIndexTest.class.getName() + "$";
+
+    interface Shape {
+    }
+
+    interface Curved extends Shape {
+    }
+
+    static class Polygon implements Shape {
+    }
+
+    static class Square extends Polygon {
+    }
+
+    static class Circle implements Curved {
+    }
+
+    static final Shape ANONYMOUS = new Shape() {
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should list the direct subtypes of an interface")
+    void testDirectSubtypes() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(shapesJar()));
+
+        SubtypeSearchPage page = resolver.findSubtypes(snapshot, PREFIX + "Shape", false, null, 10);
+
+        assertEquals(List.of(PREFIX + "Curved", PREFIX + "Polygon"), names(page));
+        assertEquals("interface", page.getMatches().get(0).getKind());
+        assertEquals("class", page.getMatches().get(1).getKind());
+        assertEquals("shapes-1.0", page.getMatches().get(1).getDependency());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should walk the hierarchy breadth first for transitive searches")
+    void testTransitiveSubtypes() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(shapesJar()));
+
+        SubtypeSearchPage page = resolver.findSubtypes(snapshot, PREFIX + "Shape", true, null, 10);
+
+        assertEquals(List.of(PREFIX + "Curved", PREFIX + "Polygon", PREFIX + "Circle", PREFIX + "Square"),
+            names(page));
+        SubtypeMatch square = page.getMatches().get(3);
+        assertEquals(2, square.getDepth());
+        assertEquals(PREFIX + "Polygon", square.getSupertype());
+        assertEquals(4, page.getTotalResults());
+    }
+
+    @Test
+    @DisplayName("Should page through subtypes by seeking after the last match")
+    void testPaging() throws IOException {
+        PackageMappingResolver resolver = new PackageMappingResolver();
+        ClassIndexSnapshot snapshot = resolver.buildClassIndex(module(shapesJar()));
+
+        List<String> paged = new ArrayList<>();
+        SubtypeMatch after = null;
+        SubtypeSearchPage page;
+        do {
+            page = resolver.findSubtypes(snapshot, PREFIX + "Shape", true, after, 3);
+            paged.addAll(names(page));
+            after = page.getMatches().get(page.getMatches().size() - 1);
+        } while (page.hasMore());
+
+        assertEquals(List.of(PREFIX + "Curved", PREFIX + "Polygon", PREFIX + "Circle", PREFIX + "Square"), paged);
+    }
+
+    @Test
+    @DisplayName("Should find JDK subtypes and persist the supertype index")
+    void testJdkSubtypes() throws IOException {
+        SegmentStore store = new SegmentStore(tempDir.resolve("index"));
+        PackageMappingResolver first = new PackageMappingResolver(store, new JdkClassIndex(store));
+        ClassIndexSnapshot snapshot = first.buildClassIndex(module(shapesJar()));
+
+        SubtypeSearchPage page = first.findSubtypes(snapshot, "java.util.AbstractList", false, null, 1000);
+        assertTrue(names(page).contains("java.util.ArrayList"));
+        assertTrue(names(page).contains("java.util.AbstractSequentialList"));
+        assertFalse(names(page).contains("java.util.LinkedList"));
+        try (Stream<Path> files = Files.list(store.getDirectory())) {
+            assertTrue(files.anyMatch(file -> file.toString().endsWith(".supertypes")));
+        }
+
+        PackageMappingResolver second = new PackageMappingResolver(store, new JdkClassIndex(store));
+        page = second.findSubtypes(second.buildClassIndex(module(shapesJar())),
+            "java.util.AbstractList", true, null, 1000);
+        SubtypeMatch linkedList = page.getMatches().stream()
+            .filter(match -> match.getClassName().equals("java.util.LinkedList"))
+            .findFirst().orElseThrow();
+        assertEquals(2, linkedList.getDepth());
+        assertEquals("java.base", linkedList.getDependency());
+    }
+
+    private List<String> names(SubtypeSearchPage page) {
+        return page.getMatches().stream().map(SubtypeMatch::getClassName).toList();
+    }
+
+    private ModuleContext module(Path jar) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve("pom.xml"))
+            .classpathJars(List.of(jar))
+            .build();
+    }
+
+    /**
+     * JAR holding the class files of the nested shape types and the anonymous shape
+     */
+    private Path shapesJar() throws IOException {
+        Path jar = tempDir.resolve("shapes-1.0.jar");
+        if (Files.exists(jar)) {
+            return jar;
+        }
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os)) {
+            List<Class<?>> types = List.of(Shape.class, Curved.class, Polygon.class, Square.class, Circle.class,
+                ANONYMOUS.getClass());
+            for (Class<?> type : types) {
+                String entry = type.getName().replace('.', '/') + ".class";
+                jos.putNextEntry(new JarEntry(entry));
+                try (InputStream in = type.getClassLoader().getResourceAsStream(entry)) {
+                    in.transferTo(jos);
+                }
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.bhxch.mcp.jlens.unit.concurrent;
+
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MavenWorkerPool Unit Tests")
+class MavenWorkerPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<List<String>> commands = Collections.synchronizedList(new ArrayList<>());
+
+    static class FakeProcess extends Process {
+        private final int exitCode;
+
+        FakeProcess(int exitCode) {
+            this.exitCode = exitCode;
+        }
+
+        @Override
+        public OutputStream getOutputStream() { return new ByteArrayOutputStream(); }
+        @Override
+        public InputStream getInputStream() { return new ByteArrayInputStream(new byte[0]); }
+        @Override
+        public InputStream getErrorStream() { return new ByteArrayInputStream(new byte[0]); }
+        @Override
+        public int waitFor() { return exitCode; }
+        @Override
+        public int exitValue() { return exitCode; }
+        @Override
+        public boolean isAlive() { return false; }
+        @Override
+        public void destroy() {}
+    }
+
+    private MavenWorkerPool pool(int size, int maxTasks, int exitCode) {
+        return new MavenWorkerPool(tempDir.resolve("mvnd"), tempDir.resolve("workers"), size, maxTasks, "512m") {
+            @Override
+            protected Process startProcess(List<String> command, Path workingDirectory) {
+                commands.add(command);
+                return new FakeProcess(command.contains("--stop") ? 0 : exitCode);
+            }
+        };
+    }
+
+    private long stops() {
+        return commands.stream().filter(command -> command.contains("--stop")).count();
+    }
+
+    @Test
+    @DisplayName("Should run tasks on a worker's daemon and recycle it after its task limit")
+    void testRecycleAfterTasks() throws Exception {
+        MavenWorkerPool pool = pool(1, 2, 0);
+
+        for (int i = 0; i < 3; i++) {
+            int exitCode = pool.run(List.of("dependency:list"), tempDir, Process::waitFor);
+            assertEquals(0, exitCode);
+        }
+
+        assertEquals(List.of(tempDir.resolve("mvnd").toString(), "-B",
+            "-Dmvnd.daemonStorage=" + tempDir.resolve("workers/worker-0"), "-Dmvnd.maxHeapSize=512m",
+            "dependency:list"), commands.get(0));
+        assertTrue(commands.get(2).contains("--stop"));
+        assertEquals(1, stops());
+
+        pool.close();
+        assertEquals(2, stops());
+        assertThrows(IllegalStateException.class, () -> pool.run(List.of("validate"), tempDir, Process::waitFor));
+    }
+
+    @Test
+    @DisplayName("Should recycle a worker whose task was killed")
+    void testRecycleKilledTask() throws Exception {
+        MavenWorkerPool pool = pool(1, 100, 137);
+
+        pool.run(List.of("package"), tempDir, Process::waitFor);
+
+        assertEquals(1, stops());
+    }
+
+    @Test
+    @DisplayName("Should run no more concurrent tasks than there are workers")
+    void testBounded() {
+        MavenWorkerPool pool = pool(2, 100, 0);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return pool.run(List.of("compile"), tempDir, process -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            Thread.sleep(20);
+                            running.decrementAndGet();
+                            return process.waitFor();
+                        });
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }, executor));
+            }
+            futures.forEach(CompletableFuture::join);
+        }
+
+        assertEquals(8, commands.size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.bhxch.mcp.jlens.unit.concurrent;
 
 import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor;
+import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -66,4 +67,23 @@ class ParallelProcessorTest {
         assertNotNull(result);
         assertTrue(result.hasErrors());
     }
+
+    @Test
+    @DisplayName("Should keep inspection results in order and report failed classes")
+    void testInspectClassesInParallel() {
+        List<ClassMetadata> results = ParallelProcessor.inspectClassesInParallel(
+            List.of("com.example.A", "com.example.Broken", "com.example.C"), 2,
+            className -> {
+                if (className.endsWith("Broken")) {
+                    throw new IllegalStateException("cannot read");
+                }
+                return ClassMetadata.builder().className(className).build();
+            });
+
+        assertEquals(List.of("com.example.A", "com.example.Broken", "com.example.C"),
+            results.stream().map(ClassMetadata::getClassName).toList());
+        assertEquals("SUCCESS", results.get(0).getStatus());
+        assertEquals("ERROR", results.get(1).getStatus());
+        assertTrue(results.get(1).getSuggestion().contains("cannot read"));
+    }
 }
@@ -94,6 +94,15 @@ class ServerConfigTest {
         assertEquals("ERROR", config.getLogLevel());
     }
 
+    @Test
+    @DisplayName("Should parse cache directory argument")
+    void testCacheDirectory() {
+        ServerConfig config = ServerConfig.fromCommandLine(new String[]{"--cache-dir", "/tmp/jlens-cache"});
+
+        assertEquals("/tmp/jlens-cache", config.getCacheDirectory().toString().replace("\\", "/"));
+        assertEquals("/tmp/jlens-cache/index", config.getIndexCacheDirectory().toString().replace("\\", "/"));
+    }
+
     @Test
     @DisplayName("Should create MavenConfig from ServerConfig")
     void testMavenConfigCreation() {
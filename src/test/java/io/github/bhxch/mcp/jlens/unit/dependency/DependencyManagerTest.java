@@ -4,10 +4,13 @@ import io.github.bhxch.mcp.jlens.dependency.DependencyManager;
 import io.github.bhxch.mcp.jlens.dependency.MavenBuilder;
 import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.resolver.LocalRepositoryIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -64,6 +67,29 @@ class DependencyManagerTest {
         assertTrue(manager.findDependenciesForClass("Test", context).isEmpty());
     }
 
+    @Test
+    @DisplayName("Should check availability against the local repository index")
+    void testRepositoryIndex(@TempDir Path tempDir) throws Exception {
+        Path repository = tempDir.resolve("repository");
+        Path lib = Files.createDirectories(repository.resolve("com/example/lib/1.0"));
+        Files.writeString(lib.resolve("lib-1.0.jar"), "jar");
+        Files.createDirectories(repository.resolve("com/example/lib/1.1"));
+        Files.writeString(repository.resolve("com/example/lib/1.1/lib-1.1.pom"), "<project/>");
+        DependencyInfo installed = DependencyInfo.builder().groupId("com.example").artifactId("lib").version("1.0").build();
+        DependencyInfo missing = DependencyInfo.builder().groupId("com.example").artifactId("lib").version("2.0").build();
+        ModuleContext context = ModuleContext.builder()
+            .localRepository(repository)
+            .dependencies(List.of(installed, missing))
+            .build();
+
+        DependencyManager indexed = new DependencyManager(builder, new LocalRepositoryIndex(repository));
+        assertEquals(List.of(missing), indexed.findMissingDependencies(context));
+        assertFalse(indexed.isSourceAvailable(installed, context));
+        assertEquals(List.of("1.0", "1.1"), indexed.findLocalVersions("com.example", "lib", context));
+        assertEquals(List.of(missing), manager.findMissingDependencies(context));
+        assertEquals(List.of("1.0", "1.1"), manager.findLocalVersions("com.example", "lib", context));
+    }
+
     @Test
     @DisplayName("Should handle download request")
     void testDownloadDependency() {
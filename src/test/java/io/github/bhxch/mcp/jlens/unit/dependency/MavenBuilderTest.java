@@ -1,5 +1,6 @@
 package io.github.bhxch.mcp.jlens.unit.dependency;
 
+import io.github.bhxch.mcp.jlens.concurrent.MavenWorkerPool;
 import io.github.bhxch.mcp.jlens.dependency.MavenBuilder;
 import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,8 +8,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -152,7 +160,73 @@ class MavenBuilderTest {
         assertNotNull(result);
         // Result may be success or timeout depending on system
     }
-}
 
+    /**
+     * A build that never ends nor closes its output until it is killed
+     */
+    static class HangingProcess extends Process {
+        private final CountDownLatch killed = new CountDownLatch(1);
+        private final PipedInputStream output = new PipedInputStream();
+        private final PipedOutputStream pipe;
+
+        HangingProcess() throws IOException {
+            pipe = new PipedOutputStream(output);
+            pipe.write("[INFO] Building app 1.0\n".getBytes());
+            pipe.flush();
+        }
+
+        @Override
+        public OutputStream getOutputStream() { return OutputStream.nullOutputStream(); }
+        @Override
+        public InputStream getInputStream() { return output; }
+        @Override
+        public InputStream getErrorStream() { return InputStream.nullInputStream(); }
+        @Override
+        public int waitFor() throws InterruptedException { killed.await(); return 137; }
+        @Override
+        public boolean waitFor(long timeout, TimeUnit unit) throws InterruptedException {
+            return killed.await(timeout, unit);
+        }
+        @Override
+        public int exitValue() {
+            if (killed.getCount() > 0) {
+                throw new IllegalThreadStateException();
+            }
+            return 137;
+        }
+        @Override
+        public boolean isAlive() { return killed.getCount() > 0; }
+        @Override
+        public void destroy() {
+            killed.countDown();
+            try {
+                pipe.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+        @Override
+        public Process destroyForcibly() { destroy(); return this; }
+    }
 
+    @Test
+    @DisplayName("Should time out a pooled build that keeps its output open")
+    void testBuildModule_PooledTimeout(@TempDir Path tempDir) {
+        MavenWorkerPool pool = new MavenWorkerPool(tempDir.resolve("mvnd"), tempDir.resolve("workers"), 1, 100, null) {
+            @Override
+            protected Process startProcess(List<String> command, Path workingDirectory) throws IOException {
+                return command.contains("--stop") ? new HangingProcess().destroyForcibly() : new HangingProcess();
+            }
+        };
+        ModuleContext context = ModuleContext.builder()
+            .baseDirectory(tempDir)
+            .pomFile(tempDir.resolve("pom.xml"))
+            .build();
+
+        MavenBuilder.BuildResult result = new MavenBuilder(pool).buildModule(context, List.of("compile"), List.of(), 1);
 
+        assertFalse(result.isSuccess());
+        assertEquals("Build timed out after 1 seconds", result.getError());
+        assertTrue(result.getOutput().contains("Building app"));
+    }
+}
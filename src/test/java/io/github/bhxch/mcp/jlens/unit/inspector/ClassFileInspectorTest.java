@@ -0,0 +1,229 @@
+package io.github.bhxch.mcp.jlens.unit.inspector;
+
+import io.github.bhxch.mcp.jlens.classpath.index.ClassLocator;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntry;
+import io.github.bhxch.mcp.jlens.classpath.index.ClasspathEntryFingerprint;
+import io.github.bhxch.mcp.jlens.classpath.index.JarIndexer;
+import io.github.bhxch.mcp.jlens.concurrent.ParallelProcessor.DetailLevel;
+import io.github.bhxch.mcp.jlens.inspector.ClassInspector;
+import io.github.bhxch.mcp.jlens.inspector.InspectionEngine;
+import io.github.bhxch.mcp.jlens.inspector.model.ClassMetadata;
+import io.github.bhxch.mcp.jlens.inspector.model.FieldInfo;
+import io.github.bhxch.mcp.jlens.inspector.model.MethodInfo;
+import io.github.bhxch.mcp.jlens.inspector.model.ParameterInfo;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bytecode inspection engine Unit Tests")
+class ClassFileInspectorTest {
+
+    private static final String PREFIX = ClassFileInspectorTest.class.getName() + "$";
+
+    static boolean initialized;
+
+    static class Initializing {
+        public static final int LIMIT = 42;
+        protected volatile long count;
+        private transient List<String> names;
+
+        static {
+            initialized = true;
+        }
+
+        public Initializing(int count) {
+        }
+
+        public synchronized String[] join(int first, String... rest) throws IOException {
+            return rest;
+        }
+    }
+
+    enum Color {
+        RED, GREEN
+    }
+
+    private final ClassInspector inspector = new ClassInspector();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should report the same metadata as reflection for a JDK class")
+    void testMatchesReflection() {
+        for (String className : List.of("java.util.ArrayList", "java.util.Map$Entry", "java.lang.Thread$State",
+                "java.lang.annotation.Retention")) {
+            ClassMetadata bytecode = inspect(className, null, InspectionEngine.BYTECODE);
+            ClassMetadata reflection = inspect(className, null, InspectionEngine.REFLECTION);
+
+            assertEquals("SUCCESS", bytecode.getStatus());
+            assertEquals(reflection.getClassName(), bytecode.getClassName());
+            assertEquals(reflection.getPackageName(), bytecode.getPackageName());
+            assertEquals(reflection.getSimpleClassName(), bytecode.getSimpleClassName());
+            assertEquals(reflection.getSuperClass(), bytecode.getSuperClass());
+            assertEquals(reflection.getInterfaces(), bytecode.getInterfaces());
+            assertEquals(reflection.getModifiers(), bytecode.getModifiers(), className);
+            assertEquals(reflection.isInterface(), bytecode.isInterface());
+            assertEquals(reflection.isEnum(), bytecode.isEnum());
+            assertEquals(reflection.isAnnotation(), bytecode.isAnnotation());
+            assertEquals(reflection.isStatic(), bytecode.isStatic());
+            assertEquals(fields(reflection), fields(bytecode), className);
+            assertEquals(methods(reflection.getMethods()), methods(bytecode.getMethods()), className);
+            assertEquals(methods(reflection.getConstructors()), methods(bytecode.getConstructors()), className);
+        }
+    }
+
+    @Test
+    @DisplayName("Should read a class from a JAR without initializing it")
+    void testDoesNotInitialize() throws IOException {
+        ModuleContext context = module(jar(Initializing.class, Color.class));
+
+        ClassMetadata metadata = inspect(PREFIX + "Initializing", context, InspectionEngine.BYTECODE);
+
+        assertFalse(initialized);
+        assertEquals("SUCCESS", metadata.getStatus());
+        assertEquals("Initializing", metadata.getSimpleClassName());
+        assertTrue(metadata.isStatic());
+
+        FieldInfo limit = field(metadata, "LIMIT");
+        assertEquals("int", limit.getType());
+        assertEquals(42, limit.getConstantValue());
+        assertTrue(field(metadata, "count").isVolatile());
+        assertEquals("java.util.List", field(metadata, "names").getType());
+        assertEquals("Ljava/util/List<Ljava/lang/String;>;", field(metadata, "names").getSignature());
+
+        MethodInfo join = metadata.getMethods().get(0);
+        assertEquals("join", join.getName());
+        assertEquals("[Ljava.lang.String;", join.getReturnType());
+        assertEquals(List.of("int", "[Ljava.lang.String;"),
+            join.getParameters().stream().map(ParameterInfo::getType).toList());
+        assertTrue(join.isVarArgs());
+        assertTrue(join.getParameters().get(1).isVarArgs());
+        assertTrue(join.isSynchronized());
+        assertEquals(List.of("java.io.IOException"), join.getExceptions());
+        assertEquals(1, metadata.getConstructors().size());
+
+        ClassMetadata color = inspect(PREFIX + "Color", context, InspectionEngine.BYTECODE);
+        assertTrue(color.isEnum());
+        assertEquals("java.lang.Enum", color.getSuperClass());
+    }
+
+    @Test
+    @DisplayName("Should honour the detail level")
+    void testDetailLevels() throws IOException {
+        ModuleContext context = module(jar(Initializing.class));
+
+        ClassMetadata skeleton = inspector.inspect(PREFIX + "Initializing", context, DetailLevel.SKELETON, null,
+            null, null, InspectionEngine.BYTECODE);
+        assertTrue(skeleton.getFields().isEmpty());
+        assertTrue(skeleton.getMethods().isEmpty());
+
+        ClassMetadata basic = inspector.inspect(PREFIX + "Initializing", context, DetailLevel.BASIC, null,
+            null, null, InspectionEngine.BYTECODE);
+        assertEquals(Set.of("LIMIT"), basic.getFields().stream().map(FieldInfo::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Should fall back to reflection when the class file is not found")
+    void testFallsBackToReflection() {
+        ClassMetadata metadata = inspector.inspect(PREFIX + "Color", null, DetailLevel.BASIC, null,
+            getClass().getClassLoader(), null, InspectionEngine.BYTECODE);
+
+        assertEquals("SUCCESS", metadata.getStatus());
+        assertTrue(metadata.isEnum());
+
+        assertEquals("NOT_FOUND", inspect("com.example.Missing", null, InspectionEngine.BYTECODE).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should read a class from the JAR the class locator reports")
+    void testClassLocator() throws IOException {
+        Path colors = jar("colors-1.0.jar", Color.class);
+        Path classes = jar(Initializing.class);
+        ClassLocator locator = new ClassLocator();
+        for (Path jar : List.of(colors, classes)) {
+            locator.add(jar, JarIndexer.index(jar, ClasspathEntryFingerprint.of(jar), ClasspathEntry.labelForJar(jar),
+                JarIndexer.CLASS_SUFFIX));
+        }
+        ClassInspector located = new ClassInspector(null, InspectionEngine.BYTECODE, locator);
+        ModuleContext context = ModuleContext.builder()
+            .pomFile(tempDir.resolve("pom.xml"))
+            .baseDirectory(tempDir)
+            .classpathJars(List.of(colors, classes))
+            .build();
+
+        ClassMetadata metadata = located.inspect(PREFIX + "Initializing", context, DetailLevel.FULL, null,
+            null, null, InspectionEngine.BYTECODE);
+        assertEquals("SUCCESS", metadata.getStatus());
+        assertEquals("Initializing", metadata.getSimpleClassName());
+        assertTrue(located.inspect(PREFIX + "Color", context, DetailLevel.FULL, null, null, null,
+            InspectionEngine.BYTECODE).isEnum());
+        assertEquals(0, locator.getArchiveOpenCount());
+    }
+
+    private ClassMetadata inspect(String className, ModuleContext context, InspectionEngine engine) {
+        return inspector.inspect(className, context, DetailLevel.FULL, null, null, null, engine);
+    }
+
+    private Set<String> fields(ClassMetadata metadata) {
+        return metadata.getFields().stream()
+            .map(field -> field.getName() + ":" + field.getType() + ":" + field.getModifiers())
+            .collect(Collectors.toSet());
+    }
+
+    private Set<String> methods(List<MethodInfo> methods) {
+        return methods.stream()
+            .map(method -> method.getName() + method.getParameters().stream().map(ParameterInfo::getType).toList()
+                + ":" + method.getReturnType() + ":" + method.getModifiers() + ":" + method.isDefault())
+            .collect(Collectors.toSet());
+    }
+
+    private FieldInfo field(ClassMetadata metadata, String name) {
+        return metadata.getFields().stream().filter(field -> field.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private ModuleContext module(Path jar) {
+        return ModuleContext.builder()
+            .pomFile(tempDir.resolve("pom.xml"))
+            .baseDirectory(tempDir)
+            .classpathJars(List.of(jar))
+            .build();
+    }
+
+    /**
+     * JAR holding the class files of the given nested classes
+     */
+    private Path jar(Class<?>... types) throws IOException {
+        return jar("classes-1.0.jar", types);
+    }
+
+    private Path jar(String name, Class<?>... types) throws IOException {
+        Path jar = tempDir.resolve(name);
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os)) {
+            for (Class<?> type : types) {
+                String entry = type.getName().replace('.', '/') + ".class";
+                jos.putNextEntry(new JarEntry(entry));
+                try (InputStream in = type.getClassLoader().getResourceAsStream(entry)) {
+                    in.transferTo(jos);
+                }
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,258 @@
+package io.github.bhxch.mcp.jlens.unit.maven;
+
+import io.github.bhxch.mcp.jlens.cache.CacheManager;
+import io.github.bhxch.mcp.jlens.config.ServerConfig;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import io.github.bhxch.mcp.jlens.maven.resolver.CachingMavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolver;
+import io.github.bhxch.mcp.jlens.maven.resolver.MavenResolverFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachingMavenResolver Unit Tests")
+class CachingMavenResolverTest {
+
+    private static final String POM = """
+        <project>
+          <groupId>com.example</groupId>
+          <artifactId>app</artifactId>
+          <version>1.0</version>
+        </project>
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private ServerConfig config;
+    private CacheManager cacheManager;
+    private MavenResolver delegate;
+    private MavenResolver resolver;
+    private Path pomFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        config = new ServerConfig();
+        config.setCacheDirectory(tempDir.resolve("cache"));
+        cacheManager = new CacheManager(config);
+        pomFile = Files.writeString(tempDir.resolve("pom.xml"), POM);
+        delegate = new MavenResolver() {
+            @Override
+            public ModuleContext resolveModule(Path pomFile, Scope scope, List<String> activeProfiles) {
+                resolutions.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ModuleContext.builder().pomFile(pomFile).artifactId("app").scope(scope)
+                    .activeProfiles(activeProfiles).build();
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public String getName() {
+                return "CountingResolver";
+            }
+        };
+        resolver = new CachingMavenResolver(delegate, cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should resolve a module once for a burst of concurrent calls")
+    void testSingleFlight() {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<ModuleContext>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(CompletableFuture.supplyAsync(
+                    () -> resolver.resolveModule(pomFile, Scope.COMPILE, List.of()), executor));
+            }
+            ModuleContext first = futures.get(0).join();
+            for (CompletableFuture<ModuleContext> future : futures) {
+                assertSame(first, future.join());
+            }
+        }
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    @DisplayName("Should resolve again when the POM, scope or profiles change")
+    void testKey() throws IOException {
+        resolver.resolveModule(pomFile, Scope.COMPILE, List.of());
+        resolver.resolveModule(pomFile, Scope.COMPILE, List.of());
+        assertEquals(1, resolutions.get());
+
+        resolver.resolveModule(pomFile, Scope.TEST, List.of());
+        resolver.resolveModule(pomFile, Scope.COMPILE, List.of("dev"));
+        assertEquals(3, resolutions.get());
+
+        Files.writeString(pomFile, POM.replace("1.0", "1.1"));
+        resolver.resolveModule(pomFile, Scope.COMPILE, List.of());
+        assertEquals(4, resolutions.get());
+    }
+
+    @Test
+    @DisplayName("Should share the cache between resolvers and forget a module on request")
+    void testFactory() {
+        MavenResolverFactory factory = new MavenResolverFactory(config, cacheManager);
+        MavenResolver first = factory.createResolver();
+        assertInstanceOf(CachingMavenResolver.class, first);
+        assertEquals("LocalRepositoryResolver", first.getName());
+
+        ModuleContext context = first.resolveModule(pomFile, Scope.COMPILE, List.of());
+        assertSame(context, factory.createResolver().resolveModule(pomFile, Scope.COMPILE, List.of()));
+
+        factory.invalidateModule(pomFile);
+        assertNotSame(context, factory.createResolver().resolveModule(pomFile, Scope.COMPILE, List.of()));
+        assertFalse(new MavenResolverFactory(new ServerConfig()).createResolver() instanceof CachingMavenResolver);
+    }
+
+    @Test
+    @DisplayName("Should reuse the context stored by a previous server until the POM changes")
+    void testRestart() throws IOException {
+        ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, List.of("dev"));
+
+        MavenResolver restarted = new CachingMavenResolver(delegate, new CacheManager(config));
+        ModuleContext stored = restarted.resolveModule(pomFile, Scope.COMPILE, List.of("dev"));
+        assertEquals(1, resolutions.get());
+        assertEquals(context.getPomFile(), stored.getPomFile());
+        assertEquals(context.getArtifactId(), stored.getArtifactId());
+        assertEquals(List.of("dev"), stored.getActiveProfiles());
+
+        Files.writeString(pomFile, POM.replace("<version>1.0</version>", "<version>1.0.1</version>"));
+        new CachingMavenResolver(delegate, new CacheManager(config)).resolveModule(pomFile, Scope.COMPILE, List.of("dev"));
+        assertEquals(2, resolutions.get());
+
+        config.setPersistentModuleCacheEnabled(false);
+        new CachingMavenResolver(delegate, new CacheManager(config)).resolveModule(pomFile, Scope.COMPILE, List.of("dev"));
+        assertEquals(3, resolutions.get());
+    }
+
+    @Test
+    @DisplayName("Should cache every module of a reactor resolved at once")
+    void testResolveReactor() throws IOException {
+        Files.writeString(pomFile, POM.replace("</version>", "</version><modules><module>core</module></modules>"));
+        Path corePom = Files.writeString(Files.createDirectories(tempDir.resolve("core")).resolve("pom.xml"),
+            POM.replace("app", "core"));
+
+        Map<Path, ModuleContext> reactor = resolver.resolveReactor(pomFile, Scope.COMPILE, List.of());
+        assertEquals(2, reactor.size());
+        assertEquals(2, resolutions.get());
+
+        assertSame(reactor.get(corePom), resolver.resolveModule(corePom, Scope.COMPILE, List.of()));
+        assertEquals(reactor, resolver.resolveReactor(pomFile, Scope.COMPILE, List.of()));
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    @DisplayName("Should resolve a module with its reactor when the resolver resolves reactors at once")
+    void testReactorWarmUp() throws IOException {
+        List<Path> modules = writeReactor();
+        Path corePom = modules.get(1);
+        AtomicInteger reactorRuns = new AtomicInteger();
+        MavenResolver reactorResolver = new CachingMavenResolver(reactorDelegate(reactorRuns), cacheManager);
+
+        ModuleContext core = reactorResolver.resolveModule(corePom, Scope.COMPILE, List.of());
+        assertEquals(corePom, core.getPomFile());
+        assertEquals(1, reactorRuns.get());
+        assertEquals(3, resolutions.get());
+
+        assertSame(core, reactorResolver.resolveModule(corePom, Scope.COMPILE, List.of()));
+        reactorResolver.resolveModule(modules.get(2), Scope.COMPILE, List.of());
+        reactorResolver.resolveModule(pomFile, Scope.COMPILE, List.of());
+        assertEquals(1, reactorRuns.get());
+        assertEquals(3, resolutions.get());
+    }
+
+    @Test
+    @DisplayName("Should resolve a reactor once for a burst of concurrent calls for its modules")
+    void testReactorSingleFlight() throws IOException {
+        List<Path> modules = writeReactor();
+        AtomicInteger reactorRuns = new AtomicInteger();
+        MavenResolver reactorDelegate = reactorDelegate(reactorRuns);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<ModuleContext>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Path module = modules.get(i % modules.size());
+                // A resolver per call, as the server creates one per request
+                MavenResolver reactorResolver = new CachingMavenResolver(reactorDelegate, cacheManager);
+                futures.add(CompletableFuture.supplyAsync(
+                    () -> reactorResolver.resolveModule(module, Scope.COMPILE, List.of()), executor));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(modules.get(i % modules.size()), futures.get(i).join().getPomFile());
+            }
+        }
+        assertEquals(1, reactorRuns.get());
+        assertEquals(3, resolutions.get());
+    }
+
+    /**
+     * Make the test POM an aggregator of two modules
+     *
+     * @return the aggregator's, the core module's and the api module's POM
+     */
+    private List<Path> writeReactor() throws IOException {
+        Files.writeString(pomFile, POM.replace("</version>", "</version><modules><module>core</module>"
+            + "<module>api</module></modules>"));
+        Path corePom = Files.writeString(Files.createDirectories(tempDir.resolve("core")).resolve("pom.xml"),
+            POM.replace("app", "core"));
+        Path apiPom = Files.writeString(Files.createDirectories(tempDir.resolve("api")).resolve("pom.xml"),
+            POM.replace("app", "api"));
+        return List.of(pomFile, corePom, apiPom);
+    }
+
+    /**
+     * Resolver resolving reactors at once, counting its reactor resolutions
+     */
+    private MavenResolver reactorDelegate(AtomicInteger reactorRuns) {
+        return new MavenResolver() {
+            @Override
+            public ModuleContext resolveModule(Path pomFile, Scope scope, List<String> activeProfiles) {
+                return delegate.resolveModule(pomFile, scope, activeProfiles);
+            }
+
+            @Override
+            public Map<Path, ModuleContext> resolveReactor(Path aggregatorPom, Scope scope,
+                                                           List<String> activeProfiles) {
+                reactorRuns.incrementAndGet();
+                return MavenResolver.super.resolveReactor(aggregatorPom, scope, activeProfiles);
+            }
+
+            @Override
+            public boolean resolvesReactorAtOnce() {
+                return true;
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public String getName() {
+                return "ReactorResolver";
+            }
+        };
+    }
+}
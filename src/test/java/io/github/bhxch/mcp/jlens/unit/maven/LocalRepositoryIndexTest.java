@@ -0,0 +1,117 @@
+package io.github.bhxch.mcp.jlens.unit.maven;
+
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+import io.github.bhxch.mcp.jlens.maven.resolver.LocalRepositoryIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalRepositoryIndex Unit Tests")
+class LocalRepositoryIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path install(String groupId, String artifactId, String version, String... suffixes) throws IOException {
+        Path directory = tempDir.resolve("repository").resolve(groupId.replace('.', '/'))
+            .resolve(artifactId).resolve(version);
+        Files.createDirectories(directory);
+        for (String suffix : suffixes) {
+            Files.writeString(directory.resolve(artifactId + "-" + version + suffix), "content");
+        }
+        return directory;
+    }
+
+    private static void age(Path directory) throws IOException {
+        Files.setLastModifiedTime(directory, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+    }
+
+    @Test
+    @DisplayName("Should list the installed versions and files of an artifact")
+    void testList() throws IOException {
+        Path lib = install("com.example", "lib", "1.10", ".jar", ".pom", "-sources.jar");
+        install("com.example", "lib", "1.9", ".pom");
+        install("com.example", "lib", "2.0-SNAPSHOT", ".jar");
+        Files.writeString(lib.getParent().resolve("maven-metadata-local.xml"), "<metadata/>");
+        LocalRepositoryIndex index = new LocalRepositoryIndex(tempDir.resolve("repository"));
+        assertEquals(0, index.size());
+
+        assertEquals(List.of("1.9", "1.10", "2.0-SNAPSHOT"), index.getVersions("com.example", "lib").stream()
+            .map(LocalRepositoryIndex.Version::version)
+            .toList());
+        LocalRepositoryIndex.Version version = index.find("com.example", "lib", "1.10");
+        assertEquals(lib.resolve("lib-1.10.jar"), version.jar());
+        assertEquals(lib.resolve("lib-1.10-sources.jar"), version.sources());
+        assertEquals(lib.resolve("lib-1.10.pom"), version.pom());
+        assertNull(index.find("com.example", "lib", "1.9").jar());
+        assertNull(index.find("com.example", "other", "1.0"));
+        assertEquals(3, index.size());
+
+        DependencyInfo dependency = DependencyInfo.builder().groupId("com.example").artifactId("lib").version("1.10").build();
+        assertEquals(lib.resolve("lib-1.10.jar"), index.findArtifact(dependency));
+        assertEquals(lib.resolve("lib-1.10-sources.jar"), index.findSources(dependency));
+    }
+
+    @Test
+    @DisplayName("Should reuse a listing until its directory changes")
+    void testReuse() throws IOException {
+        Path lib = install("com.example", "lib", "1.0", ".pom");
+        age(lib);
+        LocalRepositoryIndex index = new LocalRepositoryIndex(tempDir.resolve("repository"));
+        assertNull(index.find("com.example", "lib", "1.0").jar());
+
+        FileTime listed = Files.getLastModifiedTime(lib);
+        Files.writeString(lib.resolve("lib-1.0.jar"), "content");
+        Files.setLastModifiedTime(lib, listed);
+        assertNull(index.find("com.example", "lib", "1.0").jar());
+
+        Files.setLastModifiedTime(lib, FileTime.from(Instant.now()));
+        assertEquals(lib.resolve("lib-1.0.jar"), index.find("com.example", "lib", "1.0").jar());
+    }
+
+    @Test
+    @DisplayName("Should follow artifacts being installed and deleted")
+    void testInstallAndDelete() throws IOException {
+        Path lib = install("com.example", "lib", "1.0", ".pom");
+        LocalRepositoryIndex index = new LocalRepositoryIndex(tempDir.resolve("repository"));
+        assertNull(index.find("com.example", "lib", "1.0").jar());
+
+        Files.writeString(lib.resolve("lib-1.0.jar"), "content");
+        assertEquals(lib.resolve("lib-1.0.jar"), index.find("com.example", "lib", "1.0").jar());
+
+        install("com.example", "lib", "1.1", ".jar", "-sources.jar");
+        assertEquals(List.of("1.0", "1.1"), index.getVersions("com.example", "lib").stream()
+            .map(LocalRepositoryIndex.Version::version)
+            .toList());
+
+        Files.delete(lib.resolve("lib-1.0.jar"));
+        Files.delete(lib.resolve("lib-1.0.pom"));
+        Files.delete(lib);
+        assertNull(index.find("com.example", "lib", "1.0"));
+        assertEquals(List.of("1.1"), index.getVersions("com.example", "lib").stream()
+            .map(LocalRepositoryIndex.Version::version)
+            .toList());
+    }
+
+    @Test
+    @DisplayName("Should find artifacts installed after a lookup missed")
+    void testMissingRepository() throws IOException {
+        LocalRepositoryIndex index = new LocalRepositoryIndex(tempDir.resolve("repository"));
+        assertNull(index.find("com.example", "lib", "1.0"));
+        assertEquals(List.of(), index.getVersions("com.example", "lib"));
+
+        Path lib = install("com.example", "lib", "1.0", ".jar");
+
+        assertEquals(lib.resolve("lib-1.0.jar"), index.find("com.example", "lib", "1.0").jar());
+    }
+}
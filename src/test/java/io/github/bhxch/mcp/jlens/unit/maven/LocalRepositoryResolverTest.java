@@ -0,0 +1,254 @@
+package io.github.bhxch.mcp.jlens.unit.maven;
+
+import io.github.bhxch.mcp.jlens.maven.model.DependencyInfo;
+import io.github.bhxch.mcp.jlens.maven.model.ModuleContext;
+import io.github.bhxch.mcp.jlens.maven.model.Scope;
+import io.github.bhxch.mcp.jlens.maven.resolver.LocalRepositoryResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalRepositoryResolver Unit Tests")
+class LocalRepositoryResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+    private Path pomFile;
+    private LocalRepositoryResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = tempDir.resolve("repository");
+
+        install("com.lib", "bom", "1.0", "pom", "", """
+            <dependencyManagement><dependencies>
+              <dependency><groupId>com.lib</groupId><artifactId>a</artifactId><version>2.0</version></dependency>
+            </dependencies></dependencyManagement>
+            """);
+        install("com.lib", "a", "2.0", "jar", "", """
+            <dependencies>
+              <dependency><groupId>com.lib</groupId><artifactId>c</artifactId><version>1.0</version></dependency>
+              <dependency><groupId>com.lib</groupId><artifactId>d</artifactId><version>1.0</version>
+                <optional>true</optional></dependency>
+              <dependency><groupId>com.lib</groupId><artifactId>e</artifactId><version>1.0</version>
+                <scope>provided</scope></dependency>
+              <dependency><groupId>com.lib</groupId><artifactId>rt</artifactId><version>1.0</version>
+                <scope>runtime</scope></dependency>
+            </dependencies>
+            """);
+        install("com.lib", "b", "1.0", "jar", "", """
+            <dependencies>
+              <dependency><groupId>com.lib</groupId><artifactId>c</artifactId><version>2.0</version></dependency>
+              <dependency><groupId>com.lib</groupId><artifactId>g</artifactId><version>1.0</version></dependency>
+            </dependencies>
+            """);
+        for (String artifactId : List.of("c:1.0", "c:2.0", "d:1.0", "e:1.0", "g:1.0", "rt:1.0", "t:1.0", "x:1.0",
+                "r:1.0", "r:1.5", "r:2.0")) {
+            String[] parts = artifactId.split(":");
+            install("com.lib", parts[0], parts[1], "jar", "", "");
+        }
+
+        Files.createDirectories(tempDir.resolve("project/app"));
+        Files.writeString(tempDir.resolve("project/pom.xml"), """
+            <project>
+              <groupId>com.example</groupId>
+              <artifactId>parent</artifactId>
+              <version>3.1</version>
+              <packaging>pom</packaging>
+              <properties><b.version>1.0</b.version></properties>
+              <dependencyManagement><dependencies>
+                <dependency><groupId>com.lib</groupId><artifactId>bom</artifactId><version>1.0</version>
+                  <type>pom</type><scope>import</scope></dependency>
+              </dependencies></dependencyManagement>
+            </project>
+            """);
+        pomFile = Files.writeString(tempDir.resolve("project/app/pom.xml"), """
+            <project>
+              <parent>
+                <groupId>com.example</groupId>
+                <artifactId>parent</artifactId>
+                <version>3.1</version>
+              </parent>
+              <artifactId>app</artifactId>
+              <dependencies>
+                <dependency><groupId>com.lib</groupId><artifactId>a</artifactId></dependency>
+                <dependency><groupId>com.lib</groupId><artifactId>b</artifactId><version>${b.version}</version>
+                  <exclusions><exclusion><groupId>com.lib</groupId><artifactId>g</artifactId></exclusion></exclusions>
+                </dependency>
+                <dependency><groupId>com.lib</groupId><artifactId>r</artifactId><version>[1.0,2.0)</version></dependency>
+                <dependency><groupId>com.lib</groupId><artifactId>t</artifactId><version>1.0</version>
+                  <scope>test</scope></dependency>
+              </dependencies>
+              <profiles>
+                <profile>
+                  <id>extra</id>
+                  <dependencies>
+                    <dependency><groupId>com.lib</groupId><artifactId>x</artifactId><version>1.0</version></dependency>
+                  </dependencies>
+                </profile>
+              </profiles>
+            </project>
+            """);
+
+        resolver = new LocalRepositoryResolver(repository);
+    }
+
+    @Test
+    @DisplayName("Should resolve inherited, managed and transitive dependencies")
+    void testResolveModule() {
+        ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, List.of());
+
+        assertEquals("com.example:app:3.1", context.getCoordinates());
+        Map<String, DependencyInfo> dependencies = byArtifactId(context);
+
+        // The BOM imported by the parent manages a's version; c is mediated to the nearest, first declaration
+        assertEquals("2.0", dependencies.get("a").getVersion());
+        assertEquals("1.0", dependencies.get("b").getVersion());
+        assertEquals("1.0", dependencies.get("c").getVersion());
+        assertEquals("1.5", dependencies.get("r").getVersion());
+        assertFalse(dependencies.containsKey("d"), "optional dependency of a dependency");
+        assertFalse(dependencies.containsKey("e"), "provided dependency of a dependency");
+        assertFalse(dependencies.containsKey("g"), "excluded dependency");
+        assertFalse(dependencies.containsKey("t"), "test dependency in compile scope");
+        assertFalse(dependencies.containsKey("rt"), "runtime dependency in compile scope");
+
+        assertEquals(repository.resolve("com/lib/c/1.0/c-1.0.jar"), dependencies.get("c").getJarPath());
+        assertEquals(List.of("a-2.0.jar", "b-1.0.jar", "r-1.5.jar", "c-1.0.jar"),
+            context.getClasspathJars().stream().map(jar -> jar.getFileName().toString()).toList());
+        assertEquals(context.getOutputDirectory(), context.getClasspath().get(0));
+    }
+
+    @Test
+    @DisplayName("Should honour the requested scope and profiles")
+    void testScopesAndProfiles() {
+        Map<String, DependencyInfo> test = byArtifactId(resolver.resolveModule(pomFile, Scope.TEST, List.of()));
+        assertEquals(Scope.TEST, test.get("t").getScope());
+        assertEquals(Scope.RUNTIME, test.get("rt").getScope());
+
+        Map<String, DependencyInfo> runtime = byArtifactId(resolver.resolveModule(pomFile, Scope.RUNTIME, List.of()));
+        assertTrue(runtime.containsKey("rt"));
+        assertFalse(runtime.containsKey("t"));
+
+        assertTrue(byArtifactId(resolver.resolveModule(pomFile, Scope.COMPILE, List.of("extra"))).containsKey("x"));
+    }
+
+    @Test
+    @DisplayName("Should widen a transitive scope reached again through a compile path")
+    void testScopeMediation() throws IOException {
+        install("com.lib", "tl", "1.0", "jar", "", dependencies("w"));
+        install("com.lib", "cl", "1.0", "jar", "", dependencies("m"));
+        install("com.lib", "m", "1.0", "jar", "", dependencies("w", "dt"));
+        install("com.lib", "w", "1.0", "jar", "", dependencies("wc"));
+        install("com.lib", "wc", "1.0", "jar", "", "");
+        install("com.lib", "dt", "1.0", "jar", "", "");
+        Files.writeString(pomFile, """
+            <project>
+              <groupId>com.example</groupId>
+              <artifactId>mediated</artifactId>
+              <version>1.0</version>
+              <dependencies>
+                <dependency><groupId>com.lib</groupId><artifactId>tl</artifactId><version>1.0</version>
+                  <scope>test</scope></dependency>
+                <dependency><groupId>com.lib</groupId><artifactId>cl</artifactId><version>1.0</version></dependency>
+                <dependency><groupId>com.lib</groupId><artifactId>dt</artifactId><version>1.0</version>
+                  <scope>test</scope></dependency>
+              </dependencies>
+            </project>
+            """);
+
+        Map<String, DependencyInfo> compile = byArtifactId(resolver.resolveModule(pomFile, Scope.COMPILE, List.of()));
+        assertEquals(Set.of("cl", "m", "w", "wc"), compile.keySet());
+        assertEquals(Scope.COMPILE, compile.get("w").getScope());
+        assertEquals(Scope.COMPILE, compile.get("wc").getScope());
+
+        Map<String, DependencyInfo> test = byArtifactId(resolver.resolveModule(pomFile, Scope.TEST, List.of()));
+        assertEquals(Scope.TEST, test.get("tl").getScope());
+        assertEquals(Scope.TEST, test.get("dt").getScope());
+    }
+
+    @Test
+    @DisplayName("Should list dependencies missing from the repository without a JAR")
+    void testMissingArtifacts() throws IOException {
+        Files.writeString(pomFile, """
+            <project>
+              <groupId>com.example</groupId>
+              <artifactId>lonely</artifactId>
+              <version>1.0</version>
+              <dependencies>
+                <dependency><groupId>com.missing</groupId><artifactId>m</artifactId><version>1.0</version></dependency>
+              </dependencies>
+            </project>
+            """);
+
+        ModuleContext context = resolver.resolveModule(pomFile, Scope.COMPILE, List.of());
+
+        assertEquals(1, context.getDependencies().size());
+        assertTrue(context.getClasspathJars().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should compare versions as Maven orders them")
+    void testVersionOrder() throws IOException {
+        install("com.lib", "v", "1.10", "jar", "", "");
+        install("com.lib", "v", "1.9", "jar", "", "");
+        install("com.lib", "v", "2.0-SNAPSHOT", "jar", "", "");
+        Files.writeString(pomFile, """
+            <project>
+              <groupId>com.example</groupId>
+              <artifactId>ranges</artifactId>
+              <version>1.0</version>
+              <dependencies>
+                <dependency><groupId>com.lib</groupId><artifactId>v</artifactId><version>[1.0,2.0)</version></dependency>
+              </dependencies>
+            </project>
+            """);
+
+        assertEquals("1.10", byArtifactId(resolver.resolveModule(pomFile, Scope.COMPILE, List.of())).get("v").getVersion());
+    }
+
+    private Map<String, DependencyInfo> byArtifactId(ModuleContext context) {
+        return context.getDependencies().stream()
+            .collect(Collectors.toMap(DependencyInfo::getArtifactId, dependency -> dependency));
+    }
+
+    private static String dependencies(String... artifactIds) {
+        StringBuilder body = new StringBuilder("<dependencies>");
+        for (String artifactId : artifactIds) {
+            body.append("<dependency><groupId>com.lib</groupId><artifactId>").append(artifactId)
+                .append("</artifactId><version>1.0</version></dependency>");
+        }
+        return body.append("</dependencies>").toString();
+    }
+
+    private void install(String groupId, String artifactId, String version, String packaging, String parent,
+                         String body) throws IOException {
+        Path directory = Files.createDirectories(
+            repository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version));
+        Files.writeString(directory.resolve(artifactId + "-" + version + ".pom"), """
+            <project>
+              %s
+              <groupId>%s</groupId>
+              <artifactId>%s</artifactId>
+              <version>%s</version>
+              <packaging>%s</packaging>
+              %s
+            </project>
+            """.formatted(parent, groupId, artifactId, version, packaging, body));
+        if (!"pom".equals(packaging)) {
+            Files.writeString(directory.resolve(artifactId + "-" + version + ".jar"), "");
+        }
+    }
+}
@@ -7,10 +7,14 @@ import io.github.bhxch.mcp.jlens.maven.resolver.MavenInvokerResolver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,12 +54,18 @@ class MavenInvokerResolverTest {
     @Test
     @DisplayName("Should parse Maven output correctly")
     void testResolveModule() throws Exception {
-        String output = "[INFO] io.github.bhxch:mcp-core:jar:0.17.2:compile\n" +
-                       "[INFO] com.fasterxml.jackson.core:jackson-databind:jar:2.19.2:compile\n";
+        Path jar = Path.of("/repo/jackson-databind-2.19.2.jar").toAbsolutePath();
+        String output = "[INFO] --- dependency:3.6.1:list (default-cli) @ jlens-mcp-server ---\n" +
+                       "[INFO] The following files have been resolved:\n" +
+                       "[INFO]    io.github.bhxch:mcp-core:jar:0.17.2:compile\n" +
+                       "[INFO]    com.fasterxml.jackson.core:jackson-databind:jar:2.19.2:compile:" + jar
+                           + " -- module com.fasterxml.jackson.databind\n";
+        List<List<String>> commands = new ArrayList<>();
         
         MavenInvokerResolver resolver = new MavenInvokerResolver(config) {
             @Override
             protected Process startProcess(Path pomFile, List<String> command) {
+                commands.add(command);
                 return new FakeProcess(output, 0);
             }
         };
@@ -64,8 +74,13 @@ class MavenInvokerResolverTest {
         ModuleContext context = resolver.resolveModule(pomPath, Scope.COMPILE, List.of());
 
         assertNotNull(context);
+        assertTrue(commands.get(0).contains("-DoutputAbsoluteArtifactFilename=true"));
+        assertEquals("jlens-mcp-server", context.getArtifactId());
         assertEquals(2, context.getDependencies().size());
         assertEquals("io.github.bhxch:mcp-core:jar:0.17.2", context.getDependencies().get(0).getCoordinates());
+        assertEquals(jar, context.getDependencies().get(1).getJarPath());
+        assertEquals(List.of(jar), context.getClasspathJars());
+        assertTrue(context.getClasspath().contains(jar));
     }
 
     @Test
@@ -82,4 +97,80 @@ class MavenInvokerResolverTest {
             resolver.resolveModule(Path.of("pom.xml").toAbsolutePath(), Scope.COMPILE, List.of());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should resolve every reactor module with a single Maven run")
+    void testResolveReactor(@TempDir Path tempDir) throws Exception {
+        Path aggregator = Files.writeString(tempDir.resolve("pom.xml"), """
+            <project>
+              <groupId>com.example</groupId>
+              <artifactId>parent</artifactId>
+              <version>2.0</version>
+              <packaging>pom</packaging>
+              <modules><module>core</module><module>app</module></modules>
+            </project>
+            """);
+        for (String module : List.of("core", "app")) {
+            Files.createDirectories(tempDir.resolve(module));
+            Files.writeString(tempDir.resolve(module).resolve("pom.xml"), """
+                <project>
+                  <parent><groupId>com.example</groupId><artifactId>parent</artifactId><version>2.0</version></parent>
+                  <artifactId>%s</artifactId>
+                </project>
+                """.formatted(module));
+        }
+        Path jar = tempDir.resolve("repo/slf4j-api-2.0.16.jar");
+        Path coreClasses = tempDir.resolve("core/target/classes");
+        Map<String, String> outputs = Map.of(
+            "", "\nThe following files have been resolved:\n   none\n",
+            "core", "\nThe following files have been resolved:\n"
+                + "   org.slf4j:slf4j-api:jar:2.0.16:compile:" + jar + " -- module org.slf4j\n",
+            "app", "\nThe following files have been resolved:\n"
+                + "   com.example:core:jar:2.0:compile:" + coreClasses + "\n"
+                + "   org.slf4j:slf4j-api:jar:2.0.16:compile:" + jar + " -- module org.slf4j\n"
+                + "   com.lib:fixtures:jar:tests:1.0:compile:" + tempDir.resolve("repo/fixtures-1.0-tests.jar")
+                + " (optional)\n");
+
+        Path outputDirectory = tempDir.resolve("cache/reactor");
+        List<List<String>> commands = new ArrayList<>();
+        MavenInvokerResolver resolver = new MavenInvokerResolver(config, null, outputDirectory) {
+            @Override
+            protected Process startProcess(Path pomFile, List<String> command) throws IOException {
+                commands.add(command);
+                String outputFile = command.stream()
+                    .filter(argument -> argument.startsWith("-DoutputFile="))
+                    .findFirst().orElseThrow()
+                    .substring("-DoutputFile=".length());
+                for (var output : outputs.entrySet()) {
+                    Path file = Path.of(outputFile
+                        .replace("${project.groupId}", "com.example")
+                        .replace("${project.artifactId}", output.getKey().isEmpty() ? "parent" : output.getKey()));
+                    Files.createDirectories(file.getParent());
+                    Files.writeString(file, output.getValue());
+                }
+                return new FakeProcess("", 0);
+            }
+        };
+
+        Map<Path, ModuleContext> contexts = resolver.resolveReactor(aggregator, Scope.COMPILE, List.of());
+
+        assertEquals(1, commands.size());
+        assertTrue(commands.get(0).stream().anyMatch(argument -> argument.startsWith("-DoutputFile=" + outputDirectory)));
+        assertTrue(commands.get(0).contains("-fae"));
+        assertEquals(3, contexts.size());
+        assertFalse(Files.exists(tempDir.resolve("core/target/jlens-dependencies.txt")));
+        try (var runs = Files.list(outputDirectory)) {
+            assertEquals(0, runs.count(), "run directory left behind");
+        }
+
+        ModuleContext app = contexts.get(tempDir.resolve("app/pom.xml"));
+        assertEquals("com.example:app:2.0", app.getCoordinates());
+        assertEquals(3, app.getDependencies().size());
+        assertEquals("com.lib:fixtures:tests:jar:1.0", app.getDependencies().get(2).getCoordinates());
+        assertTrue(app.getDependencies().get(2).isOptional());
+        assertTrue(app.getClasspath().contains(coreClasses));
+        assertEquals(List.of(jar, tempDir.resolve("repo/fixtures-1.0-tests.jar")), app.getClasspathJars());
+        assertEquals(List.of(jar), contexts.get(tempDir.resolve("core/pom.xml")).getClasspathJars());
+        assertTrue(contexts.get(aggregator).getDependencies().isEmpty());
+    }
+}